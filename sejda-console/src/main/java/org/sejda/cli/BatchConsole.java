@@ -0,0 +1,152 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.sejda.cli.exception.ArgumentValidationException;
+import org.sejda.cli.exception.ConsoleException;
+import org.sejda.cli.util.CommandLineUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the commands listed in a batch file, in the same JVM and using the same {@link TaskExecutionAdapter}. The
+ * file contains one command per line, either as a command line (Ex. merge -f "/tmp/file 1.pdf" -o /tmp/out.pdf) or as
+ * a JSON array of strings (Ex. ["merge", "-f", "/tmp/file 1.pdf", "-o", "/tmp/out.pdf"]). Empty lines and lines
+ * starting with # are ignored. Commands are executed by the given number of threads and a summary with the exit status
+ * of each command is reported at the end.
+ * 
+ * @author Andrea Vacondio
+ */
+class BatchConsole {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchConsole.class);
+
+    private final List<String[]> commands;
+    private final int parallelism;
+    private final TaskExecutionAdapter taskExecutionAdapter;
+
+    BatchConsole(List<String[]> commands, int parallelism, TaskExecutionAdapter taskExecutionAdapter) {
+        this.commands = commands;
+        this.parallelism = parallelism;
+        this.taskExecutionAdapter = taskExecutionAdapter;
+    }
+
+    /**
+     * Executes all the commands
+     * 
+     * @return the exit status of each command, in the same order they are listed in the batch file
+     */
+    int[] execute() {
+        LOG.info("Executing {} batch commands with parallelism {}", commands.size(), parallelism);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<Integer>> results = new ArrayList<>(commands.size());
+            for (String[] command : commands) {
+                results.add(executor.submit(() -> execute(command)));
+            }
+            int[] statuses = new int[commands.size()];
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] = results.get(i).get();
+            }
+            report(statuses);
+            return statuses;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConsoleException("Batch execution interrupted", e);
+        } catch (ExecutionException e) {
+            throw new ConsoleException("Batch execution failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int execute(String[] command) {
+        try {
+            new SejdaConsole(command, taskExecutionAdapter).execute();
+            return 0;
+        } catch (RuntimeException e) {
+            // already reported by the console
+            return 1;
+        }
+    }
+
+    private void report(int[] statuses) {
+        StringBuilder summary = new StringBuilder(String.format("%nBatch summary:%n"));
+        int failed = 0;
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] != 0) {
+                failed++;
+            }
+            summary.append(String.format(" %d. [%s] exit status %d: %s%n", i + 1, statuses[i] == 0 ? "OK" : "FAILED",
+                    statuses[i], StringUtils.join(commands.get(i), " ")));
+        }
+        summary.append(String.format("%d commands executed, %d succeeded, %d failed", statuses.length,
+                statuses.length - failed, failed));
+        LOG.info(summary.toString());
+    }
+
+    /**
+     * @param batchFile
+     * @return the commands listed in the given batch file
+     */
+    static List<String[]> readCommands(File batchFile) {
+        try {
+            List<String[]> commands = new ArrayList<>();
+            int lineNumber = 0;
+            for (String line : Files.readAllLines(batchFile.toPath(), UTF_8)) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    try {
+                        String[] command;
+                        if (trimmed.startsWith("[")) {
+                            command = CommandLineUtils.translateJsonArray(trimmed);
+                        } else {
+                            command = CommandLineUtils.translateCommandline(trimmed);
+                        }
+                        if (ArrayUtils.contains(command, "--batch")) {
+                            throw new IllegalArgumentException("nested batch commands are not supported");
+                        }
+                        commands.add(command);
+                    } catch (RuntimeException e) {
+                        throw new ArgumentValidationException(
+                                String.format("Invalid command at line %d of the batch file: %s", lineNumber,
+                                        e.getMessage()));
+                    }
+                }
+            }
+            return commands;
+        } catch (IOException e) {
+            throw new ArgumentValidationException("Unable to read the batch file " + batchFile + ": " + e.getMessage());
+        }
+    }
+}
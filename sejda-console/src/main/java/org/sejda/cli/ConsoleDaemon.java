@@ -0,0 +1,461 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sejda.cli.exception.ArgumentValidationException;
+import org.sejda.cli.transformer.CliCommand;
+import org.sejda.conversion.DirectoryOutputAdapter;
+import org.sejda.conversion.FileOutputAdapter;
+import org.sejda.conversion.FileSourceAdapter;
+import org.sejda.conversion.PdfFileSourceAdapter;
+import org.sejda.conversion.PdfFileSourceListAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+import com.lexicalscope.jewel.cli.Option;
+
+/**
+ * Long lived sejda console that executes commands received on a loopback socket, reusing the same warmed up JVM, tasks
+ * registry and execution service. Commands are executed one at a time, the console output produced by the execution is
+ * sent back to the client together with the exit code. See {@link ConsoleDaemonClient} for the client side.
+ * <p>
+ * The protocol is line based and UTF-8 encoded. The client sends the daemon token, its working directory, the number of
+ * arguments and then one argument per line. The daemon replies with lines prefixed by {@value #OUT} for the standard
+ * output and {@value #ERR} for the standard error, the last line is prefixed by {@value #EXIT} and contains the exit
+ * code.
+ * </p>
+ * <p>
+ * The token is randomly generated when the daemon starts and it's written to a file only the owner can read (see
+ * {@link #tokenFile()}), connections that don't send it are closed without executing anything. Relative paths given to
+ * file and directory options are resolved against the working directory of the client.
+ * </p>
+ * 
+ * @author Andrea Vacondio
+ */
+public class ConsoleDaemon implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(ConsoleDaemon.class);
+
+    public static final String PORT_PROPERTY = "sejda.daemon.port";
+    public static final int DEFAULT_PORT = 47613;
+    public static final String TOKEN_FILE_PROPERTY = "sejda.daemon.token.file";
+
+    static final String OUT = "O ";
+    static final String ERR = "E ";
+    static final String EXIT = "X ";
+
+    /**
+     * Time a client has to send its request once connected
+     */
+    private static final int REQUEST_TIMEOUT_MILLIS = 10000;
+    /**
+     * Types of the options whose values are file or directory paths
+     */
+    private static final Set<Class<?>> PATH_TYPES = new HashSet<>(Arrays.asList(PdfFileSourceAdapter.class,
+            FileSourceAdapter.class, PdfFileSourceListAdapter.class, FileOutputAdapter.class,
+            DirectoryOutputAdapter.class));
+
+    private final ServerSocket server;
+    private final Path tokenFile;
+    private final byte[] token;
+    private final TaskExecutionAdapter taskExecutionAdapter;
+
+    /**
+     * @param port
+     *            loopback port to listen to, 0 to use any free port
+     * @param tokenFile
+     *            file where the token clients have to send is written
+     * @param taskExecutionAdapter
+     * @throws IOException
+     */
+    public ConsoleDaemon(int port, Path tokenFile, TaskExecutionAdapter taskExecutionAdapter) throws IOException {
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.tokenFile = tokenFile;
+        this.taskExecutionAdapter = taskExecutionAdapter;
+        String token = new BigInteger(1, randomBytes()).toString(16);
+        this.token = token.getBytes(UTF_8);
+        try {
+            writeOwnerOnly(tokenFile, token);
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return bytes;
+    }
+
+    private static void writeOwnerOnly(Path file, String content) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (!isNull(parent)) {
+            Files.createDirectories(parent);
+        }
+        Files.deleteIfExists(file);
+        if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(file);
+            File asFile = file.toFile();
+            if (!(asFile.setReadable(false, false) && asFile.setReadable(true, true)
+                    && asFile.setWritable(false, false) && asFile.setWritable(true, true))) {
+                throw new IOException("Unable to restrict the permissions of the token file " + file);
+            }
+        }
+        Files.write(file, content.getBytes(UTF_8));
+    }
+
+    /**
+     * @return the port the daemon is listening to
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Serves clients until the daemon is closed
+     */
+    public void serve() {
+        while (!server.isClosed()) {
+            try (Socket client = server.accept()) {
+                serve(client);
+            } catch (SocketException e) {
+                if (!server.isClosed()) {
+                    LOG.warn("Connection with the client failed", e);
+                }
+            } catch (IOException e) {
+                LOG.warn("Unable to serve the client", e);
+            }
+        }
+    }
+
+    private void serve(Socket client) throws IOException {
+        client.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), UTF_8));
+        Writer writer = new OutputStreamWriter(client.getOutputStream(), UTF_8);
+        if (!isValidToken(reader.readLine())) {
+            LOG.warn("Rejected a connection that didn't send the daemon token");
+            writer.write(ERR + "Invalid daemon token\n");
+            writer.flush();
+            return;
+        }
+        String workingDirectory = reader.readLine();
+        if (isNull(workingDirectory)) {
+            throw new IOException("Unexpected end of the request");
+        }
+        String[] args = readArguments(reader);
+        client.setSoTimeout(0);
+        int exitCode;
+        try (PrintStream out = new PrintStream(new LinePrefixingOutputStream(OUT, writer), true, UTF_8.name());
+                PrintStream err = new PrintStream(new LinePrefixingOutputStream(ERR, writer), true, UTF_8.name())) {
+            exitCode = execute(args, new File(workingDirectory), out, err);
+        }
+        writer.write(EXIT + exitCode + "\n");
+        writer.flush();
+    }
+
+    private boolean isValidToken(String received) {
+        return !isNull(received) && MessageDigest.isEqual(token, received.getBytes(UTF_8));
+    }
+
+    private static String[] readArguments(BufferedReader reader) throws IOException {
+        String count = reader.readLine();
+        if (isNull(count)) {
+            throw new IOException("Unexpected end of the request");
+        }
+        try {
+            String[] args = new String[Integer.parseInt(count.trim())];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = reader.readLine();
+                if (isNull(args[i])) {
+                    throw new IOException("Unexpected end of the request");
+                }
+            }
+            return args;
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid arguments count: " + count, e);
+        }
+    }
+
+    /**
+     * Executes the given command line the same way the console does, writing the console output to the given stream
+     * 
+     * @param args
+     * @param workingDirectory
+     *            directory relative paths are resolved against
+     * @param out
+     * @param err
+     * @return the exit code
+     */
+    int execute(String[] args, File workingDirectory, PrintStream out, PrintStream err) {
+        String[] resolved;
+        try {
+            resolved = resolveRelativePaths(args, workingDirectory);
+        } catch (ArgumentValidationException e) {
+            err.println(e.getMessage());
+            return 1;
+        }
+        ClientAppender appender = new ClientAppender(out);
+        appender.attach();
+        try {
+            new SejdaConsole(resolved, taskExecutionAdapter).execute();
+            return 0;
+        } catch (RuntimeException e) {
+            // already reported by the console
+            return 1;
+        } finally {
+            appender.detach();
+        }
+    }
+
+    /**
+     * Resolves the relative paths given to the file and directory options of the command against the given directory.
+     * Batch files and arguments files contain further command lines whose paths cannot be resolved, so they are
+     * rejected unless the given directory is the one the daemon runs in.
+     * 
+     * @param args
+     * @param workingDirectory
+     * @return the arguments with the relative paths resolved
+     * @throws ArgumentValidationException
+     *             if the arguments are read from a file and the given directory is not the daemon one
+     */
+    static String[] resolveRelativePaths(String[] args, File workingDirectory) {
+        if (args.length > 0 && ("--batch".equals(args[0]) || (args.length == 1 && args[0].endsWith("args.txt")))) {
+            if (!isSameDirectory(workingDirectory)) {
+                throw new ArgumentValidationException(String.format(
+                        "Batch and arguments files are supported by the daemon only if the client runs in '%s'",
+                        System.getProperty("user.dir")));
+            }
+            return args;
+        }
+        CliCommand command = null;
+        if (args.length > 0) {
+            command = CliCommand.findByDisplayNameSilently(args[0]);
+        }
+        if (isNull(command) && args.length > 1) {
+            command = CliCommand.findByDisplayNameSilently(args[1]);
+        }
+        if (isNull(command)) {
+            return args;
+        }
+        Set<String> pathOptions = pathOptions(command.getCliArgumentsClass());
+        String[] resolved = args.clone();
+        boolean pathValues = false;
+        for (int i = 0; i < resolved.length; i++) {
+            if (resolved[i].startsWith("-")) {
+                pathValues = pathOptions.contains(resolved[i]);
+            } else if (pathValues && !new File(resolved[i]).isAbsolute()) {
+                resolved[i] = new File(workingDirectory, resolved[i]).getPath();
+            }
+        }
+        return resolved;
+    }
+
+    private static boolean isSameDirectory(File workingDirectory) {
+        return workingDirectory.toPath().toAbsolutePath().normalize()
+                .equals(Paths.get(System.getProperty("user.dir")).toAbsolutePath().normalize());
+    }
+
+    /**
+     * @param cliArguments
+     * @return the long and short names of the options of the given cli interface whose values are paths
+     */
+    private static Set<String> pathOptions(Class<?> cliArguments) {
+        Set<String> names = new HashSet<>();
+        for (Method method : cliArguments.getMethods()) {
+            Option option = method.getAnnotation(Option.class);
+            if (!isNull(option) && isPathType(method.getGenericReturnType())) {
+                if (option.longName().length == 0) {
+                    names.add("--" + StringUtils.uncapitalize(method.getName().replaceFirst("^(get|is)", "")));
+                }
+                for (String longName : option.longName()) {
+                    names.add("--" + longName);
+                }
+                for (String shortName : option.shortName()) {
+                    names.add("-" + shortName);
+                }
+            }
+        }
+        return names;
+    }
+
+    private static boolean isPathType(Type type) {
+        if (type instanceof ParameterizedType) {
+            return Arrays.stream(((ParameterizedType) type).getActualTypeArguments())
+                    .anyMatch(ConsoleDaemon::isPathType);
+        }
+        return PATH_TYPES.contains(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            server.close();
+        } finally {
+            Files.deleteIfExists(tokenFile);
+        }
+    }
+
+    /**
+     * @return the port to use for the daemon as set in the {@value #PORT_PROPERTY} system property or the default one
+     */
+    static int port() {
+        return Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+    }
+
+    /**
+     * @return the token file as set in the {@value #TOKEN_FILE_PROPERTY} system property or the default
+     *         .sejda/daemon.token in the user home
+     */
+    static Path tokenFile() {
+        String tokenFile = System.getProperty(TOKEN_FILE_PROPERTY);
+        if (isNull(tokenFile)) {
+            return Paths.get(System.getProperty("user.home"), ".sejda", "daemon.token");
+        }
+        return Paths.get(tokenFile);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Main.setUpEnvironment();
+        try (ConsoleDaemon daemon = new ConsoleDaemon(port(), tokenFile(), Main.getTaskExecutionAdapter())) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    daemon.close();
+                } catch (IOException e) {
+                    LOG.warn("Unable to close the daemon", e);
+                }
+            }));
+            LOG.info("Sejda console daemon listening on port {}", daemon.getPort());
+            daemon.serve();
+        }
+    }
+
+    /**
+     * Appender sending to the client the console output logged while its command is executed. The daemon executes one
+     * command at a time so everything logged in the meantime belongs to that command.
+     */
+    private static class ClientAppender extends AppenderBase<ILoggingEvent> {
+        private final PatternLayout layout = new PatternLayout();
+        private final PrintStream out;
+
+        ClientAppender(PrintStream out) {
+            this.out = out;
+        }
+
+        void attach() {
+            LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+            setContext(context);
+            layout.setContext(context);
+            // same layout the console uses
+            layout.setPattern("%msg%n");
+            layout.start();
+            start();
+            context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(this);
+        }
+
+        void detach() {
+            ((LoggerContext) getContext()).getLogger(Logger.ROOT_LOGGER_NAME).detachAppender(this);
+            stop();
+            layout.stop();
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            out.print(layout.doLayout(event));
+        }
+    }
+
+    /**
+     * Output stream writing to the client each line of output, prefixed by the given prefix
+     */
+    private static class LinePrefixingOutputStream extends OutputStream {
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private final String prefix;
+        private final Writer writer;
+
+        LinePrefixingOutputStream(String prefix, Writer writer) {
+            this.prefix = prefix;
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (b == '\n') {
+                writeLine();
+            } else if (b != '\r') {
+                line.write(b);
+            }
+        }
+
+        private void writeLine() throws IOException {
+            synchronized (writer) {
+                writer.write(prefix);
+                writer.write(new String(line.toByteArray(), UTF_8));
+                writer.write('\n');
+                writer.flush();
+            }
+            line.reset();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (line.size() > 0) {
+                writeLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Thin client for the {@link ConsoleDaemon}. It accepts the same command line as the sejda console, sends it to the
+ * daemon listening on the local port, together with the token the daemon wrote in its token file, and prints the
+ * output it receives, exiting with the exit code of the execution. If no daemon is running, the command is executed in
+ * process as {@link Main} does.
+ * 
+ * @author Andrea Vacondio
+ */
+public final class ConsoleDaemonClient {
+
+    private ConsoleDaemonClient() {
+        // don't instantiate
+    }
+
+    public static void main(String[] args) {
+        int exitCode;
+        try {
+            exitCode = send(args, ConsoleDaemon.port(), ConsoleDaemon.tokenFile(), System.out, System.err);
+        } catch (ConnectException | NoSuchFileException e) {
+            Main.main(args);
+            return;
+        } catch (IOException e) {
+            System.err.println("Unable to communicate with the sejda console daemon: " + e.getMessage());
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Sends the given command line to the daemon listening on the given port, writing the received output to the given
+     * streams
+     * 
+     * @param args
+     * @param port
+     * @param tokenFile
+     *            file containing the token of the daemon
+     * @param out
+     * @param err
+     * @return the exit code of the execution
+     * @throws ConnectException
+     *             if no daemon is listening on the given port
+     * @throws NoSuchFileException
+     *             if the token file doesn't exist, meaning no daemon is running
+     * @throws IOException
+     */
+    static int send(String[] args, int port, Path tokenFile, PrintStream out, PrintStream err) throws IOException {
+        for (String arg : args) {
+            if (arg.indexOf('\n') >= 0 || arg.indexOf('\r') >= 0) {
+                throw new IOException("Arguments containing line breaks are not supported by the daemon");
+            }
+        }
+        String token = new String(Files.readAllBytes(tokenFile), UTF_8).trim();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), UTF_8);
+            writer.write(token + "\n");
+            writer.write(System.getProperty("user.dir") + "\n");
+            writer.write(args.length + "\n");
+            for (String arg : args) {
+                writer.write(arg + "\n");
+            }
+            writer.flush();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ConsoleDaemon.OUT)) {
+                    out.println(line.substring(ConsoleDaemon.OUT.length()));
+                } else if (line.startsWith(ConsoleDaemon.ERR)) {
+                    err.println(line.substring(ConsoleDaemon.ERR.length()));
+                } else if (line.startsWith(ConsoleDaemon.EXIT)) {
+                    return Integer.parseInt(line.substring(ConsoleDaemon.EXIT.length()).trim());
+                }
+            }
+            throw new IOException("Connection closed by the daemon before the end of the execution");
+        }
+    }
+}
@@ -89,7 +89,12 @@ public class DefaultTaskExecutionAdapter implements TaskExecutionAdapter {
      */
     @Override
     public void execute(TaskParameters taskParameters) {
-        getTaskExecutionService().execute(taskParameters);
-        printWarningsIfAny();
+        // the adapter can be reused by a long lived console, we only report warnings of the current execution
+        try {
+            getTaskExecutionService().execute(taskParameters);
+            printWarningsIfAny();
+        } finally {
+            warningsListener.clear();
+        }
     }
 }
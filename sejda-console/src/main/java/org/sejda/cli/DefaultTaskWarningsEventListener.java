@@ -27,16 +27,28 @@ import org.slf4j.LoggerFactory;
 public class DefaultTaskWarningsEventListener implements EventListener<TaskExecutionWarningEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultTaskWarningsEventListener.class);
 
-    private List<String> warnings = new ArrayList<>();
+    // tasks notify on the thread executing them, this way concurrent executions don't mix their warnings
+    private ThreadLocal<List<String>> warnings = ThreadLocal.withInitial(ArrayList::new);
 
     @Override
     public void onEvent(TaskExecutionWarningEvent event) {
         LOG.warn(event.getWarning());
 
-        warnings.add(event.getWarning());
+        warnings.get().add(event.getWarning());
     }
 
+    /**
+     * @return the warnings collected for the executions performed by the current thread
+     */
     public List<String> getWarnings() {
-        return warnings;
+        return warnings.get();
+    }
+
+    /**
+     * Discards the warnings collected so far by the current thread, removing the thread local value so that pooled
+     * threads don't retain it
+     */
+    public void clear() {
+        warnings.remove();
     }
 }
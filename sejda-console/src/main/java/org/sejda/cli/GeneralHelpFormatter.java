@@ -50,6 +50,9 @@ public final class GeneralHelpFormatter {
 
         helpMessage.append("Use \"sejda-console <command> -h\" for help regarding a specific command").append(
                 DOUBLE_LINE_BREAK);
+        helpMessage.append(
+                "Use \"sejda-console --batch <file> [--parallelism <n>]\" to execute the commands listed in a file, one per line")
+                .append(DOUBLE_LINE_BREAK);
 
         return helpMessage.toString();
     }
@@ -35,16 +35,20 @@ public final class Main {
     }
 
     public static void main(String[] args) {
+        setUpEnvironment();
+        new SejdaConsole(args, getTaskExecutionAdapter()).execute();
+    }
+
+    static void setUpEnvironment() {
         // suppress the Dock icon on OS X
         System.setProperty("apple.awt.UIElement", "true");
 
         // bridging between jul and slf4j
         SLF4JBridgeHandler.removeHandlersForRootLogger();
         SLF4JBridgeHandler.install();
-        new SejdaConsole(args, getTaskExecutionAdapter()).execute();
     }
 
-    private static TaskExecutionAdapter getTaskExecutionAdapter() {
+    static TaskExecutionAdapter getTaskExecutionAdapter() {
         return new DefaultTaskExecutionAdapter(new DefaultTaskExecutionService());
     }
 
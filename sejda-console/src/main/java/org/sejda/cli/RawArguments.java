@@ -3,6 +3,7 @@ package org.sejda.cli;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.sejda.cli.exception.ArgumentValidationException;
 import org.sejda.cli.transformer.CliCommand;
 import org.sejda.cli.util.CommandLineUtils;
 import org.slf4j.Logger;
@@ -42,6 +43,43 @@ class RawArguments {
         return ArrayUtils.contains(this.arguments, "--version");
     }
 
+    /**
+     * @return true if the commands to execute are listed in a batch file: --batch &lt;file&gt; [--parallelism &lt;n&gt;]
+     */
+    public boolean isBatchRequest() {
+        return arguments.length >= 2 && "--batch".equals(arguments[0]);
+    }
+
+    /**
+     * @return the batch file
+     */
+    File getBatchFile() {
+        return new File(arguments[1]);
+    }
+
+    /**
+     * @return the number of batch commands to execute concurrently
+     */
+    int getBatchParallelism() {
+        int index = ArrayUtils.indexOf(arguments, "--parallelism");
+        if (index < 0) {
+            return 1;
+        }
+        if (index + 1 >= arguments.length) {
+            throw new ArgumentValidationException("Option '--parallelism' requires a value");
+        }
+        try {
+            int parallelism = Integer.parseInt(arguments[index + 1]);
+            if (parallelism > 0) {
+                return parallelism;
+            }
+        } catch (NumberFormatException e) {
+            // handled below
+        }
+        throw new ArgumentValidationException(
+                "Invalid value '" + arguments[index + 1] + "' for option '--parallelism', a positive number is expected");
+    }
+
     public boolean isLicenseRequest() {
         return ArrayUtils.contains(this.arguments, "--license");
     }
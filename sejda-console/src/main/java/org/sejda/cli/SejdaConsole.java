@@ -22,11 +22,13 @@ package org.sejda.cli;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.sejda.cli.exception.ArgumentValidationException;
+import org.sejda.cli.exception.ConsoleException;
 import org.sejda.cli.exception.DefaultUncaughtExceptionHandler;
 import org.sejda.cli.exception.ExceptionUtils;
 import org.sejda.cli.transformer.CliCommand;
@@ -70,7 +72,9 @@ public class SejdaConsole {
         LOG.debug("Starting execution with arguments: '" + arguments + "'");
         LOG.debug("Java version: '" + System.getProperty("java.version") + "'");
 
-        if (isNoCommandSpecified()) {
+        if (arguments.isBatchRequest()) {
+            executeBatch();
+        } else if (isNoCommandSpecified()) {
             if (isVersionRequest() || isLicenseRequest()) {
                 printVersionAndLicense();
             } else {
@@ -110,6 +114,15 @@ public class SejdaConsole {
         getTaskExecutionAdapter().execute(command.parseTaskParameters(arguments.getCommandArguments()));
     }
 
+    private void executeBatch() {
+        int[] statuses = new BatchConsole(BatchConsole.readCommands(arguments.getBatchFile()),
+                arguments.getBatchParallelism(), getTaskExecutionAdapter()).execute();
+        long failed = Arrays.stream(statuses).filter(s -> s != 0).count();
+        if (failed > 0) {
+            throw new ConsoleException(String.format("%d of %d batch commands failed", failed, statuses.length));
+        }
+    }
+
     private void printCommandHelp(CliCommand command) {
         LOG.info(command.getHelpMessage());
     }
@@ -34,6 +34,12 @@ public interface CliArgumentsWithPdfOutput extends TaskCliArguments {
     @Option(description = "compress output file (optional)")
     boolean getCompressed();
 
+    @Option(shortName = "L", description = "deflate level {0-9} used to compress the streams created by the task when the output is compressed, any other stream uses the default level. Default is -1 for the default level. (optional)", defaultValue = "-1")
+    int getCompressionLevel();
+
+    @Option(description = "linearize output file for fast web view (optional)")
+    boolean getLinearize();
+
     @Option(shortName = "v", description = "pdf version of the output document/s {1.2, 1.3, 1.4, 1.5, 1.6 or 1.7}. Default is 1.6. (optional)", defaultValue = "1.6")
     PdfVersionAdapterWithFallback getPdfVersion();
 }
@@ -0,0 +1,32 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli.model;
+
+import com.lexicalscope.jewel.cli.Option;
+
+/**
+ * For tasks where identical resources coming from different input documents can be written once
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public interface CliArgumentsWithResourcesDeduplication {
+    @Option(description = "write identical fonts, images, ICC profiles and form XObjects coming from different input documents only once. (optional)")
+    boolean isDeduplicateResources();
+}
@@ -23,7 +23,7 @@ import com.lexicalscope.jewel.cli.Option;
 
 @CommandLineInterface(application = TaskCliArguments.EXECUTABLE_NAME + " combinereorder")
 public interface CombineReorderTaskCliArguments
-        extends CliArgumentsWithPdfFileOutput, MultiplePdfSourceTaskCliArguments {
+        extends CliArgumentsWithPdfFileOutput, MultiplePdfSourceTaskCliArguments, CliArgumentsWithResourcesDeduplication {
 
     @Option(shortName = "n", description = "pages in expected order, indexed by their source file, with optional rotation, as in 'fileIndex:pageNumber:rotationDegrees'. (Ex --pages 0:100 1:50:270 denotes page 100 from the first file and page 50 from the second file specified in --files, rotated 270 degrees clockwise.) (required)")
     List<String> getPages();
@@ -34,7 +34,13 @@ public interface CompressTaskCliArguments
     @Option(shortName = "q", description = "image JPEG quality. Defaults to 0.8. Ex: --imageQuality 0.3 (optional)", defaultValue = "0.8")
     Float getImageQuality();
 
-    @Option(shortName = "z", description = "list of optimizations to perform. { discard_metadata, discard_outline, discard_threads, discard_spider_info, discard_piece_info, discard_mc_props, discard_alternate_images, compress_images, discard_unused_resources, discard_struct_tree, discard_thumbnails }. If omitted it performs all the optimizations except discard_outline (optional)")
+    @Option(shortName = "r", description = "decimal digits, in points, path coordinates are rounded to when minifying page content streams. Defaults to 3. Ex: --contentStreamsPrecision 2 (optional)", defaultValue = "3")
+    Integer getContentStreamsPrecision();
+
+    @Option(shortName = "w", description = "max number of threads optimizing the images of a document in parallel, each one on its own copy of the document. Defaults to 4. Ex: --maxWorkers 1 (optional)", defaultValue = "4")
+    Integer getMaxWorkers();
+
+    @Option(shortName = "z", description = "list of optimizations to perform. { discard_metadata, discard_outline, discard_threads, discard_spider_info, discard_piece_info, discard_mc_props, discard_alternate_images, compress_images, discard_unused_resources, discard_struct_tree, discard_thumbnails, subset_fonts, minify_content_streams }. If omitted it performs all the optimizations except discard_outline, subset_fonts and minify_content_streams (optional)")
     List<OptimizationAdapter> getOptimizations();
 
     boolean isOptimizations();
@@ -36,7 +36,8 @@ import com.lexicalscope.jewel.cli.Option;
  */
 @CommandLineInterface(application = TaskCliArguments.EXECUTABLE_NAME + " merge")
 public interface MergeTaskCliArguments
-        extends CliArgumentsWithPdfFileOutput, MultipleOptionalPdfSourceTaskCliArguments {
+        extends CliArgumentsWithPdfFileOutput, MultipleOptionalPdfSourceTaskCliArguments,
+        CliArgumentsWithResourcesDeduplication {
 
     @Option(shortName = "a", description = "acro forms merge policy. {discard, merge, merge_renaming, flatten}. Default is 'discard' (optional)", defaultValue = "discard")
     AcroFormPolicyAdapter getAcroForms();
@@ -85,4 +85,7 @@ public interface SetHeaderFooterTaskCliArguments
     String getFontColor();
 
     boolean isFontColor();
+
+    @Option(description = "write the part of the label that is the same on every page once, in a form XObject shared by all the pages, and only the changing part (page number, Bates number) in each page. Reduces output size and processing time for large documents (optional)")
+    boolean getSharedStamp();
 }
@@ -29,7 +29,8 @@ import com.lexicalscope.jewel.cli.Option;
  * 
  */
 @CommandLineInterface(application = TaskCliArguments.EXECUTABLE_NAME + " setmetadata")
-public interface SetMetadataTaskCliArguments extends CliArgumentsWithPdfFileOutput, SinglePdfSourceTaskCliArguments {
+public interface SetMetadataTaskCliArguments extends CliArgumentsWithPdfFileOutput, SinglePdfSourceTaskCliArguments,
+        CliArgumentsWithIncrementalUpdate {
 
     @Option(shortName = "t", description = "document title (optional)")
     String getTitle();
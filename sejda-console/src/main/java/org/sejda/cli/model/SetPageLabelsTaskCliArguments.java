@@ -33,7 +33,8 @@ import com.lexicalscope.jewel.cli.Option;
  * 
  */
 @CommandLineInterface(application = TaskCliArguments.EXECUTABLE_NAME + " setpagelabels")
-public interface SetPageLabelsTaskCliArguments extends CliArgumentsWithPdfFileOutput, SinglePdfSourceTaskCliArguments {
+public interface SetPageLabelsTaskCliArguments extends CliArgumentsWithPdfFileOutput, SinglePdfSourceTaskCliArguments,
+        CliArgumentsWithIncrementalUpdate {
 
     // pdfsam-incompatibility with extra labelPrefix option in the string format
     @Option(shortName = "l", description = "labels definition. Accepted string is \"pageFrom:numberingStyle:labelSuffixStartNumber:labelPrefix\" where "
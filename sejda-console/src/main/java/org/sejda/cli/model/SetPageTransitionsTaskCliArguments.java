@@ -35,7 +35,7 @@ import com.lexicalscope.jewel.cli.Option;
  */
 @CommandLineInterface(application = TaskCliArguments.EXECUTABLE_NAME + " setpagetransitions")
 public interface SetPageTransitionsTaskCliArguments
-        extends CliArgumentsWithPdfFileOutput, SinglePdfSourceTaskCliArguments {
+        extends CliArgumentsWithPdfFileOutput, SinglePdfSourceTaskCliArguments, CliArgumentsWithIncrementalUpdate {
 
     @Option(description = "open the document in fullscreen mode (optional)")
     boolean isFullscreen();
@@ -37,7 +37,7 @@ import com.lexicalscope.jewel.cli.Option;
  */
 @CommandLineInterface(application = TaskCliArguments.EXECUTABLE_NAME + " setviewerpreferences")
 public interface ViewerPreferencesTaskCliArguments extends CliArgumentsWithPdfAndDirectoryOutput,
-        CliArgumentsWithPrefixableOutput, MultiplePdfSourceTaskCliArguments {
+        CliArgumentsWithPrefixableOutput, MultiplePdfSourceTaskCliArguments, CliArgumentsWithIncrementalUpdate {
 
     @Option(description = "center of the screen (optional)")
     boolean isCenterWindow();
@@ -25,11 +25,13 @@ import org.sejda.cli.model.CliArgumentsWithDirectoryOutput;
 import org.sejda.cli.model.CliArgumentsWithImageAndDirectoryOutput;
 import org.sejda.cli.model.CliArgumentsWithImageFileOutput;
 import org.sejda.cli.model.CliArgumentsWithImageOutput;
+import org.sejda.cli.model.CliArgumentsWithIncrementalUpdate;
 import org.sejda.cli.model.CliArgumentsWithOptimizableOutput;
 import org.sejda.cli.model.CliArgumentsWithPdfAndDirectoryOutput;
 import org.sejda.cli.model.CliArgumentsWithPdfFileOutput;
 import org.sejda.cli.model.CliArgumentsWithPdfOutput;
 import org.sejda.cli.model.CliArgumentsWithPrefixableOutput;
+import org.sejda.cli.model.CliArgumentsWithResourcesDeduplication;
 import org.sejda.cli.model.MultipleOptionalPdfSourceTaskCliArguments;
 import org.sejda.cli.model.MultiplePdfSourceTaskCliArguments;
 import org.sejda.cli.model.SinglePdfSourceTaskCliArguments;
@@ -37,8 +39,10 @@ import org.sejda.conversion.PdfFileSourceAdapter;
 import org.sejda.model.output.ExistingOutputPolicy;
 import org.sejda.model.parameter.base.AbstractPdfOutputParameters;
 import org.sejda.model.parameter.base.DiscardableOutlineTaskParameters;
+import org.sejda.model.parameter.base.IncrementalUpdateTaskParameters;
 import org.sejda.model.parameter.base.MultipleOutputTaskParameters;
 import org.sejda.model.parameter.base.MultiplePdfSourceTaskParameters;
+import org.sejda.model.parameter.base.ResourcesDeduplicationTaskParameters;
 import org.sejda.model.parameter.base.OptimizableOutputTaskParameters;
 import org.sejda.model.parameter.base.SingleOutputTaskParameters;
 import org.sejda.model.parameter.base.SinglePdfSourceTaskParameters;
@@ -130,6 +134,28 @@ public class BaseCliArgumentsTransformer {
         parameters.discardOutline(taskCliArguments.isDiscardOutline());
     }
 
+    /**
+     * Populates common parameters for a task where the output can be saved as an incremental update
+     * 
+     * @param parameters
+     * @param taskCliArguments
+     */
+    protected void populateIncrementalUpdateParameters(IncrementalUpdateTaskParameters parameters,
+            CliArgumentsWithIncrementalUpdate taskCliArguments) {
+        parameters.setIncrementalUpdate(taskCliArguments.isIncrementalUpdate());
+    }
+
+    /**
+     * Populates common parameters for a task where identical resources coming from different sources can be deduplicated
+     * 
+     * @param parameters
+     * @param taskCliArguments
+     */
+    protected void populateResourcesDeduplicationParameters(ResourcesDeduplicationTaskParameters parameters,
+            CliArgumentsWithResourcesDeduplication taskCliArguments) {
+        parameters.setDeduplicateResources(taskCliArguments.isDeduplicateResources());
+    }
+
     /**
      * Populates common parameters for a task with output a single image file
      * 
@@ -162,6 +188,8 @@ public class BaseCliArgumentsTransformer {
     private void populateCommonPdfOutputParameters(AbstractPdfOutputParameters parameters,
             CliArgumentsWithPdfOutput taskCliArguments) {
         parameters.setCompress(taskCliArguments.getCompressed());
+        parameters.setCompressionLevel(taskCliArguments.getCompressionLevel());
+        parameters.setLinearize(taskCliArguments.getLinearize());
         parameters.setVersion(taskCliArguments.getPdfVersion().getVersion());
     }
 
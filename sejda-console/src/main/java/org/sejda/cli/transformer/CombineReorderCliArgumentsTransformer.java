@@ -32,6 +32,7 @@ public class CombineReorderCliArgumentsTransformer extends BaseCliArgumentsTrans
         populateAbstractParameters(parameters, taskCliArguments);
         populateSourceParameters(parameters, taskCliArguments);
         populateOutputTaskParameters(parameters, taskCliArguments);
+        populateResourcesDeduplicationParameters(parameters, taskCliArguments);
 
         taskCliArguments.getPages().stream()
                 .map(in -> parseIndexAndPage(in))
@@ -18,6 +18,9 @@ package org.sejda.cli.transformer;
 
 import static java.util.Arrays.stream;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import org.sejda.cli.model.CompressTaskCliArguments;
 import org.sejda.conversion.OptimizationAdapter;
 import org.sejda.model.optimization.Optimization;
@@ -26,6 +29,12 @@ import org.sejda.model.parameter.OptimizeParameters;
 public class CompressCliArgumentsTransformer extends BaseCliArgumentsTransformer
         implements CommandCliArgumentsTransformer<CompressTaskCliArguments, OptimizeParameters> {
 
+    /**
+     * Optimizations performed only when explicitly requested
+     */
+    private static final Set<Optimization> NOT_BY_DEFAULT = EnumSet.of(Optimization.DISCARD_OUTLINE,
+            Optimization.SUBSET_FONTS, Optimization.MINIFY_CONTENT_STREAMS);
+
     @Override
     public OptimizeParameters toTaskParameters(CompressTaskCliArguments taskCliArguments) {
         OptimizeParameters parameters = new OptimizeParameters();
@@ -38,11 +47,13 @@ public class CompressCliArgumentsTransformer extends BaseCliArgumentsTransformer
             taskCliArguments.getOptimizations().stream().map(OptimizationAdapter::getEnumValue)
                     .forEach(parameters::addOptimization);
         } else {
-            stream(Optimization.values()).filter(o -> o != Optimization.DISCARD_OUTLINE)
+            stream(Optimization.values()).filter(o -> !NOT_BY_DEFAULT.contains(o))
                     .forEach(parameters::addOptimization);
         }
         parameters.setImageDpi(taskCliArguments.getImageDpi());
         parameters.setImageQuality(taskCliArguments.getImageQuality());
+        parameters.setContentStreamsPrecision(taskCliArguments.getContentStreamsPrecision());
+        parameters.setMaxWorkers(taskCliArguments.getMaxWorkers());
 
         return parameters;
     }
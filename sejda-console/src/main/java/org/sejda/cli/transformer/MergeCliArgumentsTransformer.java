@@ -54,6 +54,7 @@ public class MergeCliArgumentsTransformer extends BaseCliArgumentsTransformer
         parameters.setOutlinePolicy(taskCliArguments.getBookmarks().getEnumValue());
         parameters.setTableOfContentsPolicy(taskCliArguments.getToc().getEnumValue());
         parameters.setFilenameFooter(taskCliArguments.getFooter());
+        populateResourcesDeduplicationParameters(parameters, taskCliArguments);
         populateAbstractParameters(parameters, taskCliArguments);
         populateOutputTaskParameters(parameters, taskCliArguments);
 
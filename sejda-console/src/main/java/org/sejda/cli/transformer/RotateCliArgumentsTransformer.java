@@ -97,6 +97,7 @@ public class RotateCliArgumentsTransformer extends BaseCliArgumentsTransformer i
 
         populateAbstractParameters(parameters, taskCliArguments);
         populateSourceParameters(parameters, taskCliArguments);
+        populateIncrementalUpdateParameters(parameters, taskCliArguments);
         populateOutputTaskParameters(parameters, taskCliArguments);
         populateOutputPrefix(parameters, taskCliArguments);
         return parameters;
@@ -71,6 +71,7 @@ public class SetHeaderFooterCliArgumentsTransformer extends BaseCliArgumentsTran
             }
             parameters.setColor(hex2Rgb(color));
         }
+        parameters.setSharedStamp(taskCliArguments.getSharedStamp());
 
         return parameters;
     }
@@ -61,6 +61,7 @@ public class SetMetadataCliArgumentsTransformer extends BaseCliArgumentsTransfor
 
         populateAbstractParameters(parameters, taskCliArguments);
         populateSourceParameters(parameters, taskCliArguments);
+        populateIncrementalUpdateParameters(parameters, taskCliArguments);
         populateOutputTaskParameters(parameters, taskCliArguments);
 
         return parameters;
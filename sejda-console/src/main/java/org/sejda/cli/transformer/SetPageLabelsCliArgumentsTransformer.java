@@ -47,6 +47,7 @@ public class SetPageLabelsCliArgumentsTransformer extends BaseCliArgumentsTransf
         }
 
         populateSourceParameters(parameters, taskCliArguments);
+        populateIncrementalUpdateParameters(parameters, taskCliArguments);
         populateOutputTaskParameters(parameters, taskCliArguments);
         populateAbstractParameters(parameters, taskCliArguments);
 
@@ -57,6 +57,7 @@ public class SetPageTransitionsCliArgumentsTransformer extends BaseCliArgumentsT
         }
 
         populateSourceParameters(parameters, taskCliArguments);
+        populateIncrementalUpdateParameters(parameters, taskCliArguments);
         populateOutputTaskParameters(parameters, taskCliArguments);
         populateAbstractParameters(parameters, taskCliArguments);
 
@@ -44,6 +44,7 @@ public class ViewerPreferencesCliArgumentsTransformer extends BaseCliArgumentsTr
         populateAbstractParameters(parameters, taskCliArguments);
         populateOutputTaskParameters(parameters, taskCliArguments);
         populateSourceParameters(parameters, taskCliArguments);
+        populateIncrementalUpdateParameters(parameters, taskCliArguments);
 
         populateActivePreferences(taskCliArguments, parameters);
         populateOutputPrefix(parameters, taskCliArguments);
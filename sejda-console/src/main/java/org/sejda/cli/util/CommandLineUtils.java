@@ -71,4 +71,83 @@ public class CommandLineUtils {
         }
         return result.toArray(new String[result.size()]);
     }
+
+    /**
+     * Crack a command line expressed as a JSON array of strings. Ex. ["merge", "-f", "/tmp/file 1.pdf"]
+     * @param toProcess the JSON array to process.
+     * @return the command line broken into strings.
+     */
+    public static String[] translateJsonArray(String toProcess) {
+        final String json = toProcess.trim();
+        if (!json.startsWith("[") || !json.endsWith("]")) {
+            throw new IllegalArgumentException("not a JSON array: " + toProcess);
+        }
+        final ArrayList<String> result = new ArrayList<String>();
+        final StringBuilder current = new StringBuilder();
+        boolean inString = false;
+        boolean expectingValue = true;
+        for (int i = 1; i < json.length() - 1; i++) {
+            char c = json.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    if (++i >= json.length() - 1) {
+                        throw new IllegalArgumentException("unterminated escape sequence in " + toProcess);
+                    }
+                    char escaped = json.charAt(i);
+                    switch (escaped) {
+                        case 'b':
+                            current.append('\b');
+                            break;
+                        case 'f':
+                            current.append('\f');
+                            break;
+                        case 'n':
+                            current.append('\n');
+                            break;
+                        case 'r':
+                            current.append('\r');
+                            break;
+                        case 't':
+                            current.append('\t');
+                            break;
+                        case '"':
+                        case '\\':
+                        case '/':
+                            current.append(escaped);
+                            break;
+                        case 'u':
+                            if (i + 4 >= json.length() - 1
+                                    || !json.substring(i + 1, i + 5).matches("[0-9a-fA-F]{4}")) {
+                                throw new IllegalArgumentException("invalid unicode escape in " + toProcess);
+                            }
+                            current.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+                            i += 4;
+                            break;
+                        default:
+                            throw new IllegalArgumentException(
+                                    "invalid escape sequence \\" + escaped + " in " + toProcess);
+                    }
+                } else if (c == '"') {
+                    result.add(current.toString());
+                    current.setLength(0);
+                    inString = false;
+                    expectingValue = false;
+                } else if (c < ' ') {
+                    throw new IllegalArgumentException("unescaped control character in " + toProcess);
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"' && expectingValue) {
+                inString = true;
+            } else if (c == ',' && !expectingValue) {
+                expectingValue = true;
+            } else if (!Character.isWhitespace(c)) {
+                throw new IllegalArgumentException("only strings are allowed in the JSON array " + toProcess);
+            }
+        }
+        if (inString || (expectingValue && !result.isEmpty())) {
+            throw new IllegalArgumentException("malformed JSON array " + toProcess);
+        }
+        return result.toArray(new String[result.size()]);
+    }
 }
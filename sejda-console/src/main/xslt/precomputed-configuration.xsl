@@ -0,0 +1,97 @@
+<?xml version="1.0" encoding="UTF-8"?>
+<!--
+ Generates the PrecomputedConfigurationStrategy source from the console sejda.xml during the generate-sources phase,
+ this way the precomputed configuration cannot get out of sync with the xml one.
+-->
+<xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
+	<xsl:output method="text" encoding="UTF-8" />
+
+	<xsl:template match="/sejda">
+		<xsl:text>/*
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ */
+package org.sejda.cli;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.sejda.core.context.ConfigurationStrategy;
+import org.sejda.core.notification.strategy.NotificationStrategy;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.Task;
+
+/**
+ * Configuration of the console, equivalent to the default &lt;i&gt;sejda.xml&lt;/i&gt;, precomputed to save the xml parsing and the
+ * classes lookup at every console startup. It's registered as a {@link ConfigurationStrategy} service provider and it's
+ * ignored if a configuration file is explicitly set using the sejda.config.file system property.
+ * &lt;p&gt;
+ * Generated at build time from sejda.xml by src/main/xslt/precomputed-configuration.xsl, don't edit.
+ * &lt;/p&gt;
+ */
+public class PrecomputedConfigurationStrategy implements ConfigurationStrategy {
+
+    @SuppressWarnings("rawtypes")
+    private static final Map&lt;Class&lt;? extends TaskParameters&gt;, Class&lt;? extends Task&gt;&gt; TASKS;
+
+    static {
+        @SuppressWarnings("rawtypes")
+        Map&lt;Class&lt;? extends TaskParameters&gt;, Class&lt;? extends Task&gt;&gt; tasks = new LinkedHashMap&lt;&gt;();
+</xsl:text>
+		<xsl:for-each select="tasks/task">
+			<xsl:text>        tasks.put(</xsl:text>
+			<xsl:value-of select="normalize-space(@parameters)" />
+			<xsl:text>.class, </xsl:text>
+			<xsl:value-of select="normalize-space(@task)" />
+			<xsl:text>.class);
+</xsl:text>
+		</xsl:for-each>
+		<xsl:text>        TASKS = Collections.unmodifiableMap(tasks);
+    }
+
+    @Override
+    public Class&lt;? extends NotificationStrategy&gt; getNotificationStrategy() {
+        return org.sejda.core.notification.strategy.</xsl:text>
+		<xsl:choose>
+			<xsl:when test="translate(notification/@async, 'TRUE', 'true') = 'true'">AsyncNotificationStrategy</xsl:when>
+			<xsl:otherwise>SyncNotificationStrategy</xsl:otherwise>
+		</xsl:choose>
+		<xsl:text>.class;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Map&lt;Class&lt;? extends TaskParameters&gt;, Class&lt;? extends Task&gt;&gt; getTasksMap() {
+        return TASKS;
+    }
+
+    @Override
+    public boolean isValidation() {
+        return </xsl:text>
+		<xsl:value-of select="translate(@validation, 'TRUE', 'true') = 'true'" />
+		<xsl:text>;
+    }
+
+    @Override
+    public boolean isIgnoreXmlConfiguration() {
+        return </xsl:text>
+		<xsl:value-of select="not(@ignore_xml_config) or translate(@ignore_xml_config, 'TRUE', 'true') = 'true'" />
+		<xsl:text>;
+    }
+}
+</xsl:text>
+	</xsl:template>
+</xsl:stylesheet>
@@ -0,0 +1,89 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.cli.exception.ArgumentValidationException;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class BatchConsoleTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readCommands() throws IOException {
+        File batch = batchFile("# nightly job", "", "merge -f \"/tmp/file 1.pdf\" -o /tmp/out.pdf",
+                " [\"rotate\", \"-f\", \"/tmp/file \\\"2\\\".pdf\", \"-r\", \"90\"] ");
+        List<String[]> commands = BatchConsole.readCommands(batch);
+        assertEquals(2, commands.size());
+        assertArrayEquals(new String[] { "merge", "-f", "/tmp/file 1.pdf", "-o", "/tmp/out.pdf" }, commands.get(0));
+        assertArrayEquals(new String[] { "rotate", "-f", "/tmp/file \"2\".pdf", "-r", "90" }, commands.get(1));
+    }
+
+    @Test(expected = ArgumentValidationException.class)
+    public void invalidJsonCommand() throws IOException {
+        BatchConsole.readCommands(batchFile("[\"merge\", -f]"));
+    }
+
+    @Test(expected = ArgumentValidationException.class)
+    public void nestedBatch() throws IOException {
+        BatchConsole.readCommands(batchFile("--version", "--batch /tmp/other.txt"));
+    }
+
+    @Test(expected = ArgumentValidationException.class)
+    public void nestedJsonBatch() throws IOException {
+        BatchConsole.readCommands(batchFile("[\"--batch\", \"/tmp/other.txt\", \"--parallelism\", \"2\"]"));
+    }
+
+    @Test(expected = ArgumentValidationException.class)
+    public void missingFile() {
+        BatchConsole.readCommands(new File(folder.getRoot(), "missing.txt"));
+    }
+
+    @Test
+    public void exitStatuses() {
+        List<String[]> commands = asList(new String[] { "-h" }, new String[] { "merge", "--noSuchOption" },
+                new String[] { "--version" });
+        int[] statuses = new BatchConsole(commands, 2, mock(TaskExecutionAdapter.class)).execute();
+        assertArrayEquals(new int[] { 0, 1, 0 }, statuses);
+    }
+
+    private File batchFile(String... lines) throws IOException {
+        File batch = folder.newFile();
+        Files.write(batch.toPath(), asList(lines), StandardCharsets.UTF_8);
+        return batch;
+    }
+}
@@ -17,6 +17,7 @@
 package org.sejda.cli;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 
@@ -47,4 +48,11 @@ public class CombineReorderTaskTest extends AbstractTaskTest {
         assertEquals(Arrays.asList(new FileIndexAndPage(0, 1), new FileIndexAndPage(1, 1, Rotation.DEGREES_270), new FileIndexAndPage(0, 2, Rotation.DEGREES_180), new FileIndexAndPage(1, 3, Rotation.DEGREES_90)),
                 parameters.getPages());
     }
+
+    @Test
+    public void deduplicateResources() {
+        CombineReorderParameters parameters = defaultCommandLine().with("-n", "0:1 1:1")
+                .withFlag("--deduplicateResources").invokeSejdaConsole();
+        assertTrue(parameters.isDeduplicateResources());
+    }
 }
@@ -17,6 +17,8 @@
 package org.sejda.cli;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 import org.sejda.model.optimization.Optimization;
@@ -40,10 +42,40 @@ public class CompressTaskTest extends AbstractTaskTest {
         assertEquals(0.22f, parameters.getImageQuality(), 0.01);
     }
 
+    @Test
+    public void testContentStreamsPrecision() {
+        OptimizeParameters parameters = defaultCommandLine().with("--contentStreamsPrecision", "1")
+                .invokeSejdaConsole();
+        assertEquals(1, parameters.getContentStreamsPrecision());
+    }
+
+    @Test
+    public void testMaxWorkers() {
+        OptimizeParameters parameters = defaultCommandLine().with("--maxWorkers", "2").invokeSejdaConsole();
+        assertEquals(2, parameters.getMaxWorkers());
+    }
+
     @Test
     public void testDefaultOptimizations() {
         OptimizeParameters parameters = defaultCommandLine().invokeSejdaConsole();
-        assertEquals(Optimization.values().length - 1, parameters.getOptimizations().size());
+        assertEquals(Optimization.values().length - 3, parameters.getOptimizations().size());
+        assertFalse(parameters.getOptimizations().contains(Optimization.DISCARD_OUTLINE));
+        assertFalse(parameters.getOptimizations().contains(Optimization.SUBSET_FONTS));
+        assertFalse(parameters.getOptimizations().contains(Optimization.MINIFY_CONTENT_STREAMS));
+    }
+
+    @Test
+    public void testSubsetFontsWhenRequested() {
+        OptimizeParameters parameters = defaultCommandLine().with("--optimizations", "subset_fonts")
+                .invokeSejdaConsole();
+        assertTrue(parameters.getOptimizations().contains(Optimization.SUBSET_FONTS));
+    }
+
+    @Test
+    public void testMinifyContentStreamsWhenRequested() {
+        OptimizeParameters parameters = defaultCommandLine().with("--optimizations", "minify_content_streams")
+                .invokeSejdaConsole();
+        assertTrue(parameters.getOptimizations().contains(Optimization.MINIFY_CONTENT_STREAMS));
     }
 
     @Test
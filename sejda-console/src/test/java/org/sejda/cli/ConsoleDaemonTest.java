@@ -0,0 +1,167 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+import static org.junit.matchers.JUnitMatchers.containsString;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.cli.exception.ArgumentValidationException;
+import org.sejda.core.Sejda;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ConsoleDaemonTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private ConsoleDaemon victim;
+    private Path tokenFile;
+    private ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Before
+    public void setUp() throws IOException {
+        tokenFile = folder.getRoot().toPath().resolve("daemon.token");
+        victim = new ConsoleDaemon(0, tokenFile, mock(TaskExecutionAdapter.class));
+        Thread daemon = new Thread(victim::serve);
+        daemon.setDaemon(true);
+        daemon.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        victim.close();
+    }
+
+    @Test
+    public void version() throws IOException {
+        PrintStream systemOut = System.out;
+        assertEquals(0, send("--version"));
+        assertThat(out.toString(), containsString("Sejda Console (Version " + Sejda.VERSION + ")"));
+        assertEquals(systemOut, System.out);
+    }
+
+    @Test
+    public void multipleCommands() throws IOException {
+        assertEquals(1, send("merge", "--noSuchOption"));
+        assertEquals(0, send("-h"));
+        assertThat(out.toString(), containsString("Basic commands:"));
+    }
+
+    @Test(expected = IOException.class)
+    public void lineBreaksInArguments() throws IOException {
+        send("-h", "some\narg");
+    }
+
+    @Test(expected = ConnectException.class)
+    public void noDaemon() throws IOException {
+        int port;
+        try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = closed.getLocalPort();
+        }
+        ConsoleDaemonClient.send(new String[] { "-h" }, port, tokenFile, new PrintStream(out), new PrintStream(err));
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void noTokenFile() throws IOException {
+        ConsoleDaemonClient.send(new String[] { "-h" }, victim.getPort(), folder.getRoot().toPath().resolve("missing"),
+                new PrintStream(out), new PrintStream(err));
+    }
+
+    @Test
+    public void ownerOnlyTokenFile() throws IOException {
+        assumeTrue(tokenFile.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        assertThat(Files.getPosixFilePermissions(tokenFile),
+                containsInAnyOrder(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE));
+    }
+
+    @Test
+    public void invalidToken() throws IOException {
+        Path wrong = folder.newFile("wrong.token").toPath();
+        Files.write(wrong, "abc".getBytes());
+        try {
+            ConsoleDaemonClient.send(new String[] { "--version" }, victim.getPort(), wrong, new PrintStream(out, true),
+                    new PrintStream(err, true));
+        } catch (IOException e) {
+            // expected
+        }
+        assertThat(err.toString(), containsString("Invalid daemon token"));
+        assertFalse(out.toString().contains("Sejda Console"));
+    }
+
+    @Test
+    public void tokenFileDeletedOnClose() throws IOException {
+        victim.close();
+        assertFalse(Files.exists(tokenFile));
+    }
+
+    @Test
+    public void relativePathsResolvedAgainstClientDirectory() {
+        File client = new File("/client/dir");
+        String absolute = new File("/abs/b.pdf").getAbsolutePath();
+        String[] resolved = ConsoleDaemon.resolveRelativePaths(new String[] { "merge", "-f", "a.pdf",
+                absolute + ":secret", "-o", "out.pdf", "-s", "1-2", "--overwrite" }, client);
+        assertArrayEquals(new String[] { "merge", "-f", new File(client, "a.pdf").getPath(), absolute + ":secret",
+                "-o", new File(client, "out.pdf").getPath(), "-s", "1-2", "--overwrite" }, resolved);
+    }
+
+    @Test
+    public void relativePathsOfLongOptions() {
+        File client = new File("/client/dir");
+        String[] resolved = ConsoleDaemon.resolveRelativePaths(
+                new String[] { "simplesplit", "--files", "a.pdf", "--output", "out", "-p", "p_" }, client);
+        assertArrayEquals(new String[] { "simplesplit", "--files", new File(client, "a.pdf").getPath(), "--output",
+                new File(client, "out").getPath(), "-p", "p_" }, resolved);
+    }
+
+    @Test(expected = ArgumentValidationException.class)
+    public void batchFromAnotherDirectory() {
+        ConsoleDaemon.resolveRelativePaths(new String[] { "--batch", "commands.txt" }, new File("/client/dir"));
+    }
+
+    private int send(String... args) throws IOException {
+        return ConsoleDaemonClient.send(args, victim.getPort(), tokenFile, new PrintStream(out, true),
+                new PrintStream(err, true));
+    }
+}
@@ -129,6 +129,13 @@ public class MergeTaskTest extends AbstractTaskTest {
         assertEquals(AcroFormPolicy.DISCARD, parameters.getAcroFormPolicy());
         assertEquals(ToCPolicy.NONE, parameters.getTableOfContentsPolicy());
         assertFalse(parameters.isFilenameFooter());
+        assertFalse(parameters.isDeduplicateResources());
+    }
+
+    @Test
+    public void deduplicateResources() {
+        MergeParameters parameters = defaultCommandLine().withFlag("--deduplicateResources").invokeSejdaConsole();
+        assertTrue(parameters.isDeduplicateResources());
     }
 
     @Test
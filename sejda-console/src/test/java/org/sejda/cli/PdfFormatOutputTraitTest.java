@@ -62,6 +62,43 @@ public class PdfFormatOutputTraitTest extends AbstractTaskTraitTest {
         assertFalse(describeExpectations(), result.isCompress());
     }
 
+    @Test
+    public void onValueLinearize() {
+        AbstractPdfOutputParameters result = defaultCommandLine().withFlag("--linearize").invokeSejdaConsole();
+
+        assertTrue(describeExpectations(), result.isLinearize());
+    }
+
+    @Test
+    public void offValueLinearize() {
+        AbstractPdfOutputParameters result = defaultCommandLine().invokeSejdaConsole();
+
+        assertFalse(describeExpectations(), result.isLinearize());
+    }
+
+    @Test
+    public void specifiedValueCompressionLevel() {
+        AbstractPdfOutputParameters result = defaultCommandLine().withFlag("--compressed")
+                .with("--compressionLevel", "9").invokeSejdaConsole();
+
+        assertEquals(describeExpectations(), 9, result.getCompressionLevel());
+    }
+
+    @Test
+    public void shortNameCompressionLevel() {
+        AbstractPdfOutputParameters result = defaultCommandLine().withFlag("--compressed").with("-L", "4")
+                .invokeSejdaConsole();
+
+        assertEquals(describeExpectations(), 4, result.getCompressionLevel());
+    }
+
+    @Test
+    public void defaultValueCompressionLevel() {
+        AbstractPdfOutputParameters result = defaultCommandLine().invokeSejdaConsole();
+
+        assertEquals(describeExpectations(), -1, result.getCompressionLevel());
+    }
+
     @Test
     public void specifiedValuePdfVersion() {
         AbstractPdfOutputParameters result = defaultCommandLine().with("--pdfVersion", "1.4").invokeSejdaConsole();
@@ -0,0 +1,69 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.Task;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PrecomputedConfigurationStrategyTest {
+
+    @Test
+    public void sameTasksAsXmlConfiguration() throws Exception {
+        Map<String, String> expected = new HashMap<>();
+        try (InputStream xml = getClass().getClassLoader().getResourceAsStream("sejda.xml")) {
+            NodeList tasks = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(xml)
+                    .getElementsByTagName("task");
+            for (int i = 0; i < tasks.getLength(); i++) {
+                Element task = (Element) tasks.item(i);
+                expected.put(task.getAttribute("parameters"), task.getAttribute("task"));
+            }
+        }
+        @SuppressWarnings("rawtypes")
+        Map<Class<? extends TaskParameters>, Class<? extends Task>> tasks = new PrecomputedConfigurationStrategy()
+                .getTasksMap();
+        assertEquals(expected.size(), tasks.size());
+        for (@SuppressWarnings("rawtypes")
+        Entry<Class<? extends TaskParameters>, Class<? extends Task>> entry : tasks.entrySet()) {
+            assertEquals(expected.get(entry.getKey().getName()), entry.getValue().getName());
+        }
+    }
+
+    @Test
+    public void validation() {
+        assertTrue(new PrecomputedConfigurationStrategy().isValidation());
+        assertTrue(new PrecomputedConfigurationStrategy().isIgnoreXmlConfiguration());
+    }
+}
@@ -27,6 +27,7 @@ import static org.junit.Assert.assertTrue;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
+import org.sejda.cli.exception.ArgumentValidationException;
 import org.sejda.cli.transformer.CliCommand;
 
 /**
@@ -49,6 +50,25 @@ public class RawArgumentsTest {
         assertTrue(rawArgumentsFrom("decrypt --license").isLicenseRequest());
     }
 
+    @Test
+    public void isBatchRequest() {
+        assertTrue(rawArgumentsFrom("--batch /tmp/commands.txt").isBatchRequest());
+        assertFalse(rawArgumentsFrom("--batch").isBatchRequest());
+        assertFalse(rawArgumentsFrom("decrypt --batch /tmp/commands.txt").isBatchRequest());
+        assertEquals("commands.txt", rawArgumentsFrom("--batch /tmp/commands.txt").getBatchFile().getName());
+    }
+
+    @Test
+    public void batchParallelism() {
+        assertEquals(1, rawArgumentsFrom("--batch /tmp/commands.txt").getBatchParallelism());
+        assertEquals(4, rawArgumentsFrom("--batch /tmp/commands.txt --parallelism 4").getBatchParallelism());
+    }
+
+    @Test(expected = ArgumentValidationException.class)
+    public void invalidBatchParallelism() {
+        rawArgumentsFrom("--batch /tmp/commands.txt --parallelism 0").getBatchParallelism();
+    }
+
     @Test
     public void isNoCommandSpecified() {
         assertTrue(rawArgumentsFrom("unknownCommand --options -f /tmp/file1.pdf").isNoCommandSpecified());
@@ -20,6 +20,7 @@
 package org.sejda.cli;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 
@@ -111,4 +112,10 @@ public class RotateTaskTest extends AbstractTaskTest {
     public void mandatoryRotationParams() {
         defaultCommandLine().without("-r").without("-k").assertConsoleOutputContains("Please specify at least one option that defines rotation");
     }
+
+    @Test
+    public void incrementalUpdate() {
+        RotateParameters parameters = defaultCommandLine().withFlag("--incrementalUpdate").invokeSejdaConsole();
+        assertTrue(parameters.isIncrementalUpdate());
+    }
 }
@@ -20,6 +20,8 @@
 package org.sejda.cli;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.awt.Color;
 
@@ -139,4 +141,12 @@ public class SetHeaderFooterTaskTest extends AbstractTaskTest {
         SetHeaderFooterParameters parameters = defaultCommandLine().with("--pageCountStartFrom", "5").invokeSejdaConsole();
         assertEquals(5, parameters.getPageCountStartFrom().intValue());
     }
+
+    @Test
+    public void sharedStamp() {
+        SetHeaderFooterParameters parameters = defaultCommandLine().withFlag("--sharedStamp").invokeSejdaConsole();
+        assertTrue(parameters.isSharedStamp());
+        parameters = defaultCommandLine().invokeSejdaConsole();
+        assertFalse(parameters.isSharedStamp());
+    }
 }
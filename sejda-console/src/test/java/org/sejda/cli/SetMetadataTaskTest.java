@@ -19,6 +19,8 @@
  */
 package org.sejda.cli;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Map.Entry;
@@ -109,4 +111,17 @@ public class SetMetadataTaskTest extends AbstractTaskTest {
                 .without("--keywords").without("-s").without("--subject")
                 .assertConsoleOutputContains("Please specify at least one metadata option to be set");
     }
+
+    @Test
+    public void incrementalUpdate() {
+        SetMetadataParameters parameters = defaultCommandLine().with("--author", "AUTH")
+                .withFlag("--incrementalUpdate").invokeSejdaConsole();
+        assertTrue(parameters.isIncrementalUpdate());
+    }
+
+    @Test
+    public void incrementalUpdate_Default() {
+        SetMetadataParameters parameters = defaultCommandLine().with("--author", "AUTH").invokeSejdaConsole();
+        assertFalse(parameters.isIncrementalUpdate());
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli.util;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class CommandLineUtilsTest {
+
+    @Test
+    public void jsonArray() {
+        assertArrayEquals(new String[] { "merge", "-f", "/tmp/file 1.pdf" },
+                CommandLineUtils.translateJsonArray(" [ \"merge\" ,\"-f\",  \"/tmp/file 1.pdf\" ] "));
+    }
+
+    @Test
+    public void emptyJsonArray() {
+        assertArrayEquals(new String[0], CommandLineUtils.translateJsonArray("[ ]"));
+    }
+
+    @Test
+    public void jsonArrayEscapes() {
+        assertArrayEquals(new String[] { "a\"b", "c\\d", "e/f", "\b\f\n\r\t", "\u00e8A", "" },
+                CommandLineUtils.translateJsonArray(
+                        "[\"a\\\"b\", \"c\\\\d\", \"e\\/f\", \"\\b\\f\\n\\r\\t\", \"\\u00E8\\u0041\", \"\"]"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notAnArray() {
+        CommandLineUtils.translateJsonArray("\"merge\"");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unquotedValue() {
+        CommandLineUtils.translateJsonArray("[\"merge\", -f]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingComma() {
+        CommandLineUtils.translateJsonArray("[\"merge\" \"-f\"]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void trailingComma() {
+        CommandLineUtils.translateJsonArray("[\"merge\",]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void leadingComma() {
+        CommandLineUtils.translateJsonArray("[,\"merge\"]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unterminatedString() {
+        CommandLineUtils.translateJsonArray("[\"merge]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unterminatedEscape() {
+        CommandLineUtils.translateJsonArray("[\"merge\\]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidEscape() {
+        CommandLineUtils.translateJsonArray("[\"c:\\temp\\x.pdf\"]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedUnicodeEscape() {
+        CommandLineUtils.translateJsonArray("[\"\\u00\"]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidUnicodeEscape() {
+        CommandLineUtils.translateJsonArray("[\"\\u+0e8\"]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unescapedControlCharacter() {
+        CommandLineUtils.translateJsonArray("[\"a\tb\"]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nestedArray() {
+        CommandLineUtils.translateJsonArray("[[\"merge\"]]");
+    }
+}
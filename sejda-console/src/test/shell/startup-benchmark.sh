@@ -0,0 +1,29 @@
+#!/bin/bash -e
+#
+# Sejda console startup time benchmark shell script. Executes a small job multiple times using the precomputed
+# configuration and the xml one, printing the average wall clock time of a cold console invocation.
+#
+# Usage: maven clean install && ./src/test/shell/startup-benchmark.sh [runs]
+
+BASEDIR=`dirname $0`/../../..
+BASEDIR=`(cd "$BASEDIR"; pwd)`
+RUNS=${1:-10}
+CONSOLE=$BASEDIR/target/assembled/bin/sejda-console
+INPUT=$BASEDIR/../sejda-core/src/test/resources/pdf/2_pages.pdf
+OUTPUT=/tmp/sejda-startup-benchmark
+
+chmod +x $CONSOLE
+mkdir -p $OUTPUT
+
+function benchmark {
+  local label=$1
+  local start=`date +%s%N`
+  for i in `seq 1 $RUNS`; do
+    $CONSOLE rotate -f $INPUT -o $OUTPUT -r 90 -m all --existingOutput overwrite > /dev/null
+  done
+  local end=`date +%s%N`
+  echo "$label: `expr \( $end - $start \) / $RUNS / 1000000` ms per invocation (average of $RUNS runs)"
+}
+
+JAVA_OPTS= benchmark "Precomputed configuration"
+JAVA_OPTS=-Dsejda.config.file=$BASEDIR/src/main/resources/sejda.xml benchmark "Xml configuration"
@@ -38,6 +38,7 @@ public final class Sejda {
     public static final String UNETHICAL_READ_PROPERTY_NAME = "sejda.unethical.read";
     public static final String USER_CONFIG_FILE_PROPERTY_NAME = "sejda.config.file";
     public static final String PERFORM_SCHEMA_VALIDATION_PROPERTY_NAME = "sejda.perform.schema.validation";
+    public static final String LIGHTWEIGHT_VALIDATION_PROPERTY_NAME = "sejda.lightweight.validation";
 
     private Sejda() {
         // on purpose
@@ -27,12 +27,16 @@ import org.sejda.model.parameter.base.TaskParameters;
 import org.sejda.model.task.Task;
 
 /**
- * Strategy used to load the configuration
+ * Strategy used to load the configuration. Applications can provide a precomputed configuration, avoiding the parsing
+ * of the xml configuration at startup, registering an implementation of this interface as a
+ * {@link java.util.ServiceLoader} provider in <i>META-INF/services/org.sejda.core.context.ConfigurationStrategy</i>.
+ * The precomputed configuration is ignored if a configuration file is explicitly set with the
+ * {@value org.sejda.core.Sejda#USER_CONFIG_FILE_PROPERTY_NAME} system property.
  * 
  * @author Andrea Vacondio
  * 
  */
-interface ConfigurationStrategy {
+public interface ConfigurationStrategy {
 
     /**
      * @return the notification strategy class to use
@@ -20,8 +20,12 @@
  */
 package org.sejda.core.context;
 
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.ServiceLoader;
 
 import org.sejda.core.Sejda;
 import org.sejda.core.notification.strategy.NotificationStrategy;
@@ -72,7 +76,7 @@ final class GlobalConfiguration {
         tasksRegistry = new DefaultTasksRegistry();
         ConfigurationStrategy configStrategy;
         try {
-            configStrategy = XmlConfigurationStrategy.newInstance(new XmlConfigurationStreamProvider());
+            configStrategy = getConfigurationStrategy();
         } catch (ConfigurationException e) {
             throw new SejdaRuntimeException("Unable to complete Sejda configuration ", e);
         }
@@ -88,6 +92,23 @@ final class GlobalConfiguration {
         }
     }
 
+    /**
+     * @return the precomputed configuration strategy registered as a service provider, if any and if no configuration
+     *         file has been explicitly set, the xml configuration strategy otherwise
+     * @throws ConfigurationException
+     */
+    private static ConfigurationStrategy getConfigurationStrategy() throws ConfigurationException {
+        if (isBlank(System.getProperty(Sejda.USER_CONFIG_FILE_PROPERTY_NAME))) {
+            Iterator<ConfigurationStrategy> precomputed = ServiceLoader.load(ConfigurationStrategy.class).iterator();
+            if (precomputed.hasNext()) {
+                ConfigurationStrategy configStrategy = precomputed.next();
+                LOG.debug("Using precomputed configuration {}", configStrategy.getClass().getName());
+                return configStrategy;
+            }
+        }
+        return XmlConfigurationStrategy.newInstance(new XmlConfigurationStreamProvider());
+    }
+
     /**
      * @return the global configuration instance
      * @throws SejdaRuntimeException
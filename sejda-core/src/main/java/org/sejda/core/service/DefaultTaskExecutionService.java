@@ -31,6 +31,7 @@ import org.apache.commons.lang3.time.StopWatch;
 import org.sejda.core.context.DefaultSejdaContext;
 import org.sejda.core.context.SejdaContext;
 import org.sejda.core.validation.DefaultValidationContext;
+import org.sejda.core.validation.ValidationContext;
 import org.sejda.model.exception.InvalidTaskParametersException;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.parameter.base.TaskParameters;
@@ -98,8 +99,12 @@ public final class DefaultTaskExecutionService implements TaskExecutionService {
     private void validate(TaskParameters parameters) throws InvalidTaskParametersException {
         if (context.isValidation()) {
             LOG.debug("Validating parameters.");
-            Set<ConstraintViolation<TaskParameters>> violations = DefaultValidationContext.getContext().getValidator()
-                    .validate(parameters);
+            ValidationContext validationContext = DefaultValidationContext.getContext();
+            if (validationContext.isLightweightValid(parameters)) {
+                LOG.trace("Parameters validated by the lightweight validator.");
+                return;
+            }
+            Set<ConstraintViolation<TaskParameters>> violations = validationContext.getValidator().validate(parameters);
             if (!violations.isEmpty()) {
                 StringBuilder sb = new StringBuilder(String.format("Input parameters (%s) are not valid: ", parameters));
                 for (ConstraintViolation<TaskParameters> violation : violations) {
@@ -19,7 +19,20 @@
  */
 package org.sejda.core.support.io;
 
+import static java.util.Optional.ofNullable;
+import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
+import static org.sejda.core.support.io.model.FileOutput.file;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.util.Optional;
+
+import org.sejda.model.exception.TaskException;
 import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.SingleTaskOutput;
+import org.sejda.model.output.StreamTaskOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Provides factory methods for available output writers.
@@ -29,6 +42,8 @@ import org.sejda.model.output.ExistingOutputPolicy;
  */
 public final class OutputWriters {
 
+    private static final Logger LOG = LoggerFactory.getLogger(OutputWriters.class);
+
     private OutputWriters() {
         // hide
     }
@@ -54,4 +69,66 @@ public final class OutputWriters {
     public static MultipleOutputWriter newMultipleOutputWriter(ExistingOutputPolicy policy) {
         return new DefaultMultipleOutputWriter(policy);
     }
+
+    /**
+     * Single output tasks can write their result straight to the returned stream instead of staging it to a temporary
+     * file that is later copied to the stream. File outputs are always staged, so that the existing output policy can be
+     * applied and the destination is replaced only when the result is complete.
+     * 
+     * @param output
+     * @return the destination stream if the given output is a {@link StreamTaskOutput}, an empty {@link Optional}
+     *         otherwise.
+     */
+    public static Optional<OutputStream> directOutputStream(SingleTaskOutput<?> output) {
+        return ofNullable(output).filter(StreamTaskOutput.class::isInstance).map(StreamTaskOutput.class::cast)
+                .map(StreamTaskOutput::getDestination);
+    }
+
+    /**
+     * Writes the result of a single output task to the given output. The result is saved straight to the destination
+     * stream if the output allows it (see {@link #directOutputStream(SingleTaskOutput)}), otherwise it's saved to a
+     * temporary buffer that the given writer then writes to the output.
+     * 
+     * @param output
+     * @param outputName
+     *            name of the output file
+     * @param outputWriter
+     *            writer used when the result is staged to a temporary buffer
+     * @param toStream
+     *            saves the result to a stream
+     * @param toFile
+     *            saves the result to a file
+     * @param onSaved
+     *            executed once the result is saved, before the staged result is written to the output, so that tasks
+     *            can release their resources as soon as possible
+     * @throws TaskException
+     */
+    public static void writeSingleOutput(SingleTaskOutput<?> output, String outputName,
+            SingleOutputWriter outputWriter, Saver<OutputStream> toStream, Saver<File> toFile, Runnable onSaved)
+            throws TaskException {
+        Optional<OutputStream> directOutput = directOutputStream(output);
+        if (directOutput.isPresent()) {
+            toStream.save(directOutput.get());
+            onSaved.run();
+        } else {
+            File tmpFile = createTemporaryPdfBuffer();
+            LOG.debug("Created output temporary buffer {}", tmpFile);
+            toFile.save(tmpFile);
+            onSaved.run();
+
+            outputWriter.setOutput(file(tmpFile).name(outputName));
+            output.accept(outputWriter);
+        }
+    }
+
+    /**
+     * Saves a task result to a destination
+     * 
+     * @param <T>
+     *            type of the destination
+     */
+    @FunctionalInterface
+    public interface Saver<T> {
+        void save(T destination) throws TaskException;
+    }
 }
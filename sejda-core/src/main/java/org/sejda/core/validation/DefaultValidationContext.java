@@ -20,12 +20,18 @@
  */
 package org.sejda.core.validation;
 
+import static java.util.Objects.nonNull;
+
+import java.util.Map;
+
 import javax.validation.Configuration;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
 
+import org.sejda.core.Sejda;
 import org.sejda.core.context.DefaultSejdaContext;
+import org.sejda.model.parameter.base.TaskParameters;
 
 /**
  * Default implementation of {@link ValidationContext}
@@ -35,24 +41,60 @@ import org.sejda.core.context.DefaultSejdaContext;
  */
 public final class DefaultValidationContext implements ValidationContext {
 
-    private Validator validator;
+    private volatile Validator validator;
+    private final Map<Class<? extends TaskParameters>, LightweightValidator<? extends TaskParameters>> lightweightValidators = LightweightValidators
+            .validators();
 
     private DefaultValidationContext() {
+        // hide constructor
+    }
+
+    private static Validator buildValidator() {
         Configuration<?> validationConfig = Validation.byDefaultProvider().configure();
         if (new DefaultSejdaContext().isIgnoreXmlConfiguration()) {
             validationConfig.ignoreXmlConfiguration();
         }
         ValidatorFactory factory = validationConfig.buildValidatorFactory();
-        validator = factory.getValidator();
+        return factory.getValidator();
     }
 
     public static ValidationContext getContext() {
         return DefaultValidationContextHolder.VALIDATION_CONTEXT;
     }
 
+    /**
+     * The validator provider is bootstrapped on the first call, so it's paid only when validation is actually performed
+     */
     @Override
     public Validator getValidator() {
-        return validator;
+        Validator current = validator;
+        if (current == null) {
+            synchronized (this) {
+                current = validator;
+                if (current == null) {
+                    current = buildValidator();
+                    validator = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Lightweight validation is enabled by default and can be switched off setting the
+     * {@value org.sejda.core.Sejda#LIGHTWEIGHT_VALIDATION_PROPERTY_NAME} system property to false, in which case every
+     * parameters instance goes through the bean validation.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean isLightweightValid(TaskParameters parameters) {
+        if (nonNull(parameters) && Boolean
+                .parseBoolean(System.getProperty(Sejda.LIGHTWEIGHT_VALIDATION_PROPERTY_NAME, Boolean.TRUE.toString()))) {
+            LightweightValidator<TaskParameters> lightweight = (LightweightValidator<TaskParameters>) lightweightValidators
+                    .get(parameters.getClass());
+            return nonNull(lightweight) && lightweight.isValid(parameters);
+        }
+        return false;
     }
 
     /**
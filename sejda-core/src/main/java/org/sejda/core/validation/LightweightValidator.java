@@ -0,0 +1,42 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.validation;
+
+import org.sejda.model.parameter.base.TaskParameters;
+
+/**
+ * A handwritten validator for a specific {@link TaskParameters} type that can tell, without reflection, that a
+ * parameters instance is valid. It's a conservative check: it can reject parameters that the bean validation would
+ * accept, but it never accepts parameters that the bean validation would reject, so that a negative answer can be
+ * safely followed by the full bean validation to get the violations.
+ * 
+ * @author Andrea Vacondio
+ * @param <T>
+ *            type of the validated parameters
+ */
+@FunctionalInterface
+public interface LightweightValidator<T extends TaskParameters> {
+
+    /**
+     * @param parameters
+     * @return true if the parameters are certainly valid, false if they are not or if the full bean validation is
+     *         required to tell
+     */
+    boolean isValid(T parameters);
+}
@@ -0,0 +1,228 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.validation;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.io.FilenameUtils.getExtension;
+import static org.apache.commons.io.FilenameUtils.indexOfExtension;
+import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sejda.model.SejdaFileExtensions;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.input.PdfSource;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.input.PdfURLSource;
+import org.sejda.model.output.DirectoryTaskOutput;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.output.MultipleTaskOutput;
+import org.sejda.model.output.SingleTaskOutput;
+import org.sejda.model.output.StreamTaskOutput;
+import org.sejda.model.parameter.AbstractSplitByPageParameters;
+import org.sejda.model.parameter.ExtractPagesParameters;
+import org.sejda.model.parameter.MergeParameters;
+import org.sejda.model.parameter.RotateParameters;
+import org.sejda.model.parameter.SimpleSplitParameters;
+import org.sejda.model.parameter.SplitByEveryXPagesParameters;
+import org.sejda.model.parameter.SplitByPagesParameters;
+import org.sejda.model.parameter.base.AbstractPdfOutputParameters;
+import org.sejda.model.parameter.base.SingleOutputTaskParameters;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.pdf.page.PageRange;
+import org.sejda.model.pdf.page.PredefinedSetOfPages;
+
+/**
+ * {@link LightweightValidator}s for the most used parameters types, mirroring the constraints declared on the
+ * parameters, inputs and outputs classes. Only the exact types known here are accepted, anything else (extended
+ * parameters, custom sources or outputs) is left to the bean validation.
+ * 
+ * @author Andrea Vacondio
+ */
+final class LightweightValidators {
+
+    private static final Comparator<PageRange> BY_START = Comparator.comparingInt(PageRange::getStart);
+
+    private LightweightValidators() {
+        // hide
+    }
+
+    /**
+     * @return the validators for the supported parameters, by exact parameters class
+     */
+    static Map<Class<? extends TaskParameters>, LightweightValidator<? extends TaskParameters>> validators() {
+        Map<Class<? extends TaskParameters>, LightweightValidator<? extends TaskParameters>> validators = new HashMap<>();
+        validators.put(MergeParameters.class, (LightweightValidator<MergeParameters>) LightweightValidators::isValid);
+        validators.put(ExtractPagesParameters.class,
+                (LightweightValidator<ExtractPagesParameters>) LightweightValidators::isValid);
+        validators.put(RotateParameters.class, (LightweightValidator<RotateParameters>) LightweightValidators::isValid);
+        validators.put(SplitByPagesParameters.class, (LightweightValidator<SplitByPagesParameters>) p -> isValidSplit(p)
+                && !p.getPages(Integer.MAX_VALUE).isEmpty());
+        validators.put(SimpleSplitParameters.class, (LightweightValidator<SimpleSplitParameters>) p -> isValidSplit(p)
+                && nonNull(p.getSetOfPages()) && p.getSetOfPages() != PredefinedSetOfPages.NONE);
+        validators.put(SplitByEveryXPagesParameters.class,
+                (LightweightValidator<SplitByEveryXPagesParameters>) p -> isValidSplit(p) && p.getStep() >= 1);
+        return validators;
+    }
+
+    static boolean isValid(MergeParameters parameters) {
+        return isValidPdfOutput(parameters) && nonNull(parameters.getOutlinePolicy())
+                && nonNull(parameters.getAcroFormPolicy()) && nonNull(parameters.getTableOfContentsPolicy())
+                && isValid(parameters.getOutput()) && hasPdfOutputName(parameters)
+                && isValidInputs(parameters.getInputList());
+    }
+
+    static boolean isValid(ExtractPagesParameters parameters) {
+        return isValidPdfOutput(parameters) && isValid(parameters.getSource()) && isValid(parameters.getOutput())
+                && hasPdfOutputName(parameters) && nonNull(parameters.getOptimizationPolicy())
+                && nonNull(parameters.getPredefinedSetOfPages())
+                && parameters.getPredefinedSetOfPages() != PredefinedSetOfPages.ALL_PAGES
+                && (parameters.getPredefinedSetOfPages() != PredefinedSetOfPages.NONE
+                        || !parameters.getPageSelection().isEmpty())
+                && isValidSelection(parameters.getPageSelection());
+    }
+
+    static boolean isValid(RotateParameters parameters) {
+        return isValidPdfOutput(parameters) && nonNull(parameters.getRotation())
+                && nonNull(parameters.getPredefinedSetOfPages()) && isValid(parameters.getOutput())
+                && isValidSources(parameters.getSourceList());
+    }
+
+    private static boolean isValidSplit(AbstractSplitByPageParameters parameters) {
+        return isValidPdfOutput(parameters) && nonNull(parameters.getOptimizationPolicy())
+                && isValid(parameters.getSource()) && isValid(parameters.getOutput());
+    }
+
+    private static boolean isValidPdfOutput(AbstractPdfOutputParameters parameters) {
+        return nonNull(parameters.getExistingOutputPolicy()) && parameters.getCompressionLevel() >= -1
+                && parameters.getCompressionLevel() <= 9 && (isNull(parameters.getVersion())
+                        || parameters.getVersion().compareTo(parameters.getMinRequiredPdfVersion()) >= 0);
+    }
+
+    private static boolean isValidInputs(List<PdfMergeInput> inputs) {
+        if (isNull(inputs) || inputs.isEmpty()) {
+            return false;
+        }
+        for (PdfMergeInput input : inputs) {
+            if (isNull(input) || input.getClass() != PdfMergeInput.class || !isValid(input.getSource())
+                    || !isValidSelection(input.getPageSelection())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidSources(List<PdfSource<?>> sources) {
+        if (isNull(sources) || sources.isEmpty()) {
+            return false;
+        }
+        for (PdfSource<?> source : sources) {
+            if (!isValid(source)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Valid ranges that don't overlap. Ranges are sorted by start so overlaps are found in O(n log n), this is
+     * stricter than the pairwise {@link PageRange#intersects(PageRange)} check, which is fine since a rejection is
+     * followed by the bean validation.
+     */
+    private static boolean isValidSelection(Collection<PageRange> selection) {
+        if (isNull(selection)) {
+            return true;
+        }
+        List<PageRange> ranges = new ArrayList<>(selection.size());
+        for (PageRange range : selection) {
+            if (isNull(range) || range.getClass() != PageRange.class || range.getStart() < 1
+                    || range.getEnd() < range.getStart()) {
+                return false;
+            }
+            ranges.add(range);
+        }
+        Collections.sort(ranges, BY_START);
+        for (int i = 1; i < ranges.size(); i++) {
+            if (ranges.get(i).getStart() <= ranges.get(i - 1).getEnd()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValid(PdfSource<?> source) {
+        if (isNull(source) || !isNotEmpty(source.getName())) {
+            return false;
+        }
+        if (source instanceof PdfFileSource) {
+            File file = ((PdfFileSource) source).getSource();
+            return isNull(file) || !file.isFile() || isPdf(file.getName());
+        }
+        return (source instanceof PdfStreamSource || source instanceof PdfURLSource) && nonNull(source.getSource());
+    }
+
+    private static boolean isValid(SingleTaskOutput<?> output) {
+        if (isNull(output)) {
+            return false;
+        }
+        if (output.getClass() == FileTaskOutput.class) {
+            File file = ((FileTaskOutput) output).getDestination();
+            return isNull(file) || !file.exists() || file.isFile();
+        }
+        return output.getClass() == StreamTaskOutput.class && nonNull(((StreamTaskOutput) output).getDestination());
+    }
+
+    private static boolean isValid(MultipleTaskOutput<?> output) {
+        if (isNull(output)) {
+            return false;
+        }
+        if (output.getClass() == DirectoryTaskOutput.class) {
+            File directory = ((DirectoryTaskOutput) output).getDestination();
+            return isNull(directory) || directory.isDirectory();
+        }
+        return output.getClass() == StreamTaskOutput.class && nonNull(((StreamTaskOutput) output).getDestination());
+    }
+
+    /**
+     * The name of the output file or, for non file outputs, the output name must be a pdf one. This also covers the
+     * non blank output name required for non file outputs.
+     */
+    private static boolean hasPdfOutputName(SingleOutputTaskParameters parameters) {
+        if (parameters.getOutput() instanceof FileTaskOutput) {
+            File file = ((FileTaskOutput) parameters.getOutput()).getDestination();
+            return nonNull(file) && isPdf(file.getName());
+        }
+        return isNotBlank(parameters.getOutputName()) && isPdf(parameters.getOutputName());
+    }
+
+    private static boolean isPdf(String name) {
+        return equalsIgnoreCase(SejdaFileExtensions.PDF_EXTENSION, getExtension(name)) && indexOfExtension(name) > 0;
+    }
+}
@@ -22,6 +22,8 @@ package org.sejda.core.validation;
 
 import javax.validation.Validator;
 
+import org.sejda.model.parameter.base.TaskParameters;
+
 /**
  * Validation context holding a {@link Validator} instance that can be reused to perform beans validation.
  * 
@@ -35,4 +37,13 @@ public interface ValidationContext {
      * @return the validator instance that can be used to perform validation.
      */
     Validator getValidator();
+
+    /**
+     * @param parameters
+     * @return true if a {@link LightweightValidator} is registered for the exact type of the given parameters and it
+     *         found them valid. false means the bean validation has to be performed using {@link #getValidator()}.
+     */
+    default boolean isLightweightValid(TaskParameters parameters) {
+        return false;
+    }
 }
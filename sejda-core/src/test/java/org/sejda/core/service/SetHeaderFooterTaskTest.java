@@ -175,6 +175,19 @@ public abstract class SetHeaderFooterTaskTest extends BaseTaskTest<SetHeaderFoot
         });
     }
 
+    @Test
+    public void testSharedStamp() throws Exception {
+        parameters = basicWithSources();
+        parameters.setSharedStamp(true);
+        parameters.setPattern("Case ACME Inc - [PAGE_OF_TOTAL]");
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.forPdfOutput("test_file1.pdf", d -> {
+            assertFooterHasText(d.getPage(0), "Case ACME Inc - 1 of 4");
+            assertFooterHasText(d.getPage(3), "Case ACME Inc - 4 of 4");
+        });
+    }
+
     @Test
     public void testWriteHeader() throws Exception {
         parameters = basicWithSources();
@@ -20,10 +20,16 @@
  */
 package org.sejda.core.service;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.sejda.model.input.PdfSource;
@@ -68,6 +74,24 @@ public abstract class SetMetadataTaskTest extends BaseTaskTest<SetMetadataParame
         doExecute();
     }
 
+    @Test
+    public void testExecuteIncrementalUpdate() throws IOException {
+        setUpParams(shortInput());
+        parameters.setIncrementalUpdate(true);
+        doExecute();
+        byte[] original = IOUtils
+                .toByteArray(getClass().getClassLoader().getResourceAsStream("pdf/short-test-file.pdf"));
+        testContext.forRawOutput(p -> {
+            try {
+                byte[] output = Files.readAllBytes(p);
+                assertTrue(output.length > original.length);
+                assertArrayEquals(original, Arrays.copyOf(output, original.length));
+            } catch (IOException e) {
+                fail(e.getMessage());
+            }
+        });
+    }
+
     private void doExecute() throws IOException {
         testContext.pdfOutputTo(parameters);
         execute(parameters);
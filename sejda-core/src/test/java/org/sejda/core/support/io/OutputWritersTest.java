@@ -0,0 +1,102 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.sejda.core.support.io.model.PopulatedFileOutput;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.output.StreamTaskOutput;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class OutputWritersTest {
+
+    @Test
+    public void directOutputStream() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        assertSame(stream, OutputWriters.directOutputStream(new StreamTaskOutput(stream)).get());
+    }
+
+    @Test
+    public void noDirectOutputStream() throws IOException {
+        File file = File.createTempFile("outTemp", "");
+        file.deleteOnExit();
+        assertFalse(OutputWriters.directOutputStream(new FileTaskOutput(file)).isPresent());
+        assertFalse(OutputWriters.directOutputStream(null).isPresent());
+    }
+
+    @Test
+    public void writeSingleOutputToStream() throws TaskException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        SingleOutputWriter writer = mock(SingleOutputWriter.class);
+        AtomicBoolean saved = new AtomicBoolean();
+        OutputWriters.writeSingleOutput(new StreamTaskOutput(stream), "name.pdf", writer, out -> {
+            try {
+                out.write(new byte[] { 1, 2 });
+            } catch (IOException e) {
+                throw new TaskIOException(e);
+            }
+        }, file -> fail("Expected to save to the stream"), () -> saved.set(true));
+        assertArrayEquals(new byte[] { 1, 2 }, stream.toByteArray());
+        assertTrue(saved.get());
+        verifyZeroInteractions(writer);
+    }
+
+    @Test
+    public void writeSingleOutputStaged() throws TaskException, IOException {
+        File file = File.createTempFile("outTemp", "");
+        file.deleteOnExit();
+        FileTaskOutput output = new FileTaskOutput(file);
+        SingleOutputWriter writer = mock(SingleOutputWriter.class);
+        Runnable onSaved = mock(Runnable.class);
+        OutputWriters.writeSingleOutput(output, "name.pdf", writer, out -> fail("Expected to stage to a file"),
+                tmp -> {
+                    try {
+                        Files.write(tmp.toPath(), new byte[] { 1, 2 });
+                    } catch (IOException e) {
+                        throw new TaskIOException(e);
+                    }
+                }, onSaved);
+        InOrder inOrder = inOrder(onSaved, writer);
+        inOrder.verify(onSaved).run();
+        inOrder.verify(writer).setOutput(any(PopulatedFileOutput.class));
+        inOrder.verify(writer).dispatch(output);
+    }
+}
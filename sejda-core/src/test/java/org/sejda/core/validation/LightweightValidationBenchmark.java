@@ -0,0 +1,78 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.validation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.output.StreamTaskOutput;
+import org.sejda.model.parameter.MergeParameters;
+import org.sejda.model.pdf.page.PageRange;
+
+/**
+ * Compares the time spent validating a merge with a few hundred inputs and page ranges using the bean validation and
+ * the lightweight validator. Run it with the test classpath, optionally passing the number of iterations.
+ * 
+ * @author Andrea Vacondio
+ */
+public final class LightweightValidationBenchmark {
+
+    private LightweightValidationBenchmark() {
+        // hide
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        MergeParameters parameters = new MergeParameters();
+        for (int i = 0; i < 200; i++) {
+            PdfMergeInput input = new PdfMergeInput(
+                    PdfStreamSource.newInstanceNoPassword(new ByteArrayInputStream(new byte[0]), i + ".pdf"));
+            for (int j = 0; j < 10; j++) {
+                input.addPageRange(new PageRange(j * 10 + 1, j * 10 + 5));
+            }
+            parameters.addInput(input);
+        }
+        parameters.setOutput(new StreamTaskOutput(new ByteArrayOutputStream()));
+        parameters.setOutputName("merged.pdf");
+
+        ValidationContext context = DefaultValidationContext.getContext();
+        if (!context.getValidator().validate(parameters).isEmpty() || !context.isLightweightValid(parameters)) {
+            throw new IllegalStateException("Benchmark parameters are expected to be valid");
+        }
+        // warm up
+        run(() -> context.getValidator().validate(parameters), iterations / 4);
+        run(() -> context.isLightweightValid(parameters), iterations / 4);
+
+        long bean = run(() -> context.getValidator().validate(parameters), iterations);
+        long lightweight = run(() -> context.isLightweightValid(parameters), iterations);
+        System.out.println(String.format("Bean validation: %d us/op", bean / iterations));
+        System.out.println(String.format("Lightweight validation: %d us/op", lightweight / iterations));
+    }
+
+    private static long run(Runnable validation, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            validation.run();
+        }
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+}
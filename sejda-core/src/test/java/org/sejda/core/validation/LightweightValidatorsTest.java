@@ -0,0 +1,235 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.core.Sejda;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.output.DirectoryTaskOutput;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.output.SingleTaskOutput;
+import org.sejda.model.output.StreamTaskOutput;
+import org.sejda.model.parameter.AbstractSplitByPageParameters;
+import org.sejda.model.parameter.ExtractPagesParameters;
+import org.sejda.model.parameter.MergeParameters;
+import org.sejda.model.parameter.RotateParameters;
+import org.sejda.model.parameter.SimpleSplitParameters;
+import org.sejda.model.parameter.SplitByEveryXPagesParameters;
+import org.sejda.model.parameter.SplitByPagesParameters;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.pdf.PdfVersion;
+import org.sejda.model.pdf.page.PageRange;
+import org.sejda.model.pdf.page.PredefinedSetOfPages;
+import org.sejda.model.rotation.Rotation;
+
+/**
+ * Verifies the lightweight validators agree with the bean validation: whatever they accept, the bean validation
+ * accepts, and the common valid cases are accepted without falling back.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class LightweightValidatorsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private File pdf;
+    private ValidationContext context = DefaultValidationContext.getContext();
+
+    @Before
+    public void setUp() throws IOException {
+        pdf = folder.newFile("source.pdf");
+    }
+
+    @Test
+    public void validMerge() throws IOException {
+        assertAccepted(merge());
+    }
+
+    @Test
+    public void invalidMerge() throws IOException {
+        MergeParameters noInputs = new MergeParameters();
+        noInputs.setOutput(new FileTaskOutput(folder.newFile("out.pdf")));
+        assertRejected(noInputs);
+
+        MergeParameters intersecting = merge();
+        intersecting.getInputList().get(0).addPageRange(new PageRange(3, 8));
+        assertRejected(intersecting);
+
+        MergeParameters wrongExtension = merge();
+        wrongExtension.setOutput(new FileTaskOutput(folder.newFile("out.txt")));
+        assertRejected(wrongExtension);
+
+        MergeParameters noName = merge();
+        noName.setOutputName(null);
+        assertRejected(noName);
+
+        MergeParameters wrongVersion = merge();
+        wrongVersion.setVersion(PdfVersion.VERSION_1_2);
+        assertRejected(wrongVersion);
+
+        MergeParameters wrongCompression = merge();
+        wrongCompression.setCompressionLevel(10);
+        assertRejected(wrongCompression);
+
+        MergeParameters wrongSource = merge();
+        wrongSource.addInput(new PdfMergeInput(PdfFileSource.newInstanceNoPassword(folder.newFile("source.txt"))));
+        assertRejected(wrongSource);
+    }
+
+    @Test
+    public void unknownOutputFallsBack() {
+        MergeParameters parameters = merge();
+        parameters.setOutput(mock(SingleTaskOutput.class));
+        assertFalse(context.isLightweightValid(parameters));
+    }
+
+    @Test
+    public void validExtract() throws IOException {
+        ExtractPagesParameters parameters = new ExtractPagesParameters();
+        parameters.addPageRange(new PageRange(1, 3));
+        parameters.addPageRange(new PageRange(5));
+        parameters.setSource(PdfFileSource.newInstanceNoPassword(pdf));
+        parameters.setOutput(new StreamTaskOutput(new ByteArrayOutputStream()));
+        parameters.setOutputName("out.pdf");
+        assertAccepted(parameters);
+    }
+
+    @Test
+    public void invalidExtract() throws IOException {
+        ExtractPagesParameters noPages = new ExtractPagesParameters();
+        noPages.setSource(PdfFileSource.newInstanceNoPassword(pdf));
+        noPages.setOutput(new FileTaskOutput(folder.newFile("out.pdf")));
+        assertRejected(noPages);
+
+        ExtractPagesParameters allPages = new ExtractPagesParameters(PredefinedSetOfPages.ALL_PAGES);
+        allPages.setSource(PdfFileSource.newInstanceNoPassword(pdf));
+        allPages.setOutput(new FileTaskOutput(folder.newFile("out2.pdf")));
+        assertRejected(allPages);
+
+        ExtractPagesParameters intersecting = new ExtractPagesParameters();
+        intersecting.addPageRange(new PageRange(2, 5));
+        intersecting.addPageRange(new PageRange(4, 8));
+        intersecting.setSource(PdfFileSource.newInstanceNoPassword(pdf));
+        intersecting.setOutput(new FileTaskOutput(folder.newFile("out3.pdf")));
+        assertRejected(intersecting);
+    }
+
+    @Test
+    public void rotate() throws IOException {
+        RotateParameters parameters = new RotateParameters(Rotation.DEGREES_90, PredefinedSetOfPages.ALL_PAGES);
+        parameters.addSource(PdfFileSource.newInstanceNoPassword(pdf));
+        parameters.addSource(PdfStreamSource.newInstanceNoPassword(stream(), "stream.pdf"));
+        parameters.setOutput(new DirectoryTaskOutput(folder.getRoot()));
+        assertAccepted(parameters);
+
+        RotateParameters noSources = new RotateParameters(Rotation.DEGREES_90, PredefinedSetOfPages.ALL_PAGES);
+        noSources.setOutput(new DirectoryTaskOutput(folder.getRoot()));
+        assertRejected(noSources);
+
+        RotateParameters noRotation = new RotateParameters(null, PredefinedSetOfPages.ALL_PAGES);
+        noRotation.addSource(PdfFileSource.newInstanceNoPassword(pdf));
+        noRotation.setOutput(new DirectoryTaskOutput(folder.getRoot()));
+        assertRejected(noRotation);
+    }
+
+    @Test
+    public void split() throws IOException {
+        SplitByPagesParameters byPages = new SplitByPagesParameters();
+        byPages.addPage(2);
+        split(byPages);
+        assertAccepted(byPages);
+        SplitByPagesParameters noPages = new SplitByPagesParameters();
+        split(noPages);
+        assertRejected(noPages);
+
+        SimpleSplitParameters simple = new SimpleSplitParameters(PredefinedSetOfPages.ODD_PAGES);
+        split(simple);
+        assertAccepted(simple);
+        SimpleSplitParameters none = new SimpleSplitParameters(PredefinedSetOfPages.NONE);
+        split(none);
+        assertRejected(none);
+
+        SplitByEveryXPagesParameters everyX = new SplitByEveryXPagesParameters(2);
+        split(everyX);
+        assertAccepted(everyX);
+        SplitByEveryXPagesParameters zero = new SplitByEveryXPagesParameters(0);
+        split(zero);
+        assertRejected(zero);
+    }
+
+    @Test
+    public void switchedOff() {
+        MergeParameters parameters = merge();
+        System.setProperty(Sejda.LIGHTWEIGHT_VALIDATION_PROPERTY_NAME, "false");
+        try {
+            assertFalse(context.isLightweightValid(parameters));
+        } finally {
+            System.clearProperty(Sejda.LIGHTWEIGHT_VALIDATION_PROPERTY_NAME);
+        }
+        assertTrue(context.isLightweightValid(parameters));
+    }
+
+    private void split(AbstractSplitByPageParameters parameters) {
+        parameters.setSource(PdfFileSource.newInstanceNoPassword(pdf));
+        parameters.setOutput(new DirectoryTaskOutput(folder.getRoot()));
+    }
+
+    private MergeParameters merge() {
+        MergeParameters parameters = new MergeParameters();
+        PdfMergeInput input = new PdfMergeInput(PdfFileSource.newInstanceNoPassword(pdf));
+        input.addPageRange(new PageRange(1, 2));
+        input.addPageRange(new PageRange(5, 10));
+        parameters.addInput(input);
+        parameters.addInput(new PdfMergeInput(PdfStreamSource.newInstanceNoPassword(stream(), "stream.pdf")));
+        parameters.setOutput(new StreamTaskOutput(new ByteArrayOutputStream()));
+        parameters.setOutputName("merged.pdf");
+        return parameters;
+    }
+
+    private static InputStream stream() {
+        return new ByteArrayInputStream(new byte[0]);
+    }
+
+    private void assertAccepted(TaskParameters parameters) {
+        assertTrue(context.getValidator().validate(parameters).isEmpty());
+        assertTrue(context.isLightweightValid(parameters));
+    }
+
+    private void assertRejected(TaskParameters parameters) {
+        assertFalse(context.getValidator().validate(parameters).isEmpty());
+        assertFalse(context.isLightweightValid(parameters));
+    }
+}
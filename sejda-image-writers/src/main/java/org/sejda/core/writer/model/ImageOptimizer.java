@@ -47,11 +47,13 @@ public class ImageOptimizer {
                 bufferedImage = Scalr.resize(bufferedImage, Scalr.Method.BALANCED, width, height);
             }
 
-            // PNG read fix when converting to JPEG
-            BufferedImage imageRGB = new BufferedImage(bufferedImage.getWidth(), bufferedImage.getHeight(),
-                    BufferedImage.TYPE_INT_RGB);
-
-            imageRGB.createGraphics().drawImage(bufferedImage, 0, 0, Color.WHITE, null);
+            BufferedImage imageRGB = bufferedImage;
+            if (!isJpegWritable(bufferedImage)) {
+                // PNG read fix when converting to JPEG
+                imageRGB = new BufferedImage(bufferedImage.getWidth(), bufferedImage.getHeight(),
+                        BufferedImage.TYPE_INT_RGB);
+                imageRGB.createGraphics().drawImage(bufferedImage, 0, 0, Color.WHITE, null);
+            }
 
             JPEGImageWriter imageWriter = (JPEGImageWriter) ImageIO.getImageWritersBySuffix("jpeg").next();
             ImageOutputStream ios = ImageIO.createImageOutputStream(fos);
@@ -86,4 +88,13 @@ public class ImageOptimizer {
             bufferedImage.flush();
         }
     }
+
+    /**
+     * @return true if the image can be written as JPEG as it is, without being redrawn on an RGB image first
+     */
+    private static boolean isJpegWritable(BufferedImage image) {
+        int type = image.getType();
+        return type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_3BYTE_BGR
+                || type == BufferedImage.TYPE_BYTE_GRAY;
+    }
 }
@@ -65,7 +65,12 @@ public enum Optimization implements FriendlyNamed {
     /**
      * PDF 32000-1:2008 12.3.4
      */
-    DISCARD_THUMBNAILS("discard_thumbnails");
+    DISCARD_THUMBNAILS("discard_thumbnails"),
+    /**
+     * PDF 32000-1:2008 9.6.4
+     */
+    SUBSET_FONTS("subset_fonts"),
+    MINIFY_CONTENT_STREAMS("minify_content_streams");
 
     private String displayName;
 
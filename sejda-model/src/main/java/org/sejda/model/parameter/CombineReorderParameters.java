@@ -27,6 +27,7 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.model.input.FileIndexAndPage;
 import org.sejda.model.parameter.base.MultiplePdfSourceSingleOutputParameters;
+import org.sejda.model.parameter.base.ResourcesDeduplicationTaskParameters;
 import org.sejda.model.pdf.form.AcroFormPolicy;
 import org.sejda.model.rotation.Rotation;
 import org.sejda.model.validation.constraint.NotEmpty;
@@ -37,13 +38,15 @@ import org.sejda.model.validation.constraint.SingleOutputAllowedExtensions;
  * Allows pages to appear in a different order in the output than in the original source.
  */
 @SingleOutputAllowedExtensions
-public class CombineReorderParameters extends MultiplePdfSourceSingleOutputParameters {
+public class CombineReorderParameters extends MultiplePdfSourceSingleOutputParameters
+        implements ResourcesDeduplicationTaskParameters {
 
     @NotEmpty
     private List<FileIndexAndPage> pages = new ArrayList<FileIndexAndPage>();
 
     @NotNull
     private AcroFormPolicy acroFormPolicy = AcroFormPolicy.MERGE_RENAMING_EXISTING_FIELDS;
+    private boolean deduplicateResources = false;
 
     public void addPage(int fileIndex, int page) {
         pages.add(new FileIndexAndPage(fileIndex, page));
@@ -70,10 +73,20 @@ public class CombineReorderParameters extends MultiplePdfSourceSingleOutputParam
         this.acroFormPolicy = acroFormPolicy;
     }
 
+    @Override
+    public boolean isDeduplicateResources() {
+        return deduplicateResources;
+    }
+
+    @Override
+    public void setDeduplicateResources(boolean deduplicateResources) {
+        this.deduplicateResources = deduplicateResources;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(this.pages).append(this.acroFormPolicy)
-                .toHashCode();
+                .append(this.deduplicateResources).toHashCode();
     }
 
     @Override
@@ -86,6 +99,7 @@ public class CombineReorderParameters extends MultiplePdfSourceSingleOutputParam
         }
         final CombineReorderParameters other = (CombineReorderParameters) obj;
         return new EqualsBuilder().appendSuper(super.equals(obj)).append(this.pages, other.pages)
-                .append(this.acroFormPolicy, other.acroFormPolicy).isEquals();
+                .append(this.acroFormPolicy, other.acroFormPolicy)
+                .append(this.deduplicateResources, other.deduplicateResources).isEquals();
     }
 }
@@ -32,6 +32,7 @@ import org.sejda.model.input.PdfMergeInput;
 import org.sejda.model.outline.OutlinePolicy;
 import org.sejda.model.output.SingleTaskOutput;
 import org.sejda.model.parameter.base.AbstractPdfOutputParameters;
+import org.sejda.model.parameter.base.ResourcesDeduplicationTaskParameters;
 import org.sejda.model.parameter.base.SingleOutputTaskParameters;
 import org.sejda.model.pdf.form.AcroFormPolicy;
 import org.sejda.model.toc.ToCPolicy;
@@ -45,7 +46,8 @@ import org.sejda.model.validation.constraint.SingleOutputAllowedExtensions;
  * 
  */
 @SingleOutputAllowedExtensions
-public class MergeParameters extends AbstractPdfOutputParameters implements SingleOutputTaskParameters {
+public class MergeParameters extends AbstractPdfOutputParameters
+        implements SingleOutputTaskParameters, ResourcesDeduplicationTaskParameters {
 
     @NotEmpty
     @Valid
@@ -62,6 +64,7 @@ public class MergeParameters extends AbstractPdfOutputParameters implements Sing
     @NotNull
     private ToCPolicy tocPolicy = ToCPolicy.NONE;
     private boolean filenameFooter = false;
+    private boolean deduplicateResources = false;
 
     @Override
     public SingleTaskOutput<?> getOutput() {
@@ -157,11 +160,21 @@ public class MergeParameters extends AbstractPdfOutputParameters implements Sing
         this.filenameFooter = filenameFooter;
     }
 
+    @Override
+    public boolean isDeduplicateResources() {
+        return deduplicateResources;
+    }
+
+    @Override
+    public void setDeduplicateResources(boolean deduplicateResources) {
+        this.deduplicateResources = deduplicateResources;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(inputList).append(acroFormPolicy)
                 .append(blankPageIfOdd).append(outlinePolicy).append(tocPolicy).append(outputName)
-                .append(filenameFooter).toHashCode();
+                .append(filenameFooter).append(deduplicateResources).toHashCode();
     }
 
     @Override
@@ -178,6 +191,7 @@ public class MergeParameters extends AbstractPdfOutputParameters implements Sing
                 .append(blankPageIfOdd, params.isBlankPageIfOdd())
                 .append(outlinePolicy, params.getOutlinePolicy())
                 .append(tocPolicy, params.getTableOfContentsPolicy()).append(outputName, params.getOutputName())
-                .append(filenameFooter, params.isFilenameFooter()).isEquals();
+                .append(filenameFooter, params.isFilenameFooter())
+                .append(deduplicateResources, params.isDeduplicateResources()).isEquals();
     }
 }
@@ -18,6 +18,8 @@ package org.sejda.model.parameter;
 
 import java.util.Set;
 
+import javax.validation.constraints.Min;
+
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.common.collection.NullSafeSet;
@@ -33,7 +35,11 @@ public class OptimizeParameters extends MultiplePdfSourceMultipleOutputParameter
     private float imageQuality = 0.65f;
     private int imageDpi = 72;
     private int imageMinBytesSize = 0; // images under this threshold are not optimized
+    @Min(0)
+    private int contentStreamsPrecision = 3; // decimal digits, in points, path coordinates are rounded to
     private Set<Optimization> optimizations = new NullSafeSet<>();
+    @Min(1)
+    private int maxWorkers = 4; // max number of threads optimizing the images of a document in parallel
 
     public float getImageQuality() {
         return imageQuality;
@@ -71,10 +77,31 @@ public class OptimizeParameters extends MultiplePdfSourceMultipleOutputParameter
         this.imageMinBytesSize = imageMinBytesSize;
     }
 
+    public int getContentStreamsPrecision() {
+        return contentStreamsPrecision;
+    }
+
+    public void setContentStreamsPrecision(int contentStreamsPrecision) {
+        this.contentStreamsPrecision = contentStreamsPrecision;
+    }
+
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    /**
+     * @param maxWorkers
+     *            max number of threads optimizing the images of a document in parallel. Every thread works on its own
+     *            copy of the document, 1 means images are optimized sequentially.
+     */
+    public void setMaxWorkers(int maxWorkers) {
+        this.maxWorkers = maxWorkers;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(optimizations).append(imageQuality).append(imageMinBytesSize)
-                .toHashCode();
+                .append(contentStreamsPrecision).append(maxWorkers).toHashCode();
     }
 
     @Override
@@ -90,6 +117,7 @@ public class OptimizeParameters extends MultiplePdfSourceMultipleOutputParameter
                 .append(getOptimizations(), parameter.getOptimizations())
                 .append(getImageQuality(), parameter.getImageQuality()).append(getImageDpi(), parameter.getImageDpi())
                 .append(getImageMinBytesSize(), parameter.getImageMinBytesSize())
-                .isEquals();
+                .append(getContentStreamsPrecision(), parameter.getContentStreamsPrecision())
+                .append(getMaxWorkers(), parameter.getMaxWorkers()).isEquals();
     }
 }
@@ -28,6 +28,7 @@ import javax.validation.constraints.NotNull;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.common.collection.NullSafeSet;
+import org.sejda.model.parameter.base.IncrementalUpdateTaskParameters;
 import org.sejda.model.parameter.base.MultiplePdfSourceMultipleOutputParameters;
 import org.sejda.model.pdf.page.PageRange;
 import org.sejda.model.pdf.page.PageRangeSelection;
@@ -43,7 +44,7 @@ import org.sejda.model.rotation.Rotation;
  * 
  */
 public class RotateParameters extends MultiplePdfSourceMultipleOutputParameters implements PagesSelection,
-        PageRangeSelection {
+        PageRangeSelection, IncrementalUpdateTaskParameters {
 
     @Valid
     @NotNull
@@ -53,6 +54,7 @@ public class RotateParameters extends MultiplePdfSourceMultipleOutputParameters
     private PredefinedSetOfPages predefinedSetOfPages;
     @Valid
     private final Map<PageRange, Rotation> pageSelection = new HashMap<>();
+    private boolean incrementalUpdate = false;
 
     public RotateParameters(Rotation rotation, PredefinedSetOfPages predefinedSetOfPages) {
         this.rotation = rotation;
@@ -122,9 +124,20 @@ public class RotateParameters extends MultiplePdfSourceMultipleOutputParameters
         return retSet;
     }
 
+    @Override
+    public boolean isIncrementalUpdate() {
+        return incrementalUpdate;
+    }
+
+    @Override
+    public void setIncrementalUpdate(boolean incrementalUpdate) {
+        this.incrementalUpdate = incrementalUpdate;
+    }
+
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(rotation).toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(rotation)
+                .append(incrementalUpdate).toHashCode();
     }
 
     @Override
@@ -137,6 +150,6 @@ public class RotateParameters extends MultiplePdfSourceMultipleOutputParameters
         }
         RotateParameters parameter = (RotateParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other)).append(rotation, parameter.getRotation())
-                .isEquals();
+                .append(incrementalUpdate, parameter.isIncrementalUpdate()).isEquals();
     }
 }
@@ -55,6 +55,7 @@ public class SetHeaderFooterParameters extends MultiplePdfSourceMultipleOutputPa
     private BatesSequence batesSequence;
     @NotNull
     private Color color = Color.black;
+    private boolean sharedStamp = false;
 
     public PageRange getPageRange() {
         return pageRange;
@@ -138,11 +139,26 @@ public class SetHeaderFooterParameters extends MultiplePdfSourceMultipleOutputPa
         this.color = color;
     }
 
+    public boolean isSharedStamp() {
+        return sharedStamp;
+    }
+
+    /**
+     * Set if the part of the label that is the same on every page (ex. a constant text or the text preceding the page
+     * number or the Bates number) should be written once, in a form XObject shared by all the pages, leaving only the
+     * variable part in the pages content streams.
+     *
+     * @param sharedStamp
+     */
+    public void setSharedStamp(boolean sharedStamp) {
+        this.sharedStamp = sharedStamp;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(font).append(horizontalAlign)
                 .append(verticalAlign).append(fontSize).append(pageRange).append(pattern).append(batesSequence)
-                .append(pageCountStartFrom).append(color)
+                .append(pageCountStartFrom).append(color).append(sharedStamp)
                 .toHashCode();
     }
 
@@ -163,6 +179,7 @@ public class SetHeaderFooterParameters extends MultiplePdfSourceMultipleOutputPa
                 .append(getFontSize(), parameter.getFontSize()).append(getPageRange(), parameter.getPageRange())
                 .append(getPattern(), parameter.getPattern())
                 .append(getColor(), parameter.getColor())
+                .append(isSharedStamp(), parameter.isSharedStamp())
                 .isEquals();
     }
 
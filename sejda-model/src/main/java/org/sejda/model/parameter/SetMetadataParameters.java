@@ -28,6 +28,7 @@ import java.util.Set;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.sejda.model.parameter.base.IncrementalUpdateTaskParameters;
 import org.sejda.model.parameter.base.SinglePdfSourceSingleOutputParameters;
 import org.sejda.model.pdf.PdfMetadataKey;
 import org.sejda.model.validation.constraint.NotEmpty;
@@ -40,10 +41,12 @@ import org.sejda.model.validation.constraint.SingleOutputAllowedExtensions;
  * 
  */
 @SingleOutputAllowedExtensions
-public final class SetMetadataParameters extends SinglePdfSourceSingleOutputParameters {
+public final class SetMetadataParameters extends SinglePdfSourceSingleOutputParameters
+        implements IncrementalUpdateTaskParameters {
 
     @NotEmpty
     private final Map<PdfMetadataKey, String> metadata = new HashMap<PdfMetadataKey, String>();
+    private boolean incrementalUpdate = false;
 
     /**
      * @see Map#entrySet()
@@ -80,9 +83,20 @@ public final class SetMetadataParameters extends SinglePdfSourceSingleOutputPara
         this.metadata.put(key, metadata);
     }
 
+    @Override
+    public boolean isIncrementalUpdate() {
+        return incrementalUpdate;
+    }
+
+    @Override
+    public void setIncrementalUpdate(boolean incrementalUpdate) {
+        this.incrementalUpdate = incrementalUpdate;
+    }
+
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(metadata).toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(metadata)
+                .append(incrementalUpdate).toHashCode();
     }
 
     @Override
@@ -95,6 +109,6 @@ public final class SetMetadataParameters extends SinglePdfSourceSingleOutputPara
         }
         SetMetadataParameters parameter = (SetMetadataParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other)).append(metadata.entrySet(), parameter.entrySet())
-                .isEquals();
+                .append(incrementalUpdate, parameter.isIncrementalUpdate()).isEquals();
     }
 }
@@ -27,6 +27,7 @@ import javax.validation.Valid;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.sejda.model.parameter.base.IncrementalUpdateTaskParameters;
 import org.sejda.model.parameter.base.SinglePdfSourceSingleOutputParameters;
 import org.sejda.model.pdf.label.PdfPageLabel;
 import org.sejda.model.validation.constraint.NotEmpty;
@@ -42,11 +43,13 @@ import org.sejda.model.validation.constraint.SingleOutputAllowedExtensions;
  * 
  */
 @SingleOutputAllowedExtensions
-public class SetPagesLabelParameters extends SinglePdfSourceSingleOutputParameters {
+public class SetPagesLabelParameters extends SinglePdfSourceSingleOutputParameters
+        implements IncrementalUpdateTaskParameters {
 
     @NotEmpty
     @Valid
     private final Map<Integer, PdfPageLabel> labels = new HashMap<Integer, PdfPageLabel>();
+    private boolean incrementalUpdate = false;
 
     /**
      * Associates the given label to the given page number. If a label was already associated to the given page, it is replaced with the new one.
@@ -67,9 +70,20 @@ public class SetPagesLabelParameters extends SinglePdfSourceSingleOutputParamete
         return Collections.unmodifiableMap(labels);
     }
 
+    @Override
+    public boolean isIncrementalUpdate() {
+        return incrementalUpdate;
+    }
+
+    @Override
+    public void setIncrementalUpdate(boolean incrementalUpdate) {
+        this.incrementalUpdate = incrementalUpdate;
+    }
+
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(labels).toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(labels)
+                .append(incrementalUpdate).toHashCode();
     }
 
     @Override
@@ -82,7 +96,7 @@ public class SetPagesLabelParameters extends SinglePdfSourceSingleOutputParamete
         }
         SetPagesLabelParameters parameter = (SetPagesLabelParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other)).append(getLabels(), parameter.getLabels())
-                .isEquals();
+                .append(incrementalUpdate, parameter.isIncrementalUpdate()).isEquals();
     }
 
 }
@@ -28,6 +28,7 @@ import javax.validation.Valid;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.sejda.model.parameter.base.IncrementalUpdateTaskParameters;
 import org.sejda.model.parameter.base.SinglePdfSourceSingleOutputParameters;
 import org.sejda.model.pdf.transition.PdfPageTransition;
 import org.sejda.model.validation.constraint.HasTransitions;
@@ -41,12 +42,14 @@ import org.sejda.model.validation.constraint.SingleOutputAllowedExtensions;
  */
 @SingleOutputAllowedExtensions
 @HasTransitions
-public class SetPagesTransitionParameters extends SinglePdfSourceSingleOutputParameters {
+public class SetPagesTransitionParameters extends SinglePdfSourceSingleOutputParameters
+        implements IncrementalUpdateTaskParameters {
 
     @Valid
     private final Map<Integer, PdfPageTransition> transitions = new HashMap<Integer, PdfPageTransition>();
     @Valid
     private PdfPageTransition defaultTransition;
+    private boolean incrementalUpdate = false;
     private boolean fullScreen = false;
 
     public SetPagesTransitionParameters() {
@@ -106,10 +109,21 @@ public class SetPagesTransitionParameters extends SinglePdfSourceSingleOutputPar
         return transitions.getOrDefault(page, defaultTransition);
     }
 
+    @Override
+    public boolean isIncrementalUpdate() {
+        return incrementalUpdate;
+    }
+
+    @Override
+    public void setIncrementalUpdate(boolean incrementalUpdate) {
+        this.incrementalUpdate = incrementalUpdate;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(transitions).append(defaultTransition)
-                .append(fullScreen).toHashCode();
+                .append(fullScreen)
+                .append(incrementalUpdate).toHashCode();
     }
 
     @Override
@@ -123,6 +137,7 @@ public class SetPagesTransitionParameters extends SinglePdfSourceSingleOutputPar
         SetPagesTransitionParameters parameter = (SetPagesTransitionParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other)).append(transitions, parameter.getTransitions())
                 .append(defaultTransition, parameter.getDefaultTransition())
-                .append(fullScreen, parameter.isFullScreen()).isEquals();
+                .append(fullScreen, parameter.isFullScreen())
+                .append(incrementalUpdate, parameter.isIncrementalUpdate()).isEquals();
     }
 }
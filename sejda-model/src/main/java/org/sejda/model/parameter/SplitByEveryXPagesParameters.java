@@ -43,6 +43,10 @@ public class SplitByEveryXPagesParameters extends AbstractSplitByPageParameters
         this.step = step;
     }
 
+    public int getStep() {
+        return step;
+    }
+
     @Override
     public Set<Integer> getPages(int upperLimit) {
         Set<Integer> pages = new NullSafeSet<Integer>();
@@ -28,6 +28,7 @@ import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.sejda.model.parameter.base.IncrementalUpdateTaskParameters;
 import org.sejda.model.parameter.base.MultiplePdfSourceMultipleOutputParameters;
 import org.sejda.model.pdf.MinRequiredVersion;
 import org.sejda.model.pdf.PdfVersion;
@@ -45,7 +46,8 @@ import org.sejda.model.pdf.viewerpreference.PdfPrintScaling;
  * @author Andrea Vacondio
  * 
  */
-public class ViewerPreferencesParameters extends MultiplePdfSourceMultipleOutputParameters {
+public class ViewerPreferencesParameters extends MultiplePdfSourceMultipleOutputParameters
+        implements IncrementalUpdateTaskParameters {
 
     @NotNull
     private PdfPageMode pageMode = PdfPageMode.USE_NONE;
@@ -57,6 +59,7 @@ public class ViewerPreferencesParameters extends MultiplePdfSourceMultipleOutput
     private PdfDirection direction;
     private PdfPrintScaling printScaling;
     private Set<PdfBooleanPreference> enabledBooleanPreferences = EnumSet.noneOf(PdfBooleanPreference.class);
+    private boolean incrementalUpdate = false;
 
     public boolean addEnabledPreference(PdfBooleanPreference e) {
         return enabledBooleanPreferences.add(e);
@@ -128,11 +131,21 @@ public class ViewerPreferencesParameters extends MultiplePdfSourceMultipleOutput
                 .toArray(new MinRequiredVersion[enabledBooleanPreferences.size()])));
     }
 
+    @Override
+    public boolean isIncrementalUpdate() {
+        return incrementalUpdate;
+    }
+
+    @Override
+    public void setIncrementalUpdate(boolean incrementalUpdate) {
+        this.incrementalUpdate = incrementalUpdate;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(printScaling).append(direction)
                 .append(duplex).append(pageLayout).append(pageMode).append(nfsMode).append(enabledBooleanPreferences)
-                .toHashCode();
+                .append(incrementalUpdate).toHashCode();
     }
 
     @Override
@@ -148,6 +161,7 @@ public class ViewerPreferencesParameters extends MultiplePdfSourceMultipleOutput
                 .append(direction, parameter.getDirection()).append(duplex, parameter.getDuplex())
                 .append(pageLayout, parameter.getPageLayout()).append(pageMode, parameter.getPageMode())
                 .append(nfsMode, parameter.getNfsMode())
-                .append(enabledBooleanPreferences, parameter.getEnabledPreferences()).isEquals();
+                .append(enabledBooleanPreferences, parameter.getEnabledPreferences())
+                .append(incrementalUpdate, parameter.isIncrementalUpdate()).isEquals();
     }
 }
@@ -20,6 +20,9 @@
  */
 package org.sejda.model.parameter.base;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.model.pdf.PdfVersion;
@@ -35,7 +38,11 @@ import org.sejda.model.validation.constraint.ValidPdfVersion;
 public abstract class AbstractPdfOutputParameters extends AbstractParameters {
 
     private boolean compress = true;
+    @Min(-1)
+    @Max(9)
+    private int compressionLevel = -1;
     private PdfVersion version;
+    private boolean linearize = false;
 
     public boolean isCompress() {
         return compress;
@@ -45,6 +52,31 @@ public abstract class AbstractPdfOutputParameters extends AbstractParameters {
         this.compress = compress;
     }
 
+    /**
+     * @return the deflate level (0-9) used to compress the not compressed streams created in memory by the task when
+     *         the output is compressed, -1 for the default level. Any other stream is compressed using the default
+     *         level.
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * @return true if the output documents should be linearized (fast web view), so that the first page can be displayed
+     *         before the whole file is downloaded
+     */
+    public boolean isLinearize() {
+        return linearize;
+    }
+
+    public void setLinearize(boolean linearize) {
+        this.linearize = linearize;
+    }
+
     public PdfVersion getVersion() {
         return version;
     }
@@ -67,8 +99,8 @@ public abstract class AbstractPdfOutputParameters extends AbstractParameters {
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(compress).append(version).append(getOutput())
-                .toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(compress).append(compressionLevel)
+                .append(linearize).append(version).append(getOutput()).toHashCode();
     }
 
     @Override
@@ -81,6 +113,8 @@ public abstract class AbstractPdfOutputParameters extends AbstractParameters {
         }
         AbstractPdfOutputParameters parameter = (AbstractPdfOutputParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other)).append(compress, parameter.isCompress())
-                .append(version, parameter.getVersion()).append(getOutput(), parameter.getOutput()).isEquals();
+                .append(compressionLevel, parameter.getCompressionLevel())
+                .append(linearize, parameter.isLinearize()).append(version, parameter.getVersion())
+                .append(getOutput(), parameter.getOutput()).isEquals();
     }
 }
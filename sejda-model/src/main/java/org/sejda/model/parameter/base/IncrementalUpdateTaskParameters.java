@@ -0,0 +1,34 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.parameter.base;
+
+/**
+ * Task parameters whose output can be written as an incremental update of the input document, where the original
+ * bytes are copied and only the modified objects are appended. The output version header and compression of the
+ * original objects are retained.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public interface IncrementalUpdateTaskParameters extends TaskParameters {
+
+    boolean isIncrementalUpdate();
+
+    void setIncrementalUpdate(boolean incrementalUpdate);
+}
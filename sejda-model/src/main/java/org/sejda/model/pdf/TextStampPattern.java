@@ -27,6 +27,12 @@ import org.sejda.model.pdf.headerfooter.NumberingStyle;
 
 public class TextStampPattern {
 
+    /**
+     * Placeholders whose value can change from page to page
+     */
+    private static final String[] PAGE_DEPENDENT_PLACEHOLDERS = { "[PAGE_ROMAN]", "[PAGE_ARABIC]", "[PAGE_NUMBER]",
+            "[PAGE_OF_TOTAL]", "[BATES_NUMBER]" };
+
     private int currentPage;
     private int totalPages;
 
@@ -89,6 +95,22 @@ public class TextStampPattern {
         return result;
     }
 
+    /**
+     * @param pattern
+     * @return the part of the given pattern preceding the first placeholder whose value can change from page to page,
+     *         the whole pattern if there is no such placeholder.
+     */
+    public static String pageInvariantPrefix(String pattern) {
+        int end = pattern.length();
+        for (String placeholder : PAGE_DEPENDENT_PLACEHOLDERS) {
+            int index = pattern.indexOf(placeholder);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        return pattern.substring(0, end);
+    }
+
     public static String dateNow() {
         return new SimpleDateFormat("dd/MM/yyyy").format(new Date());
     }
@@ -20,6 +20,7 @@ package org.sejda.model.pdf;
 
 import static org.junit.Assert.assertEquals;
 import static org.sejda.model.pdf.TextStampPattern.dateNow;
+import static org.sejda.model.pdf.TextStampPattern.pageInvariantPrefix;
 
 import org.junit.Test;
 
@@ -49,4 +50,12 @@ public class TextStampPatternTest {
         String result = new TextStampPattern().withPage(3, 17).withBatesSequence("000002").build("Case XYZ [BATES_NUMBER]");
         assertEquals("Case XYZ 000002", result);
     }
+
+    @Test
+    public void testPageInvariantPrefix() {
+        assertEquals("Page ", pageInvariantPrefix("Page [PAGE_ARABIC] of [TOTAL_PAGES_ARABIC]"));
+        assertEquals("Case XYZ ", pageInvariantPrefix("Case XYZ [BATES_NUMBER] - [PAGE_ROMAN]"));
+        assertEquals("", pageInvariantPrefix("[PAGE_OF_TOTAL]"));
+        assertEquals("Confidential [DATE]", pageInvariantPrefix("Confidential [DATE]"));
+    }
 }
@@ -91,6 +91,7 @@ public class AddBackPagesTask extends BaseTask<AddBackPagesParameters> {
             this.destinationDocument.setCreatorOnPDDocument();
             this.destinationDocument.setVersionOnPDDocument(parameters.getVersion());
             this.destinationDocument.setCompress(parameters.isCompress());
+            this.destinationDocument.setCompressionLevel(parameters.getCompressionLevel());
 
             LOG.debug("Opening {}", source);
             sourceDocumentHandler = source.open(documentLoader);
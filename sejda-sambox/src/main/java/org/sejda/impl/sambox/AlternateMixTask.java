@@ -19,10 +19,7 @@
 package org.sejda.impl.sambox;
 
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
-import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
-import static org.sejda.core.support.io.model.FileOutput.file;
-
-import java.io.File;
+import static org.sejda.core.support.io.OutputWriters.writeSingleOutput;
 
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
@@ -57,14 +54,10 @@ public class AlternateMixTask extends BaseTask<AlternateMixParameters> {
         mixer.mix(getNotifiableTaskMetadata());
         mixer.setVersionOnPDDocument(parameters.getVersion());
         mixer.setCompress(parameters.isCompress());
+        mixer.setCompressionLevel(parameters.getCompressionLevel());
 
-        File tmpFile = createTemporaryPdfBuffer();
-        LOG.debug("Created output temporary buffer {}", tmpFile);
-        mixer.savePDDocument(tmpFile);
-        nullSafeCloseQuietly(mixer);
-
-        outputWriter.setOutput(file(tmpFile).name(parameters.getOutputName()));
-        parameters.getOutput().accept(outputWriter);
+        writeSingleOutput(parameters.getOutput(), parameters.getOutputName(), outputWriter, mixer::savePDDocument,
+                mixer::savePDDocument, () -> nullSafeCloseQuietly(mixer));
 
         LOG.debug("Alternate mix with step first document {} and step second document {} completed.", parameters
                 .getFirstInput().getStep(), parameters.getSecondInput().getStep());
@@ -88,6 +88,7 @@ public class AttachmentsCollectionTask extends BaseTask<AttachmentsCollectionPar
         destinationDocument.getUnderlyingPDDocument().requireMinVersion(SpecVersionUtils.V1_7);
 
         destinationDocument.setCompress(parameters.isCompress());
+        destinationDocument.setCompressionLevel(parameters.getCompressionLevel());
         destinationDocument.setPageModeOnDocument(PdfPageMode.USE_ATTACHMENTS);
         this.tocCreator = new TableOfContentsCreator(ToCPolicy.FILE_NAMES,
                 this.destinationDocument.getUnderlyingPDDocument());
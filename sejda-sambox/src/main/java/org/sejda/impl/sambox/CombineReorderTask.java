@@ -20,26 +20,27 @@ package org.sejda.impl.sambox;
 
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
-import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
-import static org.sejda.core.support.io.model.FileOutput.file;
+import static org.sejda.core.support.io.OutputWriters.writeSingleOutput;
 import static org.sejda.impl.sambox.component.Annotations.processAnnotations;
 import static org.sejda.impl.sambox.component.SignatureClipper.clipSignatures;
 
-import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.sejda.common.LookupTable;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
 import org.sejda.impl.sambox.component.AcroFormsMerger;
-import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.PdfRotator;
+import org.sejda.impl.sambox.component.PooledPdfSourceOpener;
+import org.sejda.impl.sambox.component.SeekableSourcesPool;
+import org.sejda.impl.sambox.component.SourcesAccessPlan;
+import org.sejda.impl.sambox.component.optimizaton.ResourcesDeduplicator;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.FileIndexAndPage;
 import org.sejda.model.input.PdfSource;
-import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.CombineReorderParameters;
 import org.sejda.model.task.BaseTask;
 import org.sejda.sambox.pdmodel.PDPage;
@@ -57,9 +58,13 @@ import org.slf4j.LoggerFactory;
 public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
 
     private static final Logger LOG = LoggerFactory.getLogger(CombineReorderTask.class);
+    /**
+     * Max number of input files kept open at the same time
+     */
+    private static final int MAX_OPEN_SOURCES = 32;
 
     private SingleOutputWriter outputWriter;
-    private PdfSourceOpener<PDDocumentHandler> sourceOpener;
+    private PooledPdfSourceOpener sourceOpener;
     private PDDocumentHandler destinationDocument;
     private List<PDDocumentHandler> documents = new ArrayList<>();
     private AcroFormsMerger acroFormsMerger;
@@ -67,7 +72,7 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
 
     @Override
     public void before(CombineReorderParameters parameters) {
-        sourceOpener = new DefaultPdfSourceOpener();
+        sourceOpener = new PooledPdfSourceOpener(new SeekableSourcesPool(MAX_OPEN_SOURCES));
         outputWriter = OutputWriters.newSingleOutputWriter(parameters.getExistingOutputPolicy());
 
     }
@@ -75,24 +80,21 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
     @Override
     public void execute(CombineReorderParameters parameters) throws TaskException {
 
-        File tmpFile = createTemporaryPdfBuffer();
-        LOG.debug("Created output temporary buffer {} ", tmpFile);
-
         this.destinationDocument = new PDDocumentHandler();
         this.destinationDocument.setCreatorOnPDDocument();
         this.destinationDocument.setVersionOnPDDocument(parameters.getVersion());
         this.destinationDocument.setCompress(parameters.isCompress());
+        this.destinationDocument.setCompressionLevel(parameters.getCompressionLevel());
         this.acroFormsMerger = new AcroFormsMerger(parameters.getAcroFormPolicy(),
                 this.destinationDocument.getUnderlyingPDDocument());
 
-        for (PdfSource<?> input : parameters.getSourceList()) {
-            LOG.debug("Opening {}", input.getSource());
-            PDDocumentHandler sourceDocumentHandler = input.open(sourceOpener);
-            documents.add(sourceDocumentHandler);
-        }
+        List<PdfSource<?>> sources = parameters.getSourceList();
+        documents.addAll(Collections.nCopies(sources.size(), null));
+        SourcesAccessPlan plan = new SourcesAccessPlan(parameters.getPages(), sources.size());
+        LOG.debug("Up to {} of {} sources are going to be in use at the same time", plan.maxInUse(), sources.size());
 
         int currentStep = 0;
-        int totalSteps = parameters.getPages().size() + documents.size();
+        int totalSteps = parameters.getPages().size() + sources.size();
         PdfRotator rotator = new PdfRotator(destinationDocument.getUnderlyingPDDocument());
 
         for (int i = 0; i < parameters.getPages().size(); i++) {
@@ -102,7 +104,7 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
             int pageNum = filePage.getPage();
 
             try {
-                PDPage page = documents.get(filePage.getFileIndex()).getPage(pageNum);
+                PDPage page = document(filePage.getFileIndex(), sources).getPage(pageNum);
                 pagesLookup.addLookupEntry(page, destinationDocument.importPage(page));
                 rotator.rotate(i + 1, filePage.getRotation());
             } catch (PageNotFoundException ex){
@@ -112,15 +114,14 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
             }
 
             notifyEvent(getNotifiableTaskMetadata()).stepsCompleted(++currentStep).outOf(totalSteps);
-        }
 
-        for (PDDocumentHandler document : documents) {
-            LookupTable<PDAnnotation> annotationsLookup = processAnnotations(pagesLookup,
-                    document.getUnderlyingPDDocument());
-            clipSignatures(annotationsLookup.values());
-
-            acroFormsMerger.mergeForm(document.getUnderlyingPDDocument().getDocumentCatalog().getAcroForm(),
-                    annotationsLookup);
+            for (int index : plan.lastAccessedAt(i)) {
+                retire(documents.get(index));
+                notifyEvent(getNotifiableTaskMetadata()).stepsCompleted(++currentStep).outOf(totalSteps);
+            }
+        }
+        for (int index : plan.unused()) {
+            LOG.debug("Source {} is not used", sources.get(index).getName());
             notifyEvent(getNotifiableTaskMetadata()).stepsCompleted(++currentStep).outOf(totalSteps);
         }
 
@@ -129,11 +130,13 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
             destinationDocument.setDocumentAcroForm(acroFormsMerger.getForm());
         }
 
-        destinationDocument.savePDDocument(tmpFile);
-        closeResources();
+        if (parameters.isDeduplicateResources()) {
+            LOG.debug("Deduplicating resources");
+            new ResourcesDeduplicator().accept(destinationDocument.getUnderlyingPDDocument());
+        }
 
-        outputWriter.setOutput(file(tmpFile).name(parameters.getOutputName()));
-        parameters.getOutput().accept(outputWriter);
+        writeSingleOutput(parameters.getOutput(), parameters.getOutputName(), outputWriter,
+                destinationDocument::savePDDocument, destinationDocument::savePDDocument, this::closeResources);
         LOG.debug("Input documents merged correctly and written to {}", parameters.getOutput());
     }
 
@@ -145,6 +148,34 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
         pagesLookup.clear();
     }
 
+    /**
+     * @return the document for the source at the given index, opening it the first time it's requested
+     */
+    private PDDocumentHandler document(int index, List<PdfSource<?>> sources) throws TaskException {
+        PDDocumentHandler document = documents.get(index);
+        if (document == null) {
+            PdfSource<?> input = sources.get(index);
+            LOG.debug("Opening {}", input.getSource());
+            document = input.open(sourceOpener);
+            documents.set(index, document);
+        }
+        return document;
+    }
+
+    /**
+     * Merges annotations and forms of a document that is not going to be accessed anymore and releases its file. The
+     * document itself can't be closed before the destination is saved since imported pages are lazily read from it.
+     */
+    private void retire(PDDocumentHandler document) {
+        LookupTable<PDAnnotation> annotationsLookup = processAnnotations(pagesLookup,
+                document.getUnderlyingPDDocument());
+        clipSignatures(annotationsLookup.values());
+
+        acroFormsMerger.mergeForm(document.getUnderlyingPDDocument().getDocumentCatalog().getAcroForm(),
+                annotationsLookup);
+        sourceOpener.release(document);
+    }
+
     private void closeResources() {
         for (PDDocumentHandler document : documents) {
             nullSafeCloseQuietly(document);
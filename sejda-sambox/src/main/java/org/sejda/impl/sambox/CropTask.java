@@ -90,6 +90,7 @@ public class CropTask extends BaseTask<CropParameters> {
             LOG.debug("Done with version");
             destinationDocument.initialiseBasedOn(sourceDocumentHandler.getUnderlyingPDDocument());
             destinationDocument.setCompress(parameters.isCompress());
+            destinationDocument.setCompressionLevel(parameters.getCompressionLevel());
             LOG.debug("Done with init");
 
             this.acroFormsMerger = new AcroFormsMerger(parameters.getAcroFormPolicy(),
@@ -78,6 +78,7 @@ public class DecryptTask extends BaseTask<DecryptParameters> {
 
             documentHandler.setVersionOnPDDocument(parameters.getVersion());
             documentHandler.setCompress(parameters.isCompress());
+            documentHandler.setCompressionLevel(parameters.getCompressionLevel());
             documentHandler.savePDDocument(tmpFile);
 
             String outName = nameGenerator(parameters.getOutputPrefix()).generate(
@@ -21,6 +21,7 @@ import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.*;
 import org.sejda.model.RectangularBox;
 import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.EditParameters;
@@ -39,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.SortedSet;
 
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
@@ -86,6 +88,7 @@ public class EditTask extends BaseTask<EditParameters> {
 
             documentHandler.setVersionOnPDDocument(parameters.getVersion());
             documentHandler.setCompress(parameters.isCompress());
+            documentHandler.setCompressionLevel(parameters.getCompressionLevel());
 
             // to be able to delete multiple pages without having issues due to index shift
             // remove them in descending order, one by one
@@ -109,9 +112,10 @@ public class EditTask extends BaseTask<EditParameters> {
 
             int totalPages = documentHandler.getNumberOfPages();
 
+            // text, images and shapes going to the same page are written in a single content stream
+            PageStamper stamper = PageStamper.batching(documentHandler.getUnderlyingPDDocument());
+            PageTextWriter textWriter = new PageTextWriter(stamper);
             for (AddTextOperation textOperation : parameters.getTextOperations()) {
-                PageTextWriter textWriter = new PageTextWriter(documentHandler.getUnderlyingPDDocument());
-
                 SortedSet<Integer> pageNumbers = textOperation.getPageRange().getPages(totalPages);
 
                 for (int pageNumber : pageNumbers) {
@@ -122,7 +126,7 @@ public class EditTask extends BaseTask<EditParameters> {
             }
 
             for(AddImageOperation imageOperation: parameters.getImageOperations()) {
-                PageImageWriter imageWriter = new PageImageWriter(documentHandler.getUnderlyingPDDocument());
+                PageImageWriter imageWriter = new PageImageWriter(stamper);
                 PDImageXObject image = PageImageWriter.toPDXImageObject(imageOperation.getImageSource());
 
                 SortedSet<Integer> pageNumbers = imageOperation.getPageRange().getPages(totalPages);
@@ -150,7 +154,7 @@ public class EditTask extends BaseTask<EditParameters> {
                 }
             }
 
-            PageGeometricalShapeWriter shapeWriter = new PageGeometricalShapeWriter(documentHandler.getUnderlyingPDDocument());
+            PageGeometricalShapeWriter shapeWriter = new PageGeometricalShapeWriter(stamper);
             for(AddShapeOperation shapeOperation: parameters.getShapeOperations()) {
                 SortedSet<Integer> pageNumbers = shapeOperation.getPageRange().getPages(totalPages);
                 for (int pageNumber : pageNumbers) {
@@ -165,6 +169,11 @@ public class EditTask extends BaseTask<EditParameters> {
                     );
                 }
             }
+            try {
+                stamper.close();
+            } catch (IOException e) {
+                throw new TaskIOException("An error occurred writing the content of the pages.", e);
+            }
 
             documentHandler.savePDDocument(tmpFile);
             String outName = nameGenerator(parameters.getOutputPrefix()).generate(
@@ -83,6 +83,7 @@ public class EncryptTask extends BaseTask<EncryptParameters> {
 
                 documentHandler.setVersionOnPDDocument(parameters.getVersion());
                 documentHandler.setCompress(parameters.isCompress());
+                documentHandler.setCompressionLevel(parameters.getCompressionLevel());
                 documentHandler.savePDDocument(tmpFile, security);
 
                 String outName = nameGenerator(parameters.getOutputPrefix())
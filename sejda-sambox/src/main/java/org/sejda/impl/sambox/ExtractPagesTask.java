@@ -19,10 +19,8 @@
 package org.sejda.impl.sambox;
 
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
-import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
-import static org.sejda.core.support.io.model.FileOutput.file;
+import static org.sejda.core.support.io.OutputWriters.writeSingleOutput;
 
-import java.io.File;
 import java.util.Set;
 
 import org.sejda.core.support.io.OutputWriters;
@@ -76,22 +74,19 @@ public class ExtractPagesTask extends BaseTask<ExtractPagesParameters> {
         extractor = new PagesExtractor(sourceDocumentHandler.getUnderlyingPDDocument());
         extractor.setVersion(parameters.getVersion());
         extractor.setCompress(parameters.isCompress());
+        extractor.setCompressionLevel(parameters.getCompressionLevel());
+        extractor.setLinearize(parameters.isLinearize());
 
         LOG.debug("Extracting pages {}", pages);
         extractor.retain(pages, getNotifiableTaskMetadata());
 
-        File tmpFile = createTemporaryPdfBuffer();
-        LOG.debug("Created output temporary buffer {}", tmpFile);
         if (new OptimizationRuler(parameters.getOptimizationPolicy())
                 .apply(sourceDocumentHandler.getUnderlyingPDDocument())) {
             extractor.optimize();
         }
-        extractor.save(tmpFile, parameters.discardOutline());
-
-        closeResource();
-
-        outputWriter.setOutput(file(tmpFile).name(parameters.getOutputName()));
-        parameters.getOutput().accept(outputWriter);
+        writeSingleOutput(parameters.getOutput(), parameters.getOutputName(), outputWriter,
+                out -> extractor.save(out, parameters.discardOutline()),
+                file -> extractor.save(file, parameters.discardOutline()), this::closeResource);
         LOG.debug("Pages extracted and written to {}", parameters.getOutput());
     }
 
@@ -71,6 +71,7 @@ public class ExtractTextByPagesTask extends BaseTask<ExtractTextByPagesParameter
         documentHandler.getPermissions().ensurePermission(PdfAccessPermission.COPY_AND_EXTRACT);
 
         documentHandler.setCompress(parameters.isCompress());
+        documentHandler.setCompressionLevel(parameters.getCompressionLevel());
         documentHandler.setVersionOnPDDocument(parameters.getVersion());
 
         Set<Integer> pages = parameters.getPages(documentHandler.getNumberOfPages());
@@ -120,6 +120,7 @@ public class JpegToPdfTask extends BaseTask<JpegToPdfParameters> {
 
         documentHandler.setVersionOnPDDocument(parameters.getVersion());
         documentHandler.setCompress(parameters.isCompress());
+        documentHandler.setCompressionLevel(parameters.getCompressionLevel());
         documentHandler.savePDDocument(tmpFile);
 
         String outName = nameGenerator(parameters.getOutputPrefix()).generate(nameRequest());
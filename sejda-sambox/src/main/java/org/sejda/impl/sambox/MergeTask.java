@@ -21,15 +21,14 @@ package org.sejda.impl.sambox;
 import static java.util.Optional.ofNullable;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
-import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
-import static org.sejda.core.support.io.model.FileOutput.file;
+import static org.sejda.core.support.io.OutputWriters.writeSingleOutput;
 import static org.sejda.impl.sambox.component.Annotations.processAnnotations;
 import static org.sejda.impl.sambox.component.SignatureClipper.clipSignatures;
 
 import java.io.Closeable;
-import java.io.File;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.Set;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -41,7 +40,9 @@ import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.FilenameFooterWriter;
 import org.sejda.impl.sambox.component.OutlineMerger;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
+import org.sejda.impl.sambox.component.PagesMetadataIndex;
 import org.sejda.impl.sambox.component.TableOfContentsCreator;
+import org.sejda.impl.sambox.component.optimizaton.ResourcesDeduplicator;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfMergeInput;
 import org.sejda.model.input.PdfSourceOpener;
@@ -91,13 +92,14 @@ public class MergeTask extends BaseTask<MergeParameters> {
     @Override
     public void execute(MergeParameters parameters) throws TaskException {
         int currentStep = 0;
-        File tmpFile = createTemporaryPdfBuffer();
-        LOG.debug("Created output temporary buffer {} ", tmpFile);
 
         this.destinationDocument = new PDDocumentHandler();
         this.destinationDocument.setCreatorOnPDDocument();
         this.destinationDocument.setVersionOnPDDocument(parameters.getVersion());
         this.destinationDocument.setCompress(parameters.isCompress());
+        this.destinationDocument.setCompressionLevel(parameters.getCompressionLevel());
+        this.destinationDocument.setLinearize(parameters.isLinearize());
+        this.destinationDocument.setLazyPageImport(true);
         this.acroFormsMerger = new AcroFormsMerger(parameters.getAcroFormPolicy(),
                 this.destinationDocument.getUnderlyingPDDocument());
         this.tocCreator = new TableOfContentsCreator(parameters.getTableOfContentsPolicy(),
@@ -112,15 +114,18 @@ public class MergeTask extends BaseTask<MergeParameters> {
 
             LOG.debug("Adding pages");
             LookupTable<PDPage> pagesLookup = new LookupTable<>();
+            Set<Integer> pages = input.getPages(sourceDocumentHandler.getNumberOfPages());
+            PagesMetadataIndex pagesIndex = new PagesMetadataIndex(sourceDocumentHandler.getUnderlyingPDDocument(),
+                    pages);
             long relativeCounter = 0;
-            for (Integer currentPage : input.getPages(sourceDocumentHandler.getNumberOfPages())) {
+            for (Integer currentPage : pages) {
                 stopTaskIfCancelled();
                 pagesCounter++;
                 relativeCounter++;
 
-                PDPage page = sourceDocumentHandler.getPage(currentPage);
+                PDPage page = pagesIndex.page(currentPage);
                 // we keep rotation into account
-                currentPageSize = page.getMediaBox().rotate(page.getRotation());
+                currentPageSize = pagesIndex.mediaBox(currentPage).rotate(pagesIndex.rotation(currentPage));
                 // we don't use the original page because once added to the new tree we loose inheritable attributes
                 // so we use a page duplicate to explicitly assign inheritable resources
                 PDPage importedPage = destinationDocument.importPage(page);
@@ -175,11 +180,13 @@ public class MergeTask extends BaseTask<MergeParameters> {
             tocCreator.addToC();
         }
 
-        destinationDocument.savePDDocument(tmpFile);
-        closeResources();
+        if (parameters.isDeduplicateResources()) {
+            LOG.debug("Deduplicating resources");
+            new ResourcesDeduplicator().accept(destinationDocument.getUnderlyingPDDocument());
+        }
 
-        outputWriter.setOutput(file(tmpFile).name(parameters.getOutputName()));
-        parameters.getOutput().accept(outputWriter);
+        writeSingleOutput(parameters.getOutput(), parameters.getOutputName(), outputWriter,
+                destinationDocument::savePDDocument, destinationDocument::savePDDocument, this::closeResources);
         LOG.debug("Input documents merged correctly and written to {}", parameters.getOutput());
 
     }
@@ -24,6 +24,7 @@ import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
 import java.io.File;
+import java.io.IOException;
 
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
@@ -31,7 +32,10 @@ import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.optimizaton.DocumentOptimizer;
 import org.sejda.impl.sambox.component.optimizaton.PagesOptimizer;
+import org.sejda.impl.sambox.component.optimizaton.ShardedPagesOptimizer;
 import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.OptimizeParameters;
@@ -75,8 +79,19 @@ public class OptimizeTask extends BaseTask<OptimizeParameters> {
             File tmpFile = createTemporaryPdfBuffer();
             LOG.debug("Created output on temporary buffer {}", tmpFile);
 
-            documentOptimizer = new DocumentOptimizer(parameters.getOptimizations());
-            pagesOptimizer = new PagesOptimizer(parameters);
+            documentOptimizer = new DocumentOptimizer(parameters.getOptimizations(), parameters);
+            if (source instanceof PdfFileSource) {
+                // workers optimize images on their own copy of the document, opened from the same file
+                try {
+                    pagesOptimizer = new ShardedPagesOptimizer(parameters).optimize(
+                            documentHandler.getUnderlyingPDDocument(), ((PdfFileSource) source).getSource().length(),
+                            () -> source.open(documentLoader).getUnderlyingPDDocument());
+                } catch (IOException e) {
+                    throw new TaskIOException("An error occurred optimizing the images.", e);
+                }
+            } else {
+                pagesOptimizer = new PagesOptimizer(parameters);
+            }
 
             LOG.debug("Starting optimization");
             for (PDPage p : documentHandler.getPages()) {
@@ -87,6 +102,8 @@ public class OptimizeTask extends BaseTask<OptimizeParameters> {
 
             documentHandler.setVersionOnPDDocument(parameters.getVersion());
             documentHandler.setCompress(parameters.isCompress());
+            documentHandler.setCompressionLevel(parameters.getCompressionLevel());
+            documentHandler.setLinearize(parameters.isLinearize());
             documentHandler.savePDDocument(tmpFile);
 
             String outName = nameGenerator(parameters.getOutputPrefix())
@@ -30,6 +30,7 @@ import java.io.File;
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.IncrementablePdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.PdfRotator;
 import org.sejda.model.exception.TaskException;
@@ -59,7 +60,11 @@ public class RotateTask extends BaseTask<RotateParameters> {
     @Override
     public void before(RotateParameters parameters) {
         totalSteps = parameters.getSourceList().size();
-        documentLoader = new DefaultPdfSourceOpener();
+        if (parameters.isIncrementalUpdate()) {
+            documentLoader = new IncrementablePdfSourceOpener();
+        } else {
+            documentLoader = new DefaultPdfSourceOpener();
+        }
         outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy());
     }
 
@@ -83,10 +88,12 @@ public class RotateTask extends BaseTask<RotateParameters> {
                 for (Integer page : parameters.getPages(documentHandler.getNumberOfPages())) {
                     stopTaskIfCancelled();
                     rotator.rotate(page, parameters.getRotation(page));
+                    documentHandler.modified(documentHandler.getPage(page));
                 }
 
                 documentHandler.setVersionOnPDDocument(parameters.getVersion());
                 documentHandler.setCompress(parameters.isCompress());
+                documentHandler.setCompressionLevel(parameters.getCompressionLevel());
                 documentHandler.savePDDocument(tmpFile);
 
                 String outName = nameGenerator(parameters.getOutputPrefix())
@@ -83,6 +83,7 @@ public class SetHeaderFooterTask extends BaseTask<SetHeaderFooterParameters> {
 
             documentHandler.setVersionOnPDDocument(parameters.getVersion());
             documentHandler.setCompress(parameters.isCompress());
+            documentHandler.setCompressionLevel(parameters.getCompressionLevel());
 
             try (SetHeaderFooterWriter footerWriter = new SetHeaderFooterWriter(documentHandler)) {
                 String outName = nameGenerator(parameters.getOutputPrefix()).generate(
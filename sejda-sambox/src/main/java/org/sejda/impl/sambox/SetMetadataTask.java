@@ -29,6 +29,7 @@ import java.util.Map.Entry;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.IncrementablePdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfSource;
@@ -56,7 +57,11 @@ public class SetMetadataTask extends BaseTask<SetMetadataParameters> {
 
     @Override
     public void before(SetMetadataParameters parameters) {
-        documentLoader = new DefaultPdfSourceOpener();
+        if (parameters.isIncrementalUpdate()) {
+            documentLoader = new IncrementablePdfSourceOpener();
+        } else {
+            documentLoader = new DefaultPdfSourceOpener();
+        }
         outputWriter = OutputWriters.newSingleOutputWriter(parameters.getExistingOutputPolicy());
     }
 
@@ -79,9 +84,11 @@ public class SetMetadataTask extends BaseTask<SetMetadataParameters> {
             LOG.trace("'{}' -> '{}'", meta.getKey().getKey(), meta.getValue());
             actualMeta.setCustomMetadataValue(meta.getKey().getKey(), meta.getValue());
         }
+        documentHandler.modified(actualMeta);
 
         documentHandler.setVersionOnPDDocument(parameters.getVersion());
         documentHandler.setCompress(parameters.isCompress());
+        documentHandler.setCompressionLevel(parameters.getCompressionLevel());
         documentHandler.savePDDocument(tmpFile);
         nullSafeCloseQuietly(documentHandler);
 
@@ -28,6 +28,7 @@ import java.io.File;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.IncrementablePdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfSource;
@@ -53,7 +54,11 @@ public class SetPagesLabelTask extends BaseTask<SetPagesLabelParameters> {
 
     @Override
     public void before(SetPagesLabelParameters parameters) {
-        documentLoader = new DefaultPdfSourceOpener();
+        if (parameters.isIncrementalUpdate()) {
+            documentLoader = new IncrementablePdfSourceOpener();
+        } else {
+            documentLoader = new DefaultPdfSourceOpener();
+        }
         outputWriter = OutputWriters.newSingleOutputWriter(parameters.getExistingOutputPolicy());
     }
 
@@ -75,6 +80,7 @@ public class SetPagesLabelTask extends BaseTask<SetPagesLabelParameters> {
         documentHandler.setCreatorOnPDDocument();
         documentHandler.setVersionOnPDDocument(parameters.getVersion());
         documentHandler.setCompress(parameters.isCompress());
+        documentHandler.setCompressionLevel(parameters.getCompressionLevel());
         documentHandler.savePDDocument(tmpFile);
         nullSafeCloseQuietly(documentHandler);
 
@@ -33,6 +33,7 @@ import java.io.File;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.IncrementablePdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfSource;
@@ -62,7 +63,11 @@ public class SetPagesTransitionTask extends BaseTask<SetPagesTransitionParameter
 
     @Override
     public void before(SetPagesTransitionParameters parameters) {
-        documentLoader = new DefaultPdfSourceOpener();
+        if (parameters.isIncrementalUpdate()) {
+            documentLoader = new IncrementablePdfSourceOpener();
+        } else {
+            documentLoader = new DefaultPdfSourceOpener();
+        }
         outputWriter = OutputWriters.newSingleOutputWriter(parameters.getExistingOutputPolicy());
     }
 
@@ -92,6 +97,7 @@ public class SetPagesTransitionTask extends BaseTask<SetPagesTransitionParameter
                 initTransitionDirection(t, transition);
                 transition.setDuration(t.getTransitionDuration());
                 page.setTransition(transition, t.getDisplayDuration());
+                documentHandler.modified(page);
             });
         }
 
@@ -102,6 +108,7 @@ public class SetPagesTransitionTask extends BaseTask<SetPagesTransitionParameter
         documentHandler.setCreatorOnPDDocument();
         documentHandler.setVersionOnPDDocument(parameters.getVersion());
         documentHandler.setCompress(parameters.isCompress());
+        documentHandler.setCompressionLevel(parameters.getCompressionLevel());
         documentHandler.savePDDocument(tmpFile);
         nullSafeCloseQuietly(documentHandler);
 
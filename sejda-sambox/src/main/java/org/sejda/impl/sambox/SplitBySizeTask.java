@@ -61,7 +61,8 @@ public class SplitBySizeTask extends BaseTask<SplitBySizeParameters> {
         PDDocument sourceDocument = sourceDocumentHandler.getUnderlyingPDDocument();
 
         splitter = new SizePdfSplitter(sourceDocument, parameters,
-                new OptimizationRuler(parameters.getOptimizationPolicy()).apply(sourceDocument));
+                new OptimizationRuler(parameters.getOptimizationPolicy()).apply(sourceDocument),
+                sourceDocumentHandler.pagesIndex());
         LOG.debug("Starting split by size {} bytes", parameters.getSizeToSplitAt());
         splitter.split(getNotifiableTaskMetadata());
 
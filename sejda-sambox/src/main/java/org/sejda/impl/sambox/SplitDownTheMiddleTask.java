@@ -34,6 +34,7 @@ import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
+import org.sejda.impl.sambox.component.PagesMetadataIndex;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
@@ -90,41 +91,45 @@ public class SplitDownTheMiddleTask extends BaseTask<SplitDownTheMiddleParameter
             LOG.debug("Done with version");
             destinationHandler.initialiseBasedOn(sourceHandler.getUnderlyingPDDocument());
             destinationHandler.setCompress(parameters.isCompress());
+            destinationHandler.setCompressionLevel(parameters.getCompressionLevel());
+            destinationHandler.setLinearize(parameters.isLinearize());
             LOG.debug("Done with init");
 
             File tmpFile = createTemporaryBuffer();
             LOG.debug("Created output on temporary buffer {}", tmpFile);
 
             LookupTable<PDPage> lookup = new LookupTable<>();
-            for (int pageNumber = 1; pageNumber <= sourceHandler.getNumberOfPages(); pageNumber++) {
-                PDPage page = sourceHandler.getPage(pageNumber);
-                PDRectangle trimBox = page.getTrimBox();
+            PagesMetadataIndex pagesIndex = sourceHandler.pagesIndex();
+            for (int pageNumber = 1; pageNumber <= pagesIndex.numberOfPages(); pageNumber++) {
+                PDPage page = pagesIndex.page(pageNumber);
+                PDRectangle trimBox = pagesIndex.trimBox(pageNumber);
+                int rotation = pagesIndex.rotation(pageNumber);
 
                 // landscape vs portrait
                 if (trimBox.getHeight() <= trimBox.getWidth()) {
                     // landscape orientation
 
-                    boolean leftFirst = page.getRotation() != 270 && page.getRotation() != 180;
+                    boolean leftFirst = rotation != 270 && rotation != 180;
 
                     if(leftFirst) {
-                        importLeftPage(page, lookup);
-                        importRightPage(page, lookup);
+                        importLeftPage(page, trimBox, lookup);
+                        importRightPage(page, trimBox, lookup);
                     } else {
-                        importRightPage(page, lookup);
-                        importLeftPage(page, lookup);
+                        importRightPage(page, trimBox, lookup);
+                        importLeftPage(page, trimBox, lookup);
                     }
 
                 } else {
                     // portrait orientation
 
-                    boolean topFirst = page.getRotation() != 90 && page.getRotation() != 180;
+                    boolean topFirst = rotation != 90 && rotation != 180;
 
                     if(topFirst) {
-                        importTopPage(page, lookup);
-                        importBottomPage(page, lookup);
+                        importTopPage(page, trimBox, lookup);
+                        importBottomPage(page, trimBox, lookup);
                     } else {
-                        importBottomPage(page, lookup);
-                        importTopPage(page, lookup);
+                        importBottomPage(page, trimBox, lookup);
+                        importTopPage(page, trimBox, lookup);
                     }
 
                 }
@@ -179,8 +184,7 @@ public class SplitDownTheMiddleTask extends BaseTask<SplitDownTheMiddleParameter
 
     }
 
-    private void importLeftPage(PDPage page, LookupTable<PDPage> lookup){
-        PDRectangle trimBox = page.getTrimBox();
+    private void importLeftPage(PDPage page, PDRectangle trimBox, LookupTable<PDPage> lookup){
         PDPage leftPage = destinationHandler.importPage(page);
         lookup.addLookupEntry(page, leftPage);
         PDRectangle leftSide = new PDRectangle();
@@ -194,8 +198,7 @@ public class SplitDownTheMiddleTask extends BaseTask<SplitDownTheMiddleParameter
         leftPage.setMediaBox(leftSide);
     }
 
-    private void importRightPage(PDPage page, LookupTable<PDPage> lookup){
-        PDRectangle trimBox = page.getTrimBox();
+    private void importRightPage(PDPage page, PDRectangle trimBox, LookupTable<PDPage> lookup){
         PDPage rightPage = destinationHandler.importPage(page);
         lookup.addLookupEntry(page, rightPage);
         PDRectangle rightSide = new PDRectangle();
@@ -209,8 +212,7 @@ public class SplitDownTheMiddleTask extends BaseTask<SplitDownTheMiddleParameter
         rightPage.setMediaBox(rightSide);
     }
 
-    private void importTopPage(PDPage page, LookupTable<PDPage> lookup){
-        PDRectangle trimBox = page.getTrimBox();
+    private void importTopPage(PDPage page, PDRectangle trimBox, LookupTable<PDPage> lookup){
         PDPage topPage = destinationHandler.importPage(page);
         lookup.addLookupEntry(page, topPage);
         PDRectangle upperSide = new PDRectangle();
@@ -224,8 +226,7 @@ public class SplitDownTheMiddleTask extends BaseTask<SplitDownTheMiddleParameter
         topPage.setMediaBox(upperSide);
     }
 
-    private void importBottomPage(PDPage page, LookupTable<PDPage> lookup){
-        PDRectangle trimBox = page.getTrimBox();
+    private void importBottomPage(PDPage page, PDRectangle trimBox, LookupTable<PDPage> lookup){
         PDPage bottomPage = destinationHandler.importPage(page);
         lookup.addLookupEntry(page, bottomPage);
         PDRectangle lowerSide = new PDRectangle();
@@ -35,6 +35,7 @@ import java.io.File;
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.IncrementablePdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfSource;
@@ -67,7 +68,11 @@ public class ViewerPreferencesTask extends BaseTask<ViewerPreferencesParameters>
     @Override
     public void before(ViewerPreferencesParameters parameters) {
         totalSteps = parameters.getSourceList().size();
-        documentLoader = new DefaultPdfSourceOpener();
+        if (parameters.isIncrementalUpdate()) {
+            documentLoader = new IncrementablePdfSourceOpener();
+        } else {
+            documentLoader = new DefaultPdfSourceOpener();
+        }
         outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy());
     }
 
@@ -86,6 +91,7 @@ public class ViewerPreferencesTask extends BaseTask<ViewerPreferencesParameters>
 
             documentHandler.setVersionOnPDDocument(parameters.getVersion());
             documentHandler.setCompress(parameters.isCompress());
+            documentHandler.setCompressionLevel(parameters.getCompressionLevel());
             documentHandler.setPageModeOnDocument(parameters.getPageMode());
             documentHandler.setPageLayoutOnDocument(parameters.getPageLayout());
 
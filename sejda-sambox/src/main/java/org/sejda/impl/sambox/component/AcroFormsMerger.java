@@ -113,7 +113,7 @@ public class AcroFormsMerger {
         PDField previouslyCreated = ofNullable(getField(existing.getFullyQualifiedName()))
                 .orElseGet(() -> fieldsLookup.lookup(existing));
         if (previouslyCreated == null) {
-            previouslyCreated = PDFieldFactory.createFielAddingChildToParent(this.form,
+            previouslyCreated = PDFieldFactory.createFieldAddingChildToParent(this.form,
                     existing.getCOSObject().duplicate(),
                     (PDNonTerminalField) fieldsLookup.lookup(existing.getParent()));
             previouslyCreated.getCOSObject().removeItem(COSName.KIDS);
@@ -129,7 +129,7 @@ public class AcroFormsMerger {
 
     private final BiFunction<PDTerminalField, LookupTable<PDField>, PDTerminalField> createRenamingTerminalField = (
             PDTerminalField existing, LookupTable<PDField> fieldsLookup) -> {
-        PDTerminalField newField = (PDTerminalField) PDFieldFactory.createFielAddingChildToParent(this.form,
+        PDTerminalField newField = (PDTerminalField) PDFieldFactory.createFieldAddingChildToParent(this.form,
                 existing.getCOSObject().duplicate(), (PDNonTerminalField) fieldsLookup.lookup(existing.getParent()));
         if (getField(existing.getFullyQualifiedName()) != null || fieldsLookup.hasLookupFor(existing)) {
             newField.setPartialName(String.format("%s%s%d", existing.getPartialName(), random, ++counter));
@@ -144,7 +144,7 @@ public class AcroFormsMerger {
     private final BiConsumer<PDField, LookupTable<PDField>> createOrReuseNonTerminalField = (PDField field,
             LookupTable<PDField> fieldsLookup) -> {
         if (getField(field.getFullyQualifiedName()) == null && !fieldsLookup.hasLookupFor(field)) {
-            fieldsLookup.addLookupEntry(field, PDFieldFactory.createFielAddingChildToParent(this.form,
+            fieldsLookup.addLookupEntry(field, PDFieldFactory.createFieldAddingChildToParent(this.form,
                     field.getCOSObject().duplicate(), (PDNonTerminalField) fieldsLookup.lookup(field.getParent())));
         }
     };
@@ -159,7 +159,7 @@ public class AcroFormsMerger {
 
     private final BiConsumer<PDField, LookupTable<PDField>> createRenamingNonTerminalField = (PDField field,
             LookupTable<PDField> fieldsLookup) -> {
-        PDField newField = PDFieldFactory.createFielAddingChildToParent(this.form, field.getCOSObject().duplicate(),
+        PDField newField = PDFieldFactory.createFieldAddingChildToParent(this.form, field.getCOSObject().duplicate(),
                 (PDNonTerminalField) fieldsLookup.lookup(field.getParent()));
         if (getField(field.getFullyQualifiedName()) != null || fieldsLookup.hasLookupFor(field)) {
             newField.setPartialName(String.format("%s%s%d", field.getPartialName(), random, ++counter));
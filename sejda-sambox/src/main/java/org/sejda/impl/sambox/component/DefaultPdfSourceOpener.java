@@ -44,8 +44,7 @@ public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler
     @Override
     public PDDocumentHandler open(PdfURLSource source) throws TaskIOException {
         try {
-            PDDocument document = PDFParser.parse(
-                    SeekableSources.onTempFileSeekableSourceFrom(source.getSource().openStream()),
+            PDDocument document = PDFParser.parse(HttpRangeSeekableSource.seekableSourceFrom(source.getSource()),
                     source.getPassword());
             return new PDDocumentHandler(document);
         } catch (InvalidPasswordException ipe) {
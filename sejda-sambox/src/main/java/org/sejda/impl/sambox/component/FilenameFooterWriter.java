@@ -19,6 +19,7 @@
 package org.sejda.impl.sambox.component;
 
 import java.awt.Color;
+import java.io.IOException;
 
 import org.sejda.model.HorizontalAlign;
 import org.sejda.model.VerticalAlign;
@@ -39,21 +40,24 @@ public class FilenameFooterWriter {
     private static final Logger LOG = LoggerFactory.getLogger(FilenameFooterWriter.class);
 
     private boolean addFooter = false;
+    private PageStamper stamper;
     private PageTextWriter writer;
 
     public FilenameFooterWriter(boolean addFooter, PDDocument document) {
-        this.writer = new PageTextWriter(document);
+        this.stamper = PageStamper.batching(document);
+        this.writer = new PageTextWriter(stamper);
         this.addFooter = addFooter;
     }
 
     public void addFooter(PDPage page, String fileName, long pageNumber) {
         if (addFooter) {
-            try {
+            // both labels end up in the same content stream, written to the page when the stamper is closed
+            try (PageStamper pageStamper = stamper) {
                 writer.write(page, HorizontalAlign.LEFT, VerticalAlign.BOTTOM, fileName, PDType1Font.HELVETICA, 10d,
                         Color.BLACK);
                 writer.write(page, HorizontalAlign.RIGHT, VerticalAlign.BOTTOM, Long.toString(pageNumber),
                         PDType1Font.HELVETICA, 10d, Color.BLACK);
-            } catch (TaskIOException e) {
+            } catch (TaskIOException | IOException e) {
                 LOG.warn("Unable to write the page footer", e);
             }
         }
@@ -0,0 +1,136 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.sejda.sambox.pdmodel.font.PDFont;
+
+/**
+ * Caches the widths of the glyphs of a {@link PDFont} in a primitive array indexed by code point, so that repeated
+ * width calculations on the same font don't go through the font encoding and glyph lookup every time. Widths are in
+ * glyph space units (1/1000 of the font size).
+ *
+ * @author Andrea Vacondio
+ */
+public class GlyphWidthsCache {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_CACHED_CODE_POINT = Character.MAX_VALUE;
+    private static final float UNKNOWN = Float.NaN;
+    private static final float NOT_DISPLAYABLE = Float.NEGATIVE_INFINITY;
+
+    private final PDFont font;
+    private float[] widths = new float[INITIAL_CAPACITY];
+
+    public GlyphWidthsCache(PDFont font) {
+        requireNotNullArg(font, "Font cannot be null");
+        this.font = font;
+        Arrays.fill(widths, UNKNOWN);
+    }
+
+    public PDFont font() {
+        return font;
+    }
+
+    /**
+     * @param text
+     * @return true if every code point of the given text can be displayed with the font
+     */
+    public boolean canDisplay(String text) {
+        return text.codePoints().allMatch(c -> width(c) != NOT_DISPLAYABLE);
+    }
+
+    /**
+     * @param text
+     * @return the width of the given text in glyph space units
+     * @throws IllegalArgumentException
+     *             if the text contains characters the font cannot display
+     */
+    public float stringWidth(String text) {
+        float total = 0;
+        for (int i = 0; i < text.length();) {
+            int codePoint = text.codePointAt(i);
+            total += displayableWidth(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return total;
+    }
+
+    /**
+     * Computes the running sum of the glyph widths in a single pass, stopping as soon as the given width is exceeded.
+     *
+     * @param text
+     * @param maxWidth
+     *            in glyph space units
+     * @return the length of the longest prefix of the given text whose width doesn't exceed the given width. Surrogate
+     *         pairs are never split.
+     * @throws IllegalArgumentException
+     *             if the text contains characters the font cannot display
+     */
+    public int fittingLength(String text, float maxWidth) {
+        float total = 0;
+        for (int i = 0; i < text.length();) {
+            int codePoint = text.codePointAt(i);
+            total += displayableWidth(codePoint);
+            if (total > maxWidth) {
+                return i;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return text.length();
+    }
+
+    private float displayableWidth(int codePoint) {
+        float width = width(codePoint);
+        if (width == NOT_DISPLAYABLE) {
+            throw new IllegalArgumentException(
+                    String.format("Code point U+%04X cannot be displayed with font %s", codePoint, font.getName()));
+        }
+        return width;
+    }
+
+    private float width(int codePoint) {
+        if (codePoint > MAX_CACHED_CODE_POINT) {
+            return computeWidth(codePoint);
+        }
+        if (codePoint >= widths.length) {
+            int previous = widths.length;
+            widths = Arrays.copyOf(widths, Math.min(Integer.highestOneBit(codePoint) << 1, MAX_CACHED_CODE_POINT + 1));
+            Arrays.fill(widths, previous, widths.length, UNKNOWN);
+        }
+        float width = widths[codePoint];
+        if (Float.isNaN(width)) {
+            width = computeWidth(codePoint);
+            widths[codePoint] = width;
+        }
+        return width;
+    }
+
+    private float computeWidth(int codePoint) {
+        try {
+            return font.getStringWidth(new String(Character.toChars(codePoint)));
+        } catch (IllegalArgumentException | IOException e) {
+            return NOT_DISPLAYABLE;
+        }
+    }
+}
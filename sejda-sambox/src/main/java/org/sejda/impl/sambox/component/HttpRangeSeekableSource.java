@@ -0,0 +1,288 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_PARTIAL;
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.sejda.util.RequireUtils.requireArg;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.sejda.io.SeekableSource;
+import org.sejda.io.SeekableSources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SeekableSource} reading a remote file using HTTP Range requests. The file is read in fixed size blocks that
+ * are kept in a bounded LRU cache, when consecutive blocks are requested the number of blocks read ahead with a single
+ * request grows, up to a limit, so a sequential read doesn't result in a request per block. Only the parts of the file
+ * that are actually read are downloaded.
+ * <p>
+ * Every response is checked to contain the requested range of a file of the same size and, when the server provided an
+ * ETag or a Last-Modified date, requests are conditional on it using If-Range so that a file changed on the server is
+ * reported as an error instead of mixing blocks of different versions.
+ * </p>
+ * 
+ * @author Andrea Vacondio
+ */
+public class HttpRangeSeekableSource extends PositionalSeekableSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpRangeSeekableSource.class);
+
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    private static final int MAX_CACHED_BLOCKS = 256;
+    private static final int MAX_READ_AHEAD_BLOCKS = 16;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+)");
+    private static final int CONNECT_TIMEOUT_MILLIS = 30000;
+    private static final int READ_TIMEOUT_MILLIS = 60000;
+
+    private final URL url;
+    private final long size;
+    private final int blockSize;
+    private final String validator;
+    private final Map<Long, byte[]> blocks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+            return size() > MAX_CACHED_BLOCKS;
+        }
+    };
+    private long position;
+    private long lastFetched = -1;
+    private int readAhead = 1;
+    private int requests;
+
+    private HttpRangeSeekableSource(URL url, long size, int blockSize, String validator) {
+        super(url.toString());
+        this.url = url;
+        this.size = size;
+        this.blockSize = blockSize;
+        this.validator = validator;
+    }
+
+    /**
+     * @param url
+     * @return a {@link SeekableSource} for the given URL that uses Range requests if the URL is an http(s) one and the
+     *         server supports them. Otherwise the whole content is downloaded to a temporary file and a source for it is
+     *         returned.
+     * @throws IOException
+     */
+    public static SeekableSource seekableSourceFrom(URL url) throws IOException {
+        return seekableSourceFrom(url, DEFAULT_BLOCK_SIZE);
+    }
+
+    static SeekableSource seekableSourceFrom(URL url, int blockSize) throws IOException {
+        requireArg(blockSize > 0, "Block size must be positive");
+        URLConnection connection = openConnection(url);
+        if (connection instanceof HttpURLConnection) {
+            HttpURLConnection http = (HttpURLConnection) connection;
+            http.setRequestProperty("Range", String.format("bytes=0-%d", blockSize - 1));
+            if (http.getResponseCode() == HTTP_PARTIAL) {
+                Matcher range = CONTENT_RANGE.matcher(defaultString(http.getHeaderField("Content-Range")));
+                if (range.matches() && Long.parseLong(range.group(1)) == 0
+                        && Long.parseLong(range.group(2)) < Math.min(blockSize, Long.parseLong(range.group(3)))) {
+                    long size = Long.parseLong(range.group(3));
+                    HttpRangeSeekableSource source = new HttpRangeSeekableSource(url, size, blockSize,
+                            validator(http));
+                    try (InputStream stream = http.getInputStream()) {
+                        source.store(0, stream, Long.parseLong(range.group(2)) + 1);
+                    }
+                    source.requests++;
+                    source.lastFetched = 0;
+                    LOG.debug("Reading {} of size {} using Range requests", url, size);
+                    return source;
+                }
+                LOG.debug("Unexpected Content-Range for {}", url);
+                http.disconnect();
+                connection = openConnection(url);
+            } else if (http.getResponseCode() == 416) {
+                // Range Not Satisfiable, most likely an empty file
+                http.disconnect();
+                connection = openConnection(url);
+            }
+            LOG.debug("Range requests not supported for {}, downloading it", url);
+        }
+        return SeekableSources.onTempFileSeekableSourceFrom(connection.getInputStream());
+    }
+
+    private static URLConnection openConnection(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+        return connection;
+    }
+
+    /**
+     * @return the strong ETag or, if missing, the Last-Modified date of the response, to be used as If-Range validator.
+     *         Weak ETags cannot be used with If-Range.
+     */
+    private static String validator(HttpURLConnection connection) {
+        String etag = connection.getHeaderField("ETag");
+        if (isNotBlank(etag) && !etag.startsWith("W/")) {
+            return etag;
+        }
+        String lastModified = connection.getHeaderField("Last-Modified");
+        if (isNotBlank(lastModified)) {
+            return lastModified;
+        }
+        return null;
+    }
+
+    private void store(long firstBlock, InputStream stream, long length) throws IOException {
+        long block = firstBlock;
+        for (long remaining = length; remaining > 0; block++) {
+            byte[] data = new byte[(int) Math.min(blockSize, remaining)];
+            IOUtils.readFully(stream, data);
+            blocks.put(block, data);
+            remaining -= data.length;
+        }
+    }
+
+    private byte[] block(long index) throws IOException {
+        byte[] block = blocks.get(index);
+        if (block == null) {
+            if (index == lastFetched + 1) {
+                readAhead = Math.min(readAhead * 2, MAX_READ_AHEAD_BLOCKS);
+            } else {
+                readAhead = 1;
+            }
+            long lastBlock = (size - 1) / blockSize;
+            int count = 1;
+            while (count < readAhead && index + count <= lastBlock && !blocks.containsKey(index + count)) {
+                count++;
+            }
+            fetch(index, count);
+            block = blocks.get(index);
+        }
+        return block;
+    }
+
+    private void fetch(long firstBlock, int count) throws IOException {
+        long from = firstBlock * blockSize;
+        long to = Math.min(size, (firstBlock + count) * blockSize) - 1;
+        LOG.trace("Requesting bytes {}-{} of {}", from, to, url);
+        HttpURLConnection connection = (HttpURLConnection) openConnection(url);
+        connection.setRequestProperty("Range", String.format("bytes=%d-%d", from, to));
+        if (validator != null) {
+            connection.setRequestProperty("If-Range", validator);
+        }
+        requests++;
+        int responseCode = connection.getResponseCode();
+        if (responseCode != HTTP_PARTIAL) {
+            connection.disconnect();
+            if (responseCode == HTTP_OK && validator != null) {
+                throw new IOException(String.format("%s has changed since it was opened", url));
+            }
+            throw new IOException(String.format("Unable to read bytes %d-%d of %s, server responded %d", from, to,
+                    url, responseCode));
+        }
+        String contentRange = connection.getHeaderField("Content-Range");
+        Matcher range = CONTENT_RANGE.matcher(defaultString(contentRange));
+        if (!range.matches() || Long.parseLong(range.group(1)) != from || Long.parseLong(range.group(2)) != to
+                || Long.parseLong(range.group(3)) != size) {
+            connection.disconnect();
+            throw new IOException(String.format("Unable to read bytes %d-%d of %s, server responded with range %s",
+                    from, to, url, contentRange));
+        }
+        try (InputStream stream = connection.getInputStream()) {
+            store(firstBlock, stream, to - from + 1);
+        }
+        lastFetched = firstBlock + count - 1;
+    }
+
+    /**
+     * @return the number of Range requests performed so far
+     */
+    synchronized int requests() {
+        return requests;
+    }
+
+    @Override
+    synchronized int read(long at, ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (at >= size) {
+            return -1;
+        }
+        int read = 0;
+        long current = at;
+        while (dst.hasRemaining() && current < size) {
+            byte[] block = block(current / blockSize);
+            int offset = (int) (current % blockSize);
+            int length = Math.min(dst.remaining(), block.length - offset);
+            dst.put(block, offset, length);
+            read += length;
+            current += length;
+        }
+        return read;
+    }
+
+    @Override
+    public synchronized long position() {
+        return position;
+    }
+
+    @Override
+    public synchronized SeekableSource position(long position) throws IOException {
+        requireOpen();
+        this.position = Math.max(0, Math.min(position, size));
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        int read = read(position, dst);
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        requireOpen();
+        if (position >= size) {
+            return -1;
+        }
+        byte[] block = block(position / blockSize);
+        return block[(int) (position++ % blockSize)] & 0xFF;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        super.close();
+        blocks.clear();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import java.io.IOException;
+
+import org.sejda.io.SeekableSources;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.exception.TaskWrongPasswordException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfSourceOpener;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.input.PdfURLSource;
+import org.sejda.sambox.input.IncrementablePDDocument;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.encryption.InvalidPasswordException;
+
+/**
+ * SAMBox component able to open a PdfSource and return the corresponding {@link PDDocumentHandler} that saves the
+ * document as an incremental update of the original one.
+ * 
+ * @author Andrea Vacondio
+ */
+public class IncrementablePdfSourceOpener implements PdfSourceOpener<PDDocumentHandler> {
+
+    private static final String WRONG_PWD_MESSAGE = "Unable to open the document due to a wrong password.";
+    private static final String ERROR_MESSAGE = "An error occurred opening the source: %s.";
+
+    @Override
+    public PDDocumentHandler open(PdfURLSource source) throws TaskIOException {
+        try {
+            IncrementablePDDocument document = PDFParser.parseToIncrement(
+                    SeekableSources.onTempFileSeekableSourceFrom(source.getSource().openStream()),
+                    source.getPassword());
+            return new PDDocumentHandler(document);
+        } catch (InvalidPasswordException ipe) {
+            throw new TaskWrongPasswordException(WRONG_PWD_MESSAGE, ipe);
+        } catch (IOException e) {
+            throw new TaskIOException(String.format(ERROR_MESSAGE, source), e);
+        }
+    }
+
+    @Override
+    public PDDocumentHandler open(PdfFileSource source) throws TaskIOException {
+        try {
+            IncrementablePDDocument document = PDFParser
+                    .parseToIncrement(SeekableSources.seekableSourceFrom(source.getSource()), source.getPassword());
+            return new PDDocumentHandler(document);
+        } catch (InvalidPasswordException ipe) {
+            throw new TaskWrongPasswordException(WRONG_PWD_MESSAGE, ipe);
+        } catch (IOException e) {
+            throw new TaskIOException(String.format(ERROR_MESSAGE, source), e);
+        }
+    }
+
+    @Override
+    public PDDocumentHandler open(PdfStreamSource source) throws TaskIOException {
+        try {
+            IncrementablePDDocument document = PDFParser.parseToIncrement(
+                    SeekableSources.onTempFileSeekableSourceFrom(source.getSource()), source.getPassword());
+            return new PDDocumentHandler(document);
+        } catch (InvalidPasswordException ipe) {
+            throw new TaskWrongPasswordException(WRONG_PWD_MESSAGE, ipe);
+        } catch (IOException e) {
+            throw new TaskIOException(String.format(ERROR_MESSAGE, source), e);
+        }
+    }
+}
@@ -0,0 +1,838 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.nonNull;
+import static org.sejda.util.RequireUtils.requireIOCondition;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.IOUtils;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSBoolean;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSFloat;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.cos.COSString;
+import org.sejda.sambox.cos.DisposableCOSObject;
+import org.sejda.sambox.cos.IndirectCOSObjectIdentifier;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPageTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component rewriting a PDF file as a linearized (fast web view) file as described in Annex F of the PDF
+ * specification. The output starts with the linearization parameter dictionary, followed by the first page cross
+ * reference table, the document catalog, the primary hint stream and all the objects needed to display the first page,
+ * so a viewer fetching the file progressively can display the first page as soon as the first page section is
+ * downloaded. The remaining pages follow, each one with its private objects, then the objects shared by more pages and
+ * the rest of the document. The hint stream contains the page offset and shared object hint tables.
+ * <p>
+ * The input file is expected to be unencrypted and to use cross reference tables and no object streams, objects are
+ * renumbered and written with classic cross reference tables.
+ * </p>
+ * <p>
+ * Document level objects (the catalog and what it references, written before the hint stream) are not hinted: when a
+ * page other than the first one references them they are not listed among its shared objects, a viewer finds them
+ * through the first page cross reference table it already downloaded.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public class Linearizer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Linearizer.class);
+
+    /**
+     * Room reserved for the values that are only known once the layout is complete, they are padded with spaces
+     */
+    private static final int LINEARIZATION_DICTIONARY_WIDTH = 160;
+    private static final int FIRST_PAGE_TRAILER_PADDING = 24;
+    private static final int HINT_DICTIONARY_WIDTH = 64;
+    private static final byte[] ENDSTREAM = bytes("\nendstream\nendobj\n");
+    private static final String EOL = "\n";
+    private static final COSName[] INHERITABLE = { COSName.RESOURCES, COSName.MEDIA_BOX, COSName.CROP_BOX,
+            COSName.ROTATE };
+
+    /**
+     * Writes the given PDF file as a linearized file to the given destination
+     * 
+     * @param source
+     * @param destination
+     * @throws IOException
+     */
+    public void linearize(File source, File destination) throws IOException {
+        requireNotNullArg(destination, "Destination file cannot be null");
+        try (OutputStream out = new FileOutputStream(destination)) {
+            linearize(source, out);
+        }
+    }
+
+    /**
+     * Writes the given PDF file as a linearized file to the given stream. The stream is not closed.
+     * 
+     * @param source
+     * @param destination
+     * @throws IOException
+     */
+    public void linearize(File source, OutputStream destination) throws IOException {
+        requireNotNullArg(source, "Source file cannot be null");
+        requireNotNullArg(destination, "Destination stream cannot be null");
+        try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(source))) {
+            requireIOCondition(!document.isEncrypted(), "Encrypted documents cannot be linearized");
+            new Layout(document).writeTo(destination);
+        }
+    }
+
+    private static class IndirectObject {
+        final IndirectCOSObjectIdentifier id;
+        final COSBase value;
+        /**
+         * indirect objects referenced by this one, not following /Parent keys
+         */
+        final List<IndirectObject> references = new ArrayList<>();
+        int number;
+        byte[] head;
+        long dataLength;
+        long offset;
+
+        IndirectObject(IndirectCOSObjectIdentifier id, COSBase value) {
+            this.id = id;
+            this.value = value;
+        }
+
+        boolean isStream() {
+            return value instanceof COSStream;
+        }
+
+        long length() {
+            return head.length + (isStream() ? dataLength + ENDSTREAM.length : 0);
+        }
+
+        boolean isPageOrPageTreeNode() {
+            return value instanceof COSDictionary && (COSName.PAGE.equals(((COSDictionary) value).getCOSName(
+                    COSName.TYPE)) || PDPageTree.isPageTreeNode((COSDictionary) value));
+        }
+    }
+
+    private static class Layout {
+        private final PDDocument document;
+        private final Map<IndirectCOSObjectIdentifier, IndirectObject> objects = new LinkedHashMap<>();
+        private final List<IndirectObject> pages = new ArrayList<>();
+        private final List<IndirectObject> documentLevel = new ArrayList<>();
+        private final List<IndirectObject> firstPage = new ArrayList<>();
+        private final List<List<IndirectObject>> privates = new ArrayList<>();
+        private final List<IndirectObject> shared = new ArrayList<>();
+        private final List<IndirectObject> others = new ArrayList<>();
+        private final List<List<Integer>> sharedReferences = new ArrayList<>();
+        private final List<IndirectObject> main = new ArrayList<>();
+
+        private byte[] header;
+        private int hintNumber;
+        private int hintLength = 0;
+        private int pageOffsetTableLength = 0;
+        private byte[] hintData = new byte[0];
+        private long hintOffset;
+        private long firstPageXrefOffset;
+        private long endOfFirstPage;
+        private long mainXrefOffset;
+        private long fileLength;
+
+        Layout(PDDocument document) throws IOException {
+            this.document = document;
+            COSDictionary trailer = document.getDocument().getTrailer().getCOSObject();
+            COSDictionary pagesRoot = document.getDocumentCatalog().getCOSObject().getDictionaryObject(COSName.PAGES,
+                    COSDictionary.class);
+            if (nonNull(pagesRoot)) {
+                pushInheritedAttributesToPages(pagesRoot);
+            }
+            IndirectObject catalog = collect(trailer.getItem(COSName.ROOT));
+            requireIOCondition(nonNull(catalog), "Unable to find the document catalog");
+            collect(trailer.getItem(COSName.INFO));
+            collectPages(catalog);
+            requireIOCondition(!pages.isEmpty(), "Unable to linearize a document without pages");
+            partition(catalog);
+            number();
+        }
+
+        /**
+         * Pages can inherit resources, boxes and rotation from their ancestors in the pages tree but the objects
+         * referenced by the ancestors are not part of the page closure, since the /Parent keys are not followed. The
+         * inheritable attributes are moved down the tree, from the ancestors to the pages, so that everything needed to
+         * display a page is referenced by the page itself, as required for the first page section.
+         */
+        private static void pushInheritedAttributesToPages(COSDictionary root) {
+            Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            Deque<COSDictionary> nodes = new ArrayDeque<>();
+            Deque<Map<COSName, COSBase>> inherited = new ArrayDeque<>();
+            nodes.push(root);
+            inherited.push(Collections.emptyMap());
+            while (!nodes.isEmpty()) {
+                COSDictionary node = nodes.pop();
+                Map<COSName, COSBase> attributes = inherited.pop();
+                if (visited.add(node)) {
+                    if (PDPageTree.isPageTreeNode(node)) {
+                        Map<COSName, COSBase> nodeAttributes = new LinkedHashMap<>(attributes);
+                        for (COSName key : INHERITABLE) {
+                            COSBase value = node.getItem(key);
+                            if (nonNull(value)) {
+                                nodeAttributes.put(key, value);
+                                node.removeItem(key);
+                            }
+                        }
+                        COSArray kids = node.getDictionaryObject(COSName.KIDS, COSArray.class);
+                        if (nonNull(kids)) {
+                            for (int i = 0; i < kids.size(); i++) {
+                                COSBase kid = kids.getObject(i);
+                                if (kid instanceof COSDictionary) {
+                                    nodes.push((COSDictionary) kid);
+                                    inherited.push(nodeAttributes);
+                                }
+                            }
+                        }
+                    } else {
+                        attributes.forEach((key, value) -> {
+                            if (!node.containsKey(key)) {
+                                node.setItem(key, value);
+                            }
+                        });
+                    }
+                }
+            }
+        }
+
+        /**
+         * collects all the indirect objects reachable from the given item, following /Parent keys
+         */
+        private IndirectObject collect(COSBase item) {
+            if (!(item instanceof DisposableCOSObject)) {
+                return null;
+            }
+            IndirectObject root = object(item);
+            Deque<IndirectObject> pending = new ArrayDeque<>();
+            pending.add(root);
+            while (!pending.isEmpty()) {
+                IndirectObject current = pending.poll();
+                List<COSBase> all = new ArrayList<>();
+                references(current.value, all, true, true);
+                for (COSBase reference : all) {
+                    if (!objects.containsKey(reference.id())) {
+                        pending.add(object(reference));
+                    }
+                }
+                List<COSBase> children = new ArrayList<>();
+                references(current.value, children, false, true);
+                for (COSBase reference : children) {
+                    current.references.add(objects.get(reference.id()));
+                }
+            }
+            return root;
+        }
+
+        private IndirectObject object(COSBase reference) {
+            return objects.computeIfAbsent(reference.id(), id -> new IndirectObject(id, reference.getCOSObject()));
+        }
+
+        /**
+         * Adds to the given list the indirect references found in the given item, descending into direct values
+         */
+        private static void references(COSBase item, List<COSBase> references, boolean parents, boolean top) {
+            if (item instanceof DisposableCOSObject) {
+                if (!top) {
+                    references.add(item);
+                    return;
+                }
+                item = item.getCOSObject();
+            }
+            if (item instanceof COSDictionary) {
+                COSDictionary dictionary = (COSDictionary) item;
+                for (COSName key : dictionary.keySet()) {
+                    // stream lengths are written as direct objects
+                    if ((parents || !COSName.PARENT.equals(key))
+                            && !(item instanceof COSStream && COSName.LENGTH.equals(key))) {
+                        references(dictionary.getItem(key), references, parents, false);
+                    }
+                }
+            } else if (item instanceof COSArray) {
+                COSArray array = (COSArray) item;
+                for (int i = 0; i < array.size(); i++) {
+                    references(array.get(i), references, parents, false);
+                }
+            }
+        }
+
+        private void collectPages(IndirectObject catalog) throws IOException {
+            List<COSBase> root = new ArrayList<>();
+            references(((COSDictionary) catalog.value).getItem(COSName.PAGES), root, false, false);
+            requireIOCondition(!root.isEmpty(), "Unable to find the pages tree root");
+            Set<IndirectObject> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            Deque<IndirectObject> nodes = new ArrayDeque<>();
+            nodes.push(objects.get(root.get(0).id()));
+            while (!nodes.isEmpty()) {
+                IndirectObject node = nodes.pop();
+                if (nonNull(node) && node.value instanceof COSDictionary && visited.add(node)) {
+                    COSDictionary dictionary = (COSDictionary) node.value;
+                    if (PDPageTree.isPageTreeNode(dictionary)) {
+                        List<COSBase> kids = new ArrayList<>();
+                        references(dictionary.getItem(COSName.KIDS), kids, false, false);
+                        // pushed in reverse order so pages are visited in document order
+                        for (int i = kids.size() - 1; i >= 0; i--) {
+                            nodes.push(objects.get(kids.get(i).id()));
+                        }
+                    } else {
+                        pages.add(node);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the objects reachable from the given one, in breadth first order, without following /Parent keys and
+         *         without entering other pages or page tree nodes.
+         */
+        private static List<IndirectObject> closure(IndirectObject start, Collection<IndirectObject> roots) {
+            Set<IndirectObject> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<IndirectObject> result = new ArrayList<>();
+            Deque<IndirectObject> pending = new ArrayDeque<>(roots);
+            while (!pending.isEmpty()) {
+                IndirectObject current = pending.poll();
+                if (visited.add(current) && (current == start || !current.isPageOrPageTreeNode())) {
+                    result.add(current);
+                    pending.addAll(current.references);
+                }
+            }
+            return result;
+        }
+
+        private void partition(IndirectObject catalog) {
+            Set<IndirectObject> assigned = Collections.newSetFromMap(new IdentityHashMap<>());
+            documentLevel.add(catalog);
+            List<COSBase> openDocument = new ArrayList<>();
+            COSDictionary catalogDictionary = (COSDictionary) catalog.value;
+            references(catalogDictionary.getItem(COSName.VIEWER_PREFERENCES), openDocument, false, false);
+            references(catalogDictionary.getItem(COSName.OPEN_ACTION), openDocument, false, false);
+            List<IndirectObject> openDocumentObjects = new ArrayList<>();
+            openDocument.stream().map(r -> objects.get(r.id())).forEach(openDocumentObjects::add);
+            closure(catalog, openDocumentObjects).stream().filter(o -> o != catalog).forEach(documentLevel::add);
+            assigned.addAll(documentLevel);
+
+            for (IndirectObject current : closure(pages.get(0), Collections.singleton(pages.get(0)))) {
+                if (assigned.add(current)) {
+                    firstPage.add(current);
+                }
+            }
+            Map<IndirectObject, Integer> firstPageIdentifiers = new IdentityHashMap<>();
+            for (int i = 0; i < firstPage.size(); i++) {
+                firstPageIdentifiers.put(firstPage.get(i), i);
+            }
+
+            List<List<IndirectObject>> closures = new ArrayList<>();
+            Map<IndirectObject, Integer> referencingPages = new IdentityHashMap<>();
+            for (int i = 1; i < pages.size(); i++) {
+                IndirectObject page = pages.get(i);
+                List<IndirectObject> closure = closure(page, Collections.singleton(page));
+                closures.add(closure);
+                for (IndirectObject current : closure) {
+                    if (current != page && !assigned.contains(current)) {
+                        referencingPages.merge(current, 1, Integer::sum);
+                    }
+                }
+            }
+            privates.add(Collections.emptyList());
+            sharedReferences.add(Collections.emptyList());
+            Map<IndirectObject, Integer> sharedIdentifiers = new IdentityHashMap<>();
+            List<List<IndirectObject>> sharedByPage = new ArrayList<>();
+            for (int i = 1; i < pages.size(); i++) {
+                IndirectObject page = pages.get(i);
+                List<IndirectObject> pagePrivates = new ArrayList<>();
+                List<IndirectObject> pageShared = new ArrayList<>();
+                if (assigned.add(page)) {
+                    pagePrivates.add(page);
+                }
+                for (IndirectObject current : closures.get(i - 1)) {
+                    if (current != page) {
+                        if (firstPageIdentifiers.containsKey(current)) {
+                            pageShared.add(current);
+                        } else if (referencingPages.getOrDefault(current, 0) > 1) {
+                            pageShared.add(current);
+                            if (!sharedIdentifiers.containsKey(current)) {
+                                sharedIdentifiers.put(current, firstPage.size() + shared.size());
+                                shared.add(current);
+                                assigned.add(current);
+                            }
+                        } else if (assigned.add(current)) {
+                            pagePrivates.add(current);
+                        }
+                    }
+                }
+                privates.add(pagePrivates);
+                sharedByPage.add(pageShared);
+            }
+            for (List<IndirectObject> pageShared : sharedByPage) {
+                List<Integer> identifiers = new ArrayList<>();
+                for (IndirectObject current : pageShared) {
+                    identifiers.add(firstPageIdentifiers.containsKey(current) ? firstPageIdentifiers.get(current)
+                            : sharedIdentifiers.get(current));
+                }
+                sharedReferences.add(identifiers);
+            }
+            objects.values().stream().filter(assigned::add).forEach(others::add);
+            LOG.debug("Linearizing {} objects: {} in the first page section, {} shared, {} other", objects.size(),
+                    documentLevel.size() + firstPage.size(), shared.size(), others.size());
+        }
+
+        private void number() {
+            privates.forEach(main::addAll);
+            main.addAll(shared);
+            main.addAll(others);
+            int number = 1;
+            for (IndirectObject current : main) {
+                current.number = number++;
+            }
+            // linearization dictionary
+            number++;
+            for (IndirectObject current : documentLevel) {
+                current.number = number++;
+            }
+            hintNumber = number++;
+            for (IndirectObject current : firstPage) {
+                current.number = number++;
+            }
+        }
+
+        private int mainSize() {
+            return main.size() + 1;
+        }
+
+        private int firstPageCount() {
+            return 1 + documentLevel.size() + 1 + firstPage.size();
+        }
+
+        private int size() {
+            return mainSize() + firstPageCount();
+        }
+
+        void writeTo(OutputStream destination) throws IOException {
+            header = bytes("%PDF-" + document.getDocument().getHeaderVersion() + EOL + "%âãÏÓ" + EOL,
+                    StandardCharsets.ISO_8859_1);
+            for (IndirectObject current : objects.values()) {
+                serialize(current);
+            }
+            // the hint tables contain offsets and the offsets depend on the hint stream length
+            layout();
+            byte[] tables = hintTables();
+            while (tables.length > hintLength) {
+                hintLength = tables.length;
+                layout();
+                tables = hintTables();
+            }
+            hintData = Arrays.copyOf(tables, hintLength);
+            BufferedOutputStream out = new BufferedOutputStream(destination);
+            out.write(header);
+            out.write(linearizationDictionary());
+            out.write(firstPageXref());
+            for (IndirectObject current : documentLevel) {
+                write(current, out);
+            }
+            out.write(hintHead());
+            out.write(hintData);
+            out.write(ENDSTREAM);
+            for (IndirectObject current : firstPage) {
+                write(current, out);
+            }
+            for (IndirectObject current : main) {
+                write(current, out);
+            }
+            out.write(mainXref());
+            out.flush();
+            LOG.debug("Linearized document written with first page section of {} bytes out of {}", endOfFirstPage,
+                    fileLength);
+        }
+
+        private void layout() throws IOException {
+            long position = header.length;
+            position += linearizationDictionary().length;
+            firstPageXrefOffset = position;
+            position += firstPageXref().length;
+            for (IndirectObject current : documentLevel) {
+                current.offset = position;
+                position += current.length();
+            }
+            hintOffset = position;
+            position += hintObjectLength();
+            for (IndirectObject current : firstPage) {
+                current.offset = position;
+                position += current.length();
+            }
+            endOfFirstPage = position;
+            for (IndirectObject current : main) {
+                current.offset = position;
+                position += current.length();
+            }
+            mainXrefOffset = position;
+            position += mainXref().length;
+            fileLength = position;
+        }
+
+        private long hintObjectLength() {
+            return hintHead().length + hintLength + ENDSTREAM.length;
+        }
+
+        private byte[] linearizationDictionary() {
+            String dictionary = String.format("%d 0 obj" + EOL + "<</Linearized 1/L %d/H [%d %d]/O %d/E %d/N %d/T %d",
+                    main.size() + 1, fileLength, hintOffset, hintObjectLength(), pages.get(0).number,
+                    endOfFirstPage, pages.size(), mainXrefOffset + ("xref" + EOL + "0 " + mainSize()).length());
+            return bytes(pad(dictionary, LINEARIZATION_DICTIONARY_WIDTH) + ">>" + EOL + "endobj" + EOL);
+        }
+
+        private byte[] hintHead() {
+            String dictionary = String.format("%d 0 obj" + EOL + "<</Length %d/S %d", hintNumber, hintLength,
+                    pageOffsetTableLength);
+            return bytes(pad(dictionary, HINT_DICTIONARY_WIDTH) + ">>" + EOL + "stream" + EOL);
+        }
+
+        private byte[] firstPageXref() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(bytes("xref" + EOL + (main.size() + 1) + " " + firstPageCount() + EOL));
+            out.write(xrefEntry(header.length));
+            for (IndirectObject current : documentLevel) {
+                out.write(xrefEntry(current.offset));
+            }
+            out.write(xrefEntry(hintOffset));
+            for (IndirectObject current : firstPage) {
+                out.write(xrefEntry(current.offset));
+            }
+            COSDictionary trailer = document.getDocument().getTrailer().getCOSObject();
+            out.write(bytes("trailer" + EOL + "<</Size " + size()));
+            for (COSName key : new COSName[] { COSName.ROOT, COSName.INFO, COSName.ID }) {
+                COSBase value = trailer.getItem(key);
+                if (nonNull(value)) {
+                    out.write(bytes(name(key)));
+                    write(value, out);
+                }
+            }
+            String prev = "/Prev " + mainXrefOffset;
+            out.write(bytes(pad(prev, FIRST_PAGE_TRAILER_PADDING) + ">>" + EOL + "startxref" + EOL + "0" + EOL
+                    + "%%EOF" + EOL));
+            return out.toByteArray();
+        }
+
+        private byte[] mainXref() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(bytes("xref" + EOL + "0 " + mainSize() + EOL));
+            out.write(bytes("0000000000 65535 f\r\n"));
+            for (IndirectObject current : main) {
+                out.write(xrefEntry(current.offset));
+            }
+            out.write(bytes("trailer" + EOL + "<</Size " + mainSize() + ">>" + EOL + "startxref" + EOL
+                    + firstPageXrefOffset + EOL + "%%EOF" + EOL));
+            return out.toByteArray();
+        }
+
+        private static byte[] xrefEntry(long offset) {
+            return bytes(String.format("%010d 00000 n\r\n", offset));
+        }
+
+        /**
+         * @return the page offset hint table followed by the shared objects hint table. Offsets of objects following
+         *         the hint stream are written as if the hint stream was not there, as required by the specification.
+         */
+        private byte[] hintTables() {
+            BitWriter bits = new BitWriter();
+            int[] objectsCount = new int[pages.size()];
+            long[] lengths = new long[pages.size()];
+            objectsCount[0] = firstPage.size();
+            lengths[0] = endOfFirstPage - pages.get(0).offset;
+            for (int i = 1; i < pages.size(); i++) {
+                List<IndirectObject> pageObjects = privates.get(i);
+                objectsCount[i] = pageObjects.size();
+                lengths[i] = pageObjects.stream().mapToLong(IndirectObject::length).sum();
+            }
+            int minObjects = Arrays.stream(objectsCount).min().orElse(0);
+            int maxObjects = Arrays.stream(objectsCount).max().orElse(0);
+            long minLength = Arrays.stream(lengths).min().orElse(0);
+            long maxLength = Arrays.stream(lengths).max().orElse(0);
+            int maxShared = sharedReferences.stream().mapToInt(List::size).max().orElse(0);
+            int maxIdentifier = sharedReferences.stream().flatMap(List::stream).mapToInt(Integer::intValue).max()
+                    .orElse(0);
+            int objectsBits = bitsFor(maxObjects - minObjects);
+            int lengthBits = bitsFor(maxLength - minLength);
+            int sharedBits = bitsFor(maxShared);
+            int identifierBits = bitsFor(maxIdentifier);
+
+            bits.write(minObjects, 32);
+            bits.write(adjusted(pages.get(0).offset), 32);
+            bits.write(objectsBits, 16);
+            bits.write(minLength, 32);
+            bits.write(lengthBits, 16);
+            // content streams offsets and lengths are approximated with the pages ones
+            bits.write(0, 32);
+            bits.write(0, 16);
+            bits.write(minLength, 32);
+            bits.write(lengthBits, 16);
+            bits.write(sharedBits, 16);
+            bits.write(identifierBits, 16);
+            // no fractional position
+            bits.write(0, 16);
+            bits.write(1, 16);
+            for (int count : objectsCount) {
+                bits.write(count - minObjects, objectsBits);
+            }
+            bits.flush();
+            for (long length : lengths) {
+                bits.write(length - minLength, lengthBits);
+            }
+            bits.flush();
+            for (List<Integer> references : sharedReferences) {
+                bits.write(references.size(), sharedBits);
+            }
+            bits.flush();
+            for (List<Integer> references : sharedReferences) {
+                for (int identifier : references) {
+                    bits.write(identifier, identifierBits);
+                }
+            }
+            bits.flush();
+            for (long length : lengths) {
+                bits.write(length - minLength, lengthBits);
+            }
+            bits.flush();
+            pageOffsetTableLength = bits.size();
+
+            List<IndirectObject> entries = new ArrayList<>(firstPage);
+            entries.addAll(shared);
+            long minGroupLength = entries.stream().mapToLong(IndirectObject::length).min().orElse(0);
+            long maxGroupLength = entries.stream().mapToLong(IndirectObject::length).max().orElse(0);
+            int groupLengthBits = bitsFor(maxGroupLength - minGroupLength);
+            if (shared.isEmpty()) {
+                bits.write(0, 32);
+                bits.write(0, 32);
+            } else {
+                bits.write(shared.get(0).number, 32);
+                bits.write(adjusted(shared.get(0).offset), 32);
+            }
+            bits.write(firstPage.size(), 32);
+            bits.write(entries.size(), 32);
+            // every group contains a single object
+            bits.write(0, 16);
+            bits.write(minGroupLength, 32);
+            bits.write(groupLengthBits, 16);
+            for (IndirectObject current : entries) {
+                bits.write(current.length() - minGroupLength, groupLengthBits);
+            }
+            bits.flush();
+            // no signatures
+            for (int i = 0; i < entries.size(); i++) {
+                bits.write(0, 1);
+            }
+            bits.flush();
+            return bits.toByteArray();
+        }
+
+        private long adjusted(long offset) {
+            if (offset > hintOffset) {
+                return offset - hintObjectLength();
+            }
+            return offset;
+        }
+
+        private void serialize(IndirectObject object) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(bytes(object.number + " 0 obj" + EOL));
+            if (object.isStream()) {
+                COSStream stream = (COSStream) object.value;
+                object.dataLength = stream.getFilteredLength();
+                out.write(bytes("<<"));
+                for (COSName key : stream.keySet()) {
+                    if (!COSName.LENGTH.equals(key)) {
+                        out.write(bytes(name(key)));
+                        write(stream.getItem(key), out);
+                    }
+                }
+                out.write(bytes("/Length " + object.dataLength + ">>" + EOL + "stream" + EOL));
+            } else {
+                write(object.value, out);
+                out.write(bytes(EOL + "endobj" + EOL));
+            }
+            object.head = out.toByteArray();
+        }
+
+        private void write(IndirectObject object, OutputStream out) throws IOException {
+            out.write(object.head);
+            if (object.isStream()) {
+                try (InputStream data = ((COSStream) object.value).getFilteredStream()) {
+                    long copied = IOUtils.copyLarge(data, out);
+                    requireIOCondition(copied == object.dataLength,
+                            "Stream length mismatch for object " + object.number);
+                }
+                out.write(ENDSTREAM);
+            }
+        }
+
+        private void write(COSBase item, OutputStream out) throws IOException {
+            if (item instanceof DisposableCOSObject) {
+                IndirectObject referenced = objects.get(item.id());
+                out.write(bytes(nonNull(referenced) ? " " + referenced.number + " 0 R" : " null"));
+            } else if (item instanceof COSDictionary) {
+                COSDictionary dictionary = (COSDictionary) item;
+                out.write(bytes("<<"));
+                for (COSName key : dictionary.keySet()) {
+                    out.write(bytes(name(key)));
+                    write(dictionary.getItem(key), out);
+                }
+                out.write(bytes(">>"));
+            } else if (item instanceof COSArray) {
+                COSArray array = (COSArray) item;
+                out.write(bytes("["));
+                for (int i = 0; i < array.size(); i++) {
+                    write(array.get(i), out);
+                }
+                out.write(bytes("]"));
+            } else if (item instanceof COSName) {
+                out.write(bytes(name((COSName) item)));
+            } else if (item instanceof COSString) {
+                out.write(string((COSString) item));
+            } else if (item instanceof COSInteger) {
+                out.write(bytes(" " + ((COSInteger) item).longValue()));
+            } else if (item instanceof COSFloat) {
+                out.write(bytes(" " + new BigDecimal(Float.toString(((COSFloat) item).floatValue()))
+                        .stripTrailingZeros().toPlainString()));
+            } else if (item instanceof COSBoolean) {
+                out.write(bytes(" " + ((COSBoolean) item).getValue()));
+            } else {
+                out.write(bytes(" null"));
+            }
+        }
+    }
+
+    private static String name(COSName name) {
+        StringBuilder builder = new StringBuilder("/");
+        for (byte current : name.getName().getBytes(StandardCharsets.UTF_8)) {
+            int value = current & 0xFF;
+            if (value < 0x21 || value > 0x7E || "#()<>[]{}/%".indexOf(value) >= 0) {
+                builder.append(String.format("#%02X", value));
+            } else {
+                builder.append((char) value);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static byte[] string(COSString string) {
+        byte[] value = string.getBytes();
+        boolean hex = string.isForceHexForm();
+        for (int i = 0; i < value.length && !hex; i++) {
+            hex = (value[i] & 0xFF) < 0x20 || (value[i] & 0xFF) > 0x7E;
+        }
+        if (hex) {
+            return bytes("<" + string.toHexString() + ">");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(value.length + 2);
+        out.write('(');
+        for (byte current : value) {
+            if (current == '(' || current == ')' || current == '\\') {
+                out.write('\\');
+            }
+            out.write(current);
+        }
+        out.write(')');
+        return out.toByteArray();
+    }
+
+    private static String pad(String value, int width) {
+        return value.length() >= width ? value : String.format("%-" + width + "s", value);
+    }
+
+    private static int bitsFor(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return bytes(value, StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] bytes(String value, Charset charset) {
+        return value.getBytes(charset);
+    }
+
+    /**
+     * Writes values using the given number of bits, most significant bit first
+     */
+    private static class BitWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private int current;
+        private int used;
+
+        void write(long value, int bits) {
+            for (int i = bits - 1; i >= 0; i--) {
+                current = (current << 1) | (int) ((value >>> i) & 1);
+                if (++used == 8) {
+                    out.write(current);
+                    current = 0;
+                    used = 0;
+                }
+            }
+        }
+
+        /**
+         * pads to the next byte boundary
+         */
+        void flush() {
+            if (used > 0) {
+                write(0, 8 - used);
+            }
+        }
+
+        int size() {
+            return out.size();
+        }
+
+        byte[] toByteArray() {
+            flush();
+            return out.toByteArray();
+        }
+    }
+}
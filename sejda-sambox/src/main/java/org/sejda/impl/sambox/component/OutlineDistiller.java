@@ -20,14 +20,13 @@ package org.sejda.impl.sambox.component;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 import static org.sejda.impl.sambox.component.OutlineUtils.copyOutlineDictionary;
-import static org.sejda.impl.sambox.component.OutlineUtils.toPageDestination;
 
 import java.util.Optional;
 
 import org.sejda.common.LookupTable;
+import org.sejda.impl.sambox.component.OutlineIndex.IndexedItem;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
-import org.sejda.sambox.pdmodel.interactive.documentnavigation.destination.PDPageDestination;
 import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
 import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
 import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineNode;
@@ -36,7 +35,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Component that can distill a cloned version of the document outline based on the relevant pages selected and can append it to a given existing {@link PDDocumentOutline},
- * filtering out outline item pointing to irrelevant pages.
+ * filtering out outline item pointing to irrelevant pages. The outline is indexed the first time it's needed, so the same instance can be used to distill the outline for many
+ * sets of pages of the same document (Ex. split) visiting only the relevant items.
  * 
  * @author Andrea Vacondio
  *
@@ -45,6 +45,7 @@ class OutlineDistiller {
     private static final Logger LOG = LoggerFactory.getLogger(OutlineDistiller.class);
 
     private PDDocument document;
+    private OutlineIndex index;
 
     public OutlineDistiller(PDDocument document) {
         requireNonNull(document, "Unable to retrieve bookmarks from a null document.");
@@ -59,28 +60,34 @@ class OutlineDistiller {
      */
     public void appendRelevantOutlineTo(PDOutlineNode to, LookupTable<PDPage> pagesLookup) {
         requireNonNull(to, "Unable to merge relevant outline items to a null outline.");
-        if (!pagesLookup.isEmpty()) {
-            ofNullable(document.getDocumentCatalog().getDocumentOutline()).ifPresent(outline -> {
-                for (PDOutlineItem child : outline.children()) {
-                    cloneNode(child, pagesLookup).ifPresent(c -> to.addLast(c));
-                }
-                LOG.debug("Appended relevant outline items");
-            });
+        if (!pagesLookup.isEmpty() && document.getDocumentCatalog().getDocumentOutline() != null) {
+            int[] pages = index().pageNumbers(pagesLookup.keys());
+            for (IndexedItem child : index().roots(pages)) {
+                cloneNode(child, pages, pagesLookup).ifPresent(c -> to.addLast(c));
+            }
+            LOG.debug("Appended relevant outline items");
+        }
+    }
+
+    private OutlineIndex index() {
+        if (index == null) {
+            LOG.debug("Indexing document outline");
+            index = new OutlineIndex(document);
         }
+        return index;
     }
 
-    private Optional<PDOutlineItem> cloneNode(PDOutlineItem node, LookupTable<PDPage> pagesLookup) {
-        if (node.hasChildren()) {
+    private Optional<PDOutlineItem> cloneNode(IndexedItem node, int[] pages, LookupTable<PDPage> pagesLookup) {
+        if (!node.isLeaf()) {
             final PDOutlineItem clone = new PDOutlineItem();
-            for (PDOutlineItem current : node.children()) {
-                cloneNode(current, pagesLookup).ifPresent(clonedChild -> {
+            for (IndexedItem current : node.children(pages)) {
+                cloneNode(current, pages, pagesLookup).ifPresent(clonedChild -> {
                     clone.addLast(clonedChild);
                 });
             }
-            Optional<PDPage> destinationPage = toPageDestination(node, document.getDocumentCatalog())
-                    .map(PDPageDestination::getPage).map(p -> pagesLookup.lookup(p));
+            Optional<PDPage> destinationPage = ofNullable(node.destination).map(p -> pagesLookup.lookup(p));
             if (clone.hasChildren() || destinationPage.isPresent()) {
-                copyOutlineDictionary(node, clone);
+                copyOutlineDictionary(node.item, clone);
                 destinationPage.ifPresent(p -> clone.setDestination(p));
                 return Optional.of(clone);
             }
@@ -93,16 +100,12 @@ class OutlineDistiller {
      * @param origin
      * @return a clone of the origin leaf if its page destination falls in the range of the needed pages. Cloned item destination is offset by the given offset.
      */
-    private Optional<PDOutlineItem> cloneLeafIfNeeded(PDOutlineItem origin, LookupTable<PDPage> pagesLookup) {
-        return toPageDestination(origin, document.getDocumentCatalog()).flatMap(d -> {
-            PDPage mapped = pagesLookup.lookup(d.getPage());
-            if (mapped != null) {
-                PDOutlineItem retVal = new PDOutlineItem();
-                copyOutlineDictionary(origin, retVal);
-                retVal.setDestination(mapped);
-                return Optional.of(retVal);
-            }
-            return Optional.empty();
+    private Optional<PDOutlineItem> cloneLeafIfNeeded(IndexedItem origin, LookupTable<PDPage> pagesLookup) {
+        return ofNullable(origin.destination).map(p -> pagesLookup.lookup(p)).map(mapped -> {
+            PDOutlineItem retVal = new PDOutlineItem();
+            copyOutlineDictionary(origin.item, retVal);
+            retVal.setDestination(mapped);
+            return retVal;
         });
     }
 }
@@ -0,0 +1,232 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.nonNull;
+import static org.sejda.impl.sambox.component.OutlineUtils.toPageDestination;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDDocumentCatalog;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.destination.PDPageDestination;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+
+/**
+ * Index of the outline of a document, built once, where every item has its destination page resolved and knows the
+ * interval of page numbers its subtree points to. The children of every item are stored in an interval tree so that,
+ * given a set of page numbers, the items whose subtree points to any of those pages are found without visiting the
+ * others.
+ * 
+ * @author Andrea Vacondio
+ */
+class OutlineIndex {
+
+    private final Map<COSDictionary, Integer> pageNumbers = new IdentityHashMap<>();
+    private final IndexedItems roots;
+
+    OutlineIndex(PDDocument document) {
+        int pageNumber = 0;
+        for (PDPage page : document.getPages()) {
+            pageNumbers.put(page.getCOSObject(), ++pageNumber);
+        }
+        PDDocumentCatalog catalog = document.getDocumentCatalog();
+        PDDocumentOutline outline = catalog.getDocumentOutline();
+        if (nonNull(outline)) {
+            roots = index(outline.children(), catalog);
+        } else {
+            roots = new IndexedItems(Collections.emptyList());
+        }
+    }
+
+    private IndexedItems index(Iterable<PDOutlineItem> items, PDDocumentCatalog catalog) {
+        List<IndexedItem> indexed = new ArrayList<>();
+        for (PDOutlineItem item : items) {
+            PDPage destination = toPageDestination(item, catalog).map(PDPageDestination::getPage).orElse(null);
+            int page = 0;
+            if (nonNull(destination)) {
+                page = pageNumbers.getOrDefault(destination.getCOSObject(), 0);
+            }
+            IndexedItems children = null;
+            if (item.hasChildren()) {
+                children = index(item.children(), catalog);
+            }
+            indexed.add(new IndexedItem(item, destination, page, children));
+        }
+        return new IndexedItems(indexed);
+    }
+
+    /**
+     * @param pages
+     * @return the sorted page numbers of the given pages of the indexed document, pages not belonging to the document
+     *         are ignored
+     */
+    int[] pageNumbers(Collection<PDPage> pages) {
+        return pages.stream().map(p -> pageNumbers.get(p.getCOSObject())).filter(n -> nonNull(n))
+                .mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * @param pages
+     *            sorted page numbers
+     * @return the top level items whose subtree points to any of the given pages, in outline order
+     */
+    List<IndexedItem> roots(int[] pages) {
+        return roots.pointingTo(pages);
+    }
+
+    /**
+     * An outline item with its resolved destination
+     */
+    static class IndexedItem {
+        final PDOutlineItem item;
+        /**
+         * the destination page or null
+         */
+        final PDPage destination;
+        /**
+         * children or null if the item is a leaf
+         */
+        final IndexedItems children;
+        final int minPage;
+        final int maxPage;
+
+        IndexedItem(PDOutlineItem item, PDPage destination, int page, IndexedItems children) {
+            this.item = item;
+            this.destination = destination;
+            this.children = children;
+            int min = page > 0 ? page : Integer.MAX_VALUE;
+            int max = page > 0 ? page : Integer.MIN_VALUE;
+            if (nonNull(children)) {
+                min = Math.min(min, children.minPage);
+                max = Math.max(max, children.maxPage);
+            }
+            this.minPage = min;
+            this.maxPage = max;
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        List<IndexedItem> children(int[] pages) {
+            if (isLeaf()) {
+                return Collections.emptyList();
+            }
+            return children.pointingTo(pages);
+        }
+    }
+
+    /**
+     * Siblings items stored in an implicit, array based, interval tree. Items are sorted by their min page and every
+     * node of the tree stores the max page of its subtree, so a query skips subtrees that end before the queried
+     * interval and stops at items that start after it.
+     */
+    static class IndexedItems {
+        private final List<IndexedItem> items;
+        // positions of the items sorted by min page
+        private final int[] sorted;
+        private final int[] subtreeMax;
+        final int minPage;
+        final int maxPage;
+
+        IndexedItems(List<IndexedItem> items) {
+            this.items = items;
+            Integer[] positions = new Integer[items.size()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = i;
+            }
+            Arrays.sort(positions, Comparator.comparingInt(i -> items.get(i).minPage));
+            this.sorted = Arrays.stream(positions).mapToInt(Integer::intValue).toArray();
+            this.subtreeMax = new int[sorted.length];
+            this.maxPage = buildSubtreeMax(0, sorted.length);
+            this.minPage = sorted.length > 0 ? items.get(sorted[0]).minPage : Integer.MAX_VALUE;
+        }
+
+        private int buildSubtreeMax(int from, int to) {
+            if (from >= to) {
+                return Integer.MIN_VALUE;
+            }
+            int mid = (from + to) >>> 1;
+            subtreeMax[mid] = Math.max(items.get(sorted[mid]).maxPage,
+                    Math.max(buildSubtreeMax(from, mid), buildSubtreeMax(mid + 1, to)));
+            return subtreeMax[mid];
+        }
+
+        /**
+         * @param pages
+         *            sorted page numbers
+         * @return the items whose subtree points to any of the given pages, in their original order
+         */
+        List<IndexedItem> pointingTo(int[] pages) {
+            if (pages.length == 0 || items.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Integer> found = new ArrayList<>();
+            collect(0, sorted.length, pages, found);
+            Collections.sort(found);
+            List<IndexedItem> result = new ArrayList<>(found.size());
+            for (int position : found) {
+                result.add(items.get(position));
+            }
+            return result;
+        }
+
+        private void collect(int from, int to, int[] pages, List<Integer> found) {
+            if (from >= to) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            if (subtreeMax[mid] < pages[0]) {
+                return;
+            }
+            collect(from, mid, pages, found);
+            IndexedItem item = items.get(sorted[mid]);
+            if (item.minPage > pages[pages.length - 1]) {
+                return;
+            }
+            if (containsAny(pages, item.minPage, item.maxPage)) {
+                found.add(sorted[mid]);
+            }
+            collect(mid + 1, to, pages, found);
+        }
+
+        private static boolean containsAny(int[] pages, int min, int max) {
+            if (min > max) {
+                return false;
+            }
+            int index = Arrays.binarySearch(pages, min);
+            if (index >= 0) {
+                return true;
+            }
+            int insertion = -index - 1;
+            return insertion < pages.length && pages[insertion] <= max;
+        }
+    }
+}
@@ -19,18 +19,25 @@
 package org.sejda.impl.sambox.component;
 
 import static java.util.Optional.ofNullable;
+import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
 import static org.sejda.impl.sambox.util.ViewerPreferencesUtils.getPageLayout;
 import static org.sejda.impl.sambox.util.ViewerPreferencesUtils.getPageMode;
 
 import java.awt.image.BufferedImage;
 import java.io.Closeable;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.sejda.core.Sejda;
 import org.sejda.impl.sambox.util.PageLabelUtils;
 import org.sejda.model.exception.TaskException;
@@ -39,9 +46,12 @@ import org.sejda.model.pdf.PdfVersion;
 import org.sejda.model.pdf.label.PdfPageLabel;
 import org.sejda.model.pdf.viewerpreference.PdfPageLayout;
 import org.sejda.model.pdf.viewerpreference.PdfPageMode;
+import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSObjectable;
 import org.sejda.sambox.encryption.StandardSecurity;
+import org.sejda.sambox.input.IncrementablePDDocument;
 import org.sejda.sambox.output.WriteOption;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDDocumentCatalog;
@@ -69,10 +79,17 @@ public class PDDocumentHandler implements Closeable {
     private static final Logger LOG = LoggerFactory.getLogger(PDDocumentHandler.class);
     private static final WriteOption[] COMPRESSED_OPTS = new WriteOption[] { WriteOption.COMPRESS_STREAMS,
             WriteOption.OBJECT_STREAMS, WriteOption.XREF_STREAM };
+    private static final COSName[] INHERITABLE_ATTRIBUTES = new COSName[] { COSName.RESOURCES, COSName.MEDIA_BOX,
+            COSName.CROP_BOX, COSName.ROTATE };
 
     private PDDocument document;
     private PDDocumentAccessPermission permissions;
     private Set<WriteOption> writeOptions = new HashSet<>();
+    private PagesMetadataIndex pagesIndex;
+    private IncrementablePDDocument incrementable;
+    private int compressionLevel = -1;
+    private boolean lazyPageImport = false;
+    private boolean linearize = false;
 
     /**
      * Creates a new handler using the given document as underlying {@link PDDocument}.
@@ -87,6 +104,18 @@ public class PDDocumentHandler implements Closeable {
         permissions = new PDDocumentAccessPermission(document);
     }
 
+    /**
+     * Creates a new handler using the given incrementable document. The handler saves the document as an incremental
+     * update of the original one: the original bytes are copied verbatim and only the objects that have been marked as
+     * {@link #modified(COSObjectable...)}, or that have been added, are appended with a new xref section.
+     * 
+     * @param document
+     */
+    public PDDocumentHandler(IncrementablePDDocument document) {
+        this(ofNullable(document).map(IncrementablePDDocument::incremented).orElse(null));
+        this.incrementable = document;
+    }
+
     /**
      * Creates a new handler with an empty underlying {@link PDDocument}.
      */
@@ -105,6 +134,7 @@ public class PDDocumentHandler implements Closeable {
      */
     public void setCreatorOnPDDocument() {
         document.getDocumentInformation().setCreator(Sejda.CREATOR);
+        modified(document.getDocumentInformation());
     }
 
     /**
@@ -150,6 +180,7 @@ public class PDDocumentHandler implements Closeable {
      */
     public void setPageLabelsOnDocument(Map<Integer, PdfPageLabel> labels) {
         document.getDocumentCatalog().setPageLabels(PageLabelUtils.getLabels(labels, getNumberOfPages()));
+        modified(document.getDocumentCatalog());
         LOG.trace("Page labels set");
     }
 
@@ -160,7 +191,12 @@ public class PDDocumentHandler implements Closeable {
      */
     public void setVersionOnPDDocument(PdfVersion version) {
         if (version != null) {
-            document.setVersion(version.getVersionString());
+            if (isIncremental()) {
+                // the header of the original document can't be changed, the version is set in the catalog
+                incrementable.setVersion(version.getVersionString());
+            } else {
+                document.setVersion(version.getVersionString());
+            }
             LOG.trace("Version set to '{}'", version);
         }
     }
@@ -198,6 +234,40 @@ public class PDDocumentHandler implements Closeable {
         }
     }
 
+    /**
+     * Sets the deflate level (0-9) used to compress streams created in memory when the document is saved compressed, -1
+     * for the default level. Such streams are compressed in parallel before the document is written.
+     * 
+     * @param compressionLevel
+     * @see StreamsCompressor
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Sets if pages should be imported lazily. Lazily imported pages keep the original (possibly indirect) references to
+     * the source objects, inheritable attributes are copied from the page tree without being resolved and nothing is
+     * loaded until the writer serializes the page, so imported pages don't pin the source resources in memory.
+     * 
+     * @param lazyPageImport
+     * @see #importPage(PDPage)
+     */
+    public void setLazyPageImport(boolean lazyPageImport) {
+        this.lazyPageImport = lazyPageImport;
+    }
+
+    /**
+     * Sets if the document should be saved as a linearized (fast web view) document. Linearization is not applied to
+     * encrypted or incremental saves and object streams are not used for linearized documents.
+     * 
+     * @param linearize
+     * @see Linearizer
+     */
+    public void setLinearize(boolean linearize) {
+        this.linearize = linearize;
+    }
+
     /**
      * @return the view preferences for the underlying {@link PDDocument}.
      */
@@ -211,11 +281,41 @@ public class PDDocumentHandler implements Closeable {
 
     public void setViewerPreferences(PDViewerPreferences preferences) {
         document.getDocumentCatalog().setViewerPreferences(preferences);
+        modified(document.getDocumentCatalog(), preferences);
+    }
+
+    /**
+     * @return true if the underlying document is saved as an incremental update of the original one
+     */
+    public boolean isIncremental() {
+        return incrementable != null;
+    }
+
+    /**
+     * Marks the given objects as modified so that they are written when the document is saved as an incremental
+     * update. Objects that are not indirect objects of the original document are written if reachable from a modified
+     * object, so the containing indirect object should be marked instead. It does nothing if the handler is not
+     * incremental.
+     * 
+     * @param objects
+     */
+    public void modified(COSObjectable... objects) {
+        if (isIncremental()) {
+            for (COSObjectable object : objects) {
+                if (object != null && !incrementable.modified(object)) {
+                    LOG.trace("{} is not an existing indirect object", object);
+                }
+            }
+        }
     }
 
     @Override
     public void close() throws IOException {
-        document.close();
+        if (isIncremental()) {
+            incrementable.close();
+        } else {
+            document.close();
+        }
     }
 
     /**
@@ -229,7 +329,8 @@ public class PDDocumentHandler implements Closeable {
     }
 
     /**
-     * Saves the underlying {@link PDDocument} to the given file and using the given standard security.
+     * Saves the underlying {@link PDDocument} to the given file and using the given standard security. Documents are
+     * saved as incremental updates only when no security is given.
      * 
      * @param file
      * @param security
@@ -237,13 +338,79 @@ public class PDDocumentHandler implements Closeable {
      */
     public void savePDDocument(File file, StandardSecurity security) throws TaskException {
         try {
+            if (isIncremental() && security == null) {
+                LOG.trace("Saving document to {} as incremental update", file);
+                incrementable.writeTo(file, writeOptions());
+                return;
+            }
+            prepareForSave();
+            if (linearize && security == null) {
+                LOG.trace("Saving linearized document to {}", file);
+                try (OutputStream out = new FileOutputStream(file)) {
+                    saveLinearized(out);
+                }
+                return;
+            }
             LOG.trace("Saving document to {}", file);
-            document.writeTo(file, security, writeOptions.toArray(new WriteOption[writeOptions.size()]));
+            document.writeTo(file, security, writeOptions());
         } catch (IOException e) {
             throw new TaskIOException("Unable to save to temporary file.", e);
         }
     }
 
+    /**
+     * Saves the underlying {@link PDDocument} straight to the given stream, without staging it to a temporary file.
+     * The stream is not closed.
+     * 
+     * @param out
+     * @throws TaskException
+     */
+    public void savePDDocument(OutputStream out) throws TaskException {
+        // the writer closes the channel it writes to but the stream belongs to the caller
+        OutputStream destination = new CloseShieldOutputStream(out);
+        try {
+            if (isIncremental()) {
+                LOG.trace("Saving document to stream as incremental update");
+                incrementable.writeTo(destination, writeOptions());
+                return;
+            }
+            prepareForSave();
+            if (linearize) {
+                LOG.trace("Saving linearized document to stream");
+                saveLinearized(destination);
+                return;
+            }
+            LOG.trace("Saving document to stream");
+            document.writeTo(destination, writeOptions());
+        } catch (IOException e) {
+            throw new TaskIOException("Unable to save to the output stream.", e);
+        }
+    }
+
+    private WriteOption[] writeOptions() {
+        return writeOptions.toArray(new WriteOption[writeOptions.size()]);
+    }
+
+    private void prepareForSave() throws IOException {
+        if (writeOptions.contains(WriteOption.COMPRESS_STREAMS)) {
+            new StreamsCompressor(compressionLevel).apply(document);
+        }
+    }
+
+    private void saveLinearized(OutputStream out) throws IOException, TaskException {
+        File unlinearized = createTemporaryPdfBuffer();
+        try {
+            // linearized files are written with cross reference tables and no object streams
+            LOG.trace("Saving document to {} for linearization", unlinearized);
+            document.writeTo(unlinearized, writeOptions.stream()
+                    .filter(o -> o != WriteOption.OBJECT_STREAMS && o != WriteOption.XREF_STREAM)
+                    .toArray(WriteOption[]::new));
+            new Linearizer().linearize(unlinearized, out);
+        } finally {
+            FileUtils.deleteQuietly(unlinearized);
+        }
+    }
+
     public int getNumberOfPages() {
         return document.getNumberOfPages();
     }
@@ -257,12 +424,22 @@ public class PDDocumentHandler implements Closeable {
     }
 
     /**
-     * Creates a copy of the given page and adds it to the underlying {@link PDDocument}
+     * Creates a copy of the given page and adds it to the underlying {@link PDDocument}. The copy is lazy if lazy page
+     * import has been enabled.
      * 
      * @param page
      * @return The newly created page
      */
     public PDPage importPage(PDPage page) {
+        if (lazyPageImport) {
+            COSDictionary imported = page.getCOSObject().duplicate();
+            for (COSName key : INHERITABLE_ATTRIBUTES) {
+                if (!imported.containsKey(key)) {
+                    ofNullable(inheritedItem(page.getCOSObject(), key)).ifPresent(v -> imported.setItem(key, v));
+                }
+            }
+            return addPage(new PDPage(imported));
+        }
         PDPage imported = new PDPage(page.getCOSObject().duplicate());
         imported.setCropBox(page.getCropBox());
         imported.setMediaBox(page.getMediaBox());
@@ -271,6 +448,25 @@ public class PDDocumentHandler implements Closeable {
         return addPage(imported);
     }
 
+    /**
+     * @param page
+     * @param key
+     * @return the unresolved value for the given inheritable attribute as found going up the page tree, null if none is
+     *         found
+     */
+    private static COSBase inheritedItem(COSDictionary page, COSName key) {
+        Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        COSDictionary node = page.getDictionaryObject(COSName.PARENT, COSDictionary.class);
+        while (node != null && visited.add(node)) {
+            COSBase item = node.getItem(key);
+            if (item != null) {
+                return item;
+            }
+            node = node.getDictionaryObject(COSName.PARENT, COSDictionary.class);
+        }
+        return null;
+    }
+
     /**
      * Adds the given page to the underlying {@link PDDocument}
      * 
@@ -279,6 +475,7 @@ public class PDDocumentHandler implements Closeable {
      */
     public PDPage addPage(PDPage page) {
         document.addPage(page);
+        pagesIndex = null;
         return page;
     }
 
@@ -289,6 +486,7 @@ public class PDDocumentHandler implements Closeable {
      */
     public void removePage(int pageNumber) {
         document.removePage(pageNumber - 1);
+        pagesIndex = null;
     }
 
     /**
@@ -304,6 +502,7 @@ public class PDDocumentHandler implements Closeable {
         PDPage page = getPage(oldPageNumber);
         document.addPage(page);
         document.removePage(oldPageNumber - 1);
+        pagesIndex = null;
     }
 
     public PDPage getPage(int pageNumber) {
@@ -314,6 +513,17 @@ public class PDDocumentHandler implements Closeable {
         return document.getPages();
     }
 
+    /**
+     * @return the per page metadata index of the underlying {@link PDDocument}, built on first use and discarded when
+     *         pages are added or removed through this handler
+     */
+    public PagesMetadataIndex pagesIndex() {
+        if (pagesIndex == null) {
+            pagesIndex = new PagesMetadataIndex(document);
+        }
+        return pagesIndex;
+    }
+
     public void initialiseBasedOn(PDDocument other) {
         setDocumentInformation(other.getDocumentInformation());
         setViewerPreferences(other.getDocumentCatalog().getViewerPreferences());
@@ -347,10 +557,12 @@ public class PDDocumentHandler implements Closeable {
 
     private void setPageMode(PageMode pageMode) {
         document.getDocumentCatalog().setPageMode(pageMode);
+        modified(document.getDocumentCatalog());
     }
 
     private void setPageLayout(PageLayout pageLayout) {
         document.getDocumentCatalog().setPageLayout(pageLayout);
+        modified(document.getDocumentCatalog());
     }
 
     /**
@@ -373,10 +585,12 @@ public class PDDocumentHandler implements Closeable {
     public void addBlankPageAfter(int pageNumber) {
         PDPage target = document.getPage(pageNumber - 1);
         document.getPages().insertAfter(new PDPage(target.getMediaBox()), target);
+        pagesIndex = null;
     }
 
     public void addBlankPageBefore(int pageNumber) {
         PDPage target = document.getPage(pageNumber - 1);
         document.getPages().insertBefore(new PDPage(target.getMediaBox()), target);
+        pagesIndex = null;
     }
 }
@@ -22,17 +22,20 @@ import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.parameter.edit.Shape;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
-import org.sejda.sambox.pdmodel.PDPageContentStream;
 
 import java.awt.*;
 import java.awt.geom.Point2D;
 import java.io.IOException;
 
 public class PageGeometricalShapeWriter {
-    private PDDocument document;
+    private PageStamper stamper;
 
     public PageGeometricalShapeWriter(PDDocument document) {
-        this.document = document;
+        this(PageStamper.notBatching(document));
+    }
+
+    public PageGeometricalShapeWriter(PageStamper stamper) {
+        this.stamper = stamper;
     }
 
     public void drawShape(Shape shape, PDPage page, Point2D position, float width, float height,
@@ -52,7 +55,7 @@ public class PageGeometricalShapeWriter {
     public void drawRectangle(PDPage page, Point2D position, float width, float height,
                               Color borderColor, Color backgroundColor, float borderWidth) throws TaskIOException {
         try {
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page, PDPageContentStream.AppendMode.APPEND, true, true)) {
+            stamper.stamp(page, contentStream -> {
 
                 contentStream.setLineWidth(borderWidth);
                 if (backgroundColor != null) {
@@ -66,8 +69,7 @@ public class PageGeometricalShapeWriter {
                 } else {
                     contentStream.closeAndStroke();
                 }
-                contentStream.close();
-            }
+            });
         } catch (IOException e) {
             throw new TaskIOException("An error occurred writing image to the page.", e);
         }
@@ -76,7 +78,7 @@ public class PageGeometricalShapeWriter {
     public void drawEllipse(PDPage page, Point2D position, float width, float height,
                             Color borderColor, Color backgroundColor, float borderWidth) throws TaskIOException {
         try {
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page, PDPageContentStream.AppendMode.APPEND, true, true)) {
+            stamper.stamp(page, contentStream -> {
 
                 contentStream.setLineWidth(borderWidth);
                 if (backgroundColor != null) {
@@ -105,8 +107,7 @@ public class PageGeometricalShapeWriter {
                 } else {
                     contentStream.closeAndStroke();
                 }
-                contentStream.close();
-            }
+            });
         } catch (IOException e) {
             throw new TaskIOException("An error occurred writing image to the page.", e);
         }
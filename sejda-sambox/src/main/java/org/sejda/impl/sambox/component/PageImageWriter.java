@@ -32,23 +32,23 @@ import org.sejda.model.input.SourceDispatcher;
 import org.sejda.model.input.StreamSource;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
-import org.sejda.sambox.pdmodel.PDPageContentStream;
 import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
 
 public class PageImageWriter {
-    private PDDocument document;
+    private PageStamper stamper;
 
     public PageImageWriter(PDDocument document) {
-        this.document = document;
+        this(PageStamper.notBatching(document));
+    }
+
+    public PageImageWriter(PageStamper stamper) {
+        this.stamper = stamper;
     }
 
     public void write(PDPage page, PDImageXObject image, Point2D position, float width, float height) throws TaskIOException {
         try {
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page, PDPageContentStream.AppendMode.APPEND, true, true)) {
-
-                contentStream.drawImage(image, (float) position.getX(), (float) position.getY(), width, height);
-                contentStream.close();
-            }
+            stamper.stamp(page, contentStream -> contentStream.drawImage(image, (float) position.getX(),
+                    (float) position.getY(), width, height));
         } catch (IOException e) {
             throw new TaskIOException("An error occurred writing image to the page.", e);
         }
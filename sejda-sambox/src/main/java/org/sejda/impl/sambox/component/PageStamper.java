@@ -0,0 +1,132 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.PDPageContentStream.AppendMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component appending content (text, images, shapes) on top of existing pages. When batching, all the stamps targeting
+ * the same page are written in a single appended and compressed content stream, opened on the first stamp and written
+ * to the page on {@link #close()}, and each stamp is wrapped in its own graphics state so stamps don't affect each other.
+ * When not batching every stamp gets its own appended content stream.
+ *
+ * @author Andrea Vacondio
+ */
+public class PageStamper implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(PageStamper.class);
+
+    private final PDDocument document;
+    private final boolean batching;
+    private final Map<COSDictionary, PDPageContentStream> streams = new IdentityHashMap<>();
+
+    private PageStamper(PDDocument document, boolean batching) {
+        requireNotNullArg(document, "Document cannot be null");
+        this.document = document;
+        this.batching = batching;
+    }
+
+    /**
+     * @param document
+     * @return a stamper writing all the stamps for a page in a single content stream. It must be closed before the
+     *         document is saved.
+     */
+    public static PageStamper batching(PDDocument document) {
+        return new PageStamper(document, true);
+    }
+
+    /**
+     * @param document
+     * @return a stamper writing each stamp in its own content stream
+     */
+    public static PageStamper notBatching(PDDocument document) {
+        return new PageStamper(document, false);
+    }
+
+    public PDDocument document() {
+        return document;
+    }
+
+    /**
+     * Writes the given stamp on the given page
+     *
+     * @param page
+     * @param stamp
+     * @throws IOException
+     */
+    public void stamp(PDPage page, PageStamp stamp) throws IOException {
+        if (batching) {
+            PDPageContentStream stream = streams.get(page.getCOSObject());
+            if (stream == null) {
+                stream = new PDPageContentStream(document, page, AppendMode.APPEND, true, true);
+                streams.put(page.getCOSObject(), stream);
+            }
+            stream.saveGraphicsState();
+            stamp.accept(stream);
+            stream.restoreGraphicsState();
+        } else {
+            try (PDPageContentStream stream = new PDPageContentStream(document, page, AppendMode.APPEND, true, true)) {
+                stamp.accept(stream);
+            }
+        }
+    }
+
+    /**
+     * Closes the content streams opened so far, writing them to their pages. The stamper can still be used after closing
+     * and the following stamps will be appended in new content streams.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        Iterator<PDPageContentStream> iterator = streams.values().iterator();
+        while (iterator.hasNext()) {
+            try {
+                iterator.next().close();
+            } catch (IOException e) {
+                LOG.warn("Unable to close page content stream", e);
+                failure = e;
+            }
+            iterator.remove();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Content to be written on a page content stream
+     */
+    @FunctionalInterface
+    public interface PageStamp {
+        void accept(PDPageContentStream stream) throws IOException;
+    }
+}
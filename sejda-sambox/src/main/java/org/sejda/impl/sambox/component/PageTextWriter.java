@@ -19,6 +19,7 @@
 package org.sejda.impl.sambox.component;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.sejda.impl.sambox.util.FontUtils.canDisplay;
 import static org.sejda.impl.sambox.util.FontUtils.findFontFor;
 import static org.sejda.impl.sambox.util.FontUtils.fontOrFallback;
@@ -27,6 +28,10 @@ import java.awt.Color;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.sejda.model.HorizontalAlign;
 import org.sejda.model.VerticalAlign;
@@ -34,9 +39,11 @@ import org.sejda.model.exception.TaskIOException;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.PDPageContentStream;
-import org.sejda.sambox.pdmodel.PDPageContentStream.AppendMode;
+import org.sejda.sambox.pdmodel.PDResources;
 import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.pdmodel.common.PDStream;
 import org.sejda.sambox.pdmodel.font.PDFont;
+import org.sejda.sambox.pdmodel.graphics.form.PDFormXObject;
 import org.sejda.sambox.util.Matrix;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,16 +58,27 @@ public class PageTextWriter {
     private static final Logger LOG = LoggerFactory.getLogger(PageTextWriter.class);
 
     private PDDocument document;
+    private PageStamper stamper;
     // TODO define as a params member
     private static final Float DEFAULT_MARGIN = 30F;
     private PDFont latestSuitablefont;
+    private final Map<List<Object>, PDFormXObject> sharedPrefixes = new HashMap<>();
 
     /**
      * @param document
      *            the document where we want to write the footer
      */
     public PageTextWriter(PDDocument document) {
-        this.document = document;
+        this(PageStamper.notBatching(document));
+    }
+
+    /**
+     * @param stamper
+     *            the stamper used to write the text, allowing to batch it with other content written on the same page
+     */
+    public PageTextWriter(PageStamper stamper) {
+        this.stamper = stamper;
+        this.document = stamper.document();
     }
 
     public void write(PDPage page, HorizontalAlign hAlign, VerticalAlign vAlign, String rawLabel, PDFont font,
@@ -91,31 +109,108 @@ public class PageTextWriter {
         PDRectangle pageSize = page.getCropBox().rotate(page.getRotation());
 
         try {
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page, AppendMode.APPEND, true,
-                    true)) {
+            stamper.stamp(page, contentStream -> {
                 contentStream.beginText();
                 contentStream.setFont(latestSuitablefont, fontSize.floatValue());
                 contentStream.setNonStrokingColor(color);
 
-                if (page.getRotation() > 0) {
-                    position = findPositionInRotatedPage(page.getRotation(), pageSize, position);
-
-                    AffineTransform tx = AffineTransform.getTranslateInstance(position.getX(), position.getY());
-                    tx.rotate(Math.toRadians(page.getRotation()));
-                    contentStream.setTextMatrix(new Matrix(tx));
+                contentStream.setTextMatrix(new Matrix(textTransform(page, pageSize, position)));
+                contentStream.showText(label);
+                contentStream.endText();
+            });
+        } catch (IOException e) {
+            throw new TaskIOException("An error occurred writing the header or footer of the page.", e);
+        }
+    }
 
-                } else {
-                    contentStream.setTextMatrix(
-                            new Matrix(AffineTransform.getTranslateInstance(position.getX(), position.getY())));
+    /**
+     * Writes the label made of the given prefix and variable part like
+     * {@link #write(PDPage, HorizontalAlign, VerticalAlign, String, PDFont, Double, Color)} does, but the prefix is
+     * written in a form XObject that is created once and drawn on every page where the same prefix is written with the
+     * same font and color. Only the variable part of the label is written in the page content stream.
+     * 
+     * @param page
+     * @param hAlign
+     * @param vAlign
+     * @param rawPrefix
+     *            the part of the label that is the same on multiple pages
+     * @param rawVariable
+     *            the part of the label that changes from page to page
+     * @param font
+     * @param fontSize
+     * @param color
+     * @throws TaskIOException
+     */
+    public void writeSharingPrefix(PDPage page, HorizontalAlign hAlign, VerticalAlign vAlign, String rawPrefix,
+            String rawVariable, PDFont font, Double fontSize, Color color) throws TaskIOException {
+        String prefix = removeControlCharacters(rawPrefix);
+        String variable = removeControlCharacters(rawVariable);
+        resolveFont(prefix + variable, font);
+        try {
+            float size = fontSize.floatValue();
+            PDRectangle pageSize = page.getCropBox().rotate(page.getRotation());
+            float prefixWidth = latestSuitablefont.getStringWidth(prefix) * size / 1000f;
+            float stringWidth = prefixWidth + latestSuitablefont.getStringWidth(variable) * size / 1000f;
+            Point2D position = new Point2D.Float(hAlign.position(pageSize.getWidth(), stringWidth, DEFAULT_MARGIN),
+                    vAlign.position(pageSize.getHeight(), DEFAULT_MARGIN - size));
+            AffineTransform transform = textTransform(page, pageSize, position);
+            PDFormXObject form = prefix.isEmpty() ? null : sharedPrefix(prefix, prefixWidth, size, color);
+            stamper.stamp(page, contentStream -> {
+                contentStream.saveGraphicsState();
+                contentStream.transform(new Matrix(transform));
+                if (nonNull(form)) {
+                    contentStream.drawForm(form);
                 }
+                if (!variable.isEmpty()) {
+                    contentStream.beginText();
+                    contentStream.setFont(latestSuitablefont, size);
+                    contentStream.setNonStrokingColor(color);
+                    contentStream.setTextMatrix(new Matrix(AffineTransform.getTranslateInstance(prefixWidth, 0)));
+                    contentStream.showText(variable);
+                    contentStream.endText();
+                }
+                contentStream.restoreGraphicsState();
+            });
+        } catch (IOException e) {
+            throw new TaskIOException("An error occurred writing the header or footer of the page.", e);
+        }
+    }
 
-                LOG.trace("Text position {}", position);
-                contentStream.showText(label);
+    private PDFormXObject sharedPrefix(String prefix, float width, float fontSize, Color color) throws IOException {
+        List<Object> key = Arrays.asList(prefix, latestSuitablefont, fontSize, color);
+        PDFormXObject form = sharedPrefixes.get(key);
+        if (isNull(form)) {
+            LOG.debug("Creating shared form XObject for '{}'", prefix);
+            form = new PDFormXObject(new PDStream());
+            form.setResources(new PDResources());
+            form.setBBox(new PDRectangle(-fontSize, -fontSize, width + (2 * fontSize), 3 * fontSize));
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, form)) {
+                contentStream.beginText();
+                contentStream.setFont(latestSuitablefont, fontSize);
+                contentStream.setNonStrokingColor(color);
+                contentStream.showText(prefix);
                 contentStream.endText();
             }
-        } catch (IOException e) {
-            throw new TaskIOException("An error occurred writing the header or footer of the page.", e);
+            sharedPrefixes.put(key, form);
+        }
+        return form;
+    }
+
+    /**
+     * @return the transformation placing text at the given position of the page, taking the page rotation into account
+     */
+    private AffineTransform textTransform(PDPage page, PDRectangle pageSize, Point2D position) {
+        Point2D actualPosition = position;
+        AffineTransform tx;
+        if (page.getRotation() > 0) {
+            actualPosition = findPositionInRotatedPage(page.getRotation(), pageSize, position);
+            tx = AffineTransform.getTranslateInstance(actualPosition.getX(), actualPosition.getY());
+            tx.rotate(Math.toRadians(page.getRotation()));
+        } else {
+            tx = AffineTransform.getTranslateInstance(actualPosition.getX(), actualPosition.getY());
         }
+        LOG.trace("Text position {}", actualPosition);
+        return tx;
     }
 
     private void resolveFont(String label, PDFont font) throws TaskIOException {
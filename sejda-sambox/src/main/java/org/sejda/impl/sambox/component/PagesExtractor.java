@@ -25,6 +25,7 @@ import static org.sejda.impl.sambox.component.SignatureClipper.clipSignatures;
 
 import java.io.Closeable;
 import java.io.File;
+import java.io.OutputStream;
 import java.util.Objects;
 import java.util.Set;
 
@@ -67,9 +68,12 @@ public class PagesExtractor implements Closeable {
     }
 
     private void init() {
-        this.outlineMerger = new OutlineDistiller(originalDocument);
+        if (outlineMerger == null) {
+            this.outlineMerger = new OutlineDistiller(originalDocument);
+        }
         this.destinationDocument = new PDDocumentHandler();
         this.destinationDocument.initialiseBasedOn(originalDocument);
+        this.destinationDocument.setLazyPageImport(true);
     }
 
     public void retain(Set<Integer> pages, NotifiableTaskMetadata taskMetadata) throws TaskCancelledException {
@@ -102,6 +106,14 @@ public class PagesExtractor implements Closeable {
         destinationDocument.setCompress(compress);
     }
 
+    public void setCompressionLevel(int compressionLevel) {
+        destinationDocument.setCompressionLevel(compressionLevel);
+    }
+
+    public void setLinearize(boolean linearize) {
+        destinationDocument.setLinearize(linearize);
+    }
+
     public void optimize() {
         LOG.trace("Optimizing document");
         ResourcesHitter hitter = new ResourcesHitter();
@@ -122,12 +134,28 @@ public class PagesExtractor implements Closeable {
     }
 
     public void save(File file, boolean discardOutline) throws TaskException {
+        beforeSave(discardOutline);
+        destinationDocument.savePDDocument(file);
+    }
+
+    /**
+     * Saves the extracted pages straight to the given stream, the stream is not closed.
+     * 
+     * @param out
+     * @param discardOutline
+     * @throws TaskException
+     */
+    public void save(OutputStream out, boolean discardOutline) throws TaskException {
+        beforeSave(discardOutline);
+        destinationDocument.savePDDocument(out);
+    }
+
+    private void beforeSave(boolean discardOutline) {
         if (!discardOutline) {
             createOutline();
         }
         LookupTable<PDAnnotation> annotations = processAnnotations(pagesLookup, originalDocument);
         clipSignatures(annotations.values());
-        destinationDocument.savePDDocument(file);
     }
 
     private void createOutline() {
@@ -150,10 +178,12 @@ public class PagesExtractor implements Closeable {
     }
 
     /**
-     * Resets the component making it ready to start a new extractions from the original document
+     * Resets the component making it ready to start a new extractions from the original document. The outline index of
+     * the original document is retained.
      */
     public void reset() {
-        close();
+        nullSafeCloseQuietly(destinationDocument);
+        pagesLookup.clear();
         init();
     }
 }
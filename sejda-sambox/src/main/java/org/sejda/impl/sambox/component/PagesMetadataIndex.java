@@ -0,0 +1,365 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNumber;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the per page metadata of a document (page dictionary, boxes, rotation and resources). The index is built
+ * lazily, the first time it's queried, in a single top-down traversal of the page tree where inheritable attributes
+ * are carried down from the intermediate nodes to the pages, so components needing those information for many pages
+ * don't have to walk up the page tree for every page and every attribute, or walk it down for every page they look up
+ * by number. When created for a selection of pages, only the selected pages are indexed and the subtrees not
+ * containing any of them are skipped using their /Count. The index is a snapshot of the pages at the time it's built,
+ * pages added, removed or modified later are not reflected.
+ *
+ * @author Andrea Vacondio
+ */
+public class PagesMetadataIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(PagesMetadataIndex.class);
+
+    private final PDDocument document;
+    private final Collection<Integer> selection;
+    private boolean built = false;
+    private int pages;
+    private BitSet indexed = new BitSet();
+    // llx, lly, urx, ury for each page
+    private float[] mediaBoxes;
+    private float[] cropBoxes;
+    private float[] trimBoxes;
+    private int[] rotations;
+    private COSDictionary[] resources;
+    private COSDictionary[] dictionaries;
+
+    /**
+     * Creates an index of all the pages of the given document
+     */
+    public PagesMetadataIndex(PDDocument document) {
+        this(document, null);
+    }
+
+    /**
+     * Creates an index of the given pages of the document
+     * 
+     * @param document
+     * @param selection
+     *            1-based numbers of the pages to index, all pages if null
+     */
+    public PagesMetadataIndex(PDDocument document, Set<Integer> selection) {
+        requireNotNullArg(document, "Document cannot be null");
+        this.document = document;
+        this.selection = selection;
+    }
+
+    /**
+     * @return the number of pages of the document
+     */
+    public int numberOfPages() {
+        build();
+        return pages;
+    }
+
+    /**
+     * @param pageNumber
+     *            1-based page number
+     * @return the media box of the page
+     */
+    public PDRectangle mediaBox(int pageNumber) {
+        int index = index(pageNumber);
+        return rectangle(mediaBoxes, index);
+    }
+
+    /**
+     * @param pageNumber
+     *            1-based page number
+     * @return the crop box of the page, as returned by {@link PDPage#getCropBox()}
+     */
+    public PDRectangle cropBox(int pageNumber) {
+        int index = index(pageNumber);
+        return rectangle(cropBoxes, index);
+    }
+
+    /**
+     * @param pageNumber
+     *            1-based page number
+     * @return the trim box of the page, as returned by {@link PDPage#getTrimBox()}
+     */
+    public PDRectangle trimBox(int pageNumber) {
+        int index = index(pageNumber);
+        return rectangle(trimBoxes, index);
+    }
+
+    /**
+     * @param pageNumber
+     *            1-based page number
+     * @return the rotation of the page, as returned by {@link PDPage#getRotation()}
+     */
+    public int rotation(int pageNumber) {
+        int index = index(pageNumber);
+        return rotations[index];
+    }
+
+    /**
+     * @param pageNumber
+     *            1-based page number
+     * @return the resource dictionary of the page, either its own or the inherited one, or null if the page has no
+     *         resources
+     */
+    public COSDictionary resources(int pageNumber) {
+        int index = index(pageNumber);
+        return resources[index];
+    }
+
+    /**
+     * @param pageNumber
+     *            1-based page number
+     * @return the page, equivalent to the one returned by {@link PDDocument#getPage(int)} but without walking down
+     *         the page tree
+     */
+    public PDPage page(int pageNumber) {
+        int index = index(pageNumber);
+        COSDictionary page = dictionaries[index];
+        // same as the page tree does
+        if (!COSName.PAGE.equals(page.getCOSName(COSName.TYPE))) {
+            LOG.warn("Expected 'Page' type for page {}", pageNumber);
+            page.setItem(COSName.TYPE, COSName.PAGE);
+        }
+        return new PDPage(page);
+    }
+
+    private static PDRectangle rectangle(float[] boxes, int index) {
+        int offset = index * 4;
+        return new PDRectangle(boxes[offset], boxes[offset + 1], boxes[offset + 2] - boxes[offset],
+                boxes[offset + 3] - boxes[offset + 1]);
+    }
+
+    private int index(int pageNumber) {
+        build();
+        if (pageNumber < 1 || pageNumber > pages || !indexed.get(pageNumber - 1)) {
+            throw new IllegalArgumentException(String.format("Page number %d has not been indexed", pageNumber));
+        }
+        return pageNumber - 1;
+    }
+
+    private void build() {
+        if (built) {
+            return;
+        }
+        int declared = document.getNumberOfPages();
+        BitSet selected = new BitSet();
+        if (isNull(selection)) {
+            selected.set(0, declared);
+        } else {
+            selection.stream().filter(p -> p > 0).forEach(p -> selected.set(p - 1));
+        }
+        LOG.debug("Indexing metadata of {} pages out of {}", selected.cardinality(), declared);
+        allocate(Math.max(declared, 0));
+
+        Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Node> nodes = new ArrayDeque<>();
+        COSDictionary root = document.getDocumentCatalog().getCOSObject().getDictionaryObject(COSName.PAGES,
+                COSDictionary.class);
+        if (nonNull(root)) {
+            nodes.push(new Node(root, new Inherited()));
+        }
+        int current = 0;
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            if (!visited.add(node.dictionary)) {
+                LOG.warn("Found a loop in the page tree, skipping an already visited node");
+                continue;
+            }
+            Inherited inherited = node.inherited.with(node.dictionary);
+            if (isPagesNode(node.dictionary)) {
+                int count = node.dictionary.getInt(COSName.COUNT, -1);
+                int next = selected.nextSetBit(current);
+                if (count > 0 && (next < 0 || next >= current + count)) {
+                    // none of the selected pages is in this subtree
+                    current += count;
+                    continue;
+                }
+                COSArray kids = node.dictionary.getDictionaryObject(COSName.KIDS, COSArray.class);
+                if (nonNull(kids)) {
+                    for (int i = kids.size() - 1; i >= 0; i--) {
+                        COSBase kid = kids.getObject(i);
+                        if (kid instanceof COSDictionary) {
+                            nodes.push(new Node((COSDictionary) kid, inherited));
+                        }
+                    }
+                }
+            } else {
+                if (selected.get(current)) {
+                    index(current, node.dictionary, inherited);
+                }
+                current++;
+            }
+        }
+        pages = current;
+        built = true;
+        LOG.debug("Indexed {} pages", indexed.cardinality());
+    }
+
+    private void allocate(int capacity) {
+        mediaBoxes = new float[capacity * 4];
+        cropBoxes = new float[capacity * 4];
+        trimBoxes = new float[capacity * 4];
+        rotations = new int[capacity];
+        resources = new COSDictionary[capacity];
+        dictionaries = new COSDictionary[capacity];
+    }
+
+    private void ensureCapacity(int index) {
+        if (index >= rotations.length) {
+            int capacity = Math.max(index + 1, rotations.length * 2);
+            mediaBoxes = Arrays.copyOf(mediaBoxes, capacity * 4);
+            cropBoxes = Arrays.copyOf(cropBoxes, capacity * 4);
+            trimBoxes = Arrays.copyOf(trimBoxes, capacity * 4);
+            rotations = Arrays.copyOf(rotations, capacity);
+            resources = Arrays.copyOf(resources, capacity);
+            dictionaries = Arrays.copyOf(dictionaries, capacity);
+        }
+    }
+
+    private void index(int index, COSDictionary page, Inherited inherited) {
+        ensureCapacity(index);
+        PDRectangle mediaBox = PDRectangle.LETTER;
+        if (nonNull(inherited.mediaBox)) {
+            mediaBox = new PDRectangle(inherited.mediaBox);
+        }
+        PDRectangle cropBox = mediaBox;
+        if (nonNull(inherited.cropBox)) {
+            cropBox = clip(new PDRectangle(inherited.cropBox), mediaBox);
+        }
+        PDRectangle trimBox = cropBox;
+        COSArray trim = page.getDictionaryObject(COSName.TRIM_BOX, COSArray.class);
+        if (nonNull(trim)) {
+            trimBox = clip(new PDRectangle(trim), mediaBox);
+        }
+        copy(mediaBox, mediaBoxes, index);
+        copy(cropBox, cropBoxes, index);
+        copy(trimBox, trimBoxes, index);
+        rotations[index] = rotation(inherited.rotate);
+        resources[index] = inherited.resources;
+        dictionaries[index] = page;
+        indexed.set(index);
+    }
+
+    /**
+     * Same semantic as {@link PDPage#getRotation()}
+     */
+    private static int rotation(COSBase rotate) {
+        if (rotate instanceof COSNumber) {
+            int angle = ((COSNumber) rotate).intValue();
+            if (angle % 90 == 0) {
+                return (angle % 360 + 360) % 360;
+            }
+        }
+        return 0;
+    }
+
+    private static PDRectangle clip(PDRectangle box, PDRectangle mediaBox) {
+        PDRectangle result = new PDRectangle();
+        result.setLowerLeftX(Math.max(mediaBox.getLowerLeftX(), box.getLowerLeftX()));
+        result.setLowerLeftY(Math.max(mediaBox.getLowerLeftY(), box.getLowerLeftY()));
+        result.setUpperRightX(Math.min(mediaBox.getUpperRightX(), box.getUpperRightX()));
+        result.setUpperRightY(Math.min(mediaBox.getUpperRightY(), box.getUpperRightY()));
+        return result;
+    }
+
+    private static void copy(PDRectangle box, float[] boxes, int index) {
+        int offset = index * 4;
+        boxes[offset] = box.getLowerLeftX();
+        boxes[offset + 1] = box.getLowerLeftY();
+        boxes[offset + 2] = box.getUpperRightX();
+        boxes[offset + 3] = box.getUpperRightY();
+    }
+
+    private static boolean isPagesNode(COSDictionary node) {
+        return COSName.PAGES.equals(node.getCOSName(COSName.TYPE)) || node.containsKey(COSName.KIDS);
+    }
+
+    private static class Node {
+        final COSDictionary dictionary;
+        final Inherited inherited;
+
+        Node(COSDictionary dictionary, Inherited inherited) {
+            this.dictionary = dictionary;
+            this.inherited = inherited;
+        }
+    }
+
+    /**
+     * Inheritable attributes of a node of the page tree, PDF 32000-1:2008 7.7.3.4
+     */
+    private static class Inherited {
+        COSDictionary resources;
+        COSArray mediaBox;
+        COSArray cropBox;
+        COSBase rotate;
+
+        /**
+         * @return the attributes inherited by the kids of the given node, this instance if the node doesn't define
+         *         any inheritable attribute
+         */
+        Inherited with(COSDictionary node) {
+            COSDictionary nodeResources = node.getDictionaryObject(COSName.RESOURCES, COSDictionary.class);
+            COSArray nodeMediaBox = node.getDictionaryObject(COSName.MEDIA_BOX, COSArray.class);
+            COSArray nodeCropBox = node.getDictionaryObject(COSName.CROP_BOX, COSArray.class);
+            COSBase nodeRotate = node.getDictionaryObject(COSName.ROTATE);
+            if (isNull(nodeResources) && isNull(nodeMediaBox) && isNull(nodeCropBox) && isNull(nodeRotate)) {
+                return this;
+            }
+            Inherited result = new Inherited();
+            result.resources = firstNonNull(nodeResources, resources);
+            result.mediaBox = firstNonNull(nodeMediaBox, mediaBox);
+            result.cropBox = firstNonNull(nodeCropBox, cropBox);
+            result.rotate = firstNonNull(nodeRotate, rotate);
+            return result;
+        }
+
+        private static <T> T firstNonNull(T value, T defaultValue) {
+            if (nonNull(value)) {
+                return value;
+            }
+            return defaultValue;
+        }
+    }
+}
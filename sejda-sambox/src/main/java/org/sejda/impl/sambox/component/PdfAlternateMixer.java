@@ -58,6 +58,7 @@ public class PdfAlternateMixer extends PDDocumentHandler {
     public PdfAlternateMixer(PdfMixInput firstInput, PdfMixInput secondInput) {
         this.firstInput = firstInput;
         this.secondInput = secondInput;
+        setLazyPageImport(true);
     }
 
     /**
@@ -0,0 +1,79 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.sejda.io.SeekableSource;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.exception.TaskWrongPasswordException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.encryption.InvalidPasswordException;
+
+/**
+ * A {@link DefaultPdfSourceOpener} that opens {@link PdfFileSource}s using sources of a {@link SeekableSourcesPool},
+ * bounding the number of files that are kept open when many documents are opened and used at the same time. Stream and
+ * URL sources are copied to temporary files and opened as usual.
+ * 
+ * @author Andrea Vacondio
+ */
+public class PooledPdfSourceOpener extends DefaultPdfSourceOpener {
+
+    private static final String WRONG_PWD_MESSAGE = "Unable to open the document due to a wrong password.";
+    private static final String ERROR_MESSAGE = "An error occurred opening the source: %s.";
+
+    private final SeekableSourcesPool pool;
+    private final Map<PDDocumentHandler, SeekableSource> sources = new IdentityHashMap<>();
+
+    public PooledPdfSourceOpener(SeekableSourcesPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public PDDocumentHandler open(PdfFileSource source) throws TaskIOException {
+        try {
+            SeekableSource seekableSource = pool.sourceFor(source.getSource());
+            PDDocument document = PDFParser.parse(seekableSource, source.getPassword());
+            PDDocumentHandler handler = new PDDocumentHandler(document);
+            sources.put(handler, seekableSource);
+            return handler;
+        } catch (InvalidPasswordException ipe) {
+            throw new TaskWrongPasswordException(WRONG_PWD_MESSAGE, ipe);
+        } catch (IOException e) {
+            throw new TaskIOException(String.format(ERROR_MESSAGE, source), e);
+        }
+    }
+
+    /**
+     * Releases the file held by the given document, if it has been opened by this opener. The document is still usable
+     * and its file is reopened if something needs to be read.
+     * 
+     * @param document
+     */
+    public void release(PDDocumentHandler document) {
+        SeekableSource source = sources.get(document);
+        if (source != null) {
+            pool.release(source);
+        }
+    }
+}
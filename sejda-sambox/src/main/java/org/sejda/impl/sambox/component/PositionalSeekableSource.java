@@ -0,0 +1,141 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireArg;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.sejda.io.BaseSeekableSource;
+import org.sejda.io.SeekableSource;
+
+/**
+ * A {@link SeekableSource} that can read at a given position without moving its own. Its views read through it, so they
+ * don't need any resource of their own.
+ * 
+ * @author Andrea Vacondio
+ */
+abstract class PositionalSeekableSource extends BaseSeekableSource {
+
+    PositionalSeekableSource(String id) {
+        super(id);
+    }
+
+    /**
+     * Reads a sequence of bytes starting at the given position, without changing the position of this source
+     * 
+     * @param at
+     * @param dst
+     * @return the number of bytes read or -1 if the position is at the end of the source
+     * @throws IOException
+     */
+    abstract int read(long at, ByteBuffer dst) throws IOException;
+
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        return new PositionalSeekableSourceView(this, startingPosition, length);
+    }
+
+    @Override
+    protected void requireOpen() throws IOException {
+        super.requireOpen();
+    }
+
+    /**
+     * A view of a {@link PositionalSeekableSource} that reads through it
+     */
+    private static class PositionalSeekableSourceView extends BaseSeekableSource {
+
+        private final PositionalSeekableSource parent;
+        private final long startingPosition;
+        private final long length;
+        private long position;
+
+        PositionalSeekableSourceView(PositionalSeekableSource parent, long startingPosition, long length) {
+            super(parent.id());
+            requireArg(startingPosition >= 0 && startingPosition < parent.size(), "Starting position out of bounds");
+            this.parent = parent;
+            this.startingPosition = startingPosition;
+            this.length = Math.min(length, parent.size() - startingPosition);
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public SeekableSource position(long position) throws IOException {
+            requireOpen();
+            this.position = Math.max(0, Math.min(position, length));
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return length;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            requireOpen();
+            long available = length - position;
+            if (available <= 0) {
+                return -1;
+            }
+            ByteBuffer target = dst;
+            if (dst.remaining() > available) {
+                target = dst.duplicate();
+                target.limit(target.position() + (int) available);
+            }
+            int read = parent.read(startingPosition + position, target);
+            if (read > 0) {
+                if (target != dst) {
+                    dst.position(target.position());
+                }
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            if (read(buffer) > 0) {
+                return buffer.get(0) & 0xFF;
+            }
+            return -1;
+        }
+
+        @Override
+        public SeekableSource view(long startingPosition, long length) throws IOException {
+            requireOpen();
+            return new PositionalSeekableSourceView(parent, this.startingPosition + startingPosition,
+                    Math.min(length, this.length - startingPosition));
+        }
+
+        @Override
+        protected void requireOpen() throws IOException {
+            super.requireOpen();
+            parent.requireOpen();
+        }
+    }
+}
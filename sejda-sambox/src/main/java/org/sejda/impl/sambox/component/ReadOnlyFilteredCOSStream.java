@@ -110,8 +110,9 @@ public class ReadOnlyFilteredCOSStream extends COSStream {
     }
 
     @Override
-    public void addCompression() {
+    public boolean addCompression() {
         // do nothing, it's already supposed to be compressed
+        return false;
     }
 
     @Override
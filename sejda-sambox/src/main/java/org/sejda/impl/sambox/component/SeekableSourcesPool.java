@@ -0,0 +1,234 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.nonNull;
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.sejda.io.SeekableSource;
+import org.sejda.io.SeekableSources;
+import org.sejda.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of file backed {@link SeekableSource}s that bounds the number of files that are open at the same time. Sources
+ * created by the pool release their underlying file when the limit is exceeded, oldest opened first, or when
+ * explicitly released, and transparently reopen it, restoring their position, the next time they are read. Views
+ * created by the sources read through their parent so they don't hold any file either. This allows a document parsed
+ * from a pooled source to be kept around, with its objects and streams lazily loaded, without keeping the file open.
+ * 
+ * @author Andrea Vacondio
+ */
+public class SeekableSourcesPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SeekableSourcesPool.class);
+
+    private final int maxOpen;
+    private final Set<PooledSeekableSource> open = new LinkedHashSet<>();
+
+    /**
+     * @param maxOpen
+     *            max number of sources that can hold an open file at the same time
+     */
+    public SeekableSourcesPool(int maxOpen) {
+        requireArg(maxOpen > 0, "The max number of open sources must be positive");
+        this.maxOpen = maxOpen;
+    }
+
+    /**
+     * @param file
+     * @return a {@link SeekableSource} for the given file that is managed by this pool
+     */
+    public SeekableSource sourceFor(File file) {
+        requireNotNullArg(file, "File cannot be null");
+        return new PooledSeekableSource(file);
+    }
+
+    /**
+     * Releases the file held by the given source, if it's a source of this pool. The source is still usable and it will
+     * reopen the file if read again.
+     * 
+     * @param source
+     */
+    public void release(SeekableSource source) {
+        if (source instanceof PooledSeekableSource && ((PooledSeekableSource) source).pool() == this) {
+            ((PooledSeekableSource) source).release();
+        }
+    }
+
+    /**
+     * @return the number of sources currently holding an open file
+     */
+    public synchronized int openSources() {
+        return open.size();
+    }
+
+    private List<PooledSeekableSource> opened(PooledSeekableSource source) {
+        List<PooledSeekableSource> exceeding = new ArrayList<>();
+        synchronized (this) {
+            open.add(source);
+            Iterator<PooledSeekableSource> iterator = open.iterator();
+            while (open.size() - exceeding.size() > maxOpen && iterator.hasNext()) {
+                PooledSeekableSource current = iterator.next();
+                if (current != source) {
+                    exceeding.add(current);
+                }
+            }
+        }
+        return exceeding;
+    }
+
+    private synchronized void released(PooledSeekableSource source) {
+        open.remove(source);
+    }
+
+    /**
+     * A file {@link SeekableSource} that opens the file on demand and can release it
+     */
+    private class PooledSeekableSource extends PositionalSeekableSource {
+
+        private final File file;
+        private final long size;
+        private SeekableSource delegate;
+        private long position;
+
+        PooledSeekableSource(File file) {
+            super(file.getAbsolutePath());
+            this.file = file;
+            this.size = file.length();
+        }
+
+        SeekableSourcesPool pool() {
+            return SeekableSourcesPool.this;
+        }
+
+        /**
+         * Performs the given read on the delegate, opening the file if needed. The read is performed holding the lock on
+         * this while the sources exceeding the limit are released after leaving the monitor, so the lock on a source is
+         * never held while acquiring the lock on another one. The limit can briefly be exceeded by the sources being
+         * read concurrently.
+         */
+        private <T> T readDelegate(Read<T> read) throws IOException {
+            List<PooledSeekableSource> exceeding = Collections.emptyList();
+            try {
+                synchronized (this) {
+                    requireOpen();
+                    if (delegate == null) {
+                        LOG.trace("Opening {}", file);
+                        delegate = SeekableSources.seekableSourceFrom(file);
+                        delegate.position(position);
+                        exceeding = opened(this);
+                    }
+                    return read.from(delegate);
+                }
+            } finally {
+                for (PooledSeekableSource current : exceeding) {
+                    current.release();
+                }
+            }
+        }
+
+        synchronized void release() {
+            if (nonNull(delegate)) {
+                LOG.trace("Releasing {}", file);
+                IOUtils.closeQuietly(delegate);
+                delegate = null;
+            }
+            released(this);
+        }
+
+        @Override
+        public synchronized long position() {
+            return position;
+        }
+
+        @Override
+        public synchronized SeekableSource position(long position) throws IOException {
+            requireOpen();
+            this.position = Math.max(0, Math.min(position, size));
+            if (nonNull(delegate)) {
+                delegate.position(this.position);
+            }
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return readDelegate(source -> {
+                int read = source.read(dst);
+                position = source.position();
+                return read;
+            });
+        }
+
+        @Override
+        public int read() throws IOException {
+            return readDelegate(source -> {
+                int read = source.read();
+                if (read >= 0) {
+                    position++;
+                }
+                return read;
+            });
+        }
+
+        @Override
+        int read(long at, ByteBuffer dst) throws IOException {
+            return readDelegate(source -> {
+                try {
+                    source.position(at);
+                    return source.read(dst);
+                } finally {
+                    source.position(position);
+                }
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            release();
+            super.close();
+        }
+    }
+
+    /**
+     * A read performed on the file backed source
+     */
+    @FunctionalInterface
+    private interface Read<T> {
+        T from(SeekableSource source) throws IOException;
+    }
+}
@@ -20,8 +20,10 @@ package org.sejda.impl.sambox.component;
 
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 import static org.sejda.impl.sambox.util.FontUtils.getStandardType1Font;
+import static org.sejda.model.pdf.TextStampPattern.pageInvariantPrefix;
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.util.SortedSet;
 
 import org.apache.commons.io.IOUtils;
@@ -47,6 +49,7 @@ public class SetHeaderFooterWriter implements Closeable {
     private static final Logger LOG = LoggerFactory.getLogger(SetHeaderFooterWriter.class);
 
     private PDDocumentHandler documentHandler;
+    private PageStamper stamper;
     private PageTextWriter headerFooterWriter;
     private int totalPages;
 
@@ -56,7 +59,8 @@ public class SetHeaderFooterWriter implements Closeable {
      */
     public SetHeaderFooterWriter(PDDocumentHandler documentHandler) {
         this.documentHandler = documentHandler;
-        this.headerFooterWriter = new PageTextWriter(documentHandler.getUnderlyingPDDocument());
+        this.stamper = PageStamper.batching(documentHandler.getUnderlyingPDDocument());
+        this.headerFooterWriter = new PageTextWriter(stamper);
         this.totalPages = documentHandler.getNumberOfPages();
     }
 
@@ -82,15 +86,24 @@ public class SetHeaderFooterWriter implements Closeable {
                 batesSeq = parameters.getBatesSequence().next();
             }
 
-            String label = new TextStampPattern().withPage(labelPageNumber, totalPages).withBatesSequence(batesSeq)
-                    .withFileSequence(String.valueOf(currentFileCounter))
-                    .withFilename(filename)
-                    .build(parameters.getPattern());
+            TextStampPattern stampPattern = new TextStampPattern().withPage(labelPageNumber, totalPages)
+                    .withBatesSequence(batesSeq).withFileSequence(String.valueOf(currentFileCounter))
+                    .withFilename(filename);
+            String label = stampPattern.build(parameters.getPattern());
 
             try {
                 LOG.debug("Applying {} '{}' to document page {}", what, label, pageNumber);
-                headerFooterWriter.write(documentHandler.getPage(pageNumber), hAlign, vAlign, label, font, fontSize,
-                        parameters.getColor());
+                if (parameters.isSharedStamp()) {
+                    String prefix = stampPattern.build(pageInvariantPrefix(parameters.getPattern()));
+                    if (!label.startsWith(prefix)) {
+                        prefix = "";
+                    }
+                    headerFooterWriter.writeSharingPrefix(documentHandler.getPage(pageNumber), hAlign, vAlign,
+                            prefix, label.substring(prefix.length()), font, fontSize, parameters.getColor());
+                } else {
+                    headerFooterWriter.write(documentHandler.getPage(pageNumber), hAlign, vAlign, label, font,
+                            fontSize, parameters.getColor());
+                }
 
                 labelPageNumber++;
             } catch (PageNotFoundException ex) {
@@ -98,10 +111,16 @@ public class SetHeaderFooterWriter implements Closeable {
                 LOG.warn(warning, ex);
             }
         }
+        try {
+            stamper.close();
+        } catch (IOException e) {
+            throw new TaskIOException("An error occurred writing the header or footer of the pages.", e);
+        }
     }
 
     @Override
     public void close() {
+        IOUtils.closeQuietly(stamper);
         IOUtils.closeQuietly(documentHandler);
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sejda.model.input.FileIndexAndPage;
+
+/**
+ * Look ahead over the sequence of pages to be imported from a list of sources, telling, for each step, which sources
+ * are not going to be accessed anymore after that step and can be finalized and released.
+ * 
+ * @author Andrea Vacondio
+ */
+public class SourcesAccessPlan {
+
+    private final int[] firstAccess;
+    private final int[] lastAccess;
+    private final Map<Integer, List<Integer>> lastAccessedAt = new HashMap<>();
+
+    /**
+     * @param pages
+     *            the sequence of pages to import
+     * @param numberOfSources
+     *            number of sources the pages refer to, pages with a file index out of range are ignored
+     */
+    public SourcesAccessPlan(List<FileIndexAndPage> pages, int numberOfSources) {
+        requireNotNullArg(pages, "Pages cannot be null");
+        firstAccess = new int[numberOfSources];
+        lastAccess = new int[numberOfSources];
+        Arrays.fill(firstAccess, -1);
+        Arrays.fill(lastAccess, -1);
+        for (int step = 0; step < pages.size(); step++) {
+            int index = pages.get(step).getFileIndex();
+            if (index >= 0 && index < numberOfSources) {
+                if (firstAccess[index] < 0) {
+                    firstAccess[index] = step;
+                }
+                lastAccess[index] = step;
+            }
+        }
+        for (int i = 0; i < numberOfSources; i++) {
+            if (lastAccess[i] >= 0) {
+                lastAccessedAt.computeIfAbsent(lastAccess[i], k -> new ArrayList<>()).add(i);
+            }
+        }
+    }
+
+    /**
+     * @param step
+     * @return the indexes of the sources that are accessed for the last time at the given step
+     */
+    public List<Integer> lastAccessedAt(int step) {
+        return lastAccessedAt.getOrDefault(step, Collections.emptyList());
+    }
+
+    /**
+     * @return the indexes of the sources that are never accessed
+     */
+    public List<Integer> unused() {
+        List<Integer> unused = new ArrayList<>();
+        for (int i = 0; i < lastAccess.length; i++) {
+            if (lastAccess[i] < 0) {
+                unused.add(i);
+            }
+        }
+        return unused;
+    }
+
+    /**
+     * @return the max number of sources that are in use at the same time, where a source is in use from its first to
+     *         its last access
+     */
+    public int maxInUse() {
+        int[] delta = new int[lastAccessedAt.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 2];
+        for (int i = 0; i < firstAccess.length; i++) {
+            if (firstAccess[i] >= 0) {
+                delta[firstAccess[i]]++;
+                delta[lastAccess[i] + 1]--;
+            }
+        }
+        int max = 0;
+        int current = 0;
+        for (int value : delta) {
+            current += value;
+            max = Math.max(max, current);
+        }
+        return max;
+    }
+}
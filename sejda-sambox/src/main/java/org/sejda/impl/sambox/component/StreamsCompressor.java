@@ -0,0 +1,233 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.input.ExistingIndirectCOSObject;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component compressing, on a shared and bounded pool of worker threads, the streams of a document that have been
+ * created in memory and are not compressed yet. It's meant to be used right before writing the document with
+ * {@link org.sejda.sambox.output.WriteOption#COMPRESS_STREAMS}, so the writer finds the streams already deflated
+ * and it only has to copy them. Streams loaded from existing documents are not considered since reading them
+ * concurrently from the same source is not safe, streams with decode parameters are not considered since the writer
+ * doesn't compress them either. The compression level only applies to the streams compressed by this component, any
+ * other stream is compressed by the writer using the default level.
+ * <p>
+ * To find the candidates without loading the whole document, the objects graph is walked following only the objects
+ * already in memory, existing indirect objects are resolved only for the page tree nodes and the pages content
+ * streams, where components usually add new streams. In memory streams reachable only through other existing objects
+ * are left to the writer.
+ * </p>
+ * 
+ * @author Andrea Vacondio
+ */
+public class StreamsCompressor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamsCompressor.class);
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(POOL_SIZE, r -> {
+        Thread thread = new Thread(r, "streams-compressor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Set<COSName> RESOLVED_KEYS = new HashSet<>(Arrays.asList(COSName.KIDS, COSName.CONTENTS));
+
+    private final int level;
+    private final int threads;
+
+    /**
+     * @param level
+     *            deflate level (0-9), -1 for the default level
+     */
+    public StreamsCompressor(int level) {
+        this(level, POOL_SIZE);
+    }
+
+    /**
+     * @param level
+     *            deflate level (0-9), -1 for the default level
+     * @param threads
+     *            max number of worker threads used to compress the streams of a document, bounded by the size of the
+     *            shared pool
+     */
+    public StreamsCompressor(int level, int threads) {
+        requireArg(level >= Deflater.DEFAULT_COMPRESSION && level <= Deflater.BEST_COMPRESSION,
+                "Invalid compression level");
+        requireArg(threads > 0, "At least one worker thread is required");
+        this.level = level;
+        this.threads = Math.min(threads, POOL_SIZE);
+    }
+
+    /**
+     * Compresses the not compressed streams created in memory and reachable from the given document
+     * 
+     * @param document
+     * @return the number of compressed streams
+     * @throws IOException
+     */
+    public int apply(PDDocument document) throws IOException {
+        requireNotNullArg(document, "Document cannot be null");
+        List<COSStream> candidates = candidates(document);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        int workers = Math.min(threads, candidates.size());
+        LOG.debug("Compressing {} streams using {} threads", candidates.size(), workers);
+        List<Future<Integer>> results = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                List<COSStream> slice = slice(candidates, i, workers);
+                results.add(EXECUTOR.submit(() -> {
+                    int compressed = 0;
+                    for (COSStream stream : slice) {
+                        if (compress(stream)) {
+                            compressed++;
+                        }
+                    }
+                    return compressed;
+                }));
+            }
+            int compressed = 0;
+            for (Future<Integer> result : results) {
+                compressed += result.get();
+            }
+            return compressed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing streams", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to compress stream", e.getCause());
+        } finally {
+            results.forEach(r -> r.cancel(true));
+        }
+    }
+
+    private static List<COSStream> slice(List<COSStream> candidates, int index, int slices) {
+        List<COSStream> slice = new ArrayList<>();
+        for (int i = index; i < candidates.size(); i += slices) {
+            slice.add(candidates.get(i));
+        }
+        return slice;
+    }
+    private boolean compress(COSStream stream) throws IOException {
+        byte[] unfiltered;
+        try (InputStream in = stream.getUnfilteredStream()) {
+            unfiltered = IOUtils.toByteArray(in);
+        }
+        if (unfiltered.length == 0) {
+            return false;
+        }
+        ByteArrayOutputStream filtered = new ByteArrayOutputStream(unfiltered.length / 2);
+        Deflater deflater = new Deflater(level);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(filtered, deflater)) {
+            out.write(unfiltered);
+        } finally {
+            deflater.end();
+        }
+        if (filtered.size() >= unfiltered.length) {
+            // not worth it, we leave it to the writer
+            return false;
+        }
+        stream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+        try (OutputStream out = stream.createFilteredStream()) {
+            filtered.writeTo(out);
+        }
+        return true;
+    }
+
+    private static List<COSStream> candidates(PDDocument document) {
+        List<COSStream> candidates = new ArrayList<>();
+        Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<COSBase> queue = new ArrayDeque<>();
+        queue.add(document.getDocument().getTrailer().getCOSObject());
+        queue.add(document.getDocumentCatalog().getCOSObject());
+        queue.add(document.getPages().getCOSObject());
+        while (!queue.isEmpty()) {
+            COSBase current = queue.poll();
+            if (visited.add(current)) {
+                if (current instanceof COSStream && isCandidate((COSStream) current)) {
+                    candidates.add((COSStream) current);
+                }
+                if (current instanceof COSDictionary) {
+                    COSDictionary dictionary = (COSDictionary) current;
+                    for (COSName key : dictionary.keySet()) {
+                        enqueue(dictionary.getItem(key), RESOLVED_KEYS.contains(key), queue);
+                    }
+                }
+                if (current instanceof COSArray) {
+                    ((COSArray) current).forEach(v -> enqueue(v, false, queue));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static void enqueue(COSBase item, boolean resolve, Deque<COSBase> queue) {
+        if (item instanceof ExistingIndirectCOSObject && !resolve) {
+            return;
+        }
+        // broken references resolve to null
+        COSBase object = ofNullable(item).map(COSBase::getCOSObject).orElse(null);
+        if (resolve && object instanceof COSArray) {
+            // kids and contents arrays
+            ((COSArray) object).forEach(v -> enqueue(v, true, queue));
+        } else if (nonNull(object)) {
+            queue.add(object);
+        }
+    }
+
+    private static boolean isCandidate(COSStream stream) {
+        return !(stream instanceof ReadOnlyFilteredCOSStream) && stream.id() == null && stream.getFilters() == null
+                && !ofNullable(stream.getDictionaryObject(COSName.DECODE_PARMS, COSName.DP)).isPresent();
+    }
+}
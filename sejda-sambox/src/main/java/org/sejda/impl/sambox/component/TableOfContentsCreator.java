@@ -20,7 +20,6 @@ package org.sejda.impl.sambox.component;
 
 import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
-import static org.sejda.impl.sambox.util.FontUtils.fontOrFallback;
 import static org.sejda.util.RequireUtils.requireArg;
 import static org.sejda.util.RequireUtils.requireIOCondition;
 import static org.sejda.util.RequireUtils.requireNotBlank;
@@ -28,16 +27,23 @@ import static org.sejda.util.RequireUtils.requireNotNullArg;
 
 import java.awt.geom.AffineTransform;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.sejda.impl.sambox.util.FontUtils;
 import org.sejda.model.toc.ToCPolicy;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.PDPageContentStream;
-import org.sejda.sambox.pdmodel.PDPageTree;
 import org.sejda.sambox.pdmodel.common.PDRectangle;
 import org.sejda.sambox.pdmodel.font.PDFont;
 import org.sejda.sambox.pdmodel.font.PDType1Font;
@@ -62,6 +68,8 @@ public class TableOfContentsCreator {
     private static final String SEPARATOR = "  ";
 
     private final Deque<ToCItem> items = new LinkedList<>();
+    private final Map<PDFont, GlyphWidthsCache> metrics = new HashMap<>();
+    private final List<PDFont> fallbacks = new ArrayList<>();
     private PDDocument document;
     private ToCPolicy policy;
     private PDRectangle pageSize = null;
@@ -93,48 +101,61 @@ public class TableOfContentsCreator {
      */
     public void addToC() {
         try {
-            PDPageTree pagesTree = document.getPages();
-            ofNullable(generateToC()).filter(l -> !l.isEmpty()).ifPresent(t -> {
-                t.descendingIterator().forEachRemaining(p -> {
-                    if (pagesTree.getCount() > 0) {
-                        pagesTree.insertBefore(p, pagesTree.get(0));
-                    } else {
-                        pagesTree.add(p);
-                    }
-                });
-            });
+            ofNullable(generateToC()).filter(l -> !l.isEmpty()).ifPresent(this::prepend);
         } catch (IOException e) {
             LOG.error("An error occured while create the ToC. Skipping ToC creation.", e);
         }
     }
 
-    private LinkedList<PDPage> generateToC() throws IOException {
-        LinkedList<PDPage> pages = new LinkedList<>();
+    /**
+     * Splices all the given pages in front of the root kids of the pages tree at once, instead of inserting them one by
+     * one walking the tree every time
+     */
+    private void prepend(List<PDPage> toc) {
+        COSDictionary root = document.getPages().getCOSObject();
+        COSArray kids = ofNullable(root.getDictionaryObject(COSName.KIDS, COSArray.class)).orElseGet(() -> {
+            COSArray created = new COSArray();
+            root.setItem(COSName.KIDS, created);
+            return created;
+        });
+        List<COSBase> tocPages = new ArrayList<>(toc.size());
+        for (PDPage page : toc) {
+            page.getCOSObject().setItem(COSName.PARENT, root);
+            tocPages.add(page.getCOSObject());
+        }
+        kids.addAll(0, tocPages);
+        root.setInt(COSName.COUNT, root.getInt(COSName.COUNT, 0) + toc.size());
+    }
+
+    private List<PDPage> generateToC() throws IOException {
+        List<PDPage> pages = new ArrayList<>();
         if (shouldGenerateToC()) {
             PDFont font = PDType1Font.HELVETICA;
+            GlyphWidthsCache helvetica = metricsOf(PDType1Font.HELVETICA);
             int maxRows = (int) (pageSize().getHeight() - (MARGIN * 2)) / LINE_HEIGHT;
+            float separatorWidth = stringLength(helvetica, SEPARATOR);
+            float separatingLineEndingX = getSeparatingLineEndingX(separatorWidth, helvetica);
             while (!items.isEmpty()) {
                 int row = 0;
-                float separatorWidth = stringLength(font, SEPARATOR);
-                float separatingLineEndingX = getSeparatingLineEndingX(separatorWidth, font);
                 PDPage page = createPage(pages);
                 try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
                     while (!items.isEmpty() && row < maxRows) {
                         ToCItem i = items.poll();
                         if (nonNull(i)) {
                             row++;
-                            font = fontOrFallback(i.text, font, () -> FontUtils.findFontFor(document, i.text));
+                            font = fontFor(i.text, font);
                             requireIOCondition(nonNull(font), "Unable to find suitable font for " + i.text);
+                            GlyphWidthsCache metrics = metricsOf(font);
                             float y = pageSize().getHeight() - MARGIN - (row * LINE_HEIGHT);
                             stream.beginText();
                             stream.setFont(font, FONT_SIZE);
                             stream.setTextMatrix(new Matrix(AffineTransform.getTranslateInstance(MARGIN, y)));
-                            String itemText = sanitize(i.text, font, separatingLineEndingX, separatorWidth);
+                            String itemText = sanitize(i.text, metrics, separatingLineEndingX, separatorWidth);
                             stream.showText(itemText);
 
                             String pageString = SEPARATOR + Long.toString(i.page);
-                            stream.setTextMatrix(new Matrix(AffineTransform.getTranslateInstance(
-                                    getPageNumberX(separatorWidth, PDType1Font.HELVETICA, i), y)));
+                            stream.setTextMatrix(new Matrix(AffineTransform
+                                    .getTranslateInstance(getPageNumberX(separatorWidth, helvetica, i), y)));
                             stream.setFont(PDType1Font.HELVETICA, FONT_SIZE);
                             stream.showText(pageString);
                             stream.endText();
@@ -143,7 +164,7 @@ public class TableOfContentsCreator {
                             page.getAnnotations().add(i.annotation);
                             // we didn't sanitieze the text so it's shorter then the available space and needs a separator line
                             if (itemText.equals(i.text)) {
-                                stream.moveTo(MARGIN + separatorWidth + stringLength(font, i.text), y);
+                                stream.moveTo(MARGIN + separatorWidth + stringLength(metrics, i.text), y);
                                 stream.lineTo(separatingLineEndingX, y);
                                 stream.setLineWidth(0.5f);
                                 stream.stroke();
@@ -156,45 +177,60 @@ public class TableOfContentsCreator {
         return pages;
     }
 
-    private String sanitize(String text, PDFont font, float separatingLineEndingX, float separatorWidth)
-            throws IOException {
+    /**
+     * @return the current font if it can display the given text, otherwise one of the fallback fonts already loaded for
+     *         this ToC, otherwise a newly loaded fallback font or null if none is found
+     */
+    private PDFont fontFor(String text, PDFont current) {
+        if (metricsOf(current).canDisplay(text)) {
+            return current;
+        }
+        LOG.info("Text cannot be written with font {}, using fallback", current.getName());
+        for (PDFont fallback : fallbacks) {
+            if (metricsOf(fallback).canDisplay(text)) {
+                return fallback;
+            }
+        }
+        PDFont found = FontUtils.findFontFor(document, text);
+        if (nonNull(found)) {
+            fallbacks.add(found);
+        }
+        return found;
+    }
+
+    private GlyphWidthsCache metricsOf(PDFont font) {
+        return metrics.computeIfAbsent(font, GlyphWidthsCache::new);
+    }
+
+    private String sanitize(String text, GlyphWidthsCache metrics, float separatingLineEndingX,
+            float separatorWidth) {
         float maxLen = pageSize().getWidth() - MARGIN - (pageSize().getWidth() - separatingLineEndingX)
                 - separatorWidth;
-        if (stringLength(font, text) > maxLen) {
+        int length = metrics.fittingLength(text, maxLen / FONT_SCALE);
+        if (length < text.length()) {
             LOG.debug("Truncating ToC text to fit available space");
-            int currentLength = text.length() / 2;
-            while (stringLength(font, text.substring(0, currentLength)) > maxLen) {
-                currentLength /= 2;
-            }
-            int currentChunk = currentLength;
-            while (currentChunk > 1) {
-                currentChunk /= 2;
-                if (stringLength(font, text.substring(0, currentLength + currentChunk)) < maxLen) {
-                    currentLength += currentChunk;
-                }
-            }
-            return text.substring(0, currentLength);
+            return text.substring(0, length);
         }
         return text;
     }
 
-    private PDPage createPage(LinkedList<PDPage> pages) {
+    private PDPage createPage(List<PDPage> pages) {
         LOG.debug("Creating new ToC page");
         PDPage page = new PDPage(pageSize());
         pages.add(page);
         return page;
     }
 
-    private float getSeparatingLineEndingX(float separatorWidth, PDFont font) throws IOException {
-        return getPageNumberX(separatorWidth, font, items.peekLast());
+    private float getSeparatingLineEndingX(float separatorWidth, GlyphWidthsCache metrics) {
+        return getPageNumberX(separatorWidth, metrics, items.peekLast());
     }
 
-    private float getPageNumberX(float separatorWidth, PDFont font, ToCItem i) throws IOException {
-        return pageSize().getWidth() - MARGIN - separatorWidth - stringLength(font, Long.toString(i.page));
+    private float getPageNumberX(float separatorWidth, GlyphWidthsCache metrics, ToCItem i) {
+        return pageSize().getWidth() - MARGIN - separatorWidth - stringLength(metrics, Long.toString(i.page));
     }
 
-    private float stringLength(PDFont font, String text) throws IOException {
-        return font.getStringWidth(text) * FONT_SCALE;
+    private float stringLength(GlyphWidthsCache metrics, String text) {
+        return metrics.stringWidth(text) * FONT_SCALE;
     }
 
     public boolean hasToc() {
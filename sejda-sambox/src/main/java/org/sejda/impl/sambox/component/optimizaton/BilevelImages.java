@@ -0,0 +1,140 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.graphics.image.CCITTFactory;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * Utility methods to deal with bilevel (black and white) images during optimization. Bilevel images compress much
+ * better with CCITT G4 than with JPEG, which also introduces artifacts around the edges of text.
+ *
+ * @author Andrea Vacondio
+ */
+final class BilevelImages {
+
+    /**
+     * Samples in the [64, 191] range are considered mid tones
+     */
+    private static final int MIDTONES_LOW = 64;
+    private static final int MIDTONES_HIGH = 191;
+    /**
+     * Max fraction of mid tones samples a grayscale image can have to be considered near bilevel
+     */
+    private static final double MAX_MIDTONES_RATE = 0.01;
+
+    private BilevelImages() {
+        // hide
+    }
+
+    /**
+     * @param image
+     * @return true if the image dictionary describes a bilevel image (1 bit per component, an image mask or CCITT or
+     *         JBIG2 encoded)
+     */
+    static boolean isBilevel(COSStream image) {
+        return image.getBoolean(COSName.IMAGE_MASK, false) || image.getInt(COSName.BITS_PER_COMPONENT) == 1
+                || image.hasFilter(COSName.CCITTFAX_DECODE) || image.hasFilter(COSName.JBIG2_DECODE);
+    }
+
+    /**
+     * @param image
+     * @return true if the bilevel image can be re-encoded as CCITT G4. Images already CCITT or JBIG2 encoded, image
+     *         masks, images with masks and images with a color space other than DeviceGray are better kept as they
+     *         are.
+     */
+    static boolean canReencode(COSStream image) {
+        return !image.getBoolean(COSName.IMAGE_MASK, false) && !image.hasFilter(COSName.CCITTFAX_DECODE)
+                && !image.hasFilter(COSName.JBIG2_DECODE) && !image.containsKey(COSName.MASK)
+                && !image.containsKey(COSName.SMASK)
+                && COSName.DEVICEGRAY.equals(image.getDictionaryObject(COSName.COLORSPACE));
+    }
+
+    /**
+     * @param image
+     * @return true if the given decoded image samples are almost all close to black or white, like a scanned text
+     *         page
+     */
+    static boolean isNearBilevel(BufferedImage image) {
+        long maxMidtones = (long) (MAX_MIDTONES_RATE * image.getWidth() * image.getHeight());
+        long midtones = 0;
+        if (image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            Raster raster = image.getRaster();
+            int[] row = new int[image.getWidth()];
+            for (int y = 0; y < image.getHeight(); y++) {
+                raster.getSamples(0, y, image.getWidth(), 1, 0, row);
+                for (int sample : row) {
+                    if (isMidtone(sample) && ++midtones > maxMidtones) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        if (image.getColorModel().hasAlpha()) {
+            return false;
+        }
+        int[] row = new int[image.getWidth()];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, image.getWidth(), 1, row, 0, image.getWidth());
+            for (int rgb : row) {
+                int red = (rgb >> 16) & 0xFF;
+                int green = (rgb >> 8) & 0xFF;
+                int blue = rgb & 0xFF;
+                // colors and gray mid tones are not what we are looking for
+                if ((isMidtone(red) || isMidtone(green) || isMidtone(blue) || Math.abs(red - green) > MIDTONES_LOW
+                        || Math.abs(green - blue) > MIDTONES_LOW) && ++midtones > maxMidtones) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMidtone(int sample) {
+        return sample >= MIDTONES_LOW && sample <= MIDTONES_HIGH;
+    }
+
+    /**
+     * @param image
+     * @return the given image, converted to black and white if necessary, as a CCITT G4 encoded image
+     * @throws IOException
+     */
+    static PDImageXObject toCCITT(BufferedImage image) throws IOException {
+        BufferedImage bilevel = image;
+        if (image.getType() != BufferedImage.TYPE_BYTE_BINARY || image.getColorModel().getPixelSize() != 1) {
+            bilevel = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_BINARY);
+            Graphics2D graphics = bilevel.createGraphics();
+            try {
+                graphics.drawImage(image, 0, 0, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+        }
+        return CCITTFactory.createFromImage(bilevel);
+    }
+}
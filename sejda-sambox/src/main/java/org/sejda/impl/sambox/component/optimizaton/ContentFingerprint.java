@@ -0,0 +1,157 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static java.util.Objects.isNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.cos.COSString;
+
+/**
+ * SHA-256 fingerprint of the normalized content of a COS object, where dictionaries are digested with sorted keys and
+ * streams by their dictionary (excluding the length) and their encoded data. Every value is digested with its length so
+ * that adjacent values cannot be confused with each other. Two objects with the same fingerprint
+ * are equal in content, regardless of their identity or their position in the document.
+ *
+ * @author Andrea Vacondio
+ */
+final class ContentFingerprint {
+
+    private final byte[] value;
+    private final int hash;
+
+    private ContentFingerprint(byte[] value) {
+        this.value = value;
+        this.hash = Arrays.hashCode(value);
+    }
+
+    /**
+     * @param item
+     *            the object to fingerprint
+     * @param qualifiers
+     *            additional values that are digested after the content, used to tell apart equal objects that are
+     *            going to be processed differently
+     * @return the fingerprint of the given object
+     * @throws IOException
+     *             if the data of a stream cannot be read
+     */
+    static ContentFingerprint of(COSBase item, Object... qualifiers) throws IOException {
+        MessageDigest digest = newDigest();
+        digest(item, digest, Collections.newSetFromMap(new IdentityHashMap<>()));
+        for (Object qualifier : qualifiers) {
+            update(digest, String.valueOf(qualifier));
+        }
+        return new ContentFingerprint(digest.digest());
+    }
+
+    private static void digest(COSBase item, MessageDigest digest, Set<COSBase> stack) throws IOException {
+        COSBase resolved = isNull(item) ? null : item.getCOSObject();
+        if (isNull(resolved)) {
+            update(digest, "null");
+        } else if (resolved instanceof COSDictionary) {
+            if (!stack.add(resolved)) {
+                // cyclic reference, we don't go any further
+                update(digest, "cycle");
+                return;
+            }
+            COSDictionary dictionary = (COSDictionary) resolved;
+            update(digest, resolved instanceof COSStream ? "stream" : "dict");
+            List<COSName> keys = new ArrayList<>(dictionary.keySet());
+            Collections.sort(keys);
+            for (COSName key : keys) {
+                if (!(resolved instanceof COSStream && COSName.LENGTH.equals(key))) {
+                    update(digest, key.getName());
+                    digest(dictionary.getItem(key), digest, stack);
+                }
+            }
+            if (resolved instanceof COSStream) {
+                update(digest, "data");
+                // digested separately so the data is a fixed length value that cannot run into what follows
+                MessageDigest data = newDigest();
+                try (InputStream stream = ((COSStream) resolved).getFilteredStream()) {
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = stream.read(buffer)) != -1) {
+                        data.update(buffer, 0, read);
+                    }
+                }
+                digest.update(data.digest());
+            }
+            stack.remove(resolved);
+        } else if (resolved instanceof COSArray) {
+            COSArray array = (COSArray) resolved;
+            update(digest, "array" + array.size());
+            for (int i = 0; i < array.size(); i++) {
+                digest(array.get(i), digest, stack);
+            }
+        } else if (resolved instanceof COSString) {
+            update(digest, "string");
+            update(digest, ((COSString) resolved).getBytes());
+        } else {
+            update(digest, resolved.getClass().getSimpleName() + ":" + resolved.toString());
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        update(digest, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Digests the given bytes prefixed by their length, so that adjacent values cannot be shifted into each other
+     */
+    private static void update(MessageDigest digest, byte[] value) {
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value.length).array());
+        digest.update(value);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ContentFingerprint && Arrays.equals(value, ((ContentFingerprint) other).value);
+    }
+}
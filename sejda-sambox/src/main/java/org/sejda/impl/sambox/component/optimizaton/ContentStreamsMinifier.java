@@ -0,0 +1,310 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.sejda.util.RequireUtils.requireArg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.sejda.io.CountingWritableByteChannel;
+import org.sejda.sambox.contentstream.operator.Operator;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSFloat;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNumber;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.input.ContentStreamParser;
+import org.sejda.sambox.output.ContentStreamWriter;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component that parses the content stream of each page once and writes it back as a single stream where:
+ * <ul>
+ * <li>empty q/Q and BT/ET pairs, identity cm and paths ended by n without clipping are removed</li>
+ * <li>graphics and text state operators immediately overridden by the same operator are removed</li>
+ * <li>path construction and line width operands are rounded so that the error in default user space units is within
+ * the given number of decimal digits, taking into account the current transformation matrix</li>
+ * </ul>
+ * Pages sharing a content stream with other pages are left untouched since merging their content streams would
+ * duplicate the shared ones. Forms content streams are left untouched.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class ContentStreamsMinifier implements Consumer<PDDocument> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContentStreamsMinifier.class);
+
+    private static final int MAX_DIGITS = 10;
+    private static final Set<String> PATH_CONSTRUCTION = new HashSet<>(Arrays.asList("m", "l", "c", "v", "y", "h",
+            "re"));
+    private static final Set<String> ROUNDED = new HashSet<>(Arrays.asList("m", "l", "c", "v", "y", "re", "w"));
+    // operators completely overriding the effect of a previous occurrence
+    private static final Set<String> SETTERS = new HashSet<>(Arrays.asList("w", "J", "j", "M", "d", "ri", "i", "g",
+            "G", "rg", "RG", "k", "K", "cs", "CS", "Tc", "Tw", "Tz", "TL", "Ts", "Tr", "Tf"));
+
+    private final int precision;
+    private final boolean compress;
+
+    /**
+     * @param precision
+     *            number of decimal digits, in default user space units, path coordinates are rounded to
+     */
+    public ContentStreamsMinifier(int precision) {
+        this(precision, false);
+    }
+
+    /**
+     * @param precision
+     *            number of decimal digits, in default user space units, path coordinates are rounded to
+     * @param compress
+     *            if true the minified content streams are compressed right away using the best deflate level, since
+     *            they are rewritten anyway. If false they are left to the writer.
+     */
+    public ContentStreamsMinifier(int precision, boolean compress) {
+        requireArg(precision >= 0, "Precision cannot be negative");
+        this.precision = precision;
+        this.compress = compress;
+    }
+
+    @Override
+    public void accept(PDDocument document) {
+        LOG.debug("Minifying content streams");
+        Map<COSStream, Integer> usages = new IdentityHashMap<>();
+        for (PDPage page : document.getPages()) {
+            contents(page).forEach(s -> usages.merge(s, 1, Integer::sum));
+        }
+        for (PDPage page : document.getPages()) {
+            List<COSStream> contents = contents(page);
+            if (!contents.isEmpty() && contents.stream().allMatch(s -> usages.get(s) == 1)) {
+                try {
+                    minify(page, contents);
+                } catch (IOException e) {
+                    LOG.warn("Failed to minify page content stream, skipping and continuing with next.", e);
+                }
+            }
+        }
+    }
+
+    private static List<COSStream> contents(PDPage page) {
+        List<COSStream> streams = new ArrayList<>();
+        COSBase contents = page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+        if (contents instanceof COSStream) {
+            streams.add((COSStream) contents);
+        } else if (contents instanceof COSArray) {
+            for (COSBase item : (COSArray) contents) {
+                COSBase stream = item.getCOSObject();
+                if (stream instanceof COSStream) {
+                    streams.add((COSStream) stream);
+                }
+            }
+        }
+        return streams;
+    }
+
+    private void minify(PDPage page, List<COSStream> contents) throws IOException {
+        long length = 0;
+        for (COSStream stream : contents) {
+            length += stream.getUnfilteredLength();
+        }
+        List<Operation> operations;
+        try (ContentStreamParser parser = new ContentStreamParser(page)) {
+            operations = minify(parser.tokens());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ContentStreamWriter writer = new ContentStreamWriter(CountingWritableByteChannel.from(out))) {
+            for (Operation operation : operations) {
+                writer.writeOperator(operation.operands, operation.operator);
+            }
+        }
+        if (contents.size() > 1 || out.size() < length) {
+            COSStream minified = new COSStream();
+            if (compress) {
+                ByteArrayOutputStream deflated = new ByteArrayOutputStream(out.size() / 2);
+                Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+                try (DeflaterOutputStream stream = new DeflaterOutputStream(deflated, deflater)) {
+                    out.writeTo(stream);
+                } finally {
+                    deflater.end();
+                }
+                minified.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+                try (OutputStream stream = minified.createFilteredStream()) {
+                    deflated.writeTo(stream);
+                }
+            } else {
+                try (OutputStream stream = minified.createUnfilteredStream()) {
+                    out.writeTo(stream);
+                }
+            }
+            page.getCOSObject().setItem(COSName.CONTENTS, minified);
+            LOG.trace("Page content minified from {} bytes in {} streams to {} bytes", length, contents.size(),
+                    out.size());
+        }
+    }
+
+    private List<Operation> minify(List<Object> tokens) throws IOException {
+        List<Operation> operations = new ArrayList<>();
+        Deque<double[]> ctms = new ArrayDeque<>();
+        double[] ctm = { 1, 0, 0, 1, 0, 0 };
+        int pathStart = -1;
+        boolean clip = false;
+        List<COSBase> operands = new ArrayList<>();
+        for (Object token : tokens) {
+            if (token instanceof COSBase) {
+                operands.add((COSBase) token);
+                continue;
+            }
+            Operation operation = new Operation(operands, (Operator) token);
+            operands = new ArrayList<>();
+            String name = operation.name();
+            if (PATH_CONSTRUCTION.contains(name)) {
+                if (pathStart < 0) {
+                    pathStart = operations.size();
+                    clip = false;
+                }
+            } else if ("W".equals(name) || "W*".equals(name)) {
+                clip = true;
+            } else if ("n".equals(name) && pathStart >= 0 && !clip) {
+                // path discarded without clipping, nothing is painted
+                operations.subList(pathStart, operations.size()).clear();
+                pathStart = -1;
+                continue;
+            } else {
+                pathStart = -1;
+            }
+            if ("q".equals(name)) {
+                ctms.push(ctm);
+            } else if ("Q".equals(name)) {
+                if (!ctms.isEmpty()) {
+                    ctm = ctms.pop();
+                }
+                if (last(operations, "q")) {
+                    operations.remove(operations.size() - 1);
+                    continue;
+                }
+            } else if ("ET".equals(name) && last(operations, "BT")) {
+                operations.remove(operations.size() - 1);
+                continue;
+            } else if ("cm".equals(name)) {
+                double[] matrix = matrix(operation.operands);
+                if (matrix == null) {
+                    operations.add(operation);
+                    continue;
+                }
+                if (Arrays.equals(matrix, new double[] { 1, 0, 0, 1, 0, 0 })) {
+                    continue;
+                }
+                ctm = concatenate(matrix, ctm);
+            } else if (SETTERS.contains(name) && last(operations, name)) {
+                operations.remove(operations.size() - 1);
+            }
+            if (ROUNDED.contains(name)) {
+                round(operation, ctm);
+            }
+            operations.add(operation);
+        }
+        return operations;
+    }
+
+    private static boolean last(List<Operation> operations, String name) {
+        return !operations.isEmpty() && name.equals(operations.get(operations.size() - 1).name());
+    }
+
+    private void round(Operation operation, double[] ctm) throws IOException {
+        double scale = Math.max(Math.hypot(ctm[0], ctm[1]), Math.hypot(ctm[2], ctm[3]));
+        if (scale == 0 || Double.isNaN(scale) || Double.isInfinite(scale)) {
+            return;
+        }
+        // tolerance so that exact powers of ten don't cost a digit
+        int digits = (int) Math.ceil(precision + Math.log10(scale) - 1e-9);
+        if (digits < 0 || digits > MAX_DIGITS) {
+            return;
+        }
+        for (int i = 0; i < operation.operands.size(); i++) {
+            COSBase operand = operation.operands.get(i);
+            if (operand instanceof COSFloat) {
+                BigDecimal rounded = BigDecimal.valueOf(((COSFloat) operand).doubleValue())
+                        .setScale(digits, RoundingMode.HALF_UP).stripTrailingZeros();
+                if (rounded.scale() <= 0) {
+                    operation.operands.set(i, COSInteger.get(rounded.longValue()));
+                } else {
+                    operation.operands.set(i, new COSFloat(rounded.toPlainString()));
+                }
+            }
+        }
+    }
+
+    private static double[] matrix(List<COSBase> operands) {
+        if (operands.size() < 6) {
+            return null;
+        }
+        double[] matrix = new double[6];
+        for (int i = 0; i < 6; i++) {
+            if (!(operands.get(i) instanceof COSNumber)) {
+                return null;
+            }
+            matrix[i] = ((COSNumber) operands.get(i)).doubleValue();
+        }
+        return matrix;
+    }
+
+    /**
+     * @return m x ctm
+     */
+    private static double[] concatenate(double[] m, double[] ctm) {
+        return new double[] { m[0] * ctm[0] + m[1] * ctm[2], m[0] * ctm[1] + m[1] * ctm[3],
+                m[2] * ctm[0] + m[3] * ctm[2], m[2] * ctm[1] + m[3] * ctm[3], m[4] * ctm[0] + m[5] * ctm[2] + ctm[4],
+                m[4] * ctm[1] + m[5] * ctm[3] + ctm[5] };
+    }
+
+    private static class Operation {
+        private final List<COSBase> operands;
+        private final Operator operator;
+
+        Operation(List<COSBase> operands, Operator operator) {
+            this.operands = operands;
+            this.operator = operator;
+        }
+
+        String name() {
+            return operator.getName();
+        }
+    }
+}
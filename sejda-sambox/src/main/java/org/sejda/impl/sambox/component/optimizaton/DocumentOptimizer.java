@@ -44,8 +44,17 @@ public class DocumentOptimizer implements Consumer<PDDocument> {
     private Consumer<PDDocument> optimizer = (d) -> LOG.debug("Optimizing document");
 
     public DocumentOptimizer(Set<Optimization> optimizations) {
+        this(optimizations, new OptimizeParameters());
+    }
+
+    /**
+     * @param optimizations
+     * @param parameters
+     *            parameters used to configure the optimizers
+     */
+    public DocumentOptimizer(Set<Optimization> optimizations, OptimizeParameters parameters) {
         ofNullable(optimizations).orElse(emptySet()).forEach(o -> {
-            ofNullable(documentOptimizer(o)).ifPresent(toAdd -> optimizer = optimizer.andThen(toAdd));
+            ofNullable(documentOptimizer(o, parameters)).ifPresent(toAdd -> optimizer = optimizer.andThen(toAdd));
         });
     }
 
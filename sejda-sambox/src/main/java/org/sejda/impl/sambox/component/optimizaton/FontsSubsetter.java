@@ -0,0 +1,535 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.apache.fontbox.ttf.CmapSubtable;
+import org.apache.fontbox.ttf.OpenTypeFont;
+import org.apache.fontbox.ttf.TTFSubsetter;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.sejda.sambox.contentstream.PDContentStream;
+import org.sejda.sambox.contentstream.PDFStreamEngine;
+import org.sejda.sambox.contentstream.operator.DrawObject;
+import org.sejda.sambox.contentstream.operator.MissingOperandException;
+import org.sejda.sambox.contentstream.operator.Operator;
+import org.sejda.sambox.contentstream.operator.OperatorProcessor;
+import org.sejda.sambox.contentstream.operator.state.Restore;
+import org.sejda.sambox.contentstream.operator.state.Save;
+import org.sejda.sambox.contentstream.operator.state.SetGraphicsStateParameters;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNumber;
+import org.sejda.sambox.cos.COSObjectable;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.cos.COSString;
+import org.sejda.sambox.pdmodel.MissingResourceException;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDResources;
+import org.sejda.sambox.pdmodel.font.PDCIDFontType2;
+import org.sejda.sambox.pdmodel.font.PDFont;
+import org.sejda.sambox.pdmodel.font.PDFontFactory;
+import org.sejda.sambox.pdmodel.font.PDType0Font;
+import org.sejda.sambox.pdmodel.graphics.form.PDTransparencyGroup;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAppearanceStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component that subsets the TrueType programs embedded in composite fonts (Type0 fonts with a CIDFontType2 descendant)
+ * down to the glyphs the document actually shows. Pages, forms and annotations appearance streams are parsed first,
+ * collecting the shown glyphs for each font program, no matter how many fonts and pages share it. A program is then
+ * subset only if every content stream, resource dictionary and font dictionary of the document using it has been
+ * parsed and it's not part of the interactive form default resources, where it can be used to show any text. Content
+ * streams that are never parsed (alternate appearance states, tiling patterns, Type3 glyph procedures) make the
+ * programs in their resources unsafe even when they share the resource dictionary of a parsed one. If anything goes
+ * wrong parsing the content streams nothing is subset. CFF programs and simple fonts are left untouched.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class FontsSubsetter implements Consumer<PDDocument> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FontsSubsetter.class);
+
+    // tables needed by a CIDFontType2 program, glyphs are selected through the CIDToGIDMap so we don't need the cmap
+    private static final List<String> TABLES = Arrays.asList("head", "hhea", "loca", "maxp", "cvt ", "prep", "glyf",
+            "hmtx", "fpgm", "gasp");
+    private static final Pattern SUBSET_TAG = Pattern.compile("^[A-Z]{6}\\+");
+
+    @Override
+    public void accept(PDDocument document) {
+        LOG.debug("Subsetting fonts");
+        GlyphsCollector collector = new GlyphsCollector();
+        for (PDPage page : document.getPages()) {
+            collector.accept(page);
+        }
+        if (!collector.complete) {
+            LOG.warn("Unable to collect the glyphs shown by the document, fonts will not be subset");
+            return;
+        }
+        Map<COSStream, FontProgram> programs = collector.programs;
+        discardUnsafe(document, collector.parsedResources, collector.parsedStreams, programs);
+        for (FontProgram program : programs.values()) {
+            try {
+                program.subset();
+            } catch (IOException e) {
+                LOG.warn("Unable to subset font " + program.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Removes the programs that are used by the interactive form or by fonts, resource dictionaries and content streams
+     * that have not been parsed, the collected glyphs might not be enough for them
+     */
+    private static void discardUnsafe(PDDocument document, Set<COSDictionary> parsedResources,
+            Set<COSBase> parsedStreams, Map<COSStream, FontProgram> programs) {
+        ofNullable(document.getDocumentCatalog().getCOSObject().getDictionaryObject(COSName.ACRO_FORM,
+                COSDictionary.class)).map(f -> f.getDictionaryObject(COSName.DR, COSDictionary.class))
+                        .map(r -> r.getDictionaryObject(COSName.FONT, COSDictionary.class))
+                        .ifPresent(fonts -> fonts.getValues().forEach(f -> descendantFontFile(f)
+                                .ifPresent(file -> discard(programs, file, "used by the interactive form"))));
+        Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<COSBase> queue = new ArrayDeque<>();
+        queue.add(document.getDocument().getTrailer().getCOSObject());
+        while (!queue.isEmpty() && !programs.isEmpty()) {
+            COSBase current = queue.poll();
+            if (visited.add(current)) {
+                if (current instanceof COSDictionary) {
+                    COSDictionary dictionary = (COSDictionary) current;
+                    fontFile(dictionary).filter(programs::containsKey)
+                            .filter(file -> !programs.get(file).users.containsKey(dictionary))
+                            .ifPresent(file -> discard(programs, file, "used by a font that has not been parsed"));
+                    if (!parsedResources.contains(dictionary)) {
+                        discardFonts(programs, dictionary, "used by a resource dictionary that has not been parsed");
+                    }
+                    if (COSName.TYPE3.equals(dictionary.getCOSName(COSName.SUBTYPE))) {
+                        // glyph procedures are never parsed
+                        discardFonts(programs, dictionary.getDictionaryObject(COSName.RESOURCES, COSDictionary.class),
+                                "used by a Type3 font");
+                    } else if (isContentStream(dictionary) && !parsedStreams.contains(dictionary)) {
+                        discardFonts(programs, dictionary.getDictionaryObject(COSName.RESOURCES, COSDictionary.class),
+                                "used by a content stream that has not been parsed");
+                    }
+                    ofNullable(dictionary.getDictionaryObject(COSName.AP, COSDictionary.class))
+                            .ifPresent(appearance -> appearanceStreams(appearance).stream()
+                                    .filter(a -> !parsedStreams.contains(a))
+                                    .forEach(a -> discardFonts(programs,
+                                            a.getDictionaryObject(COSName.RESOURCES, COSDictionary.class),
+                                            "used by an appearance stream that has not been parsed")));
+                    dictionary.getValues().forEach(v -> enqueue(v, queue));
+                } else if (current instanceof COSArray) {
+                    ((COSArray) current).forEach(v -> enqueue(v, queue));
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the programs of the fonts in the given resource dictionary
+     */
+    private static void discardFonts(Map<COSStream, FontProgram> programs, COSDictionary resources, String reason) {
+        ofNullable(resources).map(r -> r.getDictionaryObject(COSName.FONT, COSDictionary.class))
+                .ifPresent(fonts -> fonts.getValues().forEach(
+                        f -> descendantFontFile(f).ifPresent(file -> discard(programs, file, reason))));
+    }
+
+    /**
+     * @return true if the given dictionary is a form XObject or a tiling pattern
+     */
+    private static boolean isContentStream(COSDictionary dictionary) {
+        return dictionary instanceof COSStream && (COSName.FORM.equals(dictionary.getCOSName(COSName.SUBTYPE))
+                || dictionary.getInt(COSName.PATTERN_TYPE) == 1);
+    }
+
+    /**
+     * @return the streams of every appearance state in the given appearance dictionary, they don't always have a
+     *         Subtype
+     */
+    private static List<COSStream> appearanceStreams(COSDictionary appearance) {
+        List<COSStream> streams = new ArrayList<>();
+        for (COSName type : Arrays.asList(COSName.N, COSName.D, COSName.R)) {
+            COSBase entry = appearance.getDictionaryObject(type);
+            if (entry instanceof COSStream) {
+                streams.add((COSStream) entry);
+            } else if (entry instanceof COSDictionary) {
+                for (COSName state : ((COSDictionary) entry).keySet()) {
+                    ofNullable(((COSDictionary) entry).getDictionaryObject(state, COSStream.class))
+                            .ifPresent(streams::add);
+                }
+            }
+        }
+        return streams;
+    }
+
+    private static void discard(Map<COSStream, FontProgram> programs, COSStream file, String reason) {
+        ofNullable(programs.remove(file))
+                .ifPresent(p -> LOG.debug("Font {} {}, it will not be subset", p.name(), reason));
+    }
+
+    private static void enqueue(COSBase item, Deque<COSBase> queue) {
+        // broken references resolve to null
+        ofNullable(item).map(COSBase::getCOSObject).ifPresent(queue::add);
+    }
+
+    /**
+     * @return the FontFile2 of the descriptor of the given font dictionary
+     */
+    private static Optional<COSStream> fontFile(COSDictionary font) {
+        return ofNullable(font.getDictionaryObject(COSName.FONT_DESC, COSDictionary.class))
+                .map(d -> d.getDictionaryObject(COSName.FONT_FILE2, COSStream.class));
+    }
+
+    /**
+     * @return the FontFile2 of the descendant font of the given Type0 font
+     */
+    private static Optional<COSStream> descendantFontFile(COSBase font) {
+        return ofNullable(font).map(COSBase::getCOSObject).filter(f -> f instanceof COSDictionary)
+                .map(f -> ((COSDictionary) f).getDictionaryObject(COSName.DESCENDANT_FONTS, COSArray.class))
+                .filter(d -> d.size() > 0).map(d -> d.getObject(0)).filter(d -> d instanceof COSDictionary)
+                .flatMap(d -> fontFile((COSDictionary) d));
+    }
+
+    private static String tag(Set<Integer> gids) {
+        long hash = (gids.hashCode() * 0x9E3779B9) & 0xFFFFFFFFL;
+        StringBuilder tag = new StringBuilder(7);
+        for (int i = 0; i < 6; i++) {
+            tag.append((char) ('A' + hash % 26));
+            hash /= 26;
+        }
+        return tag.append('+').toString();
+    }
+
+    private static void tagName(COSDictionary dictionary, COSName key, String tag) {
+        ofNullable(dictionary.getNameAsString(key)).map(n -> SUBSET_TAG.matcher(n).replaceFirst(""))
+                .ifPresent(n -> dictionary.setName(key, tag + n));
+    }
+
+    private static COSStream stream(byte[] data) throws IOException {
+        COSStream stream = new COSStream();
+        try (OutputStream out = stream.createUnfilteredStream()) {
+            out.write(data);
+        }
+        return stream;
+    }
+
+    /**
+     * An embedded TrueType program and the glyphs shown by each CIDFont using it
+     */
+    private static class FontProgram {
+        private final COSStream file;
+        private final TrueTypeFont font;
+        // for every CIDFont, the CIDs shown and the glyph they originally map to
+        private final Map<COSDictionary, SortedMap<Integer, Integer>> users = new IdentityHashMap<>();
+        private final Set<COSDictionary> type0s = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        FontProgram(COSStream file, TrueTypeFont font) {
+            this.file = file;
+            this.font = font;
+        }
+
+        void shown(PDType0Font type0, int code) throws IOException {
+            users.computeIfAbsent(type0.getDescendantFont().getCOSObject(), k -> new TreeMap<>())
+                    .put(type0.codeToCID(code), type0.codeToGID(code));
+        }
+
+        String name() {
+            return users.keySet().stream().map(d -> d.getNameAsString(COSName.BASE_FONT)).filter(n -> nonNull(n))
+                    .findFirst().orElse("");
+        }
+
+        void subset() throws IOException {
+            SortedSet<Integer> gids = new TreeSet<>();
+            users.values().forEach(cids -> gids.addAll(cids.values()));
+            CmapSubtable cmap = font.getUnicodeCmap();
+            if (isNull(cmap)) {
+                LOG.debug("Font {} has no unicode cmap, cannot subset it", name());
+                return;
+            }
+            TTFSubsetter subsetter = new TTFSubsetter(font, TABLES);
+            // the subsetter selects glyphs by unicode
+            for (int gid : gids) {
+                List<Integer> unicodes = cmap.getCharCodes(gid);
+                if (gid != 0 && (isNull(unicodes) || unicodes.isEmpty())) {
+                    LOG.debug("Glyph {} of font {} is not mapped to unicode, cannot subset it", gid, name());
+                    return;
+                }
+                if (gid != 0) {
+                    subsetter.add(unicodes.get(0));
+                }
+            }
+            Map<Integer, Integer> newGids = new HashMap<>();
+            subsetter.getGIDMap().forEach((newGid, oldGid) -> newGids.put(oldGid, newGid));
+            if (!newGids.keySet().containsAll(gids)) {
+                LOG.debug("Some of the glyphs of font {} would be lost subsetting it", name());
+                return;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            subsetter.writeToStream(out);
+            if (out.size() >= file.getUnfilteredLength()) {
+                LOG.debug("Subsetting font {} doesn't make it smaller", name());
+                return;
+            }
+            COSStream subset = stream(out.toByteArray());
+            subset.setInt(COSName.LENGTH1, out.size());
+            String tag = tag(gids);
+            Map<COSDictionary, SortedSet<Integer>> descriptors = new IdentityHashMap<>();
+            for (Map.Entry<COSDictionary, SortedMap<Integer, Integer>> user : users.entrySet()) {
+                COSDictionary cidFont = user.getKey();
+                cidFont.setItem(COSName.CID_TO_GID_MAP, cidToGidMap(user.getValue(), newGids));
+                tagName(cidFont, COSName.BASE_FONT, tag);
+                descriptors.computeIfAbsent(cidFont.getDictionaryObject(COSName.FONT_DESC, COSDictionary.class),
+                        k -> new TreeSet<>()).addAll(user.getValue().keySet());
+            }
+            for (Map.Entry<COSDictionary, SortedSet<Integer>> descriptor : descriptors.entrySet()) {
+                descriptor.getKey().setItem(COSName.FONT_FILE2, subset);
+                tagName(descriptor.getKey(), COSName.FONT_NAME, tag);
+                if (nonNull(descriptor.getKey().getItem(COSName.CID_SET))) {
+                    descriptor.getKey().setItem(COSName.CID_SET, cidSet(descriptor.getValue()));
+                }
+            }
+            type0s.forEach(t -> tagName(t, COSName.BASE_FONT, tag));
+            LOG.debug("Font {} subset to {} glyphs, from {} to {} bytes", name(), newGids.size(),
+                    file.getUnfilteredLength(), out.size());
+        }
+
+        private static COSStream cidToGidMap(SortedMap<Integer, Integer> cids, Map<Integer, Integer> newGids)
+                throws IOException {
+            byte[] map = new byte[(cids.lastKey() + 1) * 2];
+            cids.forEach((cid, gid) -> {
+                int newGid = newGids.get(gid);
+                map[cid * 2] = (byte) (newGid >> 8);
+                map[cid * 2 + 1] = (byte) newGid;
+            });
+            return stream(map);
+        }
+
+        private static COSStream cidSet(SortedSet<Integer> cids) throws IOException {
+            byte[] set = new byte[cids.last() / 8 + 1];
+            cids.forEach(cid -> set[cid / 8] |= 0x80 >> (cid % 8));
+            return stream(set);
+        }
+    }
+
+    /**
+     * Parses content streams collecting the glyphs shown for each embedded TrueType program of a composite font
+     */
+    private static class GlyphsCollector extends PDFStreamEngine implements Consumer<PDPage> {
+
+        private final Map<COSStream, FontProgram> programs = new IdentityHashMap<>();
+        private final Map<COSDictionary, Optional<FontProgram>> fontsPrograms = new IdentityHashMap<>();
+        private final Map<COSDictionary, PDFont> fonts = new IdentityHashMap<>();
+        private final Set<COSDictionary> parsedResources = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<COSBase> parsedStreams = Collections.newSetFromMap(new IdentityHashMap<>());
+        private boolean complete = true;
+
+        GlyphsCollector() {
+            addOperator(new Save());
+            addOperator(new Restore());
+            addOperator(new SetGraphicsStateParameters());
+            addOperator(new DrawObject());
+            addOperator(new SetFontOperator());
+            addOperator(new ShowTextOperator("Tj", 0));
+            addOperator(new ShowTextOperator("TJ", 0));
+            addOperator(new ShowTextOperator("'", 0));
+            addOperator(new ShowTextOperator("\"", 2));
+        }
+
+        @Override
+        public void accept(PDPage page) {
+            try {
+                this.processPage(page);
+                for (PDAnnotation annotation : page.getAnnotations()) {
+                    this.showAnnotation(annotation);
+                }
+            } catch (IOException e) {
+                complete = false;
+                LOG.warn("Failed parse page", e);
+            }
+        }
+
+        @Override
+        public void processStream(PDContentStream stream) throws IOException {
+            parsed(stream);
+            super.processStream(stream);
+        }
+
+        @Override
+        protected void processTransparencyGroup(PDTransparencyGroup group) throws IOException {
+            parsed(group);
+            super.processTransparencyGroup(group);
+        }
+
+        @Override
+        protected void processAnnotation(PDAnnotation annotation, PDAppearanceStream appearance) throws IOException {
+            parsed(appearance);
+            super.processAnnotation(annotation, appearance);
+        }
+
+        @Override
+        protected void operatorException(Operator operator, List<COSBase> operands, IOException e)
+                throws IOException {
+            // missing resources and operands show nothing, anything else and we might have missed some glyph
+            if (!(e instanceof MissingOperandException) && !(e instanceof MissingResourceException)) {
+                complete = false;
+            }
+            super.operatorException(operator, operands, e);
+        }
+
+        private void parsed(PDContentStream stream) {
+            ofNullable(stream).map(PDContentStream::getResources).map(PDResources::getCOSObject)
+                    .ifPresent(parsedResources::add);
+            ofNullable(stream).filter(s -> s instanceof COSObjectable).map(s -> ((COSObjectable) s).getCOSObject())
+                    .ifPresent(parsedStreams::add);
+        }
+
+        private Optional<FontProgram> program(PDFont font) {
+            if (isNull(font)) {
+                return Optional.empty();
+            }
+            return fontsPrograms.computeIfAbsent(font.getCOSObject(), k -> {
+                if (font instanceof PDType0Font
+                        && ((PDType0Font) font).getDescendantFont() instanceof PDCIDFontType2) {
+                    PDCIDFontType2 descendant = (PDCIDFontType2) ((PDType0Font) font).getDescendantFont();
+                    TrueTypeFont trueType = descendant.getTrueTypeFont();
+                    Optional<COSStream> file = fontFile(descendant.getCOSObject());
+                    if (file.isPresent() && descendant.isEmbedded() && !descendant.isDamaged()
+                            && nonNull(trueType)
+                            && !(trueType instanceof OpenTypeFont && ((OpenTypeFont) trueType).isPostScript())) {
+                        FontProgram program = programs.computeIfAbsent(file.get(),
+                                f -> new FontProgram(f, trueType));
+                        program.type0s.add(font.getCOSObject());
+                        return Optional.of(program);
+                    }
+                }
+                return Optional.empty();
+            });
+        }
+
+        private void show(byte[] string) throws IOException {
+            PDFont font = getGraphicsState().getTextState().getFont();
+            Optional<FontProgram> program = program(font);
+            if (program.isPresent()) {
+                InputStream in = new ByteArrayInputStream(string);
+                while (in.available() > 0) {
+                    program.get().shown((PDType0Font) font, font.readCode(in));
+                }
+            }
+        }
+
+        private class SetFontOperator extends OperatorProcessor {
+            @Override
+            public void process(Operator operator, List<COSBase> operands) throws IOException {
+                if (operands.size() < 2) {
+                    return;
+                }
+                if (operands.get(1) instanceof COSNumber) {
+                    getGraphicsState().getTextState().setFontSize(((COSNumber) operands.get(1)).floatValue());
+                }
+                PDFont font = null;
+                if (operands.get(0) instanceof COSName) {
+                    COSDictionary dictionary = ofNullable(getResources())
+                            .map(r -> r.getCOSObject().getDictionaryObject(COSName.FONT, COSDictionary.class))
+                            .map(d -> d.getDictionaryObject((COSName) operands.get(0), COSDictionary.class))
+                            .orElse(null);
+                    if (nonNull(dictionary)) {
+                        font = fonts.get(dictionary);
+                        if (isNull(font)) {
+                            try {
+                                font = PDFontFactory.createFont(dictionary);
+                                fonts.put(dictionary, font);
+                            } catch (IOException e) {
+                                // a font we cannot load is not a font we can subset
+                                LOG.debug("Unable to load font", e);
+                            }
+                        }
+                    }
+                }
+                getGraphicsState().getTextState().setFont(font);
+            }
+
+            @Override
+            public String getName() {
+                return "Tf";
+            }
+        }
+
+        private class ShowTextOperator extends OperatorProcessor {
+            private final String name;
+            private final int textIndex;
+
+            ShowTextOperator(String name, int textIndex) {
+                this.name = name;
+                this.textIndex = textIndex;
+            }
+
+            @Override
+            public void process(Operator operator, List<COSBase> operands) throws IOException {
+                if (operands.size() <= textIndex) {
+                    return;
+                }
+                COSBase text = operands.get(textIndex);
+                if (text instanceof COSString) {
+                    show(((COSString) text).getBytes());
+                } else if (text instanceof COSArray) {
+                    for (COSBase item : (COSArray) text) {
+                        if (item instanceof COSString) {
+                            show(((COSString) item).getBytes());
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        }
+    }
+}
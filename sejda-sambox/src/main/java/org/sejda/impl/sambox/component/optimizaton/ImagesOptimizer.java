@@ -19,6 +19,7 @@
 package org.sejda.impl.sambox.component.optimizaton;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 import static org.sejda.sambox.pdmodel.graphics.image.JPEGFactory.getColorSpaceFromAWT;
 import static org.sejda.sambox.pdmodel.graphics.image.JPEGFactory.readJpegFile;
@@ -26,13 +27,17 @@ import static org.sejda.sambox.pdmodel.graphics.image.JPEGFactory.readJpegFile;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
 
+import org.apache.commons.io.IOUtils;
 import org.sejda.core.writer.model.ImageOptimizer;
 import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
 import org.sejda.model.optimization.Optimization;
@@ -50,6 +55,7 @@ import org.sejda.sambox.contentstream.operator.state.SetMatrix;
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSObjectKey;
 import org.sejda.sambox.cos.COSStream;
 import org.sejda.sambox.cos.IndirectCOSObjectIdentifier;
 import org.sejda.sambox.encryption.MessageDigests;
@@ -65,7 +71,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Component that parses the page content stream and its annotations appearance stream and performs some optimization, depending on the input {@link OptimizeParameters}. It tries
- * to identify equal image xobjects and reuse them.
+ * to identify equal image xobjects and reuse them. Images with the same content, stored as different objects, are
+ * optimized once and the result is reused for the following ones without decoding them again.
  * 
  * @author Andrea Vacondio
  *
@@ -73,13 +80,41 @@ import org.slf4j.LoggerFactory;
 class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
 
     private static final Logger LOG = LoggerFactory.getLogger(ImagesOptimizer.class);
-
-    private Map<String, ReadOnlyFilteredCOSStream> optimizedByHash = new HashMap<>();
+    /**
+     * Max number of source images whose optimization result is remembered. The cache is bounded by count and not by
+     * bytes since an entry is a fixed size fingerprint and a reference to a stream that is already retained by
+     * {@link #optimizedByHash} or by the document, it never holds decoded images.
+     */
+    static final int MAX_CACHED_SOURCES = 1024;
+
+    private Map<String, ReadOnlyFilteredCOSStream> optimizedByHash;
     private Map<IndirectCOSObjectIdentifier, ReadOnlyFilteredCOSStream> optimizedById = new HashMap<>();
+    // source image fingerprint to optimization result, empty if the image couldn't be compressed
+    private Map<ContentFingerprint, Optional<ReadOnlyFilteredCOSStream>> optimizedBySource;
+    private int sourceCacheHits = 0;
+    private int sourceCacheMisses = 0;
     private OptimizeParameters parameters;
+    // where images are claimed and their results stored when working on a copy of the document
+    private OptimizedImages claims;
+    // results already computed by the workers on copies of the document
+    private OptimizedImages precomputed;
 
     ImagesOptimizer(OptimizeParameters parameters) {
+        this(parameters, null, null);
+    }
+
+    private ImagesOptimizer(OptimizeParameters parameters, OptimizedImages claims, OptimizedImages precomputed) {
         this.parameters = parameters;
+        this.claims = claims;
+        this.precomputed = precomputed;
+        OptimizedImages shared = ofNullable(claims).orElse(precomputed);
+        if (nonNull(shared)) {
+            this.optimizedByHash = shared.optimizedByHash();
+            this.optimizedBySource = shared.optimizedBySource();
+        } else {
+            this.optimizedByHash = new HashMap<>();
+            this.optimizedBySource = sourcesCache();
+        }
         addOperator(new Concatenate());
         addOperator(new DrawObject());
         addOperator(new SetGraphicsStateParameters());
@@ -89,6 +124,27 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
         addOperator(new XObjectOperator());
     }
 
+    /**
+     * @param parameters
+     * @param claims
+     *            registry shared by the workers optimizing different pages of copies of the same document
+     * @return an optimizer that optimizes only the images it's the first to claim and stores the results in the given
+     *         registry
+     */
+    static ImagesOptimizer worker(OptimizeParameters parameters, OptimizedImages claims) {
+        return new ImagesOptimizer(parameters, claims, null);
+    }
+
+    /**
+     * @param parameters
+     * @param precomputed
+     *            results computed by workers on copies of the document
+     * @return an optimizer that uses the given results for the images that have already been processed
+     */
+    static ImagesOptimizer withResults(OptimizeParameters parameters, OptimizedImages precomputed) {
+        return new ImagesOptimizer(parameters, null, precomputed);
+    }
+
     private class XObjectOperator extends OperatorProcessor {
         @Override
         public void process(Operator operator, List<COSBase> operands) throws IOException {
@@ -100,7 +156,7 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
 
                 COSName objectName = (COSName) operand;
                 COSBase existing = ofNullable(
-                        context.getResources().getCOSObject().getDictionaryObject(COSName.XOBJECT, COSDictionary.class))
+                        getContext().getResources().getCOSObject().getDictionaryObject(COSName.XOBJECT, COSDictionary.class))
                                 .map(d -> d.getDictionaryObject(objectName)).orElseThrow(
                                         () -> new MissingResourceException("Missing XObject: " + objectName.getName()));
 
@@ -114,15 +170,16 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
                         removeAlternatesIfNeeded(stream);
 
                         if (parameters.getOptimizations().contains(Optimization.COMPRESS_IMAGES)) {
-                            boolean jbig2Image = stream.hasFilter(COSName.JBIG2_DECODE);
-                            if(jbig2Image) {
-                                LOG.debug("Skipping JBIG2 encoded image");
+                            boolean bilevel = BilevelImages.isBilevel(stream);
+                            boolean keep = bilevel && !BilevelImages.canReencode(stream);
+                            if (keep) {
+                                LOG.debug("Keeping bilevel image as it is");
                             }
 
-                            if (unfilteredSize > parameters.getImageMinBytesSize() && !jbig2Image) {
+                            if (unfilteredSize > parameters.getImageMinBytesSize() && !keep) {
                                 long start = System.currentTimeMillis();
                                 PDXObject xobject = PDXObject.createXObject(stream.getCOSObject(),
-                                        context.getResources());
+                                        getContext().getResources());
                                 long elapsed = System.currentTimeMillis() - start;
                                 if(elapsed > 500) LOG.debug("Loading PDXObject took " + elapsed + "ms");
 
@@ -138,11 +195,11 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
                                 LOG.debug("Found image {}x{} (displayed as {}x{}, scaled as {}x{}) with size {}",
                                         image.getHeight(), image.getWidth(), displayHeight, displayWidth, imageYScale, imageXScale, unfilteredSize);
 
-                                optimize(objectName, image, stream.id(), displayWidth, displayHeight);
+                                optimize(objectName, image, stream.id(), bilevel, displayWidth, displayHeight);
                             }
                         }
                     } else if (COSName.FORM.getName().equals(subtype)) {
-                        PDXObject xobject = PDXObject.createXObject(existing.getCOSObject(), context.getResources());
+                        PDXObject xobject = PDXObject.createXObject(existing.getCOSObject(), getContext().getResources());
                         removeMetadataIfNeeded(xobject.getCOSObject());
                         removePieceInfoIfNeeded(xobject.getCOSObject());
                         showForm((PDFormXObject) xobject);
@@ -151,15 +208,69 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
             }
         }
 
-        private void optimize(COSName objectName, PDImageXObject image, IndirectCOSObjectIdentifier id, int displayWidth, int displayHeight) {
+        private void optimize(COSName objectName, PDImageXObject image, IndirectCOSObjectIdentifier id, boolean bilevel,
+                int displayWidth, int displayHeight) {
             try {
-                LOG.debug("Optimizing image {} {} with dimensions {}x{}", objectName.getName(), id.toString(), image.getImage().getWidth(), image.getImage().getHeight());
+                LOG.debug("Optimizing image {} {} with dimensions {}x{}", objectName.getName(), id.toString(), image.getWidth(), image.getHeight());
                 ReadOnlyFilteredCOSStream optimizedImage = optimizedById.get(id);
+                COSObjectKey key = ofNullable(id).map(i -> i.objectIdentifier).orElse(null);
+                if (optimizedImage == null && nonNull(key)) {
+                    if (nonNull(precomputed)) {
+                        Optional<ReadOnlyFilteredCOSStream> result = precomputed.get(key);
+                        if (nonNull(result)) {
+                            if (result.isPresent()) {
+                                optimizedImage = result.get();
+                                optimizedById.put(id, optimizedImage);
+                            } else {
+                                optimizedImage = ReadOnlyFilteredCOSStream.readOnly(image.getCOSObject());
+                            }
+                        }
+                    } else if (nonNull(claims) && !claims.claim(key)) {
+                        LOG.debug("Image {} is optimized by another worker", id);
+                        return;
+                    }
+                }
+                ContentFingerprint fingerprint = null;
+                if (optimizedImage == null) {
+                    fingerprint = ContentFingerprint.of(image.getCOSObject(), parameters.getImageQuality(),
+                            parameters.getImageDpi(), displayWidth, displayHeight);
+                    Optional<ReadOnlyFilteredCOSStream> cached = optimizedBySource.get(fingerprint);
+                    if (cached != null) {
+                        sourceCacheHits++;
+                        LOG.debug("Reusing optimization result of an identical image ({} hits, {} misses)",
+                                sourceCacheHits, sourceCacheMisses);
+                        if (cached.isPresent()) {
+                            optimizedImage = cached.get();
+                            optimizedById.put(id, optimizedImage);
+                        } else {
+                            // identical to an image that couldn't be compressed
+                            optimizedImage = ReadOnlyFilteredCOSStream.readOnly(image.getCOSObject());
+                        }
+                    } else {
+                        sourceCacheMisses++;
+                    }
+                }
 
                 if(optimizedImage == null) {
+                    if (nonNull(claims)) {
+                        claims.encoding();
+                    }
                     long start = System.currentTimeMillis();
-                    File tmpImageFile = ImageOptimizer.optimize(image.getImage(), parameters.getImageQuality(),
-                            parameters.getImageDpi(), displayWidth, displayHeight);
+                    File tmpImageFile = null;
+                    PDImageXObject ccittImage = null;
+                    if (bilevel) {
+                        // bilevel images are kept at their resolution, G4 compresses them well regardless
+                        ccittImage = BilevelImages.toCCITT(image.getImage());
+                    } else {
+                        BufferedImage decoded = SubsampledImageReader.read(image, displayWidth, displayHeight);
+                        if (BilevelImages.isNearBilevel(decoded)) {
+                            LOG.debug("Found near bilevel image");
+                            ccittImage = BilevelImages.toCCITT(decoded);
+                        } else {
+                            tmpImageFile = ImageOptimizer.optimize(decoded, parameters.getImageQuality(),
+                                    parameters.getImageDpi(), displayWidth, displayHeight);
+                        }
+                    }
 
                     long elapsed = System.currentTimeMillis() - start;
                     if(elapsed > 500) LOG.debug("Optimizing image took " + elapsed + "ms");
@@ -167,30 +278,51 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
                     // we wrap the existing so we can identify it later as "in use" and already processed
                     optimizedImage = ReadOnlyFilteredCOSStream.readOnly(image.getCOSObject());
 
-                    double sizeRate = tmpImageFile.length() * 100.0 / image.getCOSObject().getFilteredLength();
+                    long compressedLength = nonNull(ccittImage) ? ccittImage.getCOSObject().getFilteredLength()
+                            : tmpImageFile.length();
+                    double sizeRate = compressedLength * 100.0 / image.getCOSObject().getFilteredLength();
                     // can be compressed
                     if (sizeRate < 100) {
-                        String hash = Base64.getEncoder()
-                                .encodeToString(MessageDigests.md5().digest(Files.readAllBytes(tmpImageFile.toPath())));
+                        byte[] compressed;
+                        if (nonNull(ccittImage)) {
+                            try (InputStream data = ccittImage.getCOSObject().getFilteredStream()) {
+                                compressed = IOUtils.toByteArray(data);
+                            }
+                        } else {
+                            compressed = Files.readAllBytes(tmpImageFile.toPath());
+                        }
+                        String hash = Base64.getEncoder().encodeToString(MessageDigests.md5().digest(compressed));
                         optimizedImage = optimizedByHash.get(hash);
                         // is it the same as something we already compressed?
                         if (isNull(optimizedImage)) {
                             LOG.debug(String.format("Compressed image to %.2f%% of original size", sizeRate));
-                            optimizedImage = createFromJpegFile(tmpImageFile);
-                            optimizedByHash.put(hash, optimizedImage);
+                            if (nonNull(ccittImage)) {
+                                optimizedImage = ReadOnlyFilteredCOSStream.readOnly(ccittImage.getCOSObject());
+                            } else {
+                                optimizedImage = createFromJpegFile(tmpImageFile);
+                            }
+                            // another worker might have stored the same result in the meantime, we keep the first
+                            optimizedImage = ofNullable(optimizedByHash.putIfAbsent(hash, optimizedImage))
+                                    .orElse(optimizedImage);
                             optimizedById.put(id, optimizedImage);
                         } else {
                             LOG.debug("Reusing previously optimized image");
+                            optimizedById.put(id, optimizedImage);
                         }
+                        optimizedBySource.put(fingerprint, Optional.of(optimizedImage));
                     } else {
                         LOG.debug(String.format("Skipping already compressed image, result is %.2f%% of original size",
                                 sizeRate));
+                        optimizedBySource.put(fingerprint, Optional.empty());
                     }
                 } else {
                     LOG.debug(String.format("Skipping already compressed image with id %s", id));
                 }
+                if (nonNull(claims) && nonNull(key) && optimizedById.containsKey(id)) {
+                    claims.optimized(key, optimizedById.get(id));
+                }
 
-                COSDictionary resources = context.getResources().getCOSObject();
+                COSDictionary resources = getContext().getResources().getCOSObject();
                 COSDictionary xobjects = ofNullable(resources.getDictionaryObject(COSName.XOBJECT))
                         .filter(b -> b instanceof COSDictionary).map(b -> (COSDictionary) b).orElseGet(() -> {
                             COSDictionary ret = new COSDictionary();
@@ -245,6 +377,35 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
         }
     }
 
+    /**
+     * @return the number of images whose optimization result has been found in the cache of the already optimized ones
+     */
+    int sourceCacheHits() {
+        return sourceCacheHits;
+    }
+
+    /**
+     * @return the number of images that had to be decoded and optimized because no identical image was found in the
+     *         cache of the already optimized ones
+     */
+    int sourceCacheMisses() {
+        return sourceCacheMisses;
+    }
+
+    /**
+     * @return a new cache of the optimization results by source image fingerprint, holding at most
+     *         {@link #MAX_CACHED_SOURCES} entries and evicting the least recently used ones
+     */
+    static Map<ContentFingerprint, Optional<ReadOnlyFilteredCOSStream>> sourcesCache() {
+        return new LinkedHashMap<ContentFingerprint, Optional<ReadOnlyFilteredCOSStream>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<ContentFingerprint, Optional<ReadOnlyFilteredCOSStream>> eldest) {
+                return size() > MAX_CACHED_SOURCES;
+            }
+        };
+    }
+
     public static ReadOnlyFilteredCOSStream createFromJpegFile(File file) throws IOException {
         // read image
         BufferedImage awtImage = readJpegFile(file);
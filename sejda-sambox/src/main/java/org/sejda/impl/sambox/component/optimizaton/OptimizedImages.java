@@ -0,0 +1,107 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static java.util.Collections.synchronizedMap;
+import static java.util.Objects.isNull;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
+import org.sejda.sambox.cos.COSObjectKey;
+
+/**
+ * Thread safe registry of the images optimized by workers processing different pages of copies of the same document.
+ * Images are identified by their object key, which is the same in every copy, and each image is claimed by the first
+ * worker finding it so it's optimized only once. It also holds the results by content, shared by the workers, so that
+ * identical images stored as different objects in different page ranges are optimized and written once.
+ *
+ * @author Andrea Vacondio
+ */
+final class OptimizedImages {
+
+    private final ConcurrentMap<COSObjectKey, Optional<ReadOnlyFilteredCOSStream>> results = new ConcurrentHashMap<>();
+    private final Map<String, ReadOnlyFilteredCOSStream> optimizedByHash = new ConcurrentHashMap<>();
+    private final Map<ContentFingerprint, Optional<ReadOnlyFilteredCOSStream>> optimizedBySource = synchronizedMap(
+            ImagesOptimizer.sourcesCache());
+    private final AtomicInteger encodings = new AtomicInteger();
+
+    /**
+     * @param key
+     * @return true if the caller is the first one claiming the image and it's in charge of optimizing it
+     */
+    boolean claim(COSObjectKey key) {
+        return isNull(results.putIfAbsent(key, Optional.empty()));
+    }
+
+    /**
+     * Stores the optimized version of the image with the given key
+     */
+    void optimized(COSObjectKey key, ReadOnlyFilteredCOSStream optimized) {
+        results.put(key, Optional.of(optimized));
+    }
+
+    /**
+     * @param key
+     * @return the optimized version of the image with the given key, an empty optional if the image has been processed
+     *         but it couldn't be optimized, null if the image has not been processed.
+     */
+    Optional<ReadOnlyFilteredCOSStream> get(COSObjectKey key) {
+        return results.get(key);
+    }
+
+    /**
+     * @return the number of processed images
+     */
+    int size() {
+        return results.size();
+    }
+
+    /**
+     * @return thread safe map of the optimized images by hash of their compressed data
+     */
+    Map<String, ReadOnlyFilteredCOSStream> optimizedByHash() {
+        return optimizedByHash;
+    }
+
+    /**
+     * @return thread safe cache of the optimization results by source image fingerprint
+     */
+    Map<ContentFingerprint, Optional<ReadOnlyFilteredCOSStream>> optimizedBySource() {
+        return optimizedBySource;
+    }
+
+    /**
+     * Records that an image is being decoded and encoded again
+     */
+    void encoding() {
+        encodings.incrementAndGet();
+    }
+
+    /**
+     * @return the number of images that have been decoded and encoded again
+     */
+    int encodings() {
+        return encodings.get();
+    }
+}
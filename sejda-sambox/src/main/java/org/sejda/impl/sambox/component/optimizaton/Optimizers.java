@@ -19,6 +19,7 @@
 package org.sejda.impl.sambox.component.optimizaton;
 
 import java.util.function.Consumer;
+import java.util.zip.Deflater;
 
 import org.sejda.model.optimization.Optimization;
 import org.sejda.model.parameter.OptimizeParameters;
@@ -41,9 +42,10 @@ final class Optimizers {
      * Factory method to create a document optimizer based on the given optimization
      * 
      * @param optimization
+     * @param parameters
      * @return the optimizer or null if there is no document level optimization for the given {@link Optimization}
      */
-    static Consumer<PDDocument> documentOptimizer(Optimization optimization) {
+    static Consumer<PDDocument> documentOptimizer(Optimization optimization, OptimizeParameters parameters) {
         switch (optimization) {
         case DISCARD_METADATA:
             return (d) -> d.getDocumentCatalog().getCOSObject().removeItem(COSName.METADATA);
@@ -60,6 +62,12 @@ final class Optimizers {
         case DISCARD_UNUSED_IMAGES:
         case DISCARD_UNUSED_RESOURCES:
             return new ResourceDictionaryCleaner();
+        case SUBSET_FONTS:
+            return new FontsSubsetter();
+        case MINIFY_CONTENT_STREAMS:
+            // unless a level is requested, the rewritten content streams are compressed as much as possible
+            return new ContentStreamsMinifier(parameters.getContentStreamsPrecision(), parameters.isCompress()
+                    && parameters.getCompressionLevel() == Deflater.DEFAULT_COMPRESSION);
         default:
             return null;
         }
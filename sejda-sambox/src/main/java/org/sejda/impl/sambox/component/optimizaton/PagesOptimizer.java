@@ -46,13 +46,24 @@ public class PagesOptimizer implements Consumer<PDPage> {
     private Consumer<PDPage> optimizer = (p) -> LOG.trace("Optimizing page");
 
     public PagesOptimizer(OptimizeParameters parameters) {
+        this(parameters, null);
+    }
+
+    /**
+     * @param parameters
+     * @param precomputed
+     *            images already optimized by workers on copies of the document, null if none
+     */
+    PagesOptimizer(OptimizeParameters parameters, OptimizedImages precomputed) {
         Set<Optimization> optimizations = ofNullable(parameters).map(OptimizeParameters::getOptimizations)
                 .orElse(emptySet());
         optimizations.forEach(o -> {
             ofNullable(pageOptimizer(o, parameters)).ifPresent(toAdd -> optimizer = optimizer.andThen(toAdd));
         });
         if (optimizations.stream().anyMatch(ImagesOptimizer::canOptimizeFor)) {
-            optimizer = optimizer.andThen(new ImagesOptimizer(parameters));
+            optimizer = optimizer.andThen(ofNullable(precomputed)
+                    .map(results -> ImagesOptimizer.withResults(parameters, results))
+                    .orElseGet(() -> new ImagesOptimizer(parameters)));
         }
         // we want to be sure this is not performed before images optimization
         if (optimizations.contains(DISCARD_UNUSED_RESOURCES) || optimizations.contains(DISCARD_UNUSED_IMAGES)) {
@@ -0,0 +1,158 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component that looks for fonts, images, ICC profiles and form XObjects with identical content used by the pages of a
+ * document and makes the resource dictionaries point to a single instance of them, so that they are written only once.
+ * This is useful when documents containing the same resources (Ex. the same embedded fonts or logos) are merged
+ * together. Resources are compared by a SHA-256 fingerprint of their normalized content, where dictionaries are
+ * digested with sorted keys and streams by their dictionary (excluding the length) and their encoded data.
+ *
+ * @author Andrea Vacondio
+ */
+public class ResourcesDeduplicator implements Consumer<PDDocument> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResourcesDeduplicator.class);
+
+    private final Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<COSBase, ContentFingerprint> fingerprints = new IdentityHashMap<>();
+    private final Map<ContentFingerprint, COSBase> canonicals = new HashMap<>();
+    private int replaced = 0;
+
+    @Override
+    public void accept(PDDocument document) {
+        requireNotNullArg(document, "Document cannot be null");
+        for (PDPage page : document.getPages()) {
+            deduplicateResources(page.getCOSObject().getDictionaryObject(COSName.RESOURCES, COSDictionary.class));
+        }
+        LOG.debug("Replaced {} duplicated resources", replaced);
+    }
+
+    /**
+     * @return the number of resources that have been replaced by an identical one
+     */
+    public int replaced() {
+        return replaced;
+    }
+
+    private void deduplicateResources(COSDictionary resources) {
+        if (nonNull(resources) && visited.add(resources)) {
+            COSDictionary colorSpaces = resources.getDictionaryObject(COSName.COLORSPACE, COSDictionary.class);
+            if (nonNull(colorSpaces)) {
+                for (COSName name : new ArrayList<>(colorSpaces.keySet())) {
+                    deduplicateICCProfile(colorSpaces.getDictionaryObject(name));
+                }
+            }
+            COSDictionary xobjects = resources.getDictionaryObject(COSName.XOBJECT, COSDictionary.class);
+            if (nonNull(xobjects)) {
+                for (COSName name : new ArrayList<>(xobjects.keySet())) {
+                    COSBase xobject = xobjects.getDictionaryObject(name);
+                    if (xobject instanceof COSStream) {
+                        COSStream stream = (COSStream) xobject;
+                        if (COSName.FORM.equals(stream.getCOSName(COSName.SUBTYPE))) {
+                            deduplicateResources(stream.getDictionaryObject(COSName.RESOURCES, COSDictionary.class));
+                        } else {
+                            deduplicateICCProfile(stream.getDictionaryObject(COSName.COLORSPACE));
+                        }
+                    }
+                }
+                deduplicateValues(xobjects);
+            }
+            deduplicateValues(resources.getDictionaryObject(COSName.FONT, COSDictionary.class));
+        }
+    }
+
+    private void deduplicateICCProfile(COSBase colorSpace) {
+        if (colorSpace instanceof COSArray) {
+            COSArray array = (COSArray) colorSpace;
+            if (array.size() > 1 && COSName.ICCBASED.equals(array.getObject(0))) {
+                COSBase canonical = canonical(array.get(1));
+                if (nonNull(canonical)) {
+                    array.set(1, canonical);
+                }
+            }
+        }
+    }
+
+    private void deduplicateValues(COSDictionary dictionary) {
+        if (nonNull(dictionary)) {
+            for (COSName name : new ArrayList<>(dictionary.keySet())) {
+                COSBase canonical = canonical(dictionary.getItem(name));
+                if (nonNull(canonical)) {
+                    dictionary.setItem(name, canonical);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param item
+     * @return the item to use in place of the given one if an identical one has already been found, null otherwise
+     */
+    private COSBase canonical(COSBase item) {
+        if (isNull(item) || !(item.getCOSObject() instanceof COSDictionary)) {
+            return null;
+        }
+        COSBase resolved = item.getCOSObject();
+        try {
+            ContentFingerprint fingerprint = fingerprint(resolved);
+            COSBase canonical = canonicals.putIfAbsent(fingerprint, item);
+            if (nonNull(canonical) && canonical.getCOSObject() != resolved) {
+                replaced++;
+                return canonical;
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to fingerprint resource, it will not be deduplicated", e);
+        }
+        return null;
+    }
+
+    private ContentFingerprint fingerprint(COSBase resolved) throws IOException {
+        ContentFingerprint fingerprint = fingerprints.get(resolved);
+        if (isNull(fingerprint)) {
+            fingerprint = ContentFingerprint.of(resolved);
+            fingerprints.put(resolved, fingerprint);
+        }
+        return fingerprint;
+    }
+}
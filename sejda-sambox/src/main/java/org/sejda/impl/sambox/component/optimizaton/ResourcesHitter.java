@@ -79,7 +79,7 @@ public class ResourcesHitter extends PDFStreamEngine implements Consumer<PDPage>
 
                 COSName objectName = (COSName) operand;
 
-                Optional<COSDictionary> xobjects = ofNullable(context.getResources())
+                Optional<COSDictionary> xobjects = ofNullable(getContext().getResources())
                         .map(r -> r.getCOSObject().getDictionaryObject(COSName.XOBJECT, COSDictionary.class))
                         .filter(Objects::nonNull);
 
@@ -96,11 +96,11 @@ public class ResourcesHitter extends PDFStreamEngine implements Consumer<PDPage>
                         // we wrap the existing so we can identify it later as "in use" and already processed
                         xobjects.get().setItem(objectName, ReadOnlyFilteredCOSStream.readOnly(imageStream));
                     } else if (COSName.FORM.getName().equals(subtype)) {
-                        PDXObject xobject = PDXObject.createXObject(imageStream, context.getResources());
+                        PDXObject xobject = PDXObject.createXObject(imageStream, getContext().getResources());
                         if (xobject instanceof PDTransparencyGroup) {
-                            context.showTransparencyGroup((PDTransparencyGroup) xobject);
+                            getContext().showTransparencyGroup((PDTransparencyGroup) xobject);
                         } else if (xobject instanceof PDFormXObject) {
-                            context.showForm((PDFormXObject) xobject);
+                            getContext().showForm((PDFormXObject) xobject);
                         }
                     }
                 }
@@ -122,7 +122,7 @@ public class ResourcesHitter extends PDFStreamEngine implements Consumer<PDPage>
             COSBase operand = operands.get(0);
             if (operand instanceof COSName) {
                 COSName fontName = (COSName) operand;
-                Optional<COSDictionary> fonts = ofNullable(context.getResources())
+                Optional<COSDictionary> fonts = ofNullable(getContext().getResources())
                         .map(r -> r.getCOSObject().getDictionaryObject(COSName.FONT, COSDictionary.class))
                         .filter(Objects::nonNull);
 
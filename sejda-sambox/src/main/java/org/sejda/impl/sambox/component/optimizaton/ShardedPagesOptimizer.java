@@ -0,0 +1,173 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static java.util.Optional.ofNullable;
+import static org.sejda.util.RequireUtils.requireArg;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.sejda.model.optimization.Optimization;
+import org.sejda.model.parameter.OptimizeParameters;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component optimizing the images of a document on a pool of worker threads. The pages are split in disjoint ranges
+ * and every worker processes its range on its own copy of the document, with its own optimizer instance, since
+ * reading objects concurrently from the same document is not safe. Images are identified by their object key, the
+ * first worker finding an image claims it so that images shared among pages are optimized only once, and identical
+ * images stored as different objects are matched by content across the workers so they are written once. Results are
+ * collected and used by the {@link PagesOptimizer} that is returned, which is meant to be applied sequentially to the
+ * pages of the original document and that puts the optimized images in place, hits the resources in use and performs
+ * the remaining optimizations.
+ * <p>
+ * Every worker holds a copy of the document and the images it's decoding, the number of workers is capped by
+ * {@link OptimizeParameters#getMaxWorkers()} and by the available processors, and it's reduced for large sources so
+ * that the copies fit in half of the max heap.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public class ShardedPagesOptimizer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardedPagesOptimizer.class);
+    /**
+     * Documents with less pages than this per worker are not worth the cost of opening a copy of the document
+     */
+    static final int MIN_PAGES_PER_WORKER = 8;
+
+    private final OptimizeParameters parameters;
+    private final int threads;
+    private final int minPagesPerWorker;
+    private final long memoryBudget;
+
+    public ShardedPagesOptimizer(OptimizeParameters parameters) {
+        this(parameters, Math.min(ofNullable(parameters).map(OptimizeParameters::getMaxWorkers).orElse(1),
+                Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @param parameters
+     * @param threads
+     *            max number of worker threads
+     */
+    public ShardedPagesOptimizer(OptimizeParameters parameters, int threads) {
+        this(parameters, threads, MIN_PAGES_PER_WORKER, Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    /**
+     * @param parameters
+     * @param threads
+     *            max number of worker threads
+     * @param minPagesPerWorker
+     *            min number of pages a worker has to process
+     * @param memoryBudget
+     *            bytes the copies of the document opened by the workers can take, estimated as the size of the source
+     *            for each copy
+     */
+    ShardedPagesOptimizer(OptimizeParameters parameters, int threads, int minPagesPerWorker, long memoryBudget) {
+        requireNotNullArg(parameters, "Parameters cannot be null");
+        requireArg(threads > 0, "At least one worker thread is required");
+        this.parameters = parameters;
+        this.threads = threads;
+        this.minPagesPerWorker = minPagesPerWorker;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Optimizes the images of the given document using the worker threads
+     * 
+     * @param document
+     *            the document to optimize
+     * @param sourceSize
+     *            size in bytes of the source the document has been opened from
+     * @param copies
+     *            supplier of new copies of the document, opened from the same source. Each worker closes its copy once
+     *            done.
+     * @return the pages optimizer to apply to the pages of the given document
+     * @throws IOException
+     */
+    public PagesOptimizer optimize(PDDocument document, long sourceSize, Callable<PDDocument> copies)
+            throws IOException {
+        return ofNullable(optimizeImages(document, sourceSize, copies))
+                .map(results -> new PagesOptimizer(parameters, results))
+                .orElseGet(() -> new PagesOptimizer(parameters));
+    }
+
+    /**
+     * @return the images optimized by the workers or null if the document is not worth optimizing in parallel
+     */
+    OptimizedImages optimizeImages(PDDocument document, long sourceSize, Callable<PDDocument> copies)
+            throws IOException {
+        requireNotNullArg(document, "Document cannot be null");
+        requireNotNullArg(copies, "Document copies supplier cannot be null");
+        int pages = document.getNumberOfPages();
+        int workers = (int) Math.min(Math.min(threads, pages / minPagesPerWorker),
+                memoryBudget / Math.max(1, sourceSize));
+        if (workers < 2 || !parameters.getOptimizations().contains(Optimization.COMPRESS_IMAGES)) {
+            LOG.debug("Pages are going to be optimized sequentially");
+            return null;
+        }
+        LOG.debug("Optimizing images of {} pages using {} workers", pages, workers);
+        OptimizedImages results = new OptimizedImages();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Void>> shards = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                int from = (int) ((long) pages * i / workers);
+                int to = (int) ((long) pages * (i + 1) / workers);
+                shards.add(executor.submit(() -> optimize(copies, from, to, results)));
+            }
+            for (Future<Void> shard : shards) {
+                shard.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while optimizing images", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to optimize images", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        LOG.debug("Workers processed {} images, {} of them have been encoded again", results.size(),
+                results.encodings());
+        return results;
+    }
+
+    private Void optimize(Callable<PDDocument> copies, int from, int to, OptimizedImages results) throws Exception {
+        LOG.trace("Optimizing images of pages {} to {}", from, to - 1);
+        try (PDDocument copy = copies.call()) {
+            ImagesOptimizer optimizer = ImagesOptimizer.worker(parameters, results);
+            for (int i = from; i < to && !Thread.currentThread().isInterrupted(); i++) {
+                optimizer.accept(copy.getPage(i));
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static java.util.Objects.nonNull;
+import static org.sejda.util.RequireUtils.requireNotNullArg;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.sejda.impl.sambox.component.optimizaton.SharedResourcesFindings.Finding;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPageTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component analyzing the page tree of a document in a single depth first traversal, looking for resources that are
+ * going to end up in split/extract results where they are not used. The analysis stops as soon as it finds:
+ * <ul>
+ * <li>an XObject name dictionary containing images that is used by more than one page</li>
+ * <li>a font name dictionary that is used by more than one page</li>
+ * <li>a resource dictionary with images or fonts in a non leaf node of the page tree, inherited by pages</li>
+ * </ul>
+ * Name dictionaries are tracked by identity, intermediate nodes are inspected once, no matter how many pages they
+ * have.
+ *
+ * @author Andrea Vacondio
+ */
+public class SharedResourcesAnalyzer implements Function<PDDocument, SharedResourcesFindings> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedResourcesAnalyzer.class);
+
+    @Override
+    public SharedResourcesFindings apply(PDDocument document) {
+        requireNotNullArg(document, "Document cannot be null");
+        Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<COSDictionary> imagesDictionaries = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<COSDictionary> fontsDictionaries = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<COSDictionary> nodes = new ArrayDeque<>();
+        nodes.push(document.getPages().getCOSObject());
+        int pages = 0;
+        while (!nodes.isEmpty()) {
+            COSDictionary node = nodes.pop();
+            if (!visited.add(node)) {
+                continue;
+            }
+            COSDictionary resources = node.getDictionaryObject(COSName.RESOURCES, COSDictionary.class);
+            if (PDPageTree.isPageTreeNode(node)) {
+                if (nonNull(resources) && (containsImages(resources.getDictionaryObject(COSName.XOBJECT,
+                        COSDictionary.class)) || containsFonts(resources.getDictionaryObject(COSName.FONT,
+                                COSDictionary.class)))) {
+                    return found(Finding.INHERITED_RESOURCES, pages);
+                }
+                COSArray kids = node.getDictionaryObject(COSName.KIDS, COSArray.class);
+                if (nonNull(kids)) {
+                    // pushed in reverse order so pages are visited in document order
+                    for (int i = kids.size() - 1; i >= 0; i--) {
+                        COSBase kid = kids.getObject(i);
+                        if (kid instanceof COSDictionary) {
+                            nodes.push((COSDictionary) kid);
+                        }
+                    }
+                }
+            } else {
+                pages++;
+                if (nonNull(resources)) {
+                    COSDictionary xobjects = resources.getDictionaryObject(COSName.XOBJECT, COSDictionary.class);
+                    if (containsImages(xobjects) && !imagesDictionaries.add(xobjects)) {
+                        return found(Finding.SHARED_IMAGES_DICTIONARY, pages);
+                    }
+                    COSDictionary fonts = resources.getDictionaryObject(COSName.FONT, COSDictionary.class);
+                    if (containsFonts(fonts) && !fontsDictionaries.add(fonts)) {
+                        return found(Finding.SHARED_FONTS_DICTIONARY, pages);
+                    }
+                }
+            }
+        }
+        LOG.debug("No shared or inherited resources found analyzing {} pages", pages);
+        return new SharedResourcesFindings(Finding.NONE, pages);
+    }
+
+    private static SharedResourcesFindings found(Finding finding, int pages) {
+        return new SharedResourcesFindings(finding, pages);
+    }
+
+    private static boolean containsImages(COSDictionary xobjects) {
+        return nonNull(xobjects) && xobjects.getValues().stream().map(COSBase::getCOSObject)
+                .filter(v -> v instanceof COSDictionary).map(v -> ((COSDictionary) v).getNameAsString(COSName.SUBTYPE))
+                .anyMatch(COSName.IMAGE.getName()::equals);
+    }
+
+    private static boolean containsFonts(COSDictionary fonts) {
+        return nonNull(fonts) && fonts.getValues().stream().map(COSBase::getCOSObject)
+                .anyMatch(v -> v instanceof COSDictionary);
+    }
+}
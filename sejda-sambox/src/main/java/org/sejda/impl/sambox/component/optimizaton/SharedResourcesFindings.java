@@ -0,0 +1,63 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+/**
+ * Result of the analysis performed by the {@link SharedResourcesAnalyzer}
+ *
+ * @author Andrea Vacondio
+ */
+public class SharedResourcesFindings {
+
+    /**
+     * What the analysis found
+     */
+    public enum Finding {
+        NONE,
+        SHARED_IMAGES_DICTIONARY,
+        SHARED_FONTS_DICTIONARY,
+        INHERITED_RESOURCES;
+    }
+
+    private final Finding finding;
+    private final int analyzedPages;
+
+    SharedResourcesFindings(Finding finding, int analyzedPages) {
+        this.finding = finding;
+        this.analyzedPages = analyzedPages;
+    }
+
+    public Finding finding() {
+        return finding;
+    }
+
+    /**
+     * @return the number of pages analyzed before the analysis stopped
+     */
+    public int analyzedPages() {
+        return analyzedPages;
+    }
+
+    /**
+     * @return true if something has been found that makes split/extract results likely to need optimization
+     */
+    public boolean needsOptimization() {
+        return finding != Finding.NONE;
+    }
+}
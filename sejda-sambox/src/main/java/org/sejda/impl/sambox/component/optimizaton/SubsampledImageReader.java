@@ -0,0 +1,210 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.sejda.util.RequireUtils.requireIOCondition;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.filter.FilterFactory;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads images at a reduced resolution when they are going to be displayed much smaller than their actual size. DCT
+ * encoded images are decoded by ImageIO using source subsampling and Flate encoded ones are inflated keeping only the
+ * needed samples, this way the full resolution image is never allocated and the memory used is proportional to the
+ * target size. Images that can't be read this way (masks, decode arrays, color spaces other than DeviceRGB and
+ * DeviceGray, etc) are fully decoded.
+ *
+ * @author Andrea Vacondio
+ */
+final class SubsampledImageReader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SubsampledImageReader.class);
+
+    private SubsampledImageReader() {
+        // hide
+    }
+
+    /**
+     * @param image
+     * @param width
+     *            the width the image is going to be resized to
+     * @param height
+     *            the height the image is going to be resized to
+     * @return the image decoded at the lowest resolution that is at least twice the given width and height, so that
+     *         there's still room for a good quality resize, or the fully decoded image if this is not possible.
+     * @throws IOException
+     */
+    static BufferedImage read(PDImageXObject image, int width, int height) throws IOException {
+        int subsampling = subsampling(image, width, height);
+        if (subsampling > 1 && canSubsample(image)) {
+            COSStream stream = image.getCOSObject();
+            try {
+                if (stream.hasFilter(COSName.DCT_DECODE)) {
+                    return readDCT(stream, components(stream), subsampling);
+                }
+                return readFlate(image, components(stream), subsampling);
+            } catch (IOException | RuntimeException e) {
+                LOG.debug("Unable to read the image at a reduced resolution, fully decoding it", e);
+            }
+        }
+        return image.getImage();
+    }
+
+    private static int subsampling(PDImageXObject image, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return 1;
+        }
+        return Math.max(1, Math.min(image.getWidth() / (width * 2), image.getHeight() / (height * 2)));
+    }
+
+    private static boolean canSubsample(PDImageXObject image) {
+        COSStream stream = image.getCOSObject();
+        if (image.isStencil() || image.getBitsPerComponent() != 8 || stream.containsKey(COSName.MASK)
+                || stream.containsKey(COSName.SMASK) || stream.containsKey(COSName.DECODE)
+                || components(stream) == 0) {
+            return false;
+        }
+        COSBase filters = stream.getFilters();
+        if (filters instanceof COSArray) {
+            if (((COSArray) filters).size() != 1) {
+                return false;
+            }
+            filters = ((COSArray) filters).getObject(0);
+        }
+        if (COSName.DCT_DECODE.equals(filters)) {
+            // color transform and other decode parameters are left to the full decode
+            return !stream.containsKey(COSName.DECODE_PARMS);
+        }
+        return COSName.FLATE_DECODE.equals(filters);
+    }
+
+    private static int components(COSStream stream) {
+        COSBase colorSpace = stream.getDictionaryObject(COSName.COLORSPACE);
+        if (COSName.DEVICEGRAY.equals(colorSpace)) {
+            return 1;
+        }
+        if (COSName.DEVICERGB.equals(colorSpace)) {
+            return 3;
+        }
+        return 0;
+    }
+
+    private static BufferedImage readDCT(COSStream stream, int components, int subsampling) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("jpeg");
+        requireIOCondition(readers.hasNext(), "Unable to find a JPEG image reader");
+        ImageReader reader = readers.next();
+        try (InputStream data = stream.getFilteredStream();
+                ImageInputStream input = ImageIO.createImageInputStream(data)) {
+            reader.setInput(input);
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            BufferedImage result = reader.read(0, param);
+            requireIOCondition(result.getRaster().getNumBands() == components,
+                    "JPEG components don't match the image color space");
+            return result;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static BufferedImage readFlate(PDImageXObject image, int components, int subsampling)
+            throws IOException {
+        BufferedImage result = new BufferedImage(ceilDiv(image.getWidth(), subsampling),
+                ceilDiv(image.getHeight(), subsampling),
+                components == 1 ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_3BYTE_BGR);
+        COSStream stream = image.getCOSObject();
+        try (InputStream data = stream.getFilteredStream();
+                OutputStream samples = new SubsamplingOutputStream(result, image.getWidth(), image.getHeight(),
+                        components, subsampling)) {
+            FilterFactory.INSTANCE.getFilter(COSName.FLATE_DECODE).decode(data, samples, stream, 0);
+        }
+        return result;
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    /**
+     * Receives the decoded samples, row by row, and writes in the destination image only those of one every
+     * subsampling rows and columns.
+     */
+    private static class SubsamplingOutputStream extends OutputStream {
+        private final byte[] destination;
+        private final int destinationWidth;
+        private final int rowLength;
+        private final long length;
+        private final int components;
+        private final int subsampling;
+        private long position = 0;
+
+        SubsamplingOutputStream(BufferedImage destination, int width, int height, int components, int subsampling) {
+            this.destination = ((DataBufferByte) destination.getRaster().getDataBuffer()).getData();
+            this.destinationWidth = destination.getWidth();
+            this.rowLength = width * components;
+            this.length = (long) rowLength * height;
+            this.components = components;
+            this.subsampling = subsampling;
+        }
+
+        @Override
+        public void write(int b) {
+            if (position < length) {
+                int row = (int) (position / rowLength);
+                int offset = (int) (position % rowLength);
+                int column = offset / components;
+                if (row % subsampling == 0 && column % subsampling == 0) {
+                    int component = offset % components;
+                    // 3 bytes BGR
+                    if (components == 3) {
+                        component = 2 - component;
+                    }
+                    destination[((row / subsampling) * destinationWidth + (column / subsampling)) * components
+                            + component] = (byte) b;
+                }
+            }
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -93,6 +93,8 @@ public abstract class AbstractPdfSplitter<T extends SinglePdfSourceMultipleOutpu
                     onClose(page);
                     extractor.setVersion(parameters.getVersion());
                     extractor.setCompress(parameters.isCompress());
+                    extractor.setCompressionLevel(parameters.getCompressionLevel());
+                    extractor.setLinearize(parameters.isLinearize());
                     if (optimize) {
                         extractor.optimize();
                     }
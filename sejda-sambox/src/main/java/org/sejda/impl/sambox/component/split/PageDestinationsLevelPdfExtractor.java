@@ -96,6 +96,8 @@ public class PageDestinationsLevelPdfExtractor {
                 // close
                 extractor.setVersion(parameters.getVersion());
                 extractor.setCompress(parameters.isCompress());
+                extractor.setCompressionLevel(parameters.getCompressionLevel());
+                extractor.setLinearize(parameters.isLinearize());
                 if (optimize) {
                     extractor.optimize();
                 }
@@ -26,6 +26,7 @@ import java.util.function.Supplier;
 
 import org.sejda.core.support.prefix.model.NameGenerationRequest;
 import org.sejda.impl.sambox.component.PagesExtractor;
+import org.sejda.impl.sambox.component.PagesMetadataIndex;
 import org.sejda.impl.sambox.component.optimizaton.ResourceDictionaryCleaner;
 import org.sejda.impl.sambox.component.optimizaton.ResourcesHitter;
 import org.sejda.model.exception.TaskExecutionException;
@@ -60,13 +61,25 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
     private OutputSizeStrategy nextOutputStrategy;
 
     public SizePdfSplitter(PDDocument document, SplitBySizeParameters parameters, boolean optimize) {
+        this(document, parameters, optimize, new PagesMetadataIndex(document));
+    }
+
+    /**
+     * @param document
+     * @param parameters
+     * @param optimize
+     * @param index
+     *            pages metadata index of the given document
+     */
+    public SizePdfSplitter(PDDocument document, SplitBySizeParameters parameters, boolean optimize,
+            PagesMetadataIndex index) {
         super(document, parameters, optimize, parameters.discardOutline());
         if (parameters.isCompress()) {
-            this.nextOutputStrategy = new OutputSizeStrategy(document, parameters, optimize, () -> {
-                return new ExistingPagesSizePredictor(WriteOption.COMPRESS_STREAMS, WriteOption.XREF_STREAM);
+            this.nextOutputStrategy = new OutputSizeStrategy(document, index, parameters, optimize, () -> {
+                return ExistingPagesSizePredictor.instance(WriteOption.COMPRESS_STREAMS, WriteOption.XREF_STREAM);
             });
         } else {
-            this.nextOutputStrategy = new OutputSizeStrategy(document, parameters, optimize);
+            this.nextOutputStrategy = new OutputSizeStrategy(document, index, parameters, optimize);
         }
     }
 
@@ -114,23 +127,26 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
     static class OutputSizeStrategy implements NextOutputStrategy {
         private long sizeLimit;
         private PDDocument document;
+        private PagesMetadataIndex index;
         private ExistingPagesSizePredictor predictor;
         private Supplier<ExistingPagesSizePredictor> predictorSupplier = () -> {
-            return new ExistingPagesSizePredictor();
+            return ExistingPagesSizePredictor.instance();
         };
         private boolean optimize;
         private ResourcesHitter hitter = new ResourcesHitter();
         private ResourceDictionaryCleaner cleaner = new ResourceDictionaryCleaner();
 
-        OutputSizeStrategy(PDDocument document, SplitBySizeParameters parameters, boolean optimize) {
+        OutputSizeStrategy(PDDocument document, PagesMetadataIndex index, SplitBySizeParameters parameters,
+                boolean optimize) {
             this.sizeLimit = parameters.getSizeToSplitAt();
             this.document = document;
+            this.index = index;
             this.optimize = optimize;
         }
 
-        OutputSizeStrategy(PDDocument document, SplitBySizeParameters parameters, boolean optimize,
-                Supplier<ExistingPagesSizePredictor> predictorSupplier) {
-            this(document, parameters, optimize);
+        OutputSizeStrategy(PDDocument document, PagesMetadataIndex index, SplitBySizeParameters parameters,
+                boolean optimize, Supplier<ExistingPagesSizePredictor> predictorSupplier) {
+            this(document, index, parameters, optimize);
             this.predictorSupplier = predictorSupplier;
         }
 
@@ -146,20 +162,21 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
 
         public void addPage(int page) throws TaskIOException {
             try {
-                if (page <= document.getNumberOfPages()) {
-                    predictor.addPage(copyOf(document.getPage(page - 1)));
+                if (page <= index.numberOfPages()) {
+                    predictor.addPage(copyOf(page));
                 }
             } catch (IOException e) {
                 throw new TaskIOException("Unable to simulate page " + page + " addition", e);
             }
         }
 
-        private PDPage copyOf(PDPage page) {
-            PDPage copy = new PDPage(page.getCOSObject().duplicate());
-            copy.setCropBox(page.getCropBox());
-            copy.setMediaBox(page.getMediaBox());
-            copy.setResources(page.getResources());
-            copy.setRotation(page.getRotation());
+        private PDPage copyOf(int page) {
+            // inheritable attributes are taken from the index instead of being resolved walking up the page tree
+            PDPage copy = new PDPage(index.page(page).getCOSObject().duplicate());
+            copy.setCropBox(index.cropBox(page));
+            copy.setMediaBox(index.mediaBox(page));
+            copy.setResources(ofNullable(index.resources(page)).map(PDResources::new).orElseGet(PDResources::new));
+            copy.setRotation(index.rotation(page));
             if (optimize) {
 
                 // each page must have it's own resource dic and it's own xobject and font name dic
@@ -0,0 +1,72 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.sejda.sambox.pdmodel.font.PDType1Font;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class GlyphWidthsCacheTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullFont() {
+        new GlyphWidthsCache(null);
+    }
+
+    @Test
+    public void stringWidth() throws IOException {
+        GlyphWidthsCache victim = new GlyphWidthsCache(PDType1Font.HELVETICA);
+        String text = "Chuck Norris can divide by zero";
+        assertEquals(PDType1Font.HELVETICA.getStringWidth(text), victim.stringWidth(text), 0.01);
+        assertEquals(PDType1Font.HELVETICA.getStringWidth(text), victim.stringWidth(text), 0.01);
+    }
+
+    @Test
+    public void canDisplay() {
+        GlyphWidthsCache victim = new GlyphWidthsCache(PDType1Font.HELVETICA);
+        assertTrue(victim.canDisplay("Chuck"));
+        assertFalse(victim.canDisplay("Chuck ж"));
+        assertFalse(victim.canDisplay("中"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stringWidthNotDisplayable() {
+        new GlyphWidthsCache(PDType1Font.HELVETICA).stringWidth("中");
+    }
+
+    @Test
+    public void fittingLength() throws IOException {
+        GlyphWidthsCache victim = new GlyphWidthsCache(PDType1Font.HELVETICA);
+        String text = "Chuck Norris can divide by zero";
+        assertEquals(text.length(), victim.fittingLength(text, Float.MAX_VALUE));
+        assertEquals(0, victim.fittingLength(text, 0));
+        float prefixWidth = PDType1Font.HELVETICA.getStringWidth("Chuck Norris");
+        assertEquals("Chuck Norris".length(), victim.fittingLength(text, prefixWidth));
+        assertEquals("Chuck Norri".length(), victim.fittingLength(text, prefixWidth - 1));
+    }
+}
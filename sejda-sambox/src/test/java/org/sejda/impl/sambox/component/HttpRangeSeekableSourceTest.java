@@ -0,0 +1,205 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.io.SeekableSource;
+import org.sejda.model.input.PdfURLSource;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class HttpRangeSeekableSourceTest {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private HttpServer server;
+    private byte[] content;
+    private String etag;
+    private int rangeShift;
+    private AtomicInteger requests = new AtomicInteger();
+    private List<String> ifRanges = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/ranges", e -> respond(e, true));
+        server.createContext("/noranges", e -> respond(e, false));
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, boolean ranges) throws IOException {
+        requests.incrementAndGet();
+        Matcher range = RANGE.matcher(String.valueOf(exchange.getRequestHeaders().getFirst("Range")));
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        if (ifRange != null) {
+            ifRanges.add(ifRange);
+        }
+        if (etag != null) {
+            exchange.getResponseHeaders().add("ETag", etag);
+        }
+        byte[] body = content;
+        if (ranges && range.matches() && (ifRange == null || ifRange.equals(etag))) {
+            int from = Integer.parseInt(range.group(1));
+            int to = Math.min(content.length - 1, Integer.parseInt(range.group(2)));
+            body = new byte[to - from + 1];
+            System.arraycopy(content, from, body, 0, body.length);
+            exchange.getResponseHeaders().add("Content-Range",
+                    String.format("bytes %d-%d/%d", from > 0 ? from + rangeShift : from, to, content.length));
+            exchange.sendResponseHeaders(206, body.length);
+        } else {
+            exchange.sendResponseHeaders(200, body.length);
+        }
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL(String.format("http://localhost:%d%s", server.getAddress().getPort(), path));
+    }
+
+    @Test
+    public void randomAccess() throws IOException {
+        try (SeekableSource victim = HttpRangeSeekableSource.seekableSourceFrom(url("/ranges"), 100)) {
+            assertTrue(victim instanceof HttpRangeSeekableSource);
+            assertEquals(1000, victim.size());
+            assertEquals(1, requests.get());
+            assertEquals(5, victim.position(5).read());
+            assertEquals(1, requests.get());
+            victim.position(950);
+            assertEquals(950 & 0xFF, victim.read());
+            assertEquals(951, victim.position());
+            ByteBuffer buffer = ByteBuffer.allocate(100);
+            assertEquals(49, victim.read(buffer));
+            assertEquals(999 & 0xFF, buffer.get(48) & 0xFF);
+            assertEquals(-1, victim.read());
+            assertEquals(2, requests.get());
+            assertEquals(2, ((HttpRangeSeekableSource) victim).requests());
+        }
+    }
+
+    @Test
+    public void readAhead() throws IOException {
+        try (SeekableSource victim = HttpRangeSeekableSource.seekableSourceFrom(url("/ranges"), 10)) {
+            byte[] read = IOUtils.toByteArray(victim.asInputStream());
+            assertEquals(1000, read.length);
+            for (int i = 0; i < read.length; i++) {
+                assertEquals(content[i], read[i]);
+            }
+            // 100 blocks, read ahead growing up to 16 blocks per request
+            assertTrue(requests.get() < 15);
+        }
+    }
+
+    @Test
+    public void ifRange() throws IOException {
+        etag = "\"v1\"";
+        try (SeekableSource victim = HttpRangeSeekableSource.seekableSourceFrom(url("/ranges"), 100)) {
+            victim.position(500);
+            assertEquals(500 & 0xFF, victim.read());
+            assertEquals(Arrays.asList("\"v1\""), ifRanges);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void changedOnTheServer() throws IOException {
+        etag = "\"v1\"";
+        try (SeekableSource victim = HttpRangeSeekableSource.seekableSourceFrom(url("/ranges"), 100)) {
+            etag = "\"v2\"";
+            victim.position(500);
+            victim.read();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void unexpectedContentRange() throws IOException {
+        rangeShift = 1;
+        try (SeekableSource victim = HttpRangeSeekableSource.seekableSourceFrom(url("/ranges"), 100)) {
+            victim.position(500);
+            victim.read();
+        }
+    }
+
+    @Test
+    public void views() throws IOException {
+        try (SeekableSource victim = HttpRangeSeekableSource.seekableSourceFrom(url("/ranges"), 100)) {
+            SeekableSource view = victim.view(250, 10);
+            assertEquals(10, view.size());
+            assertEquals(250 & 0xFF, view.read());
+            assertEquals(0, victim.position());
+            try (InputStream stream = view.asInputStream()) {
+                assertEquals(9, IOUtils.toByteArray(stream).length);
+            }
+        }
+    }
+
+    @Test
+    public void fallback() throws IOException {
+        try (SeekableSource victim = HttpRangeSeekableSource.seekableSourceFrom(url("/noranges"), 100)) {
+            assertFalse(victim instanceof HttpRangeSeekableSource);
+            assertEquals(1000, victim.size());
+            assertEquals(5, victim.position(5).read());
+            assertEquals(1, requests.get());
+        }
+    }
+
+    @Test
+    public void openDocument() throws Exception {
+        content = IOUtils.toByteArray(getClass().getClassLoader().getResourceAsStream("pdf/test_file.pdf"));
+        try (PDDocumentHandler document = new DefaultPdfSourceOpener()
+                .open(PdfURLSource.newInstanceNoPassword(url("/ranges"), "test_file.pdf"))) {
+            assertEquals(4, document.getNumberOfPages());
+        }
+    }
+}
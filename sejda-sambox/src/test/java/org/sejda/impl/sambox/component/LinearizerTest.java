@@ -0,0 +1,451 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.pdmodel.font.PDFont;
+import org.sejda.sambox.pdmodel.font.PDType1Font;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Verifies linearized files with a minimal progressive client fetching byte ranges from a local file server stand-in,
+ * the client must be able to locate and read everything it needs to display the first page without going past the end
+ * of the first page section.
+ * 
+ * @author Andrea Vacondio
+ */
+public class LinearizerTest {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private byte[] served;
+    private List<long[]> requestedRanges = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/file.pdf", exchange -> {
+            Matcher range = RANGE.matcher(String.valueOf(exchange.getRequestHeaders().getFirst("Range")));
+            if (!range.matches()) {
+                exchange.sendResponseHeaders(400, -1);
+                exchange.close();
+                return;
+            }
+            int from = Integer.parseInt(range.group(1));
+            int to = Math.min(served.length - 1, Integer.parseInt(range.group(2)));
+            requestedRanges.add(new long[] { from, to });
+            exchange.getResponseHeaders().add("Content-Range",
+                    String.format("bytes %d-%d/%d", from, to, served.length));
+            exchange.sendResponseHeaders(206, to - from + 1);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(served, from, to - from + 1);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void firstPageFromTheFirstPageSection() throws Exception {
+        File file = save(true, 4);
+        served = Files.readAllBytes(file.toPath());
+
+        String head = fetch(0, 1023);
+        assertTrue(head.contains("/Linearized 1"));
+        assertEquals(served.length, value(head, "/L"));
+        long end = value(head, "/E");
+        int firstPage = (int) value(head, "/O");
+        assertEquals(4, value(head, "/N"));
+        assertTrue(end < served.length);
+
+        String section = fetch(0, end - 1);
+        Map<Integer, Long> xref = xref(section, section.indexOf("xref"));
+        Matcher hint = Pattern.compile("/H \\[(\\d+) (\\d+)\\]").matcher(section);
+        assertTrue(hint.find());
+        assertTrue(Long.parseLong(hint.group(1)) + Long.parseLong(hint.group(2)) <= end);
+
+        String page = object(section, xref, firstPage);
+        assertTrue(page.contains("/Type/Page"));
+        String contents = object(section, xref, reference(page, "/Contents"));
+        assertTrue(contents.contains("stream"));
+        String resources = value(section, xref, page, "/Resources");
+        String font = object(section, xref, reference(value(section, xref, resources, "/Font"), "/F1"));
+        assertTrue(font.contains("/Type/Font"));
+        for (long[] range : requestedRanges) {
+            assertTrue(range[1] < end);
+        }
+    }
+
+    @Test
+    public void mainXrefAndTrailers() throws Exception {
+        File file = save(true, 3);
+        served = Files.readAllBytes(file.toPath());
+        String content = new String(served, StandardCharsets.ISO_8859_1);
+        long mainXref = value(content, "/Prev");
+        long t = value(content, "/T");
+        assertTrue(content.startsWith("xref", (int) mainXref));
+        assertTrue(Character.isWhitespace(content.charAt((int) t)));
+        assertTrue(content.startsWith("0000000000 65535 f", (int) t + 1));
+        Matcher startxref = Pattern.compile("startxref\\s+(\\d+)\\s+%%EOF\\s*$").matcher(content);
+        assertTrue(startxref.find());
+        assertEquals(content.indexOf("xref"), Integer.parseInt(startxref.group(1)));
+        Map<Integer, Long> xref = xref(content, (int) mainXref);
+        for (Map.Entry<Integer, Long> entry : xref.entrySet()) {
+            assertTrue(content.startsWith(entry.getKey() + " 0 obj", entry.getValue().intValue()));
+        }
+        try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(file))) {
+            assertEquals(3, document.getNumberOfPages());
+            for (PDPage page : document.getPages()) {
+                assertNotNull(page.getResources().getFont(COSName.getPDFName("F1")));
+            }
+        }
+    }
+
+    @Test
+    public void inheritedAttributes() throws Exception {
+        PDDocumentHandler handler = handler(3);
+        PDDocument document = handler.getUnderlyingPDDocument();
+        COSDictionary root = document.getPages().getCOSObject();
+        COSDictionary resources = document.getPage(0).getCOSObject().getDictionaryObject(COSName.RESOURCES,
+                COSDictionary.class);
+        // root -> node -> pages, resources inherited from the node, box and rotation from the root
+        COSDictionary node = new COSDictionary();
+        node.setItem(COSName.TYPE, COSName.PAGES);
+        node.setItem(COSName.KIDS, root.getDictionaryObject(COSName.KIDS, COSArray.class));
+        node.setInt(COSName.COUNT, 3);
+        node.setItem(COSName.PARENT, root);
+        node.setItem(COSName.RESOURCES, resources);
+        for (PDPage page : document.getPages()) {
+            page.getCOSObject().removeItem(COSName.RESOURCES);
+            page.getCOSObject().removeItem(COSName.MEDIA_BOX);
+            page.getCOSObject().setItem(COSName.PARENT, node);
+        }
+        root.setItem(COSName.KIDS, new COSArray(node));
+        root.setItem(COSName.MEDIA_BOX, PDRectangle.A4.getCOSObject());
+        root.setInt(COSName.ROTATE, 90);
+        File file = save(handler, true);
+        served = Files.readAllBytes(file.toPath());
+
+        String head = fetch(0, 1023);
+        long end = value(head, "/E");
+        String section = fetch(0, end - 1);
+        Map<Integer, Long> xref = xref(section, section.indexOf("xref"));
+        String page = object(section, xref, (int) value(head, "/O"));
+        assertTrue(page.contains("/Rotate 90"));
+        assertTrue(page.contains("/MediaBox"));
+        assertTrue(page.contains("/Resources"));
+        String pageResources = value(section, xref, page, "/Resources");
+        String font = object(section, xref, reference(value(section, xref, pageResources, "/Font"), "/F1"));
+        assertTrue(font.contains("/Type/Font"));
+        try (PDDocument linearized = PDFParser.parse(SeekableSources.seekableSourceFrom(file))) {
+            assertEquals(3, linearized.getNumberOfPages());
+            for (PDPage current : linearized.getPages()) {
+                assertEquals(90, current.getRotation());
+                assertEquals(PDRectangle.A4, current.getMediaBox());
+                assertNotNull(current.getResources().getFont(COSName.getPDFName("F1")));
+            }
+        }
+    }
+
+    @Test
+    public void hintTables() throws Exception {
+        File file = save(true, 4);
+        served = Files.readAllBytes(file.toPath());
+        String content = new String(served, StandardCharsets.ISO_8859_1);
+        long end = value(content, "/E");
+        int firstPage = (int) value(content, "/O");
+        long mainXref = value(content, "/Prev");
+        Map<Integer, Long> offsets = xref(content, content.indexOf("xref"));
+        offsets.putAll(xref(content, (int) mainXref));
+        Matcher hint = Pattern.compile("/H \\[(\\d+) (\\d+)\\]").matcher(content);
+        assertTrue(hint.find());
+        long hintOffset = Long.parseLong(hint.group(1));
+        long hintLength = Long.parseLong(hint.group(2));
+        String hintObject = content.substring((int) hintOffset);
+        int sharedTableOffset = (int) value(hintObject, "/S");
+        int data = (int) hintOffset + hintObject.indexOf("stream\n") + "stream\n".length();
+
+        // page offset hint table header, offsets after the hint stream are written as if it wasn't there
+        BitReader bits = new BitReader(served, data);
+        long minObjects = bits.read(32);
+        assertEquals(offsets.get(firstPage) - hintLength, bits.read(32));
+        int objectsBits = (int) bits.read(16);
+        long minLength = bits.read(32);
+        int lengthBits = (int) bits.read(16);
+        bits.read(32);
+        bits.read(16);
+        bits.read(32);
+        bits.read(16);
+        int sharedBits = (int) bits.read(16);
+        int identifierBits = (int) bits.read(16);
+        bits.read(16);
+        bits.read(16);
+        long[] objectsCount = new long[4];
+        long[] lengths = new long[4];
+        long[] sharedCount = new long[4];
+        for (int i = 0; i < 4; i++) {
+            objectsCount[i] = minObjects + bits.read(objectsBits);
+        }
+        bits.align();
+        for (int i = 0; i < 4; i++) {
+            lengths[i] = minLength + bits.read(lengthBits);
+        }
+        bits.align();
+        for (int i = 0; i < 4; i++) {
+            sharedCount[i] = bits.read(sharedBits);
+        }
+        bits.align();
+        List<List<Long>> identifiers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            List<Long> pageIdentifiers = new ArrayList<>();
+            for (int j = 0; j < sharedCount[i]; j++) {
+                pageIdentifiers.add(bits.read(identifierBits));
+            }
+            identifiers.add(pageIdentifiers);
+        }
+
+        // shared object hint table header
+        bits = new BitReader(served, data + sharedTableOffset);
+        long firstShared = bits.read(32);
+        long firstSharedLocation = bits.read(32);
+        long firstPageEntries = bits.read(32);
+        long entries = bits.read(32);
+        assertEquals(0, bits.read(16));
+        long minGroupLength = bits.read(32);
+        int groupLengthBits = (int) bits.read(16);
+        assertEquals(objectsCount[0], firstPageEntries);
+        assertEquals(offsets.get((int) firstShared) - hintLength, firstSharedLocation);
+        for (int i = 0; i < entries; i++) {
+            long number = i < firstPageEntries ? firstPage + i : firstShared + i - firstPageEntries;
+            long length = minGroupLength + bits.read(groupLengthBits);
+            long offset = offsets.get((int) number);
+            long next = i == firstPageEntries - 1 ? end : offsets.getOrDefault((int) number + 1, mainXref);
+            assertEquals("Shared object " + number, next - offset, length);
+        }
+
+        // the first page spans the first page section from its page object, the others follow in the main section
+        assertEquals(end - offsets.get(firstPage), lengths[0]);
+        try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(file))) {
+            COSName second = COSName.getPDFName("F2");
+            long pageOffset = end;
+            long pageNumber = 1;
+            for (int i = 1; i < 4; i++) {
+                PDPage page = document.getPage(i);
+                assertEquals(pageNumber, page.getCOSObject().id().objectIdentifier.objectNumber());
+                assertEquals(pageOffset, offsets.get((int) pageNumber).longValue());
+                pageOffset += lengths[i];
+                pageNumber += objectsCount[i];
+                assertEquals(offsets.getOrDefault((int) pageNumber, mainXref).longValue(), pageOffset);
+
+                List<Long> referenced = new ArrayList<>();
+                for (long identifier : identifiers.get(i)) {
+                    referenced.add(identifier < firstPageEntries ? firstPage + identifier
+                            : firstShared + identifier - firstPageEntries);
+                }
+                COSDictionary fonts = page.getResources().getCOSObject().getDictionaryObject(COSName.FONT,
+                        COSDictionary.class);
+                // Helvetica is a first page object, Times is shared by the other pages
+                assertTrue(referenced.contains(fonts.getItem(COSName.getPDFName("F1")).id().objectIdentifier
+                        .objectNumber()));
+                long times = fonts.getItem(second).id().objectIdentifier.objectNumber();
+                assertTrue(referenced.contains(times));
+                assertTrue(times >= firstShared);
+            }
+        }
+    }
+
+    @Test
+    public void singlePage() throws Exception {
+        File file = save(true, 1);
+        try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(file))) {
+            assertEquals(1, document.getNumberOfPages());
+        }
+    }
+
+    @Test
+    public void notLinearized() throws Exception {
+        File file = save(false, 2);
+        assertFalse(new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1).contains(
+                "/Linearized"));
+    }
+
+    private File save(boolean linearize, int pages) throws Exception {
+        return save(handler(pages), linearize);
+    }
+
+    private File save(PDDocumentHandler handler, boolean linearize) throws Exception {
+        handler.setCompress(true);
+        handler.setLinearize(linearize);
+        File file = folder.newFile();
+        handler.savePDDocument(file);
+        return file;
+    }
+
+    private static PDDocumentHandler handler(int pages) throws Exception {
+        PDDocumentHandler handler = new PDDocumentHandler();
+        PDDocument document = handler.getUnderlyingPDDocument();
+        for (int i = 0; i < pages; i++) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            // the first font is shared by all pages, the second one by all but the first
+            PDFont second = i == 0 ? PDType1Font.COURIER : PDType1Font.TIMES_ROMAN;
+            try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+                stream.beginText();
+                stream.setFont(PDType1Font.HELVETICA, 12);
+                stream.newLineAtOffset(20, 700);
+                stream.showText("Page " + i);
+                stream.setFont(second, 12);
+                stream.showText("Chuck Norris");
+                stream.endText();
+            }
+        }
+        return handler;
+    }
+
+    private String fetch(long from, long to) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(
+                String.format("http://localhost:%d/file.pdf", server.getAddress().getPort())).openConnection();
+        connection.setRequestProperty("Range", String.format("bytes=%d-%d", from, to));
+        assertEquals(206, connection.getResponseCode());
+        byte[] data = IOUtils.toByteArray(connection.getInputStream());
+        byte[] prefix = new byte[(int) from + data.length];
+        System.arraycopy(data, 0, prefix, (int) from, data.length);
+        return new String(prefix, StandardCharsets.ISO_8859_1);
+    }
+
+    private static long value(String content, String key) {
+        Matcher matcher = Pattern.compile(Pattern.quote(key) + " (\\d+)").matcher(content);
+        assertTrue(key, matcher.find());
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static int reference(String content, String key) {
+        Matcher matcher = Pattern.compile(Pattern.quote(key) + " (\\d+) 0 R").matcher(content);
+        assertTrue(key, matcher.find());
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    /**
+     * @return the value of the given key, resolved if it's an indirect reference
+     */
+    private static String value(String section, Map<Integer, Long> xref, String content, String key) {
+        String value = content.substring(content.indexOf(key) + key.length());
+        if (value.matches("(?s) \\d+ 0 R.*")) {
+            return object(section, xref, reference(content, key));
+        }
+        return value;
+    }
+
+    private static Map<Integer, Long> xref(String content, int offset) {
+        Matcher header = Pattern.compile("xref\\s+(\\d+) (\\d+)\\s+").matcher(content);
+        assertTrue(header.find(offset));
+        int first = Integer.parseInt(header.group(1));
+        int count = Integer.parseInt(header.group(2));
+        Map<Integer, Long> entries = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String entry = content.substring(header.end() + i * 20, header.end() + i * 20 + 20);
+            assertEquals(20, entry.length());
+            if (entry.charAt(17) == 'n') {
+                entries.put(first + i, Long.parseLong(entry.substring(0, 10)));
+            }
+        }
+        return entries;
+    }
+
+    private static String object(String section, Map<Integer, Long> xref, int number) {
+        Long offset = xref.get(number);
+        assertNotNull("Object " + number + " is not in the first page cross reference table", offset);
+        assertTrue(offset < section.length());
+        assertTrue(section.startsWith(number + " 0 obj", offset.intValue()));
+        int end = section.indexOf("endobj", offset.intValue());
+        assertTrue("Object " + number + " is not in the first page section", end > 0);
+        return section.substring(offset.intValue(), end);
+    }
+
+    /**
+     * Reads values most significant bit first as they are written in the hint tables
+     */
+    private static class BitReader {
+        private final byte[] data;
+        private long position;
+
+        BitReader(byte[] data, int offset) {
+            this.data = data;
+            this.position = offset * 8L;
+        }
+
+        long read(int bits) {
+            long value = 0;
+            for (int i = 0; i < bits; i++, position++) {
+                int bit = (data[(int) (position / 8)] >> (7 - (int) (position % 8))) & 1;
+                value = (value << 1) | bit;
+            }
+            return value;
+        }
+
+        void align() {
+            position = (position + 7) / 8 * 8;
+        }
+    }
+}
@@ -107,4 +107,20 @@ public class OutlineDistillerTest {
         assertTrue(outline.hasChildren());
         assertEquals(1, outline.getOpenCount());
     }
+
+    @Test
+    public void sameDistillerManyChunks() {
+        OutlineDistiller victim = new OutlineDistiller(document);
+        mapping.addLookupEntry(document.getPage(2), new PDPage());
+        PDDocumentOutline first = new PDDocumentOutline();
+        victim.appendRelevantOutlineTo(first, mapping);
+        assertEquals(2, first.getOpenCount());
+        mapping.clear();
+        for (PDPage current : document.getPages()) {
+            mapping.addLookupEntry(current, new PDPage());
+        }
+        PDDocumentOutline second = new PDDocumentOutline();
+        victim.appendRelevantOutlineTo(second, mapping);
+        assertEquals(5, second.getOpenCount());
+    }
 }
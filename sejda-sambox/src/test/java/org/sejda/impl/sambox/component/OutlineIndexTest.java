@@ -0,0 +1,126 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.impl.sambox.component.OutlineIndex.IndexedItem;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class OutlineIndexTest {
+
+    private PDDocument document;
+    private PDDocumentOutline outline;
+
+    @Before
+    public void setUp() {
+        document = new PDDocument();
+        for (int i = 0; i < 50; i++) {
+            document.addPage(new PDPage());
+        }
+        outline = new PDDocumentOutline();
+        document.getDocumentCatalog().setDocumentOutline(outline);
+    }
+
+    @Test
+    public void noOutline() {
+        document.getDocumentCatalog().setDocumentOutline(null);
+        OutlineIndex victim = new OutlineIndex(document);
+        assertTrue(victim.roots(new int[] { 1, 2 }).isEmpty());
+    }
+
+    @Test
+    public void pageNumbers() {
+        OutlineIndex victim = new OutlineIndex(document);
+        assertArrayEquals(new int[] { 2, 5 },
+                victim.pageNumbers(Arrays.asList(document.getPage(4), new PDPage(), document.getPage(1))));
+    }
+
+    @Test
+    public void subtreeIntervals() {
+        PDOutlineItem parent = item(null);
+        parent.addLast(item(10));
+        parent.addLast(item(3));
+        outline.addLast(parent);
+        outline.addLast(item(20));
+        outline.addLast(item(null));
+        OutlineIndex victim = new OutlineIndex(document);
+        List<IndexedItem> roots = victim.roots(new int[] { 3, 20 });
+        assertEquals(2, roots.size());
+        assertNull(roots.get(0).destination);
+        assertEquals(3, roots.get(0).minPage);
+        assertEquals(10, roots.get(0).maxPage);
+        assertEquals(1, roots.get(0).children(new int[] { 3, 20 }).size());
+        assertEquals(2, roots.get(0).children(new int[] { 3, 10 }).size());
+        // the parent subtree interval contains the pages, none of its children does
+        assertEquals(1, victim.roots(new int[] { 4, 5, 6 }).size());
+        assertTrue(victim.roots(new int[] { 4, 5, 6 }).get(0).children(new int[] { 4, 5, 6 }).isEmpty());
+        assertTrue(victim.roots(new int[] { 11, 12 }).isEmpty());
+        assertEquals(1, victim.roots(new int[] { 11, 20 }).size());
+    }
+
+    @Test
+    public void sameAsLinearScan() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            PDOutlineItem current = item(random.nextInt(5) == 0 ? null : random.nextInt(50) + 1);
+            for (int j = random.nextInt(3); j > 0; j--) {
+                current.addLast(item(random.nextInt(50) + 1));
+            }
+            outline.addLast(current);
+        }
+        OutlineIndex victim = new OutlineIndex(document);
+        List<IndexedItem> all = victim.roots(IntStream.rangeClosed(1, 50).toArray());
+        for (int i = 0; i < 100; i++) {
+            int from = random.nextInt(50) + 1;
+            int[] pages = IntStream.rangeClosed(from, Math.min(50, from + random.nextInt(5))).toArray();
+            List<IndexedItem> expected = all.stream()
+                    .filter(item -> Arrays.stream(pages).anyMatch(p -> p >= item.minPage && p <= item.maxPage))
+                    .collect(Collectors.toList());
+            assertEquals(expected, victim.roots(pages));
+        }
+    }
+
+    private PDOutlineItem item(Integer page) {
+        PDOutlineItem item = new PDOutlineItem();
+        item.setTitle("item");
+        if (page != null) {
+            item.setDestination(document.getPage(page - 1));
+        }
+        return item;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.exception.TaskException;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PDDocumentHandlerTest {
+
+    private PDDocument source;
+    private COSDictionary inheritedResources;
+
+    @Before
+    public void setUp() {
+        source = new PDDocument();
+        PDPage page = new PDPage(PDRectangle.A4);
+        page.getCOSObject().removeItem(COSName.RESOURCES);
+        source.addPage(page);
+        inheritedResources = new COSDictionary();
+        source.getPages().getCOSObject().setItem(COSName.RESOURCES, inheritedResources);
+        source.getPages().getCOSObject().setItem(COSName.ROTATE, COSInteger.get(90));
+    }
+
+    @Test
+    public void lazyImportPage() {
+        PDDocumentHandler victim = new PDDocumentHandler();
+        victim.setLazyPageImport(true);
+        PDPage imported = victim.importPage(source.getPage(0));
+        assertNotSame(source.getPage(0).getCOSObject(), imported.getCOSObject());
+        assertSame(inheritedResources, imported.getCOSObject().getItem(COSName.RESOURCES));
+        assertSame(source.getPage(0).getCOSObject().getItem(COSName.MEDIA_BOX),
+                imported.getCOSObject().getItem(COSName.MEDIA_BOX));
+        assertEquals(90, imported.getRotation());
+        assertEquals(PDRectangle.A4, imported.getCropBox());
+        assertEquals(1, victim.getNumberOfPages());
+    }
+
+    @Test
+    public void importPage() {
+        PDDocumentHandler victim = new PDDocumentHandler();
+        PDPage imported = victim.importPage(source.getPage(0));
+        assertSame(inheritedResources, imported.getResources().getCOSObject());
+        assertEquals(90, imported.getRotation());
+        assertEquals(PDRectangle.A4, imported.getCropBox());
+    }
+
+    @Test
+    public void saveToStream() throws TaskException, IOException {
+        PDDocumentHandler victim = new PDDocumentHandler();
+        victim.importPage(source.getPage(0));
+        victim.setCompress(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new IllegalStateException("The destination stream should not be closed");
+            }
+        };
+        victim.savePDDocument(out);
+        try (PDDocument saved = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(out.toByteArray()))) {
+            assertEquals(1, saved.getNumberOfPages());
+        }
+    }
+
+    @Test
+    public void saveLinearizedToStream() throws TaskException, IOException {
+        PDDocumentHandler victim = new PDDocumentHandler();
+        victim.importPage(source.getPage(0));
+        victim.setLinearize(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        victim.savePDDocument(out);
+        assertTrue(new String(out.toByteArray(), StandardCharsets.ISO_8859_1).contains("/Linearized 1"));
+        try (PDDocument saved = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(out.toByteArray()))) {
+            assertEquals(1, saved.getNumberOfPages());
+        }
+    }
+}
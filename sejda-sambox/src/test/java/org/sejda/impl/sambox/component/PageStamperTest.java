@@ -0,0 +1,92 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.font.PDType1Font;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PageStamperTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDocument() {
+        PageStamper.batching(null);
+    }
+
+    @Test
+    public void batchingWritesSingleStream() throws IOException, TaskIOException {
+        PDDocument doc = new PDDocument();
+        PDPage batched = new PDPage();
+        doc.addPage(batched);
+        PDPage single = new PDPage();
+        doc.addPage(single);
+
+        try (PageStamper victim = PageStamper.batching(doc)) {
+            PageTextWriter writer = new PageTextWriter(victim);
+            writer.write(batched, new Point2D.Float(10, 10), "Chuck", PDType1Font.HELVETICA, 10d, Color.BLACK);
+            writer.write(batched, new Point2D.Float(10, 50), "Norris", PDType1Font.HELVETICA, 10d, Color.BLACK);
+            new PageGeometricalShapeWriter(victim).drawRectangle(batched, new Point2D.Float(10, 10), 20, 20,
+                    Color.RED, null, 1);
+        }
+        new PageTextWriter(doc).write(single, new Point2D.Float(10, 10), "Chuck", PDType1Font.HELVETICA, 10d,
+                Color.BLACK);
+
+        assertEquals(countStreams(single), countStreams(batched));
+        String content = IOUtils.toString(batched.getContents(), "ISO-8859-1");
+        assertThat(content, containsString("(Chuck)"));
+        assertThat(content, containsString("(Norris)"));
+        assertThat(content, containsString(" re"));
+    }
+
+    @Test
+    public void notBatching() throws IOException, TaskIOException {
+        PDDocument doc = new PDDocument();
+        PDPage page = new PDPage();
+        doc.addPage(page);
+        PageTextWriter writer = new PageTextWriter(PageStamper.notBatching(doc));
+        writer.write(page, new Point2D.Float(10, 10), "Chuck", PDType1Font.HELVETICA, 10d, Color.BLACK);
+        int streams = countStreams(page);
+        writer.write(page, new Point2D.Float(10, 50), "Norris", PDType1Font.HELVETICA, 10d, Color.BLACK);
+        assertEquals(streams + 2, countStreams(page));
+    }
+
+    private static int countStreams(PDPage page) {
+        int count = 0;
+        for (Iterator<?> streams = page.getContentStreams(); streams.hasNext(); streams.next()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PagesMetadataIndexTest {
+
+    private PDDocument document;
+    private COSDictionary sharedResources;
+    private COSDictionary inheritedResources;
+
+    @Before
+    public void setUp() {
+        document = new PDDocument();
+        sharedResources = new COSDictionary();
+        COSDictionary fonts = new COSDictionary();
+        fonts.setItem(COSName.getPDFName("F1"), new COSDictionary());
+        sharedResources.setItem(COSName.FONT, fonts);
+
+        PDPage first = new PDPage(PDRectangle.A4);
+        first.setRotation(90);
+        first.getCOSObject().setItem(COSName.RESOURCES, sharedResources);
+        document.addPage(first);
+
+        PDPage second = new PDPage(PDRectangle.A3);
+        second.setTrimBox(new PDRectangle(10, 10, 100, 100));
+        second.getCOSObject().setItem(COSName.RESOURCES, sharedResources);
+        document.addPage(second);
+
+        PDPage third = new PDPage(PDRectangle.LETTER);
+        third.getCOSObject().removeItem(COSName.RESOURCES);
+        document.addPage(third);
+        inheritedResources = new COSDictionary();
+        document.getPages().getCOSObject().setItem(COSName.RESOURCES, inheritedResources);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDocument() {
+        new PagesMetadataIndex(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void outOfRange() {
+        new PagesMetadataIndex(document).rotation(4);
+    }
+
+    @Test
+    public void boxesAndRotation() {
+        PagesMetadataIndex victim = new PagesMetadataIndex(document);
+        assertEquals(3, victim.numberOfPages());
+        assertEquals(PDRectangle.A4, victim.mediaBox(1));
+        assertEquals(PDRectangle.A4, victim.cropBox(1));
+        assertEquals(PDRectangle.A4, victim.trimBox(1));
+        assertEquals(90, victim.rotation(1));
+        assertEquals(PDRectangle.A3, victim.mediaBox(2));
+        assertEquals(new PDRectangle(10, 10, 100, 100), victim.trimBox(2));
+        assertEquals(0, victim.rotation(2));
+    }
+
+    @Test
+    public void resources() {
+        PagesMetadataIndex victim = new PagesMetadataIndex(document);
+        assertSame(sharedResources, victim.resources(1));
+        assertSame(sharedResources, victim.resources(2));
+        assertSame(inheritedResources, victim.resources(3));
+    }
+
+    @Test
+    public void noResources() {
+        document.getPages().getCOSObject().removeItem(COSName.RESOURCES);
+        PagesMetadataIndex victim = new PagesMetadataIndex(document);
+        assertNull(victim.resources(3));
+    }
+
+    @Test
+    public void onlySelectedPages() {
+        PagesMetadataIndex victim = new PagesMetadataIndex(document, new HashSet<>(Arrays.asList(2, 3)));
+        assertEquals(3, victim.numberOfPages());
+        assertEquals(PDRectangle.A3, victim.mediaBox(2));
+        assertSame(inheritedResources, victim.resources(3));
+        try {
+            victim.rotation(1);
+            fail("Page 1 is not selected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void inheritedAttributes() {
+        COSDictionary resources = new COSDictionary();
+        COSDictionary pageA = page();
+        COSDictionary pageB = page();
+        pageB.setItem(COSName.MEDIA_BOX, PDRectangle.A4.getCOSObject());
+        pageB.setItem(COSName.CROP_BOX, new PDRectangle(-10, -10, 50, 50).getCOSObject());
+        pageB.setInt(COSName.ROTATE, -90);
+        COSDictionary node = pagesNode(pageA, pageB);
+        node.setItem(COSName.MEDIA_BOX, PDRectangle.A3.getCOSObject());
+        node.setInt(COSName.ROTATE, 180);
+        node.setItem(COSName.RESOURCES, resources);
+        COSDictionary pageC = page();
+        COSDictionary skipped = pagesNode(page(), page());
+        COSDictionary root = pagesNode(node, skipped, pageC);
+        root.setItem(COSName.CROP_BOX, new PDRectangle(0, 0, 100, 100).getCOSObject());
+        root.setInt(COSName.COUNT, 5);
+        PDDocument tree = new PDDocument();
+        tree.getDocumentCatalog().getCOSObject().setItem(COSName.PAGES, root);
+
+        PagesMetadataIndex victim = new PagesMetadataIndex(tree, new HashSet<>(Arrays.asList(1, 2, 5)));
+        assertEquals(5, victim.numberOfPages());
+        assertEquals(PDRectangle.A3, victim.mediaBox(1));
+        assertEquals(new PDRectangle(0, 0, 100, 100), victim.cropBox(1));
+        assertEquals(new PDRectangle(0, 0, 100, 100), victim.trimBox(1));
+        assertEquals(180, victim.rotation(1));
+        assertSame(resources, victim.resources(1));
+        assertEquals(PDRectangle.A4, victim.mediaBox(2));
+        assertEquals(new PDRectangle(0, 0, 40, 40), victim.cropBox(2));
+        assertEquals(270, victim.rotation(2));
+        assertSame(resources, victim.resources(2));
+        assertEquals(PDRectangle.LETTER, victim.mediaBox(5));
+        assertEquals(0, victim.rotation(5));
+        assertNull(victim.resources(5));
+        for (int i = 1; i <= 5; i++) {
+            if (i != 3 && i != 4) {
+                PDPage page = tree.getPage(i - 1);
+                assertEquals(page.getMediaBox(), victim.mediaBox(i));
+                assertEquals(page.getCropBox(), victim.cropBox(i));
+                assertEquals(page.getRotation(), victim.rotation(i));
+                assertEquals(page, victim.page(i));
+            }
+        }
+    }
+
+    @Test
+    public void pages() {
+        PagesMetadataIndex victim = new PagesMetadataIndex(document);
+        for (int i = 1; i <= 3; i++) {
+            assertSame(document.getPage(i - 1).getCOSObject(), victim.page(i).getCOSObject());
+        }
+    }
+
+    @Test
+    public void pageTypeIsSanitized() {
+        COSDictionary untyped = new COSDictionary();
+        PDDocument tree = new PDDocument();
+        tree.getDocumentCatalog().getCOSObject().setItem(COSName.PAGES, pagesNode(untyped));
+        assertEquals(COSName.PAGE, new PagesMetadataIndex(tree).page(1).getCOSObject().getCOSName(COSName.TYPE));
+    }
+
+    private static COSDictionary page() {
+        COSDictionary page = new COSDictionary();
+        page.setItem(COSName.TYPE, COSName.PAGE);
+        return page;
+    }
+
+    private static COSDictionary pagesNode(COSDictionary... kids) {
+        COSDictionary node = new COSDictionary();
+        node.setItem(COSName.TYPE, COSName.PAGES);
+        COSArray kidsArray = new COSArray();
+        for (COSDictionary kid : kids) {
+            kidsArray.add(kid);
+            kid.setItem(COSName.PARENT, node);
+        }
+        node.setItem(COSName.KIDS, kidsArray);
+        node.setInt(COSName.COUNT, kids.length);
+        return node;
+    }
+
+    @Test
+    public void handlerDiscardsIndexOnPagesChange() {
+        PDDocumentHandler handler = new PDDocumentHandler(document);
+        PagesMetadataIndex index = handler.pagesIndex();
+        assertSame(index, handler.pagesIndex());
+        assertEquals(3, index.numberOfPages());
+        handler.addBlankPage(PDRectangle.A4);
+        assertEquals(4, handler.pagesIndex().numberOfPages());
+    }
+}
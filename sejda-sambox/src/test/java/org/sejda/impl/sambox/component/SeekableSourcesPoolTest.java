@@ -0,0 +1,162 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.SeekableSource;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SeekableSourcesPoolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMax() {
+        new SeekableSourcesPool(0);
+    }
+
+    @Test
+    public void boundedOpenFiles() throws IOException {
+        SeekableSourcesPool victim = new SeekableSourcesPool(1);
+        SeekableSource first = victim.sourceFor(file("first", "0123456789"));
+        SeekableSource second = victim.sourceFor(file("second", "abcdefghij"));
+        assertEquals(0, victim.openSources());
+        first.position(2);
+        assertEquals('2', first.read());
+        assertEquals(1, victim.openSources());
+        assertEquals('a', second.read());
+        assertEquals(1, victim.openSources());
+        // reopened at the same position
+        assertEquals('3', first.read());
+        assertEquals(4, first.position());
+        assertEquals('b', second.read());
+        assertEquals(1, victim.openSources());
+    }
+
+    @Test(timeout = 30000)
+    public void concurrentReads() throws Exception {
+        SeekableSourcesPool victim = new SeekableSourcesPool(1);
+        SeekableSource first = victim.sourceFor(file("first", "0123456789"));
+        SeekableSource second = victim.sourceFor(file("second", "abcdefghij"));
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> firstReads = executor.submit(() -> readRepeatedly(first, barrier));
+            Future<?> secondReads = executor.submit(() -> readRepeatedly(second, barrier));
+            firstReads.get();
+            secondReads.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, victim.openSources());
+    }
+
+    private static Void readRepeatedly(SeekableSource source, CyclicBarrier barrier) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            barrier.await();
+            source.position(0);
+            assertEquals(10, source.read(ByteBuffer.allocate(10)));
+        }
+        return null;
+    }
+
+    @Test
+    public void views() throws IOException {
+        SeekableSourcesPool victim = new SeekableSourcesPool(1);
+        SeekableSource first = victim.sourceFor(file("first", "0123456789"));
+        SeekableSource second = victim.sourceFor(file("second", "abcdefghij"));
+        SeekableSource view = first.view(3, 4);
+        assertEquals(4, view.size());
+        assertEquals('3', view.read());
+        assertEquals('a', second.read());
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        assertEquals(3, view.read(buffer));
+        assertEquals("456", new String(buffer.array(), 0, 3, "ISO-8859-1"));
+        assertEquals(-1, view.read());
+        // the view doesn't move the parent
+        assertEquals(0, first.position());
+        assertEquals('0', first.read());
+        SeekableSource nested = view.view(1, 10);
+        assertEquals(3, nested.size());
+        assertEquals('4', nested.read());
+    }
+
+    @Test
+    public void release() throws IOException {
+        SeekableSourcesPool victim = new SeekableSourcesPool(2);
+        SeekableSource first = victim.sourceFor(file("first", "0123456789"));
+        assertEquals('0', first.read());
+        assertEquals(1, victim.openSources());
+        victim.release(first);
+        assertEquals(0, victim.openSources());
+        assertEquals('1', first.read());
+        first.close();
+        assertEquals(0, victim.openSources());
+    }
+
+    @Test
+    public void documentsReadAfterRelease() throws IOException {
+        SeekableSourcesPool victim = new SeekableSourcesPool(1);
+        File file = folder.newFile("test.pdf");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("pdf/test_file.pdf")) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (PDDocument first = PDFParser.parse(victim.sourceFor(file));
+                PDDocument second = PDFParser.parse(victim.sourceFor(file))) {
+            assertEquals(1, victim.openSources());
+            int pages = first.getNumberOfPages();
+            assertEquals(pages, second.getNumberOfPages());
+            File out = folder.newFile("out.pdf");
+            first.writeTo(out);
+            assertTrue(out.length() > 0);
+            try (PDDocument written = PDFParser.parse(victim.sourceFor(out))) {
+                assertEquals(pages, written.getNumberOfPages());
+                assertEquals(1, victim.openSources());
+            }
+        }
+    }
+
+    private File file(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), content.getBytes("ISO-8859-1"));
+        return file;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.sejda.model.input.FileIndexAndPage;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SourcesAccessPlanTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullPages() {
+        new SourcesAccessPlan(null, 2);
+    }
+
+    @Test
+    public void lastAccess() {
+        SourcesAccessPlan victim = new SourcesAccessPlan(asList(new FileIndexAndPage(0, 1), new FileIndexAndPage(1, 1),
+                new FileIndexAndPage(0, 2), new FileIndexAndPage(2, 1), new FileIndexAndPage(2, 2)), 4);
+        assertTrue(victim.lastAccessedAt(0).isEmpty());
+        assertEquals(asList(1), victim.lastAccessedAt(1));
+        assertEquals(asList(0), victim.lastAccessedAt(2));
+        assertTrue(victim.lastAccessedAt(3).isEmpty());
+        assertEquals(asList(2), victim.lastAccessedAt(4));
+        assertEquals(asList(3), victim.unused());
+        assertEquals(2, victim.maxInUse());
+    }
+
+    @Test
+    public void sameStep() {
+        SourcesAccessPlan victim = new SourcesAccessPlan(asList(new FileIndexAndPage(1, 1), new FileIndexAndPage(0, 1)),
+                2);
+        assertEquals(asList(1), victim.lastAccessedAt(0));
+        assertEquals(asList(0), victim.lastAccessedAt(1));
+        assertEquals(1, victim.maxInUse());
+    }
+
+    @Test
+    public void outOfRange() {
+        SourcesAccessPlan victim = new SourcesAccessPlan(asList(new FileIndexAndPage(5, 1)), 1);
+        assertTrue(victim.lastAccessedAt(0).isEmpty());
+        assertEquals(asList(0), victim.unused());
+        assertEquals(0, victim.maxInUse());
+    }
+
+    @Test
+    public void empty() {
+        SourcesAccessPlan victim = new SourcesAccessPlan(Collections.emptyList(), 0);
+        assertTrue(victim.unused().isEmpty());
+        assertEquals(0, victim.maxInUse());
+    }
+}
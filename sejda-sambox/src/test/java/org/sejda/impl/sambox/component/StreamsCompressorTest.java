@@ -0,0 +1,125 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class StreamsCompressorTest {
+
+    private static final String CONTENT = new String(new char[200]).replace("\0", "BT ET ");
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidLevel() {
+        new StreamsCompressor(10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidThreads() {
+        new StreamsCompressor(9, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDocument() throws IOException {
+        new StreamsCompressor(9).apply(null);
+    }
+
+    @Test
+    public void inMemoryStreamsAreCompressed() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < 4; i++) {
+                document.addPage(pageWithContents());
+            }
+            COSStream empty = new COSStream();
+            document.getPage(0).getCOSObject().setItem(COSName.getPDFName("Empty"), empty);
+            assertEquals(4, new StreamsCompressor(9, 2).apply(document));
+            for (PDPage page : document.getPages()) {
+                COSStream contents = page.getCOSObject().getDictionaryObject(COSName.CONTENTS, COSStream.class);
+                assertEquals(COSName.FLATE_DECODE, contents.getFilters());
+                assertEquals(CONTENT, IOUtils.toString(contents.getUnfilteredStream(), StandardCharsets.US_ASCII));
+            }
+            assertNull(empty.getFilters());
+        }
+    }
+
+    @Test
+    public void existingStreamsAreNotCompressed() throws IOException {
+        byte[] uncompressed;
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(pageWithContents());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.writeTo(out);
+            uncompressed = out.toByteArray();
+        }
+        try (PDDocument document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(uncompressed))) {
+            assertEquals(0, new StreamsCompressor(-1).apply(document));
+            assertNull(document.getPage(0).getCOSObject().getDictionaryObject(COSName.CONTENTS, COSStream.class)
+                    .getFilters());
+        }
+    }
+
+    @Test
+    public void inMemoryStreamsOfExistingPagesAreCompressed() throws IOException {
+        byte[] existing;
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(pageWithContents());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.writeTo(out);
+            existing = out.toByteArray();
+        }
+        try (PDDocument document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(existing))) {
+            PDPage page = document.getPage(0);
+            COSStream added = pageWithContents().getCOSObject().getDictionaryObject(COSName.CONTENTS,
+                    COSStream.class);
+            page.getCOSObject().setItem(COSName.CONTENTS,
+                    new COSArray(page.getCOSObject().getItem(COSName.CONTENTS), added));
+            assertEquals(1, new StreamsCompressor(-1).apply(document));
+            assertEquals(COSName.FLATE_DECODE, added.getFilters());
+        }
+    }
+
+    private static PDPage pageWithContents() throws IOException {
+        PDPage page = new PDPage();
+        COSStream contents = new COSStream();
+        try (OutputStream stream = contents.createUnfilteredStream()) {
+            stream.write(CONTENT.getBytes());
+        }
+        page.getCOSObject().setItem(COSName.CONTENTS, contents);
+        return page;
+    }
+}
@@ -27,6 +27,7 @@ import java.io.IOException;
 import org.junit.Test;
 import org.sejda.io.SeekableSources;
 import org.sejda.model.toc.ToCPolicy;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
@@ -148,6 +149,25 @@ public class TableOfContentsCreatorTest {
         assertEquals(1, doc.getNumberOfPages());
     }
 
+    @Test
+    public void testAddToCPrependsAllPages() throws IOException {
+        PDDocument doc = PDFParser.parse(SeekableSources
+                .inMemorySeekableSourceFrom(getClass().getClassLoader().getResourceAsStream("pdf/test_outline.pdf")));
+        PDPage firstPage = doc.getPage(0);
+        TableOfContentsCreator victim = new TableOfContentsCreator(ToCPolicy.FILE_NAMES, doc);
+        for (int i = 1; i < 80; i++) {
+            victim.appendItem("text " + i, i, new PDAnnotationLink());
+        }
+        victim.addToC();
+        assertEquals(6, doc.getNumberOfPages());
+        assertEquals(firstPage.getCOSObject(), doc.getPage(3).getCOSObject());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(doc.getPages().getCOSObject(),
+                    doc.getPage(i).getCOSObject().getDictionaryObject(COSName.PARENT));
+            assertFalse(doc.getPage(i).getAnnotations().isEmpty());
+        }
+    }
+
     @Test
     public void testToCPageSize() {
         PDDocument doc = new PDDocument();
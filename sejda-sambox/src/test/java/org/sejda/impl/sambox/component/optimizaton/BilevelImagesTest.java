@@ -0,0 +1,128 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class BilevelImagesTest {
+
+    @Test
+    public void isBilevel() {
+        assertTrue(BilevelImages.isBilevel(image(1, COSName.FLATE_DECODE, COSName.DEVICEGRAY)));
+        assertTrue(BilevelImages.isBilevel(image(1, COSName.CCITTFAX_DECODE, COSName.DEVICEGRAY)));
+        assertTrue(BilevelImages.isBilevel(image(1, COSName.JBIG2_DECODE, COSName.DEVICEGRAY)));
+        COSStream mask = image(1, COSName.FLATE_DECODE, null);
+        mask.removeItem(COSName.BITS_PER_COMPONENT);
+        mask.setBoolean(COSName.IMAGE_MASK, true);
+        assertTrue(BilevelImages.isBilevel(mask));
+        assertFalse(BilevelImages.isBilevel(image(8, COSName.FLATE_DECODE, COSName.DEVICEGRAY)));
+        assertFalse(BilevelImages.isBilevel(image(8, COSName.DCT_DECODE, COSName.DEVICERGB)));
+    }
+
+    @Test
+    public void canReencode() {
+        assertTrue(BilevelImages.canReencode(image(1, COSName.FLATE_DECODE, COSName.DEVICEGRAY)));
+        assertFalse(BilevelImages.canReencode(image(1, COSName.CCITTFAX_DECODE, COSName.DEVICEGRAY)));
+        assertFalse(BilevelImages.canReencode(image(1, COSName.JBIG2_DECODE, COSName.DEVICEGRAY)));
+        assertFalse(BilevelImages.canReencode(image(1, COSName.FLATE_DECODE, COSName.INDEXED)));
+        COSStream mask = image(1, COSName.FLATE_DECODE, COSName.DEVICEGRAY);
+        mask.setBoolean(COSName.IMAGE_MASK, true);
+        assertFalse(BilevelImages.canReencode(mask));
+        COSStream withSMask = image(1, COSName.FLATE_DECODE, COSName.DEVICEGRAY);
+        withSMask.setItem(COSName.SMASK, new COSStream());
+        assertFalse(BilevelImages.canReencode(withSMask));
+    }
+
+    @Test
+    public void nearBilevel() {
+        BufferedImage image = text(BufferedImage.TYPE_BYTE_GRAY);
+        assertTrue(BilevelImages.isNearBilevel(image));
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.GRAY);
+        graphics.fillRect(0, 0, 100, 100);
+        graphics.dispose();
+        assertFalse(BilevelImages.isNearBilevel(image));
+    }
+
+    @Test
+    public void nearBilevelRGB() {
+        BufferedImage image = text(BufferedImage.TYPE_INT_RGB);
+        assertTrue(BilevelImages.isNearBilevel(image));
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 100, 100);
+        graphics.dispose();
+        assertFalse(BilevelImages.isNearBilevel(image));
+    }
+
+    @Test
+    public void toCCITT() throws IOException {
+        PDImageXObject result = BilevelImages.toCCITT(text(BufferedImage.TYPE_BYTE_GRAY));
+        assertTrue(result.getCOSObject().hasFilter(COSName.CCITTFAX_DECODE));
+        assertEquals(1, result.getBitsPerComponent());
+        BufferedImage decoded = result.getImage();
+        assertEquals(400, decoded.getWidth());
+        assertEquals(300, decoded.getHeight());
+        assertEquals(Color.BLACK.getRGB(), decoded.getRGB(12, 12));
+        assertEquals(Color.WHITE.getRGB(), decoded.getRGB(2, 2));
+    }
+
+    private static COSStream image(int bpc, COSName filter, COSName colorSpace) {
+        COSStream image = new COSStream();
+        image.setItem(COSName.SUBTYPE, COSName.IMAGE);
+        image.setInt(COSName.BITS_PER_COMPONENT, bpc);
+        image.setItem(COSName.FILTER, filter);
+        image.setItem(COSName.COLORSPACE, colorSpace);
+        return image;
+    }
+
+    /**
+     * @return a white image with black rectangles, looking like lines of text
+     */
+    static BufferedImage text(int type) {
+        BufferedImage image = new BufferedImage(400, 300, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 400, 300);
+        graphics.setColor(Color.BLACK);
+        for (int y = 10; y < 290; y += 20) {
+            for (int x = 10; x < 390; x += 30) {
+                graphics.fillRect(x, y, 5 + (x * y) % 20, 10);
+            }
+        }
+        graphics.dispose();
+        return image;
+    }
+}
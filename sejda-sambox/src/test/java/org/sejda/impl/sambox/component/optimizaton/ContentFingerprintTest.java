@@ -0,0 +1,92 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.cos.COSString;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ContentFingerprintTest {
+
+    @Test
+    public void keysOrderDoesNotMatter() throws IOException {
+        COSDictionary first = new COSDictionary();
+        first.setItem(COSName.getPDFName("A"), COSInteger.ONE);
+        first.setItem(COSName.getPDFName("B"), COSInteger.TWO);
+        COSDictionary second = new COSDictionary();
+        second.setItem(COSName.getPDFName("B"), COSInteger.TWO);
+        second.setItem(COSName.getPDFName("A"), COSInteger.ONE);
+        assertEquals(ContentFingerprint.of(first), ContentFingerprint.of(second));
+    }
+
+    @Test
+    public void streamData() throws IOException {
+        assertEquals(ContentFingerprint.of(stream("chuck")), ContentFingerprint.of(stream("chuck")));
+        assertNotEquals(ContentFingerprint.of(stream("chuck")), ContentFingerprint.of(stream("norris")));
+    }
+
+    @Test
+    public void streamLengthIsIgnored() throws IOException {
+        COSStream stream = stream("chuck");
+        stream.setInt(COSName.LENGTH, 123);
+        assertEquals(ContentFingerprint.of(stream("chuck")), ContentFingerprint.of(stream));
+    }
+
+    @Test
+    public void qualifiers() throws IOException {
+        COSStream stream = stream("chuck");
+        assertEquals(ContentFingerprint.of(stream, 0.8f, 72), ContentFingerprint.of(stream("chuck"), 0.8f, 72));
+        assertNotEquals(ContentFingerprint.of(stream, 0.8f, 72), ContentFingerprint.of(stream, 0.8f, 150));
+        assertNotEquals(ContentFingerprint.of(stream), ContentFingerprint.of(stream, 0.8f));
+    }
+
+    @Test
+    public void stringsCannotRunIntoFollowingValues() throws IOException {
+        COSDictionary first = new COSDictionary();
+        first.setItem(COSName.getPDFName("A"), new COSString("x".getBytes(StandardCharsets.UTF_8)));
+        first.setItem(COSName.getPDFName("B"), COSInteger.ONE);
+        COSDictionary second = new COSDictionary();
+        // the B entry as it would be digested without length prefixes, appended to the string
+        String shifted = "xB\0COSInteger:" + COSInteger.ONE.toString() + "\0";
+        second.setItem(COSName.getPDFName("A"), new COSString(shifted.getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(ContentFingerprint.of(first), ContentFingerprint.of(second));
+    }
+
+    private static COSStream stream(String data) throws IOException {
+        COSStream stream = new COSStream();
+        try (OutputStream out = stream.createUnfilteredStream()) {
+            out.write(data.getBytes("UTF-8"));
+        }
+        return stream;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ContentStreamsMinifierTest {
+
+    private PDDocument document;
+
+    @Before
+    public void setUp() {
+        document = new PDDocument();
+        document.addPage(new PDPage());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativePrecision() {
+        new ContentStreamsMinifier(-1);
+    }
+
+    @Test
+    public void mergesContentStreams() throws IOException {
+        COSArray contents = new COSArray(stream("q 1 0 0 RG 0 0 m 10 10 l"), stream("S Q"));
+        document.getPage(0).getCOSObject().setItem(COSName.CONTENTS, contents);
+        new ContentStreamsMinifier(3).accept(document);
+        assertEquals("q 1 0 0 RG 0 0 m 10 10 l S Q", content(document.getPage(0)));
+    }
+
+    @Test
+    public void removesRedundantOperators() throws IOException {
+        document.getPage(0).getCOSObject().setItem(COSName.CONTENTS,
+                stream("q Q q q Q Q BT ET 1 0 0 1 0 0 cm 1 w 2 w 0 0 5 5 re n 0 0 5 5 re W n 0 0 m 5 5 l S"));
+        new ContentStreamsMinifier(3).accept(document);
+        assertEquals("2 w 0 0 5 5 re W n 0 0 m 5 5 l S", content(document.getPage(0)));
+    }
+
+    @Test
+    public void roundsPathOperands() throws IOException {
+        document.getPage(0).getCOSObject().setItem(COSName.CONTENTS,
+                stream("0.5 w 10.123456 20.98765 m 1.00001 2.5 l S 1.123456 0 0 1 0 0 rg"));
+        new ContentStreamsMinifier(2).accept(document);
+        assertEquals("0.5 w 10.12 20.99 m 1 2.5 l S 1.123456 0 0 1 0 0 rg", content(document.getPage(0)));
+    }
+
+    @Test
+    public void roundingDependsOnTheTransformation() throws IOException {
+        document.getPage(0).getCOSObject().setItem(COSName.CONTENTS,
+                stream("q 0.01 0 0 0.01 0 0 cm 1234.5678 1.26 m Q q 100 0 0 100 0 0 cm 0.1234567 0 l Q 0.1234567 0 l"));
+        new ContentStreamsMinifier(2).accept(document);
+        assertEquals("q 0.01 0 0 0.01 0 0 cm 1235 1 m Q q 100 0 0 100 0 0 cm 0.1235 0 l Q 0.12 0 l",
+                content(document.getPage(0)));
+    }
+
+    @Test
+    public void sharedContentStreamsAreKept() throws IOException {
+        COSStream shared = stream("q Q 0 0 m 10 10 l S");
+        document.getPage(0).getCOSObject().setItem(COSName.CONTENTS, shared);
+        PDPage other = new PDPage();
+        other.getCOSObject().setItem(COSName.CONTENTS, new COSArray(shared, stream("q Q")));
+        document.addPage(other);
+        new ContentStreamsMinifier(3).accept(document);
+        assertSame(shared, document.getPage(0).getCOSObject().getDictionaryObject(COSName.CONTENTS));
+        assertEquals(2, document.getPage(1).getCOSObject().getDictionaryObject(COSName.CONTENTS, COSArray.class)
+                .size());
+    }
+
+    @Test
+    public void compressesMinifiedStreams() throws IOException {
+        document.getPage(0).getCOSObject().setItem(COSName.CONTENTS, stream("q Q 0 0 m 10 10 l S"));
+        new ContentStreamsMinifier(3, true).accept(document);
+        COSStream minified = document.getPage(0).getCOSObject().getDictionaryObject(COSName.CONTENTS,
+                COSStream.class);
+        assertTrue(minified.hasFilter(COSName.FLATE_DECODE));
+        assertEquals("0 0 m 10 10 l S", content(document.getPage(0)));
+    }
+
+    @Test
+    public void minifiedStreamsLeftToTheWriter() throws IOException {
+        document.getPage(0).getCOSObject().setItem(COSName.CONTENTS, stream("q Q 0 0 m 10 10 l S"));
+        new ContentStreamsMinifier(3).accept(document);
+        assertNull(document.getPage(0).getCOSObject().getDictionaryObject(COSName.CONTENTS, COSStream.class)
+                .getFilters());
+    }
+
+    private static COSStream stream(String content) throws IOException {
+        COSStream stream = new COSStream();
+        try (OutputStream out = stream.createUnfilteredStream()) {
+            out.write(content.getBytes("ISO-8859-1"));
+        }
+        return stream;
+    }
+
+    private static String content(PDPage page) {
+        return page.getCOSObject().getDictionaryObject(COSName.CONTENTS, COSStream.class).asTextString()
+                .replaceAll("\\s+", " ").trim();
+    }
+}
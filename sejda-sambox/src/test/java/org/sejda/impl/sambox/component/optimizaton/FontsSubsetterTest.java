@@ -0,0 +1,221 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.junit.Test;
+import org.sejda.fonts.UnicodeType0Font;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.pdmodel.font.PDType0Font;
+import org.sejda.sambox.pdmodel.font.PDType1Font;
+import org.sejda.sambox.text.PDFTextStripper;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class FontsSubsetterTest {
+
+    @Test
+    public void subsetSharedFont() throws IOException {
+        PDDocument document = document((d, f) -> {
+            // nothing
+        }, "Hello", "World");
+        long original = fontFile(document).getUnfilteredLength();
+        List<Double> widths = glyphWidths(document);
+        new FontsSubsetter().accept(document);
+        PDDocument subset = reload(document);
+        assertTrue(fontFile(subset).getUnfilteredLength() < original / 10);
+        assertTrue(descendant(subset).getNameAsString(COSName.BASE_FONT).matches("[A-Z]{6}\\+NotoSans"));
+        assertEquals(widths, glyphWidths(subset));
+        assertEquals("Hello\nWorld\n", new PDFTextStripper().getText(subset).replace("\r", ""));
+    }
+
+    @Test
+    public void fontUsedByTheFormIsKept() throws IOException {
+        PDDocument document = document((d, f) -> {
+            COSDictionary fonts = new COSDictionary();
+            fonts.setItem(COSName.getPDFName("F1"), f.getCOSObject());
+            COSDictionary resources = new COSDictionary();
+            resources.setItem(COSName.FONT, fonts);
+            COSDictionary form = new COSDictionary();
+            form.setItem(COSName.DR, resources);
+            form.setItem(COSName.FIELDS, new COSArray());
+            d.getDocumentCatalog().getCOSObject().setItem(COSName.ACRO_FORM, form);
+        }, "Hello");
+        assertKept(document);
+    }
+
+    @Test
+    public void fontUsedByNotParsedResourcesIsKept() throws IOException {
+        PDDocument document = document((d, f) -> {
+            COSDictionary fonts = new COSDictionary();
+            fonts.setItem(COSName.getPDFName("F1"), f.getCOSObject());
+            COSDictionary resources = new COSDictionary();
+            resources.setItem(COSName.FONT, fonts);
+            COSStream form = new COSStream();
+            form.setItem(COSName.TYPE, COSName.XOBJECT);
+            form.setItem(COSName.SUBTYPE, COSName.FORM);
+            form.setItem(COSName.RESOURCES, resources);
+            COSDictionary xobjects = new COSDictionary();
+            xobjects.setItem(COSName.getPDFName("Fm1"), form);
+            d.getPage(0).getResources().getCOSObject().setItem(COSName.XOBJECT, xobjects);
+        }, "Hello");
+        assertKept(document);
+    }
+
+    @Test
+    public void fontUsedByNotParsedAppearanceStateIsKept() throws IOException {
+        PDDocument document = document((d, f) -> {
+            COSDictionary fonts = new COSDictionary();
+            fonts.setItem(COSName.getPDFName("F1"), f.getCOSObject());
+            COSDictionary resources = new COSDictionary();
+            resources.setItem(COSName.FONT, fonts);
+            // only the normal appearance is parsed, the down one shares its resources but shows different text
+            COSDictionary appearance = new COSDictionary();
+            appearance.setItem(COSName.N, appearanceStream(f, resources, "Hello"));
+            appearance.setItem(COSName.D, appearanceStream(f, resources, "Quiz"));
+            COSDictionary widget = new COSDictionary();
+            widget.setItem(COSName.TYPE, COSName.ANNOT);
+            widget.setItem(COSName.SUBTYPE, COSName.WIDGET);
+            widget.setItem(COSName.RECT, new PDRectangle(20, 600, 100, 20).getCOSObject());
+            widget.setItem(COSName.AP, appearance);
+            d.getPage(0).getCOSObject().setItem(COSName.ANNOTS, new COSArray(widget));
+        }, "Hello");
+        assertKept(document);
+    }
+
+    @Test
+    public void simpleFontsAreIgnored() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream contents = new PDPageContentStream(document, page)) {
+                contents.beginText();
+                contents.setFont(PDType1Font.HELVETICA, 12);
+                contents.showText("Hello");
+                contents.endText();
+            }
+            new FontsSubsetter().accept(document);
+            assertEquals("Hello", new PDFTextStripper().getText(document).trim());
+        }
+    }
+
+    private static void assertKept(PDDocument document) throws IOException {
+        COSStream file = fontFile(document);
+        String name = descendant(document).getNameAsString(COSName.BASE_FONT);
+        new FontsSubsetter().accept(document);
+        assertEquals(file, fontFile(document));
+        assertEquals(name, descendant(document).getNameAsString(COSName.BASE_FONT));
+    }
+
+    private static PDDocument document(BiConsumer<PDDocument, PDType0Font> customizer, String... lines)
+            throws IOException {
+        try (PDDocument document = new PDDocument();
+                InputStream fontStream = UnicodeType0Font.NOTO_SANS_REGULAR.getFontStream()) {
+            PDType0Font font = PDType0Font.load(document, fontStream, false);
+            for (String line : lines) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contents = new PDPageContentStream(document, page)) {
+                    contents.beginText();
+                    contents.setFont(font, 12);
+                    contents.newLineAtOffset(20, 700);
+                    contents.showText(line);
+                    contents.endText();
+                }
+            }
+            customizer.accept(document, font);
+            return reload(document);
+        }
+    }
+
+    private static COSStream appearanceStream(PDType0Font font, COSDictionary resources, String text) {
+        COSStream stream = new COSStream();
+        stream.setItem(COSName.TYPE, COSName.XOBJECT);
+        stream.setItem(COSName.SUBTYPE, COSName.FORM);
+        stream.setItem(COSName.BBOX, new PDRectangle(100, 20).getCOSObject());
+        stream.setItem(COSName.RESOURCES, resources);
+        try (OutputStream out = stream.createUnfilteredStream()) {
+            StringBuilder codes = new StringBuilder();
+            for (byte code : font.encode(text)) {
+                codes.append(String.format("%02X", code));
+            }
+            out.write(String.format("BT /F1 12 Tf 2 5 Td <%s> Tj ET", codes).getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return stream;
+    }
+
+    private static PDDocument reload(PDDocument document) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.writeTo(out);
+        return PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(out.toByteArray()));
+    }
+
+    private static PDType0Font font(PDDocument document, int page) throws IOException {
+        return (PDType0Font) document.getPage(page).getResources().getFont(COSName.getPDFName("F1"));
+    }
+
+    private static COSDictionary descendant(PDDocument document) throws IOException {
+        return font(document, 0).getDescendantFont().getCOSObject();
+    }
+
+    private static COSStream fontFile(PDDocument document) throws IOException {
+        return descendant(document).getDictionaryObject(COSName.FONT_DESC, COSDictionary.class)
+                .getDictionaryObject(COSName.FONT_FILE2, COSStream.class);
+    }
+
+    private static List<Double> glyphWidths(PDDocument document) throws IOException {
+        List<Double> widths = new ArrayList<>();
+        for (int i = 0; i < document.getNumberOfPages(); i++) {
+            PDType0Font font = font(document, i);
+            InputStream codes = new ByteArrayInputStream(font.encode("HelloWorld"));
+            while (codes.available() > 0) {
+                widths.add(font.getPath(font.readCode(codes)).getBounds2D().getWidth());
+            }
+        }
+        assertNotEquals(0d, widths.stream().mapToDouble(Double::doubleValue).sum(), 0);
+        return widths;
+    }
+}
@@ -22,7 +22,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import org.junit.Before;
@@ -34,10 +39,14 @@ import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSInteger;
 import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceGray;
 import org.sejda.sambox.pdmodel.graphics.form.PDFormXObject;
+import org.sejda.sambox.pdmodel.graphics.image.JPEGFactory;
 import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
 
 /**
@@ -118,7 +127,67 @@ public class ImagesOptimizerTest {
         assertEquals(compressed, getImage(document.getPage(1), "X0"));
         assertEquals(compressed, getImage(document.getPage(2), "X0"));
         assertEquals(compressed, getImage(document.getPage(3), "X0"));
+        assertEquals(1, optimizer.sourceCacheMisses());
+        assertEquals(3, optimizer.sourceCacheHits());
+    }
+
+    @Test
+    public void sourceCacheMissesForDifferentDpi() throws Exception {
+        params.addOptimization(Optimization.COMPRESS_IMAGES);
+        params.setImageQuality(0.8f);
+        params.setImageDpi(72);
+        document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getClassLoader().getResourceAsStream("pdf/test_optimize_repeated_images.pdf")));
+        ImagesOptimizer optimizer = new ImagesOptimizer(params);
+        optimizer.accept(document.getPage(0));
+        params.setImageDpi(36);
+        optimizer.accept(document.getPage(1));
+        assertEquals(2, optimizer.sourceCacheMisses());
+        assertEquals(0, optimizer.sourceCacheHits());
+    }
+
+    @Test
+    public void bilevelImagesAsCCITT() throws Exception {
+        params.addOptimization(Optimization.COMPRESS_IMAGES);
+        BufferedImage text = BilevelImagesTest.text(BufferedImage.TYPE_BYTE_BINARY);
+        byte[] data = ((DataBufferByte) text.getRaster().getDataBuffer()).getData();
+        PDImageXObject image = new PDImageXObject(new ByteArrayInputStream(data), null, text.getWidth(),
+                text.getHeight(), 1, PDDeviceGray.INSTANCE);
+        document = withImage(image);
+        new ImagesOptimizer(params).accept(document.getPage(0));
+        COSStream compressed = (COSStream) getImage(document.getPage(0), "Im1");
+        assertTrue(compressed.hasFilter(COSName.CCITTFAX_DECODE));
+    }
+
+    @Test
+    public void nearBilevelImagesAsCCITT() throws Exception {
+        params.addOptimization(Optimization.COMPRESS_IMAGES);
+        document = withImage(JPEGFactory.createFromImage(BilevelImagesTest.text(BufferedImage.TYPE_BYTE_GRAY), 1f));
+        new ImagesOptimizer(params).accept(document.getPage(0));
+        COSStream compressed = (COSStream) getImage(document.getPage(0), "Im1");
+        assertTrue(compressed.hasFilter(COSName.CCITTFAX_DECODE));
+    }
+
+    @Test
+    public void ccittImagesAreKept() throws Exception {
+        params.addOptimization(Optimization.COMPRESS_IMAGES);
+        document = withImage(BilevelImages.toCCITT(BilevelImagesTest.text(BufferedImage.TYPE_BYTE_BINARY)));
+        COSBase image = getImage(document.getPage(0), "Im1");
+        new ImagesOptimizer(params).accept(document.getPage(0));
+        assertEquals(image, getImage(document.getPage(0), "Im1"));
+    }
 
+    private static PDDocument withImage(PDImageXObject image) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream contents = new PDPageContentStream(document, page)) {
+                contents.drawImage(image, 0, 0, 400, 300);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.writeTo(out);
+            return PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(out.toByteArray()));
+        }
     }
 
     private COSBase getImage(PDPage page, String name) {
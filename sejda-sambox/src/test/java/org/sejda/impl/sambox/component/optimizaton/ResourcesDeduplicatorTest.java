@@ -0,0 +1,133 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ResourcesDeduplicatorTest {
+
+    private static final COSName F1 = COSName.getPDFName("F1");
+    private static final COSName IM1 = COSName.getPDFName("Im1");
+    private static final COSName CS1 = COSName.getPDFName("CS1");
+
+    private PDDocument document;
+
+    @Before
+    public void setUp() throws IOException {
+        document = new PDDocument();
+        for (int i = 0; i < 3; i++) {
+            PDPage page = new PDPage();
+            COSDictionary resources = new COSDictionary();
+            COSDictionary fonts = new COSDictionary();
+            fonts.setItem(F1, font("Helvetica"));
+            resources.setItem(COSName.FONT, fonts);
+            COSDictionary xobjects = new COSDictionary();
+            xobjects.setItem(IM1, image(new byte[] { 1, 2, 3 }));
+            resources.setItem(COSName.XOBJECT, xobjects);
+            COSDictionary colorSpaces = new COSDictionary();
+            colorSpaces.setItem(CS1, new COSArray(COSName.ICCBASED, stream(new byte[] { 4, 5, 6 })));
+            resources.setItem(COSName.COLORSPACE, colorSpaces);
+            page.getCOSObject().setItem(COSName.RESOURCES, resources);
+            document.addPage(page);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDocument() {
+        new ResourcesDeduplicator().accept(null);
+    }
+
+    @Test
+    public void identicalResources() {
+        ResourcesDeduplicator victim = new ResourcesDeduplicator();
+        victim.accept(document);
+        assertSame(item(0, COSName.FONT, F1), item(1, COSName.FONT, F1));
+        assertSame(item(0, COSName.FONT, F1), item(2, COSName.FONT, F1));
+        assertSame(item(0, COSName.XOBJECT, IM1), item(2, COSName.XOBJECT, IM1));
+        assertSame(iccProfile(0), iccProfile(1));
+        assertEquals(6, victim.replaced());
+    }
+
+    @Test
+    public void differentResources() throws IOException {
+        resources(1).getDictionaryObject(COSName.FONT, COSDictionary.class).setItem(F1, font("Courier"));
+        resources(1).getDictionaryObject(COSName.XOBJECT, COSDictionary.class).setItem(IM1,
+                image(new byte[] { 3, 2, 1 }));
+        new ResourcesDeduplicator().accept(document);
+        assertNotSame(item(0, COSName.FONT, F1), item(1, COSName.FONT, F1));
+        assertSame(item(0, COSName.FONT, F1), item(2, COSName.FONT, F1));
+        assertNotSame(item(0, COSName.XOBJECT, IM1), item(1, COSName.XOBJECT, IM1));
+        assertSame(item(0, COSName.XOBJECT, IM1), item(2, COSName.XOBJECT, IM1));
+    }
+
+    private COSDictionary resources(int page) {
+        return document.getPage(page).getCOSObject().getDictionaryObject(COSName.RESOURCES, COSDictionary.class);
+    }
+
+    private Object item(int page, COSName type, COSName name) {
+        return resources(page).getDictionaryObject(type, COSDictionary.class).getDictionaryObject(name);
+    }
+
+    private Object iccProfile(int page) {
+        return resources(page).getDictionaryObject(COSName.COLORSPACE, COSDictionary.class)
+                .getDictionaryObject(CS1, COSArray.class).getObject(1);
+    }
+
+    private static COSDictionary font(String baseFont) {
+        COSDictionary font = new COSDictionary();
+        font.setItem(COSName.TYPE, COSName.FONT);
+        font.setItem(COSName.SUBTYPE, COSName.TYPE1);
+        font.setName(COSName.BASE_FONT, baseFont);
+        return font;
+    }
+
+    private static COSStream image(byte[] data) throws IOException {
+        COSStream image = stream(data);
+        image.setItem(COSName.SUBTYPE, COSName.IMAGE);
+        image.setInt(COSName.WIDTH, 1);
+        image.setInt(COSName.HEIGHT, 1);
+        return image;
+    }
+
+    private static COSStream stream(byte[] data) throws IOException {
+        COSStream stream = new COSStream();
+        try (OutputStream out = stream.createUnfilteredStream()) {
+            out.write(data);
+        }
+        return stream;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.optimization.Optimization;
+import org.sejda.model.parameter.OptimizeParameters;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.graphics.image.LosslessFactory;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ShardedPagesOptimizerTest {
+
+    private OptimizeParameters parameters;
+    private byte[] pdf;
+    private AtomicInteger opened;
+    private Callable<PDDocument> copies;
+
+    @Before
+    public void setUp() throws IOException {
+        parameters = new OptimizeParameters();
+        parameters.addOptimization(Optimization.COMPRESS_IMAGES);
+        parameters.setImageQuality(0.8f);
+        parameters.setImageDpi(72);
+        pdf = imagesDocument(6, true);
+        opened = new AtomicInteger();
+        copies = () -> {
+            opened.incrementAndGet();
+            return load();
+        };
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noThreads() {
+        new ShardedPagesOptimizer(parameters, 0);
+    }
+
+    @Test
+    public void sequentialForFewPages() throws IOException {
+        try (PDDocument document = load()) {
+            new ShardedPagesOptimizer(parameters, 4).optimize(document, pdf.length, copies);
+            assertEquals(0, opened.get());
+        }
+    }
+
+    @Test
+    public void sequentialWithoutImagesCompression() throws IOException {
+        parameters = new OptimizeParameters();
+        parameters.addOptimization(Optimization.DISCARD_METADATA);
+        try (PDDocument document = load()) {
+            new ShardedPagesOptimizer(parameters, 4, 1, Long.MAX_VALUE).optimize(document, pdf.length, copies);
+            assertEquals(0, opened.get());
+        }
+    }
+
+    @Test
+    public void sharedImageOptimizedOnce() throws IOException {
+        try (PDDocument document = load()) {
+            COSBase original = image(document.getPage(0));
+            OptimizedImages results = new ShardedPagesOptimizer(parameters, 3, 1, Long.MAX_VALUE)
+                    .optimizeImages(document, pdf.length, copies);
+            assertEquals(3, opened.get());
+            assertEquals(1, results.encodings());
+            document.getPages().forEach(new PagesOptimizer(parameters, results));
+            COSBase optimized = image(document.getPage(0));
+            assertNotEquals(original, optimized);
+            assertTrue(optimized instanceof ReadOnlyFilteredCOSStream);
+            assertTrue(((COSStream) optimized).hasFilter(COSName.DCT_DECODE));
+            for (PDPage page : document.getPages()) {
+                assertSame(optimized, image(page));
+            }
+        }
+    }
+
+    @Test
+    public void identicalImagesInDifferentShardsWrittenOnce() throws IOException {
+        pdf = imagesDocument(6, false);
+        try (PDDocument document = load()) {
+            assertNotSame(image(document.getPage(0)), image(document.getPage(5)));
+            OptimizedImages results = new ShardedPagesOptimizer(parameters, 3, 1, Long.MAX_VALUE)
+                    .optimizeImages(document, pdf.length, copies);
+            assertEquals(3, opened.get());
+            // workers can find the identical images at the same time but at most one encoding per worker
+            assertTrue(results.encodings() <= 3);
+            document.getPages().forEach(new PagesOptimizer(parameters, results));
+            COSBase optimized = image(document.getPage(0));
+            assertTrue(((COSStream) optimized).hasFilter(COSName.DCT_DECODE));
+            for (PDPage page : document.getPages()) {
+                assertSame(optimized, image(page));
+            }
+        }
+    }
+
+    @Test
+    public void sequentialForLargeSources() throws IOException {
+        try (PDDocument document = load()) {
+            assertNull(new ShardedPagesOptimizer(parameters, 3, 1, pdf.length)
+                    .optimizeImages(document, pdf.length, copies));
+            assertEquals(0, opened.get());
+        }
+    }
+
+    @Test
+    public void workersLimitedByMemory() throws IOException {
+        try (PDDocument document = load()) {
+            new ShardedPagesOptimizer(parameters, 3, 1, pdf.length * 2L).optimizeImages(document, pdf.length, copies);
+            assertEquals(2, opened.get());
+        }
+    }
+
+    private PDDocument load() throws IOException {
+        return PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(pdf));
+    }
+
+    private static COSBase image(PDPage page) {
+        return page.getResources().getCOSObject().getDictionaryObject(COSName.XOBJECT, COSDictionary.class)
+                .getDictionaryObject(COSName.getPDFName("Im1")).getCOSObject();
+    }
+
+    /**
+     * @param shared
+     *            if true all pages draw the same image object, otherwise every page has its own identical copy
+     */
+    private static byte[] imagesDocument(int pages, boolean shared) throws IOException {
+        BufferedImage noise = new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(1);
+        for (int y = 0; y < noise.getHeight(); y++) {
+            for (int x = 0; x < noise.getWidth(); x++) {
+                noise.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject image = LosslessFactory.createFromImage(noise);
+            for (int i = 0; i < pages; i++) {
+                if (!shared) {
+                    image = LosslessFactory.createFromImage(noise);
+                }
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contents = new PDPageContentStream(document, page)) {
+                    contents.drawImage(image, 0, 0, 150, 100);
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.writeTo(out);
+            return out.toByteArray();
+        }
+    }
+}
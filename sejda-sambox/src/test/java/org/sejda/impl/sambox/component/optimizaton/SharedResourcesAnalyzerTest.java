@@ -0,0 +1,128 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.impl.sambox.component.optimizaton.SharedResourcesFindings.Finding;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SharedResourcesAnalyzerTest {
+
+    private PDDocument document;
+
+    @Before
+    public void setUp() {
+        document = new PDDocument();
+        for (int i = 0; i < 4; i++) {
+            document.addPage(new PDPage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDocument() {
+        new SharedResourcesAnalyzer().apply(null);
+    }
+
+    @Test
+    public void nothingFound() {
+        SharedResourcesFindings findings = new SharedResourcesAnalyzer().apply(document);
+        assertFalse(findings.needsOptimization());
+        assertEquals(Finding.NONE, findings.finding());
+        assertEquals(4, findings.analyzedPages());
+    }
+
+    @Test
+    public void stopsAtSharedFonts() {
+        COSDictionary fonts = new COSDictionary();
+        fonts.setItem(COSName.getPDFName("F1"), new COSDictionary());
+        resources(document.getPage(0)).setItem(COSName.FONT, fonts);
+        resources(document.getPage(1)).setItem(COSName.FONT, fonts);
+        SharedResourcesFindings findings = new SharedResourcesAnalyzer().apply(document);
+        assertTrue(findings.needsOptimization());
+        assertEquals(Finding.SHARED_FONTS_DICTIONARY, findings.finding());
+        assertEquals(2, findings.analyzedPages());
+    }
+
+    @Test
+    public void stopsAtSharedImages() {
+        COSDictionary xobjects = new COSDictionary();
+        COSDictionary image = new COSDictionary();
+        image.setItem(COSName.SUBTYPE, COSName.IMAGE);
+        xobjects.setItem(COSName.getPDFName("x1"), image);
+        resources(document.getPage(1)).setItem(COSName.XOBJECT, xobjects);
+        resources(document.getPage(2)).setItem(COSName.XOBJECT, xobjects);
+        SharedResourcesFindings findings = new SharedResourcesAnalyzer().apply(document);
+        assertEquals(Finding.SHARED_IMAGES_DICTIONARY, findings.finding());
+        assertEquals(3, findings.analyzedPages());
+    }
+
+    @Test
+    public void sharedXObjectsWithoutImages() {
+        COSDictionary xobjects = new COSDictionary();
+        xobjects.setItem(COSName.getPDFName("x1"), new COSDictionary());
+        resources(document.getPage(0)).setItem(COSName.XOBJECT, xobjects);
+        resources(document.getPage(1)).setItem(COSName.XOBJECT, xobjects);
+        assertFalse(new SharedResourcesAnalyzer().apply(document).needsOptimization());
+    }
+
+    @Test
+    public void inheritedResources() {
+        COSDictionary fonts = new COSDictionary();
+        fonts.setItem(COSName.getPDFName("F1"), new COSDictionary());
+        COSDictionary inherited = new COSDictionary();
+        inherited.setItem(COSName.FONT, fonts);
+        document.getPages().getCOSObject().setItem(COSName.RESOURCES, inherited);
+        SharedResourcesFindings findings = new SharedResourcesAnalyzer().apply(document);
+        assertEquals(Finding.INHERITED_RESOURCES, findings.finding());
+        assertEquals(0, findings.analyzedPages());
+    }
+
+    @Test
+    public void sharedXobjectsDictionary() throws IOException {
+        try (PDDocument document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getClassLoader().getResourceAsStream("pdf/shared_xobjects_dics.pdf")))) {
+            assertTrue(new SharedResourcesAnalyzer().apply(document).needsOptimization());
+        }
+    }
+
+    private static COSDictionary resources(PDPage page) {
+        COSDictionary resources = page.getCOSObject().getDictionaryObject(COSName.RESOURCES, COSDictionary.class);
+        if (resources == null) {
+            resources = new COSDictionary();
+            page.getCOSObject().setItem(COSName.RESOURCES, resources);
+        }
+        return resources;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2015 by Andrea Vacondio (andrea.vacondio@gmail.com).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.pdmodel.graphics.image.JPEGFactory;
+import org.sejda.sambox.pdmodel.graphics.image.LosslessFactory;
+import org.sejda.sambox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SubsampledImageReaderTest {
+
+    @Test
+    public void flateRGB() throws IOException {
+        BufferedImage result = SubsampledImageReader.read(LosslessFactory.createFromImage(quadrants()), 100, 75);
+        assertEquals(200, result.getWidth());
+        assertEquals(150, result.getHeight());
+        assertEquals(Color.RED.getRGB(), result.getRGB(10, 10));
+        assertEquals(Color.GREEN.getRGB(), result.getRGB(190, 10));
+        assertEquals(Color.BLUE.getRGB(), result.getRGB(10, 140));
+        assertEquals(Color.WHITE.getRGB(), result.getRGB(190, 140));
+    }
+
+    @Test
+    public void flateGray() throws IOException {
+        BufferedImage gray = new BufferedImage(800, 600, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = gray.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(400, 0, 400, 600);
+        graphics.dispose();
+        PDImageXObject image = LosslessFactory.createFromImage(gray);
+        assertEquals(COSName.DEVICEGRAY, image.getCOSObject().getDictionaryObject(COSName.COLORSPACE));
+        BufferedImage result = SubsampledImageReader.read(image, 100, 75);
+        assertEquals(200, result.getWidth());
+        assertEquals(150, result.getHeight());
+        assertEquals(0, result.getRaster().getSample(10, 10, 0));
+        assertEquals(255, result.getRaster().getSample(190, 10, 0));
+    }
+
+    @Test
+    public void dct() throws IOException {
+        BufferedImage result = SubsampledImageReader.read(JPEGFactory.createFromImage(quadrants(), 1f), 100, 75);
+        assertEquals(200, result.getWidth());
+        assertEquals(150, result.getHeight());
+        assertSimilar(Color.RED, new Color(result.getRGB(10, 10)));
+        assertSimilar(Color.GREEN, new Color(result.getRGB(190, 10)));
+        assertSimilar(Color.BLUE, new Color(result.getRGB(10, 140)));
+        assertSimilar(Color.WHITE, new Color(result.getRGB(190, 140)));
+    }
+
+    @Test
+    public void notWorthSubsampling() throws IOException {
+        BufferedImage result = SubsampledImageReader.read(LosslessFactory.createFromImage(quadrants()), 500, 400);
+        assertEquals(800, result.getWidth());
+        assertEquals(600, result.getHeight());
+    }
+
+    @Test
+    public void fullDecodeWithDecodeArray() throws IOException {
+        PDImageXObject image = LosslessFactory.createFromImage(quadrants());
+        image.getCOSObject().setItem(COSName.DECODE, new COSArray(COSInteger.ONE, COSInteger.ZERO, COSInteger.ONE,
+                COSInteger.ZERO, COSInteger.ONE, COSInteger.ZERO));
+        BufferedImage result = SubsampledImageReader.read(image, 100, 75);
+        assertEquals(800, result.getWidth());
+        assertEquals(600, result.getHeight());
+    }
+
+    private static void assertSimilar(Color expected, Color actual) {
+        assertTrue(actual.toString(), Math.abs(expected.getRed() - actual.getRed()) < 10);
+        assertTrue(actual.toString(), Math.abs(expected.getGreen() - actual.getGreen()) < 10);
+        assertTrue(actual.toString(), Math.abs(expected.getBlue() - actual.getBlue()) < 10);
+    }
+
+    private static BufferedImage quadrants() {
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 400, 300);
+        graphics.setColor(Color.GREEN);
+        graphics.fillRect(400, 0, 400, 300);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 300, 400, 300);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(400, 300, 400, 300);
+        graphics.dispose();
+        return image;
+    }
+}